@@ -150,7 +150,10 @@ public abstract class ApplicationService implements Service {
         ResolverConfig.config();
 
         String absoluteDataDirPath = dataDir.toAbsolutePath().toString();
-        persistenceService = new PersistenceService(absoluteDataDirPath);
+        int readParallelism = typesafeAppConfig.hasPath("persistence.readParallelism")
+                ? typesafeAppConfig.getInt("persistence.readParallelism")
+                : PersistenceService.getDefaultReadParallelism();
+        persistenceService = new PersistenceService(absoluteDataDirPath, readParallelism);
     }
 
     private void checkInstanceLock() {
@@ -80,6 +80,7 @@ public class ResolverConfig {
         DistributedDataResolver.addResolver("user.AuthorizedAccountAgeData", AuthorizedAccountAgeData.getResolver());
         DistributedDataResolver.addResolver("user.AuthorizedSignedWitnessData", AuthorizedSignedWitnessData.getResolver());
         DistributedDataResolver.addResolver("user.AuthorizedTimestampData", AuthorizedTimestampData.getResolver());
+        DistributedDataResolver.addResolver("user.AuthorizedTimestampBatchData", AuthorizedTimestampBatchData.getResolver());
         DistributedDataResolver.addResolver("user.BannedUserProfileData", BannedUserProfileData.getResolver());
         DistributedDataResolver.addResolver("offer.OfferMessage", OfferMessage.getResolver());
 
@@ -0,0 +1,45 @@
+plugins {
+    id("bisq.java-library")
+    alias(libs.plugins.jmh)
+}
+
+// Run all benchmarks with `./gradlew :benchmarks:jmh`.
+// A subset can be selected by a regex, e.g. `./gradlew :benchmarks:jmh -PjmhIncludes=HashCash`.
+// Results are written as JSON to build/results/jmh/results.json, or to the file given with -PjmhResultsFile=<path>
+// to keep results of different commits side by side. Profilers can be added with e.g. -PjmhProfilers=gc to measure
+// allocations.
+jmh {
+    jmhVersion.set("1.37") // Keep in sync with jmh-lib in libs.versions.toml
+    resultFormat.set("JSON")
+    if (project.hasProperty("jmhResultsFile")) {
+        resultsFile.set(file(project.property("jmhResultsFile") as String))
+    } else {
+        resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    }
+    if (project.hasProperty("jmhIncludes")) {
+        includes.set(listOf(project.property("jmhIncludes") as String))
+    }
+    if (project.hasProperty("jmhProfilers")) {
+        profilers.set((project.property("jmhProfilers") as String).split(","))
+    }
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    jvmArgs.set(listOf("-Xmx2g"))
+}
+
+dependencies {
+    jmh(project(":persistence"))
+    jmh(project(":security"))
+    jmh(project(":user"))
+    jmh("network:network")
+    jmh("wallets:json-rpc")
+
+    jmh(libs.google.guava)
+    jmh(libs.protobuf.java)
+    jmh(libs.bouncycastle)
+    jmh(platform(libs.square.okhttp.bom))
+    jmh("com.squareup.okhttp3:mockwebserver")
+    jmh(libs.jmh.core)
+    jmhAnnotationProcessor(libs.jmh.generator.annprocess)
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.network.p2p.node.authorization.AuthorizationService;
+import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.network_load.NetworkLoad;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.security.KeyGeneration;
+import bisq.security.pow.HashCashService;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification of the AuthorizationToken of an incoming message. As a token must not be reused on the same
+ * connection, each invocation uses another connection ID. The service gets recreated at each iteration to not
+ * accumulate the message counter windows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthorizationBenchmark {
+    private static final String MY_ADDRESS = "127.0.0.1:8000";
+
+    @Param({"1024", "102400"})
+    public int payloadSize;
+
+    private final NetworkLoad networkLoad = new NetworkLoad();
+    private AddAuthenticatedDataRequest message;
+    private AuthorizationToken token;
+    private AuthorizationService authorizationService;
+    private int connectionCounter;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        message = BenchmarkData.createAddAuthenticatedDataRequest(KeyGeneration.generateKeyPair(), 1, payloadSize);
+        token = new AuthorizationService(new HashCashService()).createToken(message, networkLoad, MY_ADDRESS, 1);
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        authorizationService = new AuthorizationService(new HashCashService());
+    }
+
+    @Benchmark
+    public boolean isAuthorized() {
+        String connectionId = String.valueOf(connectionCounter++);
+        boolean isAuthorized = authorizationService.isAuthorized(message, token, networkLoad, null, connectionId, MY_ADDRESS);
+        if (!isAuthorized) {
+            throw new IllegalStateException("Token is expected to be valid");
+        }
+        return isAuthorized;
+    }
+}
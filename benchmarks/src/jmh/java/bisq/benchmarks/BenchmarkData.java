@@ -0,0 +1,116 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.network.p2p.services.data.storage.DistributedData;
+import bisq.network.p2p.services.data.storage.DistributedDataResolver;
+import bisq.network.p2p.services.data.storage.MetaData;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedSequentialData;
+import bisq.network.p2p.services.data.storage.auth.DefaultAuthenticatedData;
+import bisq.security.DigestUtil;
+import bisq.security.SignatureUtil;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Fixtures shared by the benchmarks. Uses a minimal DistributedData implementation, so that the benchmarks do not
+ * depend on the domain modules.
+ */
+public final class BenchmarkData {
+    public static final String TYPE_NAME = "google.protobuf.BytesValue";
+
+    static {
+        DistributedDataResolver.addResolver(TYPE_NAME, any -> {
+            try {
+                return new Payload(any.unpack(BytesValue.class).getValue().toByteArray());
+            } catch (InvalidProtocolBufferException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    public static byte[] randomBytes(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    public static AddAuthenticatedDataRequest createAddAuthenticatedDataRequest(KeyPair keyPair, int index, int payloadSize)
+            throws GeneralSecurityException {
+        byte[] bytes = randomBytes(payloadSize, index);
+        // Make sure each index results in a different hash. payloadSize must be at least 4 bytes.
+        ByteBuffer.wrap(bytes).putInt(0, index);
+        DefaultAuthenticatedData authenticatedData = new DefaultAuthenticatedData(new Payload(bytes));
+        AuthenticatedSequentialData data = new AuthenticatedSequentialData(authenticatedData,
+                1,
+                DigestUtil.hash(keyPair.getPublic().getEncoded()),
+                System.currentTimeMillis());
+        byte[] signature = SignatureUtil.sign(data.serialize(), keyPair.getPrivate());
+        return new AddAuthenticatedDataRequest(data, signature, keyPair.getPublic());
+    }
+
+    public static final class Payload implements DistributedData {
+        private final byte[] bytes;
+        private final MetaData metaData = new MetaData(MetaData.TTL_10_DAYS, Payload.class.getSimpleName(), MetaData.MAX_MAP_SIZE_10_000);
+
+        public Payload(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public BytesValue toProto() {
+            return BytesValue.of(ByteString.copyFrom(bytes));
+        }
+
+        @Override
+        public MetaData getMetaData() {
+            return metaData;
+        }
+
+        @Override
+        public boolean isDataInvalid(byte[] pubKeyHash) {
+            return false;
+        }
+
+        @Override
+        public double getCostFactor() {
+            return 0.5;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Payload && Arrays.equals(bytes, ((Payload) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bytes);
+        }
+    }
+
+    private BenchmarkData() {
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.network.p2p.message.EnvelopePayloadMessageCache;
+import bisq.network.p2p.message.NetworkEnvelope;
+import bisq.network.p2p.node.authorization.AuthorizationService;
+import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.network_load.NetworkLoad;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.security.KeyGeneration;
+import bisq.security.pow.HashCashService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization work for broadcasting a message to multiple peers: the payload for minting the proof of work, the
+ * NetworkEnvelope written to the socket and its size for the metrics. The legacy variant encodes the message for
+ * each of those consumers, the cached variant shares one encoding per message.
+ * Run with -PjmhProfilers=gc to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadcastSerializationBenchmark {
+    private static final int NUM_PEERS = 8;
+
+    @Param({"1024", "102400"})
+    public int payloadSize;
+
+    private AddAuthenticatedDataRequest template;
+    private AuthorizationToken token;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        template = BenchmarkData.createAddAuthenticatedDataRequest(KeyGeneration.generateKeyPair(), 1, payloadSize);
+        token = new AuthorizationService(new HashCashService()).createToken(template, new NetworkLoad(), "127.0.0.1:8000", 1);
+    }
+
+    @Benchmark
+    public long legacy() throws IOException {
+        AddAuthenticatedDataRequest message = newMessage();
+        long numBytes = 0;
+        for (int i = 0; i < NUM_PEERS; i++) {
+            byte[] payload = message.toProto().toByteArray();
+            bisq.network.protobuf.NetworkEnvelope proto = bisq.network.protobuf.NetworkEnvelope.newBuilder()
+                    .setVersion(NetworkEnvelope.VERSION)
+                    .setAuthorizationToken(token.toProto())
+                    .setNetworkMessage(message.toProto())
+                    .build();
+            proto.writeDelimitedTo(OutputStream.nullOutputStream());
+            bisq.network.protobuf.NetworkEnvelope protoForMetrics = bisq.network.protobuf.NetworkEnvelope.newBuilder()
+                    .setVersion(NetworkEnvelope.VERSION)
+                    .setAuthorizationToken(token.toProto())
+                    .setNetworkMessage(message.toProto())
+                    .build();
+            numBytes += payload.length + protoForMetrics.getSerializedSize();
+        }
+        return numBytes;
+    }
+
+    @Benchmark
+    public long cached() throws IOException {
+        AddAuthenticatedDataRequest message = newMessage();
+        long numBytes = 0;
+        for (int i = 0; i < NUM_PEERS; i++) {
+            byte[] payload = EnvelopePayloadMessageCache.getSerialized(message);
+            NetworkEnvelope networkEnvelope = new NetworkEnvelope(token, message);
+            networkEnvelope.toProto().writeDelimitedTo(OutputStream.nullOutputStream());
+            numBytes += payload.length + networkEnvelope.getSerializedSize();
+        }
+        return numBytes;
+    }
+
+    // A broadcast starts with a new message instance
+    private AddAuthenticatedDataRequest newMessage() {
+        return new AddAuthenticatedDataRequest(template.getAuthenticatedSequentialData(),
+                template.getSignature(),
+                template.getOwnerPublicKey());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.common.data.ByteArray;
+import bisq.common.util.FileUtils;
+import bisq.network.p2p.services.data.DataRequest;
+import bisq.network.p2p.services.data.filter.DataFilter;
+import bisq.network.p2p.services.data.filter.FilterEntry;
+import bisq.network.p2p.services.data.inventory.Inventory;
+import bisq.network.p2p.services.data.storage.StorageService;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataStorageService;
+import bisq.persistence.PersistenceService;
+import bisq.security.KeyGeneration;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Compares queries on a copy of the store map, as done before the read-only views got added, with the queries on
+ * the views. Run with `-PjmhIncludes=DataStoreView -PjmhProfilers=gc` to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataStoreViewBenchmark {
+    private static final int NUM_KEYS = 100;
+    private static final int PAYLOAD_SIZE = 256;
+
+    @Param({"1000", "10000"})
+    public int numEntries;
+
+    private Path baseDir;
+    private StorageService storageService;
+    private AuthenticatedDataStorageService store;
+    private DataFilter emptyDataFilter;
+
+    @Setup
+    public void setup() throws GeneralSecurityException, IOException {
+        baseDir = Files.createTempDirectory("bisq_benchmarks");
+        storageService = new StorageService(new PersistenceService(baseDir.toString()));
+        store = storageService.getOrCreateAuthenticatedDataStore(BenchmarkData.Payload.class.getSimpleName()).join();
+
+        List<KeyPair> keyPairs = new ArrayList<>();
+        for (int i = 0; i < NUM_KEYS; i++) {
+            keyPairs.add(KeyGeneration.generateKeyPair());
+        }
+        for (int i = 0; i < numEntries; i++) {
+            store.add(BenchmarkData.createAddAuthenticatedDataRequest(keyPairs.get(i % NUM_KEYS), i, PAYLOAD_SIZE));
+        }
+        emptyDataFilter = new DataFilter(new ArrayList<>());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        storageService.shutdown();
+        FileUtils.deleteFileOrDirectory(baseDir);
+    }
+
+    @Benchmark
+    public long countAuthenticatedDataOfClone() {
+        return store.getPersistableStore().getClone().getMap().values().stream()
+                .filter(e -> e instanceof AddAuthenticatedDataRequest)
+                .count();
+    }
+
+    @Benchmark
+    public long countAuthenticatedDataOfView() {
+        return storageService.getAuthenticatedData(BenchmarkData.Payload.class.getSimpleName()).count();
+    }
+
+    @Benchmark
+    public Inventory getInventoryOfClone() {
+        Predicate<FilterEntry> isKnownByRequester = emptyDataFilter.createContainsPredicate();
+        Set<Map.Entry<ByteArray, AuthenticatedDataRequest>> entrySet = store.getPersistableStore().getClone().getMap().entrySet();
+        Set<DataRequest> result = entrySet.stream()
+                .filter(entry -> !isKnownByRequester.test(new FilterEntry(entry.getKey().getBytes(), entry.getValue().getSequenceNumber())))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toSet());
+        return new Inventory(result, entrySet.size());
+    }
+
+    @Benchmark
+    public Inventory getInventoryOfView() {
+        return storageService.getInventoryFromStore(emptyDataFilter, store);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.security.pow.EquihashProofOfWorkService;
+import bisq.security.pow.ProofOfWork;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minting and verification of Equihash-90-5 proofs of work. At a difficulty of 65536 most puzzles are solved with the
+ * first nonce, at 1000000 about 20 nonces are needed, which are tried in parallel by the minting threads.
+ * Run with `-PjmhIncludes=Equihash -PjmhProfilers=gc` for the allocation rate and compare the results of different
+ * commits with `-PjmhResultsFile=<path>`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class EquihashBenchmark {
+    @Param({"65536", "1000000"})
+    public double difficulty;
+
+    @Param({"1", "4"})
+    public int numMintingThreads;
+
+    private EquihashProofOfWorkService equihashService;
+    private byte[] payload;
+    private byte[] challenge;
+    private ProofOfWork proofOfWork;
+    private int nonce;
+
+    @Setup
+    public void setup() {
+        equihashService = new EquihashProofOfWorkService(numMintingThreads);
+        payload = BenchmarkData.randomBytes(1024, 1);
+        challenge = BenchmarkData.randomBytes(32, 2);
+        proofOfWork = equihashService.mint(payload, challenge, difficulty).join();
+    }
+
+    /**
+     * The work to mint depends on the payload, so we change it for each invocation to get the average over
+     * different payloads.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ProofOfWork mint() {
+        ByteBuffer.wrap(payload).putInt(0, nonce++);
+        return equihashService.mint(payload, challenge, difficulty).join();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean verify() {
+        return equihashService.verify(proofOfWork);
+    }
+}
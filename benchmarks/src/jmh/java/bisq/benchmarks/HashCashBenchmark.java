@@ -0,0 +1,65 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.security.pow.HashCashService;
+import bisq.security.pow.ProofOfWork;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Difficulties cover the range used by the AuthorizationService, from MIN_DIFFICULTY (2^7) to MAX_DIFFICULTY (2^16).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class HashCashBenchmark {
+    @Param({"128", "4096", "65536"})
+    public double difficulty;
+
+    private final HashCashService hashCashService = new HashCashService();
+    private byte[] payload;
+    private byte[] challenge;
+    private ProofOfWork proofOfWork;
+    private int nonce;
+
+    @Setup
+    public void setup() {
+        payload = BenchmarkData.randomBytes(1024, 1);
+        challenge = BenchmarkData.randomBytes(32, 2);
+        proofOfWork = hashCashService.mint(payload, challenge, difficulty).join();
+    }
+
+    /**
+     * The work to mint depends on the payload, so we change it for each invocation to get the average over
+     * different payloads.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ProofOfWork mint() {
+        ByteBuffer.wrap(payload).putInt(0, nonce++);
+        return hashCashService.mint(payload, challenge, difficulty).join();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean verify() {
+        return hashCashService.verify(proofOfWork);
+    }
+}
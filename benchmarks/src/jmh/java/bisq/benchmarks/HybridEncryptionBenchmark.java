@@ -0,0 +1,58 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.security.ConfidentialData;
+import bisq.security.HybridEncryption;
+import bisq.security.KeyGeneration;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HybridEncryptionBenchmark {
+    @Param({"1024", "102400"})
+    public int size;
+
+    private byte[] message;
+    private KeyPair senderKeyPair;
+    private KeyPair receiverKeyPair;
+    private ConfidentialData confidentialData;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        message = BenchmarkData.randomBytes(size, 1);
+        senderKeyPair = KeyGeneration.generateKeyPair();
+        receiverKeyPair = KeyGeneration.generateKeyPair();
+        confidentialData = HybridEncryption.encryptAndSign(message, receiverKeyPair.getPublic(), senderKeyPair);
+    }
+
+    @Benchmark
+    public ConfidentialData encryptAndSign() throws GeneralSecurityException {
+        return HybridEncryption.encryptAndSign(message, receiverKeyPair.getPublic(), senderKeyPair);
+    }
+
+    @Benchmark
+    public byte[] decryptAndVerify() throws GeneralSecurityException {
+        return HybridEncryption.decryptAndVerify(confidentialData, receiverKeyPair);
+    }
+}
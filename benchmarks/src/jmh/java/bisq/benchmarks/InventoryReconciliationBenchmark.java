@@ -0,0 +1,95 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.network.p2p.services.data.filter.DataFilter;
+import bisq.network.p2p.services.data.filter.FilterEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Compares the legacy list based inventory reconciliation with the hashed lookup and the bloom filter variant for a
+ * store with 50k entries. The requester misses 1% of the entries and has an outdated sequence number for another 1%.
+ * The legacy lookup is O(n*m), so it is measured on a subset of the stored entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class InventoryReconciliationBenchmark {
+    private static final int NUM_STORED_ENTRIES = 50_000;
+    private static final int NUM_LEGACY_SAMPLES = 2_000;
+
+    private final List<FilterEntry> storedEntries = new ArrayList<>();
+    private DataFilter listFilter;
+    private DataFilter receivedBloomFilter;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < NUM_STORED_ENTRIES; i++) {
+            byte[] hash = new byte[20];
+            random.nextBytes(hash);
+            storedEntries.add(new FilterEntry(hash, random.nextInt(10)));
+        }
+
+        List<FilterEntry> requesterEntries = new ArrayList<>();
+        for (int i = 0; i < storedEntries.size(); i++) {
+            FilterEntry storedEntry = storedEntries.get(i);
+            if (i % 100 == 1) {
+                requesterEntries.add(new FilterEntry(storedEntry.getHash(), storedEntry.getSequenceNumber() - 1));
+            } else if (i % 100 != 0) {
+                requesterEntries.add(storedEntry);
+            }
+        }
+
+        listFilter = new DataFilter(requesterEntries);
+        receivedBloomFilter = DataFilter.fromProto(listFilter.toBloomFilterVariant().toProto());
+    }
+
+    @Benchmark
+    public DataFilter createBloomFilter() {
+        return listFilter.toBloomFilterVariant();
+    }
+
+    @Benchmark
+    public long legacyListLookup() {
+        List<FilterEntry> filterEntries = listFilter.getFilterEntries();
+        return storedEntries.subList(0, NUM_LEGACY_SAMPLES).stream()
+                .filter(e -> !filterEntries.contains(e))
+                .count();
+    }
+
+    @Benchmark
+    public long hashedLookup() {
+        Predicate<FilterEntry> contains = listFilter.createContainsPredicate();
+        return storedEntries.stream().filter(e -> !contains.test(e)).count();
+    }
+
+    @Benchmark
+    public long bloomLookup() {
+        Predicate<FilterEntry> contains = receivedBloomFilter.createContainsPredicate();
+        return storedEntries.stream().filter(e -> !contains.test(e)).count();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.wallets.json_rpc.JsonRpcClient;
+import bisq.wallets.json_rpc.JsonRpcEndpointSpec;
+import bisq.wallets.json_rpc.JsonRpcResponse;
+import bisq.wallets.json_rpc.RpcCall;
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Round trips to a stub daemon for numCalls single JSON-RPC calls compared to one batch call with the same calls.
+ * The stub delays each HTTP response by REQUEST_DELAY_MS to simulate the processing time of the daemon.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JsonRpcBatchBenchmark {
+    private static final long REQUEST_DELAY_MS = 1;
+
+    @Param({"10", "100", "500"})
+    public int numCalls;
+
+    private final Moshi moshi = new Moshi.Builder().build();
+    private final JsonAdapter<Object> jsonAdapter = moshi.adapter(Object.class);
+    private MockWebServer server;
+    private JsonRpcClient jsonRpcClient;
+    private List<EchoRpcCall> rpcCalls;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new EchoDaemonDispatcher());
+        server.start();
+        jsonRpcClient = new JsonRpcClient(new JsonRpcEndpointSpec(server.url("/"), "bisq", "bisq"));
+        rpcCalls = IntStream.range(0, numCalls)
+                .mapToObj(i -> new EchoRpcCall(String.valueOf(i)))
+                .collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Benchmark
+    public int singleCalls() {
+        int numResponses = 0;
+        for (EchoRpcCall rpcCall : rpcCalls) {
+            if (jsonRpcClient.call(rpcCall) != null) {
+                numResponses++;
+            }
+        }
+        return numResponses;
+    }
+
+    @Benchmark
+    public int batchCall() {
+        return jsonRpcClient.callBatch(rpcCalls).size();
+    }
+
+    private class EchoDaemonDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest recordedRequest) {
+            try {
+                Object request = jsonAdapter.fromJson(recordedRequest.getBody().readUtf8());
+                Object response = request instanceof List ?
+                        ((List<?>) request).stream()
+                                .map(call -> createResponse((Map<?, ?>) call))
+                                .collect(Collectors.toList()) :
+                        createResponse((Map<?, ?>) request);
+                return new MockResponse()
+                        .setHeadersDelay(REQUEST_DELAY_MS, TimeUnit.MILLISECONDS)
+                        .setBody(jsonAdapter.toJson(response));
+            } catch (IOException e) {
+                return new MockResponse().setResponseCode(500);
+            }
+        }
+
+        private Object createResponse(Map<?, ?> call) {
+            String value = (String) ((Map<?, ?>) call.get("params")).get("value");
+            return Map.of("id", call.get("id"), "result", value);
+        }
+    }
+
+    public static class EchoResponse extends JsonRpcResponse<String> {
+    }
+
+    private static class EchoRpcCall extends RpcCall<Map<String, String>, EchoResponse> {
+        private EchoRpcCall(String value) {
+            super(Map.of("value", value));
+        }
+
+        @Override
+        public String getRpcMethodName() {
+            return "echo";
+        }
+
+        @Override
+        public boolean isResponseValid(EchoResponse response) {
+            return response.getError() == null;
+        }
+
+        @Override
+        public Class<EchoResponse> getRpcResponseClass() {
+            return EchoResponse.class;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.network.p2p.message.NetworkEnvelope;
+import bisq.network.p2p.node.authorization.AuthorizationService;
+import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.network_load.NetworkLoad;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.security.KeyGeneration;
+import bisq.security.pow.HashCashService;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a broadcast AddAuthenticatedDataRequest including its AuthorizationToken, as done for each
+ * message sent or received.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NetworkEnvelopeBenchmark {
+    @Param({"1024", "102400"})
+    public int payloadSize;
+
+    private NetworkEnvelope networkEnvelope;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        AddAuthenticatedDataRequest request = BenchmarkData.createAddAuthenticatedDataRequest(KeyGeneration.generateKeyPair(), 1, payloadSize);
+        AuthorizationToken token = new AuthorizationService(new HashCashService())
+                .createToken(request, new NetworkLoad(), "127.0.0.1:8000", 1);
+        networkEnvelope = new NetworkEnvelope(token, request);
+        serialized = networkEnvelope.toProto().toByteArray();
+    }
+
+    @Benchmark
+    public byte[] toProto() {
+        return networkEnvelope.toProto().toByteArray();
+    }
+
+    @Benchmark
+    public NetworkEnvelope fromProto() throws InvalidProtocolBufferException {
+        return NetworkEnvelope.fromProto(bisq.network.protobuf.NetworkEnvelope.parseFrom(serialized));
+    }
+
+    @Benchmark
+    public NetworkEnvelope roundTrip() throws InvalidProtocolBufferException {
+        byte[] bytes = networkEnvelope.toProto().toByteArray();
+        return NetworkEnvelope.fromProto(bisq.network.protobuf.NetworkEnvelope.parseFrom(bytes));
+    }
+}
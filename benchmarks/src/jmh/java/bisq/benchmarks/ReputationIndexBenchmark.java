@@ -0,0 +1,93 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.benchmarks;
+
+import bisq.user.reputation.ReputationScoreIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a reputation score lookup (index, relative score) done by sorting all scores, as ReputationService did
+ * before, with the lookup in ReputationScoreIndex.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReputationIndexBenchmark {
+    @Param({"1000", "100000"})
+    public int numProfiles;
+
+    private final Map<Integer, Long> scoreByProfile = new ConcurrentHashMap<>();
+    private final ReputationScoreIndex index = new ReputationScoreIndex();
+    private long[] candidates;
+    private int candidateIndex;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        random = new Random(1);
+        for (int i = 0; i < numProfiles; i++) {
+            // Most profiles have no or low reputation, a few have a high score
+            long score = random.nextInt(10) < 7 ? 0 : (long) Math.pow(10, 1 + random.nextDouble() * 5);
+            scoreByProfile.put(i, score);
+            index.add(score);
+        }
+        candidates = scoreByProfile.values().stream().limit(1000).mapToLong(Long::longValue).toArray();
+    }
+
+    @Benchmark
+    public double sortPerLookup() {
+        long score = nextCandidate();
+        long bestScore = scoreByProfile.values().stream().max(Comparator.comparing(Long::longValue)).orElse(0L);
+        double relativeScore = bestScore > 0 ? score / (double) bestScore : 0;
+        List<Long> list = new ArrayList<>(scoreByProfile.values());
+        Collections.sort(list);
+        int index = list.indexOf(score);
+        return relativeScore + (index + 1) / (double) list.size();
+    }
+
+    @Benchmark
+    public double indexLookup() {
+        long score = nextCandidate();
+        synchronized (index) {
+            double relativeScore = index.getRelativeScore(score);
+            int i = index.getIndex(score);
+            return relativeScore + (i + 1) / (double) index.size();
+        }
+    }
+
+    @Benchmark
+    public int indexUpdate() {
+        int profile = random.nextInt(numProfiles);
+        long score = random.nextInt(100_000);
+        index.update(scoreByProfile.put(profile, score), score);
+        return index.size();
+    }
+
+    private long nextCandidate() {
+        candidateIndex = (candidateIndex + 1) % candidates.length;
+        return candidates[candidateIndex];
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.common.data.ByteArray;
+import bisq.common.util.FileUtils;
+import bisq.network.p2p.services.data.storage.DataStore;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.persistence.PersistableStoreFileManager;
+import bisq.persistence.PersistableStoreReaderWriter;
+import bisq.persistence.SegmentLog;
+import bisq.security.DigestUtil;
+import bisq.security.KeyGeneration;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persisting one added entry of a data store by writing a full snapshot of the store compared to appending one
+ * record to the segment log. The snapshot writes all entries for each add, the segment log only the added one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SegmentLogBenchmark {
+    private static final int PAYLOAD_SIZE = 256;
+    private static final long MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    @Param({"1000", "10000"})
+    public int numEntries;
+
+    private Path baseDir;
+    private DataStore<AddAuthenticatedDataRequest> dataStore;
+    private PersistableStoreReaderWriter<DataStore<AddAuthenticatedDataRequest>> readerWriter;
+    private SegmentLog segmentLog;
+    private ByteArray addedKey;
+    private AddAuthenticatedDataRequest addedRequest;
+
+    @Setup
+    public void setup() throws GeneralSecurityException, IOException {
+        baseDir = Files.createTempDirectory("bisq_benchmarks");
+        KeyPair keyPair = KeyGeneration.generateKeyPair();
+        dataStore = new DataStore<>();
+        for (int i = 0; i < numEntries; i++) {
+            AddAuthenticatedDataRequest request = BenchmarkData.createAddAuthenticatedDataRequest(keyPair, i, PAYLOAD_SIZE);
+            dataStore.getMap().put(getKey(request), request);
+        }
+        addedRequest = BenchmarkData.createAddAuthenticatedDataRequest(keyPair, numEntries, PAYLOAD_SIZE);
+        addedKey = getKey(addedRequest);
+
+        readerWriter = new PersistableStoreReaderWriter<>(new PersistableStoreFileManager(baseDir.resolve("data_store.protobuf")));
+        segmentLog = new SegmentLog(baseDir.resolve("data_store_log"), MAX_SEGMENT_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        segmentLog.close();
+        FileUtils.deleteFileOrDirectory(baseDir);
+    }
+
+    @Benchmark
+    public void snapshot() {
+        dataStore.getMap().put(addedKey, addedRequest);
+        readerWriter.write(dataStore.getClone());
+    }
+
+    @Benchmark
+    public void segmentLog() throws IOException {
+        dataStore.getMap().put(addedKey, addedRequest);
+        segmentLog.append(SegmentLog.RecordType.PUT, addedKey.getBytes(),
+                addedRequest.toProto().getDataRequest().toByteArray());
+    }
+
+    private static ByteArray getKey(AddAuthenticatedDataRequest request) {
+        return new ByteArray(DigestUtil.hash(request.getAuthenticatedSequentialData().getAuthenticatedData().serialize()));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.SignatureVerifier;
+import bisq.security.KeyGeneration;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signature verification of an inventory with 10k AddAuthenticatedDataRequests, sequentially as done at add and with
+ * the parallel SignatureVerifier. The verification result is cached in the request, so we create new request
+ * instances before each invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class SignatureVerificationBenchmark {
+    private static final int NUM_REQUESTS = 10_000;
+    private static final int NUM_KEYS = 100;
+
+    private final List<AddAuthenticatedDataRequest> templates = new ArrayList<>();
+    private List<AddAuthenticatedDataRequest> requests;
+    private SignatureVerifier signatureVerifier;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        List<KeyPair> keyPairs = new ArrayList<>();
+        for (int i = 0; i < NUM_KEYS; i++) {
+            keyPairs.add(KeyGeneration.generateKeyPair());
+        }
+        for (int i = 0; i < NUM_REQUESTS; i++) {
+            templates.add(BenchmarkData.createAddAuthenticatedDataRequest(keyPairs.get(i % NUM_KEYS), i, 1024));
+        }
+        signatureVerifier = new SignatureVerifier();
+    }
+
+    @Setup(Level.Invocation)
+    public void copyRequests() {
+        requests = new ArrayList<>(NUM_REQUESTS);
+        templates.forEach(request -> requests.add(new AddAuthenticatedDataRequest(request.getAuthenticatedSequentialData(),
+                request.getSignature(),
+                request.getOwnerPublicKey())));
+    }
+
+    @TearDown
+    public void tearDown() {
+        signatureVerifier.shutdown();
+    }
+
+    @Benchmark
+    public int verifySequentially() {
+        int numInvalid = 0;
+        for (AddAuthenticatedDataRequest request : requests) {
+            if (request.isSignatureInvalid()) {
+                numInvalid++;
+            }
+        }
+        return numInvalid;
+    }
+
+    @Benchmark
+    public void verifyInParallel() {
+        signatureVerifier.verify(requests).join();
+    }
+}
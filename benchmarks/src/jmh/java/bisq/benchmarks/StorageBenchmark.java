@@ -0,0 +1,104 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.common.util.FileUtils;
+import bisq.network.p2p.services.data.filter.DataFilter;
+import bisq.network.p2p.services.data.filter.FilterEntry;
+import bisq.network.p2p.services.data.inventory.Inventory;
+import bisq.network.p2p.services.data.storage.StorageService;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataStorageService;
+import bisq.persistence.PersistenceService;
+import bisq.security.KeyGeneration;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a DataStore and the inventory lookup of a store with realistic sizes. The requester of the
+ * inventory misses 1% of the entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBenchmark {
+    private static final int NUM_KEYS = 100;
+    private static final int PAYLOAD_SIZE = 1024;
+
+    @Param({"1000", "10000"})
+    public int numEntries;
+
+    private Path baseDir;
+    private StorageService storageService;
+    private AuthenticatedDataStorageService store;
+    private DataFilter dataFilter;
+    private DataFilter bloomDataFilter;
+
+    @Setup
+    public void setup() throws GeneralSecurityException, IOException {
+        baseDir = Files.createTempDirectory("bisq_benchmarks");
+        storageService = new StorageService(new PersistenceService(baseDir.toString()));
+        store = storageService.getOrCreateAuthenticatedDataStore(BenchmarkData.Payload.class.getSimpleName()).join();
+
+        List<KeyPair> keyPairs = new ArrayList<>();
+        for (int i = 0; i < NUM_KEYS; i++) {
+            keyPairs.add(KeyGeneration.generateKeyPair());
+        }
+        for (int i = 0; i < numEntries; i++) {
+            store.add(BenchmarkData.createAddAuthenticatedDataRequest(keyPairs.get(i % NUM_KEYS), i, PAYLOAD_SIZE));
+        }
+
+        List<FilterEntry> filterEntries = new ArrayList<>();
+        int index = 0;
+        for (FilterEntry filterEntry : storageService.getFilterEntries(StorageService.StoreType.AUTHENTICATED_DATA_STORE)) {
+            if (index++ % 100 != 0) {
+                filterEntries.add(filterEntry);
+            }
+        }
+        dataFilter = new DataFilter(filterEntries);
+        bloomDataFilter = dataFilter.toBloomFilterVariant();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        storageService.shutdown();
+        FileUtils.deleteFileOrDirectory(baseDir);
+    }
+
+    @Benchmark
+    public bisq.network.protobuf.DataStore dataStoreToProto() {
+        return store.getPersistableStore().toProto();
+    }
+
+    @Benchmark
+    public Inventory getInventory() {
+        return storageService.getInventoryFromStore(dataFilter, store);
+    }
+
+    @Benchmark
+    public Inventory getInventoryWithBloomFilter() {
+        return storageService.getInventoryFromStore(bloomDataFilter, store);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks;
+
+import bisq.common.encoding.Hex;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedSequentialData;
+import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
+import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedDistributedData;
+import bisq.security.DigestUtil;
+import bisq.security.KeyGeneration;
+import bisq.security.SignatureUtil;
+import bisq.user.reputation.data.AuthorizedTimestampBatchData;
+import bisq.user.reputation.data.AuthorizedTimestampData;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the oracle node publishing the timestamps of 50k profiles at startup, with one AuthorizedTimestampData per
+ * profile and with AuthorizedTimestampBatchData. Publishing signs the data with the authorized key and the
+ * AddAuthenticatedDataRequest with the node key. The serialized size of the requests is reported as the networkBytes
+ * counter. Verifying covers both signatures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class TimestampBatchBenchmark {
+    private static final int NUM_PROFILES = 50_000;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class NetworkBytes {
+        public long networkBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            networkBytes = 0;
+        }
+    }
+
+    private final List<AuthorizedTimestampData> timestamps = new ArrayList<>();
+    private final List<AuthorizedTimestampBatchData> batches = new ArrayList<>();
+    private final List<AddAuthenticatedDataRequest> individualRequests = new ArrayList<>();
+    private final List<AddAuthenticatedDataRequest> batchRequests = new ArrayList<>();
+    private KeyPair keyPair;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        keyPair = KeyGeneration.generateKeyPair();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < NUM_PROFILES; i++) {
+            String profileId = Hex.encode(DigestUtil.hash(ByteBuffer.allocate(4).putInt(i).array()));
+            timestamps.add(new AuthorizedTimestampData(profileId, now - i, false));
+        }
+        int batchSize = AuthorizedTimestampBatchData.MAX_BATCH_SIZE;
+        for (int from = 0; from < NUM_PROFILES; from += batchSize) {
+            batches.add(AuthorizedTimestampBatchData.from(timestamps.subList(from, Math.min(from + batchSize, NUM_PROFILES)), false));
+        }
+        for (AuthorizedTimestampData data : timestamps) {
+            individualRequests.add(createRequest(data));
+        }
+        for (AuthorizedTimestampBatchData data : batches) {
+            batchRequests.add(createRequest(data));
+        }
+    }
+
+    @Benchmark
+    public int publishIndividually(NetworkBytes counter) throws GeneralSecurityException {
+        for (AuthorizedTimestampData data : timestamps) {
+            counter.networkBytes += createRequest(data).serialize().length;
+        }
+        return timestamps.size();
+    }
+
+    @Benchmark
+    public int publishBatched(NetworkBytes counter) throws GeneralSecurityException {
+        int batchSize = AuthorizedTimestampBatchData.MAX_BATCH_SIZE;
+        for (int from = 0; from < NUM_PROFILES; from += batchSize) {
+            AuthorizedTimestampBatchData data = AuthorizedTimestampBatchData.from(timestamps.subList(from, Math.min(from + batchSize, NUM_PROFILES)), false);
+            counter.networkBytes += createRequest(data).serialize().length;
+        }
+        return NUM_PROFILES;
+    }
+
+    @Benchmark
+    public int verifyIndividually() throws GeneralSecurityException {
+        int numValid = 0;
+        for (AddAuthenticatedDataRequest request : individualRequests) {
+            if (isValid(request)) {
+                numValid++;
+            }
+        }
+        return numValid;
+    }
+
+    @Benchmark
+    public int verifyBatched() throws GeneralSecurityException {
+        int numValid = 0;
+        for (AddAuthenticatedDataRequest request : batchRequests) {
+            AuthorizedData authorizedData = (AuthorizedData) request.getAuthenticatedSequentialData().getAuthenticatedData();
+            AuthorizedTimestampBatchData batchData = (AuthorizedTimestampBatchData) authorizedData.getAuthorizedDistributedData();
+            if (isValid(request)) {
+                numValid += batchData.getAuthorizedTimestampData().size();
+            }
+        }
+        return numValid;
+    }
+
+    private AddAuthenticatedDataRequest createRequest(AuthorizedDistributedData data) throws GeneralSecurityException {
+        // As in NetworkService.publishAuthorizedData and AddAuthenticatedDataRequest.from
+        byte[] authorizedSignature = SignatureUtil.sign(data.serialize(), keyPair.getPrivate());
+        AuthorizedData authorizedData = new AuthorizedData(data, Optional.of(authorizedSignature), keyPair.getPublic());
+        AuthenticatedSequentialData sequentialData = new AuthenticatedSequentialData(authorizedData,
+                1,
+                DigestUtil.hash(keyPair.getPublic().getEncoded()),
+                System.currentTimeMillis());
+        byte[] signature = SignatureUtil.sign(sequentialData.serialize(), keyPair.getPrivate());
+        return new AddAuthenticatedDataRequest(sequentialData, signature, keyPair.getPublic());
+    }
+
+    private boolean isValid(AddAuthenticatedDataRequest request) throws GeneralSecurityException {
+        AuthenticatedSequentialData sequentialData = request.getAuthenticatedSequentialData();
+        AuthorizedData authorizedData = (AuthorizedData) sequentialData.getAuthenticatedData();
+        return SignatureUtil.verify(sequentialData.serialize(), request.getSignature(), request.getOwnerPublicKey()) &&
+                SignatureUtil.verify(authorizedData.getAuthorizedDistributedData().serialize(),
+                        authorizedData.getSignature().orElseThrow(),
+                        authorizedData.getAuthorizedPublicKey());
+    }
+}
@@ -55,7 +55,8 @@ public class AlertService implements Service, DataService.Listener {
     @Override
     public CompletableFuture<Boolean> initialize() {
         networkService.addDataServiceListener(this);
-        networkService.getDataService().ifPresent(service -> service.getAuthorizedData().forEach(this::onAuthorizedDataAdded));
+        networkService.getDataService().ifPresent(service -> service.getAuthorizedDataByStoreName(AuthorizedAlertData.class.getSimpleName())
+                .forEach(this::onAuthorizedDataAdded));
         return CompletableFuture.completedFuture(true);
     }
 
@@ -119,7 +119,6 @@ public class ExplorerService {
     private final ArrayList<Provider> providers;
     @Getter
     private final Observable<Provider> selectedProvider = new Observable<>();
-    private Optional<BaseHttpClient> httpClient = Optional.empty();
     private final NetworkService networkService;
     private final String userAgent;
 
@@ -140,8 +139,8 @@ public class ExplorerService {
     public CompletableFuture<Boolean> shutdown() {
         log.info("shutdown");
         shutdownStarted = true;
-        return httpClient.map(BaseHttpClient::shutdown)
-                .orElse(CompletableFuture.completedFuture(true));
+        // The http clients are shared and owned by the HttpClientRepository, which shuts them down
+        return CompletableFuture.completedFuture(true);
     }
 
     public CompletableFuture<Tx> requestTx(String txId) {
@@ -118,7 +118,6 @@ public class MarketPriceRequestService {
 
     private final String userAgent;
     private final List<Provider> candidates = new ArrayList<>();
-    private Optional<BaseHttpClient> currentHttpClient = Optional.empty();
     private volatile boolean shutdownStarted;
     @Nullable
     private Scheduler scheduler;
@@ -148,8 +147,8 @@ public class MarketPriceRequestService {
         if (scheduler != null) {
             scheduler.stop();
         }
-        return currentHttpClient.map(BaseHttpClient::shutdown)
-                .orElse(CompletableFuture.completedFuture(true));
+        // The http clients are shared and owned by the HttpClientRepository, which shuts them down
+        return CompletableFuture.completedFuture(true);
     }
 
     private void startRequesting() {
@@ -240,7 +239,7 @@ public class MarketPriceRequestService {
     }
 
     private Optional<BaseHttpClient> findNextHttpClient() {
-        return findProvider().map(this::getNewHttpClient);
+        return findProvider().map(this::getHttpClient);
     }
 
     private Optional<Provider> findProvider() {
@@ -266,10 +265,7 @@ public class MarketPriceRequestService {
         return Optional.of(candidate);
     }
 
-    private BaseHttpClient getNewHttpClient(Provider provider) {
-        currentHttpClient.ifPresent(BaseHttpClient::shutdown);
-        BaseHttpClient newClient = networkService.getHttpClient(provider.url, userAgent, provider.transportType);
-        currentHttpClient = Optional.of(newClient);
-        return newClient;
+    private BaseHttpClient getHttpClient(Provider provider) {
+        return networkService.getHttpClient(provider.url, userAgent, provider.transportType);
     }
 }
@@ -55,7 +55,8 @@ public class ReleaseNotificationsService implements Service, DataService.Listene
     @Override
     public CompletableFuture<Boolean> initialize() {
         networkService.addDataServiceListener(this);
-        networkService.getDataService().ifPresent(service -> service.getAuthorizedData().forEach(this::onAuthorizedDataAdded));
+        networkService.getDataService().ifPresent(service -> service.getAuthorizedDataByStoreName(ReleaseNotification.class.getSimpleName())
+                .forEach(this::onAuthorizedDataAdded));
         return CompletableFuture.completedFuture(true);
     }
 
@@ -26,7 +26,9 @@ import bisq.chat.bisqeasy.open_trades.BisqEasyOpenTradeChannelService;
 import bisq.chat.bisqeasy.open_trades.BisqEasyOpenTradeMessage;
 import bisq.chat.pub.PublicChatMessage;
 import bisq.common.application.Service;
+import bisq.common.observable.Observable;
 import bisq.common.observable.Pin;
+import bisq.common.observable.ReadOnlyObservable;
 import bisq.common.observable.collection.CollectionObserver;
 import bisq.common.observable.collection.ObservableArray;
 import bisq.common.util.StringUtils;
@@ -37,6 +39,8 @@ import bisq.user.identity.UserIdentityService;
 import bisq.user.profile.UserProfileService;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -109,6 +113,12 @@ public class ChatNotificationService implements Service {
     private final UserIdentityService userIdentityService;
     private final UserProfileService userProfileService;
     private final Map<String, Pin> chatMessagesByChannelIdPins = new ConcurrentHashMap<>();
+    // Counters of the not consumed notifications. They are updated incrementally at changes of the notification IDs,
+    // so that reading a count does not require to iterate over all notification IDs.
+    private final Set<String> notConsumedNotificationIds = new HashSet<>();
+    private final Map<ChatChannelDomain, Observable<Integer>> numNotificationsByDomain = new EnumMap<>(ChatChannelDomain.class);
+    private final Map<String, Observable<Integer>> numNotificationsByChannelId = new ConcurrentHashMap<>();
+    private final NotificationsService.Subscriber notificationsSubscriber = this::onNotificationIdChanged;
 
     public ChatNotificationService(ChatService chatService,
                                    NotificationsService notificationsService,
@@ -120,6 +130,10 @@ public class ChatNotificationService implements Service {
         this.settingsService = settingsService;
         this.userIdentityService = userIdentityService;
         this.userProfileService = userProfileService;
+
+        for (ChatChannelDomain chatChannelDomain : ChatChannelDomain.values()) {
+            numNotificationsByDomain.put(chatChannelDomain, new Observable<>(0));
+        }
     }
 
 
@@ -129,27 +143,38 @@ public class ChatNotificationService implements Service {
 
     @Override
     public CompletableFuture<Boolean> initialize() {
+        notificationsService.subscribe(notificationsSubscriber);
+
         BisqEasyOpenTradeChannelService bisqEasyOpenTradeChannelService = chatService.getBisqEasyOpenTradeChannelService();
         bisqEasyOpenTradeChannelService.getChannels().addObserver(() ->
                 onChatChannelsChanged(bisqEasyOpenTradeChannelService.getChannels()));
+        observeChannelRemoval(bisqEasyOpenTradeChannelService.getChannels());
 
         BisqEasyOfferbookChannelService bisqEasyOfferbookChannelService = chatService.getBisqEasyOfferbookChannelService();
         bisqEasyOfferbookChannelService.getChannels().addObserver(() ->
                 onChatChannelsChanged(bisqEasyOfferbookChannelService.getChannels()));
+        observeChannelRemoval(bisqEasyOfferbookChannelService.getChannels());
 
         chatService.getCommonPublicChatChannelServices().values()
-                .forEach(commonPublicChatChannelService -> commonPublicChatChannelService.getChannels().addObserver(() ->
-                        onChatChannelsChanged(commonPublicChatChannelService.getChannels())));
+                .forEach(commonPublicChatChannelService -> {
+                    commonPublicChatChannelService.getChannels().addObserver(() ->
+                            onChatChannelsChanged(commonPublicChatChannelService.getChannels()));
+                    observeChannelRemoval(commonPublicChatChannelService.getChannels());
+                });
 
         chatService.getTwoPartyPrivateChatChannelServices().values()
-                .forEach(twoPartyPrivateChatChannelService -> twoPartyPrivateChatChannelService.getChannels().addObserver(() ->
-                        onChatChannelsChanged(twoPartyPrivateChatChannelService.getChannels())));
+                .forEach(twoPartyPrivateChatChannelService -> {
+                    twoPartyPrivateChatChannelService.getChannels().addObserver(() ->
+                            onChatChannelsChanged(twoPartyPrivateChatChannelService.getChannels()));
+                    observeChannelRemoval(twoPartyPrivateChatChannelService.getChannels());
+                });
 
         return CompletableFuture.completedFuture(true);
     }
 
     @Override
     public CompletableFuture<Boolean> shutdown() {
+        notificationsService.unsubscribe(notificationsSubscriber);
         return CompletableFuture.completedFuture(true);
     }
 
@@ -167,9 +192,7 @@ public class ChatNotificationService implements Service {
     }
 
     public int getNumNotificationsByDomain(ChatChannelDomain chatChannelDomain) {
-        return (int) notificationsService.getNotConsumedNotificationIds().stream()
-                .filter(notificationId -> chatChannelDomain == getChatChannelDomain(notificationId))
-                .count();
+        return numNotificationsByDomain.get(chatChannelDomain).get();
     }
 
     public int getNumNotificationsMyDomainOrParentDomain(ChatChannelDomain chatChannelDomain) {
@@ -177,14 +200,9 @@ public class ChatNotificationService implements Service {
             case BISQ_EASY_OFFERBOOK:
             case BISQ_EASY_OPEN_TRADES:
             case BISQ_EASY_PRIVATE_CHAT:
-                return (int) notificationsService.getNotConsumedNotificationIds().stream()
-                        .filter(notificationId -> {
-                            ChatChannelDomain notificationIdChatChannelDomain = getChatChannelDomain(notificationId);
-                            return notificationIdChatChannelDomain == ChatChannelDomain.BISQ_EASY_OFFERBOOK ||
-                                    notificationIdChatChannelDomain == ChatChannelDomain.BISQ_EASY_OPEN_TRADES ||
-                                    notificationIdChatChannelDomain == ChatChannelDomain.BISQ_EASY_PRIVATE_CHAT;
-                        })
-                        .count();
+                return getNumNotificationsByDomain(ChatChannelDomain.BISQ_EASY_OFFERBOOK) +
+                        getNumNotificationsByDomain(ChatChannelDomain.BISQ_EASY_OPEN_TRADES) +
+                        getNumNotificationsByDomain(ChatChannelDomain.BISQ_EASY_PRIVATE_CHAT);
             case DISCUSSION:
             case EVENTS:
             case SUPPORT:
@@ -194,9 +212,15 @@ public class ChatNotificationService implements Service {
     }
 
     public <C extends ChatChannel<?>> Integer getNumNotificationsByChannel(C chatChannel) {
-        return (int) notificationsService.getNotConsumedNotificationIds().stream()
-                .filter(notificationId -> chatChannel.getId().equals(getChatChannelId(notificationId)))
-                .count();
+        return getNumNotificationsByChannelObservable(chatChannel.getId()).get();
+    }
+
+    public ReadOnlyObservable<Integer> getNumNotificationsByDomainObservable(ChatChannelDomain chatChannelDomain) {
+        return numNotificationsByDomain.get(chatChannelDomain);
+    }
+
+    public ReadOnlyObservable<Integer> getNumNotificationsByChannelObservable(String channelId) {
+        return numNotificationsByChannelId.computeIfAbsent(channelId, key -> new Observable<>(0));
     }
 
 
@@ -204,6 +228,72 @@ public class ChatNotificationService implements Service {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+    private void onNotificationIdChanged(String notificationId) {
+        String channelId;
+        ChatChannelDomain chatChannelDomain;
+        try {
+            channelId = getChatChannelId(notificationId);
+            chatChannelDomain = getChatChannelDomain(notificationId);
+        } catch (IllegalArgumentException e) {
+            log.warn("Could not parse notificationId {}", notificationId, e);
+            return;
+        }
+        synchronized (notConsumedNotificationIds) {
+            int delta;
+            if (notificationsService.isNotConsumed(notificationId)) {
+                delta = notConsumedNotificationIds.add(notificationId) ? 1 : 0;
+            } else {
+                delta = notConsumedNotificationIds.remove(notificationId) ? -1 : 0;
+            }
+            if (delta != 0) {
+                Observable<Integer> numByDomain = numNotificationsByDomain.get(chatChannelDomain);
+                numByDomain.set(numByDomain.get() + delta);
+                Observable<Integer> numByChannel = numNotificationsByChannelId.computeIfAbsent(channelId, key -> new Observable<>(0));
+                numByChannel.set(numByChannel.get() + delta);
+            }
+        }
+    }
+
+    private <C extends ChatChannel<?>> void observeChannelRemoval(ObservableArray<C> channels) {
+        channels.addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(C chatChannel) {
+            }
+
+            @Override
+            public void remove(Object chatChannel) {
+                if (chatChannel instanceof ChatChannel) {
+                    onChatChannelRemoved((ChatChannel<?>) chatChannel);
+                }
+            }
+
+            @Override
+            public void clear() {
+            }
+        });
+    }
+
+    // When a channel gets closed we remove its pin and counter, and its not consumed notifications do not count
+    // anymore for the domain.
+    private void onChatChannelRemoved(ChatChannel<?> chatChannel) {
+        String channelId = chatChannel.getId();
+        Pin pin = chatMessagesByChannelIdPins.remove(channelId);
+        if (pin != null) {
+            pin.unbind();
+        }
+        synchronized (notConsumedNotificationIds) {
+            Set<String> toRemove = notConsumedNotificationIds.stream()
+                    .filter(notificationId -> channelId.equals(getChatChannelId(notificationId)))
+                    .collect(Collectors.toSet());
+            toRemove.forEach(notificationId -> {
+                notConsumedNotificationIds.remove(notificationId);
+                Observable<Integer> numByDomain = numNotificationsByDomain.get(getChatChannelDomain(notificationId));
+                numByDomain.set(numByDomain.get() - 1);
+            });
+            numNotificationsByChannelId.remove(channelId);
+        }
+    }
+
     private <M extends ChatMessage> void onChatChannelsChanged(ObservableArray<? extends ChatChannel<M>> channels) {
         channels.forEach(chatChannel -> {
             String channelId = chatChannel.getId();
@@ -0,0 +1,222 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.timer;
+
+import bisq.common.threading.ExecutorFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Process-wide timer based on a hashed timing wheel (Varghese and Lauck). A single ticker thread advances the wheel
+ * and hands expired tasks to a worker pool, so the number of threads does not grow with the number of scheduled
+ * tasks. The precision is limited to the tick duration.
+ * <p>
+ * The wheel only triggers the tasks. As some tasks block (e.g. waiting for a network request), the worker pool is
+ * elastic: if the oldest waiting task got not picked up within {@link #MAX_QUEUE_WAIT_TIME_MS} because all workers are
+ * busy, the ticker adds a worker, up to {@link #MAX_NUM_WORKERS}. Once the queue is empty again, the additional workers
+ * terminate when they become idle.
+ */
+@Slf4j
+public final class HashedWheelTimer {
+    private static final long WARN_LATENESS_MS = 1000;
+    private static final long MAX_QUEUE_WAIT_TIME_MS = 100;
+    private static final int MAX_NUM_WORKERS = 64;
+
+    private static final class WorkerTask implements Runnable {
+        private final Runnable task;
+        private final long enqueueTime = System.currentTimeMillis();
+
+        private WorkerTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    public final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+        private volatile boolean expired;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                if (!expired) {
+                    metrics.onCancelled();
+                }
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void expire() {
+            expired = true;
+            long latenessMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - deadlineNanos);
+            workerPool.execute(new WorkerTask(() -> {
+                if (cancelled) {
+                    return;
+                }
+                long startNanos = System.nanoTime();
+                try {
+                    task.run();
+                } catch (Throwable throwable) {
+                    log.error("Timer task failed", throwable);
+                } finally {
+                    metrics.onExecuted(Math.max(0, latenessMs), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                }
+                if (latenessMs > WARN_LATENESS_MS) {
+                    log.warn("Timer task was executed {} ms too late. {}", latenessMs, metrics);
+                }
+            }));
+        }
+    }
+
+    private final String name;
+    private final long tickNanos;
+    private final List<List<Timeout>> wheel;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final int numWorkers;
+    private final ThreadPoolExecutor workerPool;
+    private final AtomicBoolean started = new AtomicBoolean();
+    @Getter
+    private final TimerMetrics metrics = new TimerMetrics();
+    private volatile long startNanos;
+    private long tick;
+
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit timeUnit, int numBuckets, int numWorkers) {
+        this.name = name;
+        this.tickNanos = timeUnit.toNanos(tickDuration);
+        wheel = new ArrayList<>(numBuckets);
+        for (int i = 0; i < numBuckets; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.numWorkers = numWorkers;
+        workerPool = ExecutorFactory.getThreadPoolExecutor(name + "-worker",
+                numWorkers,
+                MAX_NUM_WORKERS,
+                60,
+                new LinkedBlockingQueue<>());
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit timeUnit) {
+        startIfNotStarted();
+        Timeout timeout = new Timeout(task, System.nanoTime() + Math.max(0, timeUnit.toNanos(delay)));
+        pendingTimeouts.add(timeout);
+        metrics.onScheduled();
+        return timeout;
+    }
+
+    private void startIfNotStarted() {
+        if (started.compareAndSet(false, true)) {
+            startNanos = System.nanoTime();
+            Thread thread = new Thread(this::runTicker, name + "-ticker");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void runTicker() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long nextTickNanos = startNanos + (tick + 1) * tickNanos;
+            long sleepNanos = nextTickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            transferPendingTimeouts();
+            expireTimeouts(wheel.get((int) (tick % wheel.size())));
+            adjustNumWorkers();
+            tick++;
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            // The bucket of a tick is processed at the end of the tick. If the deadline has already passed we put it
+            // into the current bucket.
+            long expiryTick = Math.max(tick, (timeout.deadlineNanos - startNanos) / tickNanos);
+            timeout.remainingRounds = (expiryTick - tick) / wheel.size();
+            wheel.get((int) (expiryTick % wheel.size())).add(timeout);
+        }
+    }
+
+    private void adjustNumWorkers() {
+        WorkerTask oldestTask = (WorkerTask) workerPool.getQueue().peek();
+        int corePoolSize = workerPool.getCorePoolSize();
+        if (oldestTask != null) {
+            long waitTime = System.currentTimeMillis() - oldestTask.enqueueTime;
+            if (waitTime > MAX_QUEUE_WAIT_TIME_MS && corePoolSize < MAX_NUM_WORKERS) {
+                // All workers are busy, likely with blocking tasks. Increasing the core pool size starts a new worker
+                // for the queued tasks.
+                workerPool.setCorePoolSize(corePoolSize + 1);
+                log.info("Timer tasks waited {} ms for a free worker. We increase the number of workers to {}. {}",
+                        waitTime, corePoolSize + 1, metrics);
+            }
+        } else if (corePoolSize > numWorkers) {
+            // Excess workers terminate once they are idle
+            workerPool.setCorePoolSize(numWorkers);
+            log.debug("Timer queue is empty. We reset the number of workers to {}.", numWorkers);
+        }
+    }
+
+    private void expireTimeouts(List<Timeout> bucket) {
+        List<Timeout> retained = new ArrayList<>();
+        for (Timeout timeout : bucket) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.remainingRounds <= 0) {
+                timeout.expire();
+            } else {
+                timeout.remainingRounds--;
+                retained.add(timeout);
+            }
+        }
+        bucket.clear();
+        bucket.addAll(retained);
+    }
+}
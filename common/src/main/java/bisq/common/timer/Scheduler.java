@@ -17,36 +17,43 @@
 
 package bisq.common.timer;
 
-import bisq.common.threading.ExecutorFactory;
+import bisq.common.util.OsUtils;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Optional;
-import java.util.Random;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class Scheduler implements TaskScheduler {
-    // We do not use a ScheduledThreadPoolExecutor as the queue cannot be customized. It would cause undesired behaviour 
-    // in case we would use a static executor for all Scheduler instances and multiple schedule calls would get 
-    // queued up instead of starting a new scheduler.
-    private final ScheduledExecutorService executor;
+    // All Scheduler instances share one timer wheel and its worker pool instead of using a thread per instance. The pool
+    // starts with a few workers and grows if blocking tasks occupy all of them.
+    // Periodic tasks are rescheduled only after they have completed, so a task never runs concurrently with itself.
+    private static final HashedWheelTimer TIMER = new HashedWheelTimer("Scheduler",
+            10,
+            TimeUnit.MILLISECONDS,
+            512,
+            Math.max(2, Math.min(4, OsUtils.availableProcessors())));
+
     private final Runnable task;
     private volatile boolean stopped;
     @Getter
-    private long counter;
+    private volatile long counter;
     private Optional<String> threadName = Optional.empty();
+    private volatile Optional<HashedWheelTimer.Timeout> timeout = Optional.empty();
 
     private Scheduler(Runnable task) {
         this.task = task;
-        executor = ExecutorFactory.newSingleThreadScheduledExecutor("Scheduler-" + new Random().nextInt(1000));
     }
 
     public static Scheduler run(Runnable task) {
         return new Scheduler(task);
     }
 
+    public static TimerMetrics getTimerMetrics() {
+        return TIMER.getMetrics();
+    }
+
     public Scheduler name(String threadName) {
         this.threadName = Optional.of(threadName);
         return this;
@@ -92,40 +99,35 @@ public class Scheduler implements TaskScheduler {
         if (stopped) {
             return this;
         }
-        if (cycles == 1) {
-            executor.schedule(() -> {
-                if (stopped) {
-                    return;
-                }
-                threadName.ifPresent(name -> Thread.currentThread().setName(name));
-                try {
-                    task.run();
-                } finally {
-                    stop();
-                }
-            }, delay, timeUnit);
-        } else {
-            executor.scheduleWithFixedDelay(() -> {
-                if (stopped) {
-                    return;
-                }
-                threadName.ifPresent(name -> Thread.currentThread().setName(name));
-                try {
-                    task.run();
-                } finally {
-                    counter++;
-                    if (counter >= cycles) {
-                        stop();
-                    }
-                }
-            }, initialDelay, delay, timeUnit);
-        }
+        schedule(initialDelay, delay, timeUnit, cycles);
         return this;
     }
 
     @Override
     public void stop() {
         stopped = true;
-        ExecutorFactory.shutdownAndAwaitTermination(executor);
+        timeout.ifPresent(HashedWheelTimer.Timeout::cancel);
+    }
+
+    private void schedule(long nextDelay, long delay, TimeUnit timeUnit, long cycles) {
+        timeout = Optional.of(TIMER.schedule(() -> {
+            if (stopped) {
+                return;
+            }
+            Thread currentThread = Thread.currentThread();
+            String workerThreadName = currentThread.getName();
+            threadName.ifPresent(currentThread::setName);
+            try {
+                task.run();
+            } finally {
+                currentThread.setName(workerThreadName);
+                counter++;
+                if (counter >= cycles) {
+                    stop();
+                } else if (!stopped) {
+                    schedule(delay, delay, timeUnit, cycles);
+                }
+            }
+        }, nextDelay, timeUnit));
     }
 }
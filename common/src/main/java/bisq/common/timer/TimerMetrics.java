@@ -0,0 +1,84 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.timer;
+
+import lombok.ToString;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lateness (time between the deadline and the start of the execution) and run time of the tasks executed by the
+ * {@link HashedWheelTimer}.
+ */
+@ToString
+public final class TimerMetrics {
+    private final LongAdder numScheduled = new LongAdder();
+    private final LongAdder numCancelled = new LongAdder();
+    private final LongAdder numExecuted = new LongAdder();
+    private final LongAdder sumLatenessMs = new LongAdder();
+    private final AtomicLong maxLatenessMs = new AtomicLong();
+    private final LongAdder sumRunTimeMs = new LongAdder();
+    private final AtomicLong maxRunTimeMs = new AtomicLong();
+
+    void onScheduled() {
+        numScheduled.increment();
+    }
+
+    void onCancelled() {
+        numCancelled.increment();
+    }
+
+    void onExecuted(long latenessMs, long runTimeMs) {
+        numExecuted.increment();
+        sumLatenessMs.add(latenessMs);
+        maxLatenessMs.accumulateAndGet(latenessMs, Math::max);
+        sumRunTimeMs.add(runTimeMs);
+        maxRunTimeMs.accumulateAndGet(runTimeMs, Math::max);
+    }
+
+    public long getNumScheduled() {
+        return numScheduled.sum();
+    }
+
+    public long getNumCancelled() {
+        return numCancelled.sum();
+    }
+
+    public long getNumExecuted() {
+        return numExecuted.sum();
+    }
+
+    public double getAverageLatenessMs() {
+        long numExecuted = getNumExecuted();
+        return numExecuted == 0 ? 0 : (double) sumLatenessMs.sum() / numExecuted;
+    }
+
+    public long getMaxLatenessMs() {
+        return maxLatenessMs.get();
+    }
+
+    public double getAverageRunTimeMs() {
+        long numExecuted = getNumExecuted();
+        return numExecuted == 0 ? 0 : (double) sumRunTimeMs.sum() / numExecuted;
+    }
+
+    public long getMaxRunTimeMs() {
+        return maxRunTimeMs.get();
+    }
+}
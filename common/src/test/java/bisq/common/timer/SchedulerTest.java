@@ -0,0 +1,99 @@
+package bisq.common.timer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+public class SchedulerTest {
+    @Test
+    public void threadCountStaysFlat() throws InterruptedException {
+        // Warm up the shared timer so that its threads are already counted
+        CountDownLatch warmUp = new CountDownLatch(1);
+        Scheduler.run(warmUp::countDown).after(1);
+        assertTrue(warmUp.await(5, TimeUnit.SECONDS));
+        int threadCountBefore = Thread.activeCount();
+
+        // Simulates stores each starting a periodic prune task
+        int numStores = 200;
+        AtomicInteger numRuns = new AtomicInteger();
+        List<Scheduler> schedulers = new ArrayList<>();
+        for (int i = 0; i < numStores; i++) {
+            schedulers.add(Scheduler.run(numRuns::incrementAndGet).periodically(50));
+        }
+        Thread.sleep(500);
+        int threadCountAfter = Thread.activeCount();
+        schedulers.forEach(Scheduler::stop);
+
+        log.info("Threads before {}, after creating {} schedulers {}. Runs: {}. Metrics: {}",
+                threadCountBefore, numStores, threadCountAfter, numRuns.get(), Scheduler.getTimerMetrics());
+        assertTrue(numRuns.get() >= numStores);
+        // Worker threads of the pool are created on demand, so we allow a few more
+        assertTrue(threadCountAfter - threadCountBefore <= 4);
+    }
+
+    @Test
+    public void blockingTasksDoNotStarveOtherTasks() throws InterruptedException {
+        // Block more tasks than the initial number of workers
+        CountDownLatch release = new CountDownLatch(1);
+        int numBlockingTasks = 8;
+        CountDownLatch blockingTasksStarted = new CountDownLatch(numBlockingTasks);
+        for (int i = 0; i < numBlockingTasks; i++) {
+            Scheduler.run(() -> {
+                blockingTasksStarted.countDown();
+                awaitUninterruptibly(release);
+            }).after(1);
+        }
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Scheduler.run(latch::countDown).after(1);
+        try {
+            assertTrue(blockingTasksStarted.await(5, TimeUnit.SECONDS));
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void after() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long ts = System.currentTimeMillis();
+        Scheduler.run(latch::countDown).after(100);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - ts >= 100);
+    }
+
+    @Test
+    public void repeated() throws InterruptedException {
+        AtomicInteger numRuns = new AtomicInteger();
+        Scheduler scheduler = Scheduler.run(numRuns::incrementAndGet).repeated(10, 3);
+        Thread.sleep(300);
+        assertEquals(3, numRuns.get());
+        assertEquals(3, scheduler.getCounter());
+    }
+
+    @Test
+    public void stop() throws InterruptedException {
+        AtomicInteger numRuns = new AtomicInteger();
+        Scheduler scheduler = Scheduler.run(numRuns::incrementAndGet).after(100);
+        scheduler.stop();
+        Thread.sleep(300);
+        assertEquals(0, numRuns.get());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ignore) {
+        }
+    }
+}
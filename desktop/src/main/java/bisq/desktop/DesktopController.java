@@ -29,6 +29,7 @@ import bisq.desktop.common.view.NavigationController;
 import bisq.desktop.common.view.NavigationTarget;
 import bisq.desktop.components.overlay.Overlay;
 import bisq.desktop.components.overlay.Popup;
+import bisq.desktop.components.robohash.RoboHash;
 import bisq.desktop.main.MainController;
 import bisq.desktop.overlay.OverlayController;
 import bisq.desktop.overlay.tac.TacController;
@@ -101,6 +102,7 @@ public class DesktopController extends NavigationController {
 
         Navigation.init(settingsService);
         Overlay.init(serviceProvider, viewRoot);
+        RoboHash.init(serviceProvider.getConfig().getBaseDir());
         serviceProvider.getShutDownHandler().addShutDownHook(this::onShutdown);
 
         // Here we start to attach the view hierarchy to the stage.
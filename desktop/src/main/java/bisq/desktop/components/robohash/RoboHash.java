@@ -1,50 +1,253 @@
 package bisq.desktop.components.robohash;
 
 import bisq.common.data.ByteArray;
-import bisq.desktop.common.utils.ImageUtil;
+import bisq.common.encoding.Hex;
+import bisq.common.threading.ExecutorFactory;
+import bisq.desktop.common.threading.UIThread;
 import javafx.scene.image.Image;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 // Derived from https://github.com/neuhalje/android-robohash
 // Number of combinations: 3 * 15 * 15 * 15 * 15 * 15 * 15  = 34171875 (2 ^ 25)
+
+/**
+ * Images are kept in a size-bounded LRU cache in memory and persisted as PNG files in the
+ * {@code cache/robohash} directory of the app data dir, so that they are rendered only once per pubKeyHash.
+ * A rendered 300x300 image takes about 360 kB of memory, which is why the in-memory cache is small compared to the
+ * number of users in a large channel.
+ * <p>
+ * List cells should use {@link #getImage(byte[], Consumer)}, which never renders on the caller thread but returns a
+ * placeholder and delivers the image on the JavaFX application thread once it is ready.
+ */
 @Slf4j
 public class RoboHash {
-    private static final int MAX_CACHE_SIZE = 10000;
+    private static final int MAX_CACHE_SIZE = 500;
+    private static final int MAX_DISK_CACHE_SIZE = 2000;
+    private static final String CACHE_DIR = "cache" + File.separator + "robohash";
     private static final HandleFactory HANDLE_FACTORY = new HandleFactory();
-    private static final ConcurrentHashMap<ByteArray, Image> CACHE = new ConcurrentHashMap<>();
+    private static final ExecutorService EXECUTOR = ExecutorFactory.newFixedThreadPool("RoboHash", 2);
+    private static final Map<ByteArray, Image> CACHE = new LinkedHashMap<>(MAX_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteArray, Image> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+    // Avoids that the same image is rendered concurrently if several cells request it at the same time
+    private static final Map<ByteArray, CompletableFuture<Image>> PENDING = new ConcurrentHashMap<>();
+    @Nullable
+    private static volatile Path cacheDir;
+    @Nullable
+    private static volatile Image placeholder;
+
+    public static void init(Path baseDir) {
+        Path dir = baseDir.resolve(CACHE_DIR);
+        CompletableFuture.runAsync(() -> {
+            try {
+                Files.createDirectories(dir);
+                pruneDiskCache(dir);
+                cacheDir = dir;
+            } catch (IOException e) {
+                log.warn("Could not create RoboHash cache directory {}. Images will not be persisted.", dir, e);
+            }
+        }, EXECUTOR);
+    }
 
     public static Image getImage(byte[] pubKeyHash) {
         return getImage(new ByteArray(pubKeyHash), true);
     }
 
+    /**
+     * @param useCache If false, the image is neither taken from nor added to the memory and disk cache. To be used for
+     *                 images which are likely shown only once, like the nyms of a profile which is not created yet.
+     */
     public static Image getImage(byte[] pubKeyHash, boolean useCache) {
         return getImage(new ByteArray(pubKeyHash), useCache);
     }
 
+    /**
+     * Returns the image if it is in the memory cache. Otherwise, returns a placeholder and loads or renders the image
+     * on a background thread. The resultHandler is called on the JavaFX application thread once the image is ready.
+     */
+    public static Image getImage(byte[] pubKeyHash, Consumer<Image> resultHandler) {
+        ByteArray key = new ByteArray(pubKeyHash);
+        Image cached = getFromCache(key);
+        if (cached != null) {
+            return cached;
+        }
+        getImageAsync(key).whenComplete((image, throwable) -> {
+            if (throwable != null) {
+                log.error("Creating RoboHash image failed", throwable);
+            } else {
+                UIThread.run(() -> resultHandler.accept(image));
+            }
+        });
+        return getPlaceholder();
+    }
+
+    public static CompletableFuture<Image> getImageAsync(byte[] pubKeyHash) {
+        return getImageAsync(new ByteArray(pubKeyHash));
+    }
+
+    private static CompletableFuture<Image> getImageAsync(ByteArray pubKeyHash) {
+        Image cached = getFromCache(pubKeyHash);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Image> future = PENDING.computeIfAbsent(pubKeyHash,
+                key -> CompletableFuture.supplyAsync(() -> getImage(key, true), EXECUTOR));
+        future.whenComplete((image, throwable) -> PENDING.remove(pubKeyHash, future));
+        return future;
+    }
+
     private static Image getImage(ByteArray pubKeyHash, boolean useCache) {
-        if (useCache && CACHE.containsKey(pubKeyHash)) {
+        if (!useCache) {
+            return toImage(renderPng(pubKeyHash));
+        }
+        Image cached = getFromCache(pubKeyHash);
+        if (cached != null) {
+            return cached;
+        }
+        Image image = readFromDisk(pubKeyHash);
+        if (image == null) {
+            byte[] png = renderPng(pubKeyHash);
+            image = toImage(png);
+            writeToDisk(pubKeyHash, png);
+        }
+        synchronized (CACHE) {
+            CACHE.put(pubKeyHash, image);
+        }
+        return image;
+    }
+
+    @Nullable
+    private static Image getFromCache(ByteArray pubKeyHash) {
+        synchronized (CACHE) {
             return CACHE.get(pubKeyHash);
         }
+    }
+
+    private static byte[] renderPng(ByteArray pubKeyHash) {
+        long ts = System.currentTimeMillis();
         BigInteger bigInteger = new BigInteger(pubKeyHash.getBytes());
         Configuration configuration = new Configuration();
         VariableSizeHashing hashing = new VariableSizeHashing(configuration.getBucketSizes());
         byte[] data = hashing.createBuckets(bigInteger);
         Handle handle = HANDLE_FACTORY.calculateHandle(data);
-        Image image = imageForHandle(handle, configuration);
-        if (useCache && CACHE.size() < MAX_CACHE_SIZE) {
-            CACHE.put(pubKeyHash, image);
+        String[] paths = configuration.convertToFacetParts(handle.bucketValues());
+        try {
+            byte[] png = RoboHashRenderer.renderPng(paths, configuration.width(), configuration.height());
+            log.debug("Rendered RoboHash image in {} ms", System.currentTimeMillis() - ts);
+            return png;
+        } catch (IOException e) {
+            throw new RuntimeException("Rendering RoboHash image failed", e);
+        }
+    }
+
+    private static Image getPlaceholder() {
+        Image image = placeholder;
+        if (image == null) {
+            Configuration configuration = new Configuration();
+            try {
+                image = toImage(RoboHashRenderer.renderPlaceholderPng(configuration.width(), configuration.height()));
+            } catch (IOException e) {
+                throw new RuntimeException("Rendering RoboHash placeholder failed", e);
+            }
+            placeholder = image;
         }
         return image;
     }
 
-    private static Image imageForHandle(Handle handle, Configuration configuration) {
-        long ts = System.currentTimeMillis();
-        byte[] bucketValues = handle.bucketValues();
-        String[] paths = configuration.convertToFacetParts(bucketValues);
-        log.debug("Generated paths for RoboHash image in {} ms", System.currentTimeMillis() - ts); // typically <1ms
-        return ImageUtil.composeImage(paths, configuration.width(), configuration.height());
+    private static Image toImage(byte[] png) {
+        return new Image(new ByteArrayInputStream(png));
+    }
+
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Disk cache
+    ////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Nullable
+    private static Image readFromDisk(ByteArray pubKeyHash) {
+        Path dir = cacheDir;
+        if (dir == null) {
+            return null;
+        }
+        Path file = getCacheFile(dir, pubKeyHash);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            Image image = toImage(Files.readAllBytes(file));
+            if (image.isError()) {
+                log.warn("Cached RoboHash image {} is corrupted. We render it again.", file);
+                Files.deleteIfExists(file);
+                return null;
+            }
+            // We use the last modified date for pruning the least recently used files
+            file.toFile().setLastModified(System.currentTimeMillis());
+            return image;
+        } catch (IOException e) {
+            log.warn("Could not read cached RoboHash image {}", file, e);
+            return null;
+        }
+    }
+
+    private static void writeToDisk(ByteArray pubKeyHash, byte[] png) {
+        Path dir = cacheDir;
+        if (dir == null) {
+            return;
+        }
+        Path file = getCacheFile(dir, pubKeyHash);
+        try {
+            // Write to a temp file first so that a crash cannot leave a partially written image behind
+            Path tempFile = Files.createTempFile(dir, "robohash", ".tmp");
+            Files.write(tempFile, png);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write RoboHash image to {}", file, e);
+        }
+    }
+
+    private static Path getCacheFile(Path dir, ByteArray pubKeyHash) {
+        return dir.resolve(Hex.encode(pubKeyHash.getBytes()) + ".png");
+    }
+
+    private static void pruneDiskCache(Path dir) {
+        File[] files = dir.toFile().listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.stream(files)
+                .filter(file -> file.getName().endsWith(".tmp"))
+                .forEach(File::delete);
+        File[] pngFiles = dir.toFile().listFiles((d, name) -> name.endsWith(".png"));
+        if (pngFiles == null || pngFiles.length <= MAX_DISK_CACHE_SIZE) {
+            return;
+        }
+        Arrays.sort(pngFiles, Comparator.comparingLong(File::lastModified));
+        int numToRemove = pngFiles.length - MAX_DISK_CACHE_SIZE;
+        for (int i = 0; i < numToRemove; i++) {
+            if (!pngFiles[i].delete()) {
+                log.warn("Could not delete cached RoboHash image {}", pngFiles[i]);
+            }
+        }
+        log.info("Removed {} cached RoboHash images", numToRemove);
     }
 }
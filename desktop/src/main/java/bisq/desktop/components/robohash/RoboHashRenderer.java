@@ -0,0 +1,65 @@
+package bisq.desktop.components.robohash;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Composes the facet images to a round RoboHash image encoded as PNG. Uses Java2D instead of a JavaFX Canvas, as
+ * taking a snapshot of a Canvas is only supported on the JavaFX application thread.
+ */
+@Slf4j
+class RoboHashRenderer {
+    private static final String FACETS_PATH = "images/robohash/";
+
+    static byte[] renderPng(String[] paths, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            for (String path : paths) {
+                graphics.drawImage(readFacet(path), 0, 0, width, height, null);
+            }
+            // Keep only the pixels inside the circle, with an anti-aliased edge
+            graphics.setComposite(AlphaComposite.DstIn);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setColor(Color.BLACK);
+            graphics.fill(new Ellipse2D.Double(0, 0, width, height));
+        } finally {
+            graphics.dispose();
+        }
+        return toPng(image);
+    }
+
+    static byte[] renderPlaceholderPng(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setColor(new Color(0x66, 0x66, 0x66, 0x80));
+            graphics.fill(new Ellipse2D.Double(0, 0, width, height));
+        } finally {
+            graphics.dispose();
+        }
+        return toPng(image);
+    }
+
+    private static BufferedImage readFacet(String path) throws IOException {
+        try (InputStream inputStream = RoboHashRenderer.class.getClassLoader().getResourceAsStream(FACETS_PATH + path)) {
+            return ImageIO.read(Objects.requireNonNull(inputStream, "Missing RoboHash facet " + path));
+        }
+    }
+
+    private static byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -249,7 +249,11 @@ class TradeWizardSelectOfferView extends View<VBox, TradeWizardSelectOfferModel,
                         if (item != null && !empty) {
                             userName.setText(item.getMakerUserName());
                             item.getAuthorUserProfile().ifPresent(userProfile ->
-                                    roboIcon.setImage(RoboHash.getImage(userProfile.getPubKeyHash())));
+                                    roboIcon.setImage(RoboHash.getImage(userProfile.getPubKeyHash(), image -> {
+                                        if (item == getItem()) {
+                                            roboIcon.setImage(image);
+                                        }
+                                    })));
                             setGraphic(hBox);
                         } else {
                             setGraphic(null);
@@ -40,7 +40,6 @@ import bisq.user.profile.UserProfileService;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import lombok.Getter;
@@ -138,8 +137,8 @@ public abstract class ChatController<V extends ChatView, M extends ChatModel> ex
     protected void applyPeersIcon(PrivateChatChannel<?> privateChatChannel) {
         if (privateChatChannel instanceof TwoPartyPrivateChatChannel) {
             TwoPartyPrivateChatChannel twoPartyPrivateChatChannel = (TwoPartyPrivateChatChannel) privateChatChannel;
-            Image image = RoboHash.getImage(twoPartyPrivateChatChannel.getPeer().getPubKeyHash());
-            ImageView imageView = new ImageView(image);
+            ImageView imageView = new ImageView();
+            imageView.setImage(RoboHash.getImage(twoPartyPrivateChatChannel.getPeer().getPubKeyHash(), imageView::setImage));
             imageView.setFitWidth(35);
             imageView.setFitHeight(35);
             Button iconButton = BisqIconButton.createIconButton(imageView);
@@ -158,13 +157,15 @@ public abstract class ChatController<V extends ChatView, M extends ChatModel> ex
                     left = bisqEasyOpenTradeChannel.getPeer();
                     right = bisqEasyOpenTradeChannel.getMediator().get();
                 }
-                ImageView leftImageView = new ImageView(RoboHash.getImage(left.getPubKeyHash()));
+                ImageView leftImageView = new ImageView();
+                leftImageView.setImage(RoboHash.getImage(left.getPubKeyHash(), leftImageView::setImage));
                 leftImageView.setFitWidth(35);
                 leftImageView.setFitHeight(35);
                 Button leftIconButton = BisqIconButton.createIconButton(leftImageView);
                 leftIconButton.setMouseTransparent(true);
 
-                ImageView rightImageView = new ImageView(RoboHash.getImage(right.getPubKeyHash()));
+                ImageView rightImageView = new ImageView();
+                rightImageView.setImage(RoboHash.getImage(right.getPubKeyHash(), rightImageView::setImage));
                 rightImageView.setFitWidth(35);
                 rightImageView.setFitHeight(35);
                 Button rightIconButton = BisqIconButton.createIconButton(rightImageView);
@@ -175,8 +176,8 @@ public abstract class ChatController<V extends ChatView, M extends ChatModel> ex
                 hBox.setAlignment(Pos.CENTER_LEFT);
                 model.getChannelIconNode().set(hBox);
             } else {
-                Image image = RoboHash.getImage(bisqEasyOpenTradeChannel.getPeer().getPubKeyHash());
-                ImageView imageView = new ImageView(image);
+                ImageView imageView = new ImageView();
+                imageView.setImage(RoboHash.getImage(bisqEasyOpenTradeChannel.getPeer().getPubKeyHash(), imageView::setImage));
                 imageView.setFitWidth(35);
                 imageView.setFitHeight(35);
                 Button iconButton = BisqIconButton.createIconButton(imageView);
@@ -176,7 +176,11 @@ public class TwoPartyPrivateChannelSelectionMenu extends PrivateChannelSelection
                         checkArgument(privateChatChannel instanceof TwoPartyPrivateChatChannel);
                         TwoPartyPrivateChatChannel twoPartyPrivateChatChannel = (TwoPartyPrivateChatChannel) privateChatChannel;
                         peer = twoPartyPrivateChatChannel.getPeer();
-                        roboIcon.setImage(RoboHash.getImage(peer.getPubKeyHash()));
+                        roboIcon.setImage(RoboHash.getImage(peer.getPubKeyHash(), image -> {
+                            if (item == getItem()) {
+                                roboIcon.setImage(image);
+                            }
+                        }));
                         Tooltip.install(roboIcon, tooltip);
                         Tooltip.install(label, tooltip);
                         icons.add(roboIcon);
@@ -93,7 +93,7 @@ public class ChannelSidebarUserProfile implements Comparable<ChannelSidebarUserP
 
             String userName = userProfile.getUserName();
             model.userName.set(isUserProfileBanned() ? Res.get("user.userProfile.userName.banned", userName) : userName);
-            model.roboHashImage.set(RoboHash.getImage(userProfile.getPubKeyHash()));
+            model.roboHashImage.set(RoboHash.getImage(userProfile.getPubKeyHash(), model.roboHashImage::set));
         }
 
         @Override
@@ -87,6 +87,7 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.stage.Window;
 import javafx.util.Callback;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -94,6 +95,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.fxmisc.easybind.EasyBind;
 import org.fxmisc.easybind.Subscription;
 
+import javax.annotation.Nullable;
 import java.text.DateFormat;
 import java.util.*;
 import java.util.function.Consumer;
@@ -455,39 +457,124 @@ public class ChatMessagesListView {
         }
 
         private <M extends ChatMessage, C extends ChatChannel<M>> Pin bindChatMessages(C channel) {
-            return channel.getChatMessages().addObserver(new CollectionObserver<>() {
-                @Override
-                public void add(M chatMessage) {
-                    UIThread.runOnNextRenderFrame(() -> {
-                        model.chatMessages.add(new ChatMessageListItem<>(chatMessage, userProfileService, reputationService,
-                                bisqEasyTradeService, userIdentityService, networkService));
-                    });
+            BatchingChatMessagesObserver<M> observer = new BatchingChatMessagesObserver<>();
+            Pin pin = channel.getChatMessages().addObserver(observer);
+            return () -> {
+                pin.unbind();
+                observer.dispose();
+            };
+        }
+
+        /**
+         * Collects the changes of the channel's chat messages and applies them once per render frame with a single
+         * removeAll and addAll on the model. An inventory sync can deliver thousands of offerbook messages at once,
+         * which would otherwise cause one UI task and one list change event per message.
+         */
+        private class BatchingChatMessagesObserver<M extends ChatMessage> implements CollectionObserver<M> {
+            // Only accessed from the UI thread
+            private final Map<String, ChatMessageListItem<? extends ChatMessage>> itemByMessageId = new HashMap<>();
+            private boolean disposed;
+
+            // Guarded by 'this' as the observer gets called from any thread
+            private final Map<String, M> pendingAdds = new LinkedHashMap<>();
+            private final Set<String> pendingRemoves = new HashSet<>();
+            private boolean pendingClear;
+            private boolean flushScheduled;
+
+            @Override
+            public void add(M chatMessage) {
+                addAll(List.of(chatMessage));
+            }
+
+            @Override
+            public synchronized void addAll(Collection<? extends M> chatMessages) {
+                chatMessages.forEach(chatMessage -> pendingAdds.put(chatMessage.getId(), chatMessage));
+                scheduleFlush();
+            }
+
+            @Override
+            public synchronized void remove(Object element) {
+                if (element instanceof ChatMessage) {
+                    String messageId = ((ChatMessage) element).getId();
+                    pendingAdds.remove(messageId);
+                    pendingRemoves.add(messageId);
+                    scheduleFlush();
                 }
+            }
 
-                @Override
-                public void remove(Object element) {
-                    if (element instanceof ChatMessage) {
-                        UIThread.runOnNextRenderFrame(() -> {
-                            ChatMessage chatMessage = (ChatMessage) element;
-                            Optional<ChatMessageListItem<? extends ChatMessage>> toRemove = model.chatMessages.stream()
-                                    .filter(item -> item.getChatMessage().getId().equals(chatMessage.getId()))
-                                    .findAny();
-                            toRemove.ifPresent(item -> {
-                                item.dispose();
-                                model.chatMessages.remove(item);
-                            });
-                        });
+            @Override
+            public synchronized void clear() {
+                pendingAdds.clear();
+                pendingRemoves.clear();
+                pendingClear = true;
+                scheduleFlush();
+            }
+
+            private void dispose() {
+                disposed = true;
+                itemByMessageId.clear();
+            }
+
+            private void scheduleFlush() {
+                if (!flushScheduled) {
+                    flushScheduled = true;
+                    UIThread.runOnNextRenderFrame(this::flush);
+                }
+            }
+
+            private void flush() {
+                boolean clear;
+                List<M> toAdd;
+                Set<String> toRemove;
+                synchronized (this) {
+                    clear = pendingClear;
+                    toAdd = new ArrayList<>(pendingAdds.values());
+                    toRemove = new HashSet<>(pendingRemoves);
+                    pendingClear = false;
+                    pendingAdds.clear();
+                    pendingRemoves.clear();
+                    flushScheduled = false;
+                }
+                if (disposed) {
+                    return;
+                }
+
+                if (clear) {
+                    model.chatMessages.forEach(ChatMessageListItem::dispose);
+                    model.chatMessages.clear();
+                    itemByMessageId.clear();
+                }
+
+                // A message which gets added again replaces the existing item
+                toAdd.stream()
+                        .map(ChatMessage::getId)
+                        .filter(itemByMessageId::containsKey)
+                        .forEach(toRemove::add);
+                // ObservableList.removeAll calls contains for each element, so we use an identity based set
+                Set<ChatMessageListItem<? extends ChatMessage>> itemsToRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+                toRemove.forEach(messageId -> {
+                    ChatMessageListItem<? extends ChatMessage> item = itemByMessageId.remove(messageId);
+                    if (item != null) {
+                        item.dispose();
+                        itemsToRemove.add(item);
                     }
+                });
+                if (!itemsToRemove.isEmpty()) {
+                    model.chatMessages.removeAll(itemsToRemove);
                 }
 
-                @Override
-                public void clear() {
-                    UIThread.runOnNextRenderFrame(() -> {
-                        model.chatMessages.forEach(ChatMessageListItem::dispose);
-                        model.chatMessages.clear();
-                    });
+                List<ChatMessageListItem<? extends ChatMessage>> itemsToAdd = toAdd.stream()
+                        .map(chatMessage -> {
+                            ChatMessageListItem<M> item = new ChatMessageListItem<>(chatMessage, userProfileService,
+                                    reputationService, bisqEasyTradeService, userIdentityService, networkService);
+                            itemByMessageId.put(chatMessage.getId(), item);
+                            return item;
+                        })
+                        .collect(Collectors.toList());
+                if (!itemsToAdd.isEmpty()) {
+                    model.chatMessages.addAll(itemsToAdd);
                 }
-            });
+            }
         }
 
         private String getUserName(String userProfileId) {
@@ -768,7 +855,7 @@ public class ChatMessagesListView {
                                         }
                                     }
                             ));
-                            deliveryState.getTooltip().textProperty().bind(item.messageDeliveryStatusTooltip);
+                            deliveryState.getTooltip().textProperty().bind(item.getMessageDeliveryStatusTooltip());
                             editInputField.maxWidthProperty().bind(message.widthProperty());
                             setGraphic(cellHBox);
                         }
@@ -1075,21 +1162,45 @@ public class ChatMessagesListView {
     public static class ChatMessageListItem<T extends ChatMessage> implements Comparable<ChatMessageListItem<T>> {
         private final T chatMessage;
         private final String message;
-        private final String date;
         private final Optional<Citation> citation;
         private final Optional<UserProfile> senderUserProfile;
         private final String nym;
         private final String nickName;
         @EqualsAndHashCode.Exclude
-        private final ReputationScore reputationScore;
-        private final boolean canTakeOffer;
-        @EqualsAndHashCode.Exclude
         private final StringProperty messageDeliveryStatusTooltip = new SimpleStringProperty();
         @EqualsAndHashCode.Exclude
         private final ObjectProperty<AwesomeIcon> messageDeliveryStatusIcon = new SimpleObjectProperty<>();
         @EqualsAndHashCode.Exclude
         private final Set<Pin> pins = new HashSet<>();
 
+        // The fields below are only needed once the item gets displayed in a cell or matched by a search, so we
+        // create them lazily. Items are only accessed from the UI thread.
+        @EqualsAndHashCode.Exclude
+        @Getter(AccessLevel.NONE)
+        private final ReputationService reputationService;
+        @EqualsAndHashCode.Exclude
+        @Getter(AccessLevel.NONE)
+        private final BisqEasyTradeService bisqEasyTradeService;
+        @EqualsAndHashCode.Exclude
+        @Getter(AccessLevel.NONE)
+        private final UserIdentityService userIdentityService;
+        @EqualsAndHashCode.Exclude
+        @Getter(AccessLevel.NONE)
+        private final NetworkService networkService;
+        @EqualsAndHashCode.Exclude
+        @Nullable
+        private String date;
+        @EqualsAndHashCode.Exclude
+        @Nullable
+        private ReputationScore reputationScore;
+        @EqualsAndHashCode.Exclude
+        @Getter(AccessLevel.NONE)
+        @Nullable
+        private Boolean canTakeOffer;
+        @EqualsAndHashCode.Exclude
+        @Getter(AccessLevel.NONE)
+        private boolean isMessageDeliveryStatusObserved;
+
         public ChatMessageListItem(T chatMessage,
                                    UserProfileService userProfileService,
                                    ReputationService reputationService,
@@ -1097,6 +1208,10 @@ public class ChatMessagesListView {
                                    UserIdentityService userIdentityService,
                                    NetworkService networkService) {
             this.chatMessage = chatMessage;
+            this.reputationService = reputationService;
+            this.bisqEasyTradeService = bisqEasyTradeService;
+            this.userIdentityService = userIdentityService;
+            this.networkService = networkService;
 
             if (chatMessage instanceof PrivateChatMessage) {
                 senderUserProfile = Optional.of(((PrivateChatMessage) chatMessage).getSenderUserProfile());
@@ -1106,13 +1221,43 @@ public class ChatMessagesListView {
             String editPostFix = chatMessage.isWasEdited() ? EDITED_POST_FIX : "";
             message = chatMessage.getText() + editPostFix;
             citation = chatMessage.getCitation();
-            date = DateFormatter.formatDateTime(new Date(chatMessage.getDate()), DateFormat.MEDIUM, DateFormat.SHORT, true, " " + Res.get("temporal.at") + " ");
 
             nym = senderUserProfile.map(UserProfile::getNym).orElse("");
             nickName = senderUserProfile.map(UserProfile::getNickName).orElse("");
+        }
 
-            reputationScore = senderUserProfile.flatMap(reputationService::findReputationScore).orElse(ReputationScore.NONE);
+        public String getDate() {
+            if (date == null) {
+                date = DateFormatter.formatDateTime(new Date(chatMessage.getDate()), DateFormat.MEDIUM, DateFormat.SHORT, true, " " + Res.get("temporal.at") + " ");
+            }
+            return date;
+        }
+
+        public ReputationScore getReputationScore() {
+            if (reputationScore == null) {
+                reputationScore = senderUserProfile.flatMap(reputationService::findReputationScore).orElse(ReputationScore.NONE);
+            }
+            return reputationScore;
+        }
+
+        public boolean isCanTakeOffer() {
+            if (canTakeOffer == null) {
+                canTakeOffer = evaluateCanTakeOffer();
+            }
+            return canTakeOffer;
+        }
 
+        public StringProperty getMessageDeliveryStatusTooltip() {
+            observeMessageDeliveryStatus();
+            return messageDeliveryStatusTooltip;
+        }
+
+        public ObjectProperty<AwesomeIcon> getMessageDeliveryStatusIcon() {
+            observeMessageDeliveryStatus();
+            return messageDeliveryStatusIcon;
+        }
+
+        private boolean evaluateCanTakeOffer() {
             if (chatMessage instanceof BisqEasyOfferbookMessage) {
                 BisqEasyOfferbookMessage bisqEasyOfferbookMessage = (BisqEasyOfferbookMessage) chatMessage;
                 if (userIdentityService.getSelectedUserIdentity() != null && bisqEasyOfferbookMessage.getBisqEasyOffer().isPresent()) {
@@ -1120,14 +1265,18 @@ public class ChatMessagesListView {
                     NetworkId takerNetworkId = userProfile.getNetworkId();
                     BisqEasyOffer bisqEasyOffer = bisqEasyOfferbookMessage.getBisqEasyOffer().get();
                     String tradeId = Trade.createId(bisqEasyOffer.getId(), takerNetworkId.getId());
-                    canTakeOffer = !bisqEasyTradeService.hadTrade(tradeId);
-                } else {
-                    canTakeOffer = false;
+                    return !bisqEasyTradeService.hadTrade(tradeId);
                 }
-            } else {
-                canTakeOffer = false;
             }
+            return false;
+        }
 
+        // Adding the observer iterates over all delivery states, so we do that only once the item gets displayed.
+        private void observeMessageDeliveryStatus() {
+            if (isMessageDeliveryStatusObserved) {
+                return;
+            }
+            isMessageDeliveryStatusObserved = true;
             pins.add(networkService.getMessageDeliveryStatusByMessageId().addObserver(new HashMapObserver<>() {
                 @Override
                 public void put(String key, Observable<MessageDeliveryStatus> value) {
@@ -1177,7 +1326,7 @@ public class ChatMessagesListView {
         }
 
         public boolean match(String filterString) {
-            return filterString == null || filterString.isEmpty() || StringUtils.containsIgnoreCase(message, filterString) || StringUtils.containsIgnoreCase(nym, filterString) || StringUtils.containsIgnoreCase(nickName, filterString) || StringUtils.containsIgnoreCase(date, filterString);
+            return filterString == null || filterString.isEmpty() || StringUtils.containsIgnoreCase(message, filterString) || StringUtils.containsIgnoreCase(nym, filterString) || StringUtils.containsIgnoreCase(nickName, filterString) || StringUtils.containsIgnoreCase(getDate(), filterString);
         }
 
         public void dispose() {
@@ -31,6 +31,8 @@ import static bisq.desktop.main.content.components.UserProfileDisplay.DEFAULT_IC
 @Slf4j
 public class UserProfileIcon extends ImageView {
     private BisqTooltip tooltip;
+    @Nullable
+    private byte[] pubKeyHash;
 
     public UserProfileIcon() {
         this(DEFAULT_ICON_SIZE);
@@ -45,8 +47,16 @@ public class UserProfileIcon extends ImageView {
             tooltip = new BisqTooltip(userProfile.getTooltipString());
             tooltip.getStyleClass().add("medium-dark-tooltip");
             Tooltip.install(this, tooltip);
-            setImage(RoboHash.getImage(userProfile.getPubKeyHash()));
+            byte[] requestedPubKeyHash = userProfile.getPubKeyHash();
+            pubKeyHash = requestedPubKeyHash;
+            setImage(RoboHash.getImage(requestedPubKeyHash, image -> {
+                // Cells get reused, so we only apply the image if we still show the same user profile
+                if (pubKeyHash == requestedPubKeyHash) {
+                    setImage(image);
+                }
+            }));
         } else {
+            pubKeyHash = null;
             setImage(null);
             if (tooltip != null) {
                 Tooltip.uninstall(this, tooltip);
@@ -55,6 +65,7 @@ public class UserProfileIcon extends ImageView {
     }
 
     public void releaseResources() {
+        pubKeyHash = null;
         setImage(null);
     }
 
@@ -373,7 +373,11 @@ public class UserProfileSelection {
                     super.updateItem(item, empty);
 
                     if (item != null && !empty) {
-                        imageView.setImage(RoboHash.getImage(item.userIdentity.getPubKeyHash()));
+                        imageView.setImage(RoboHash.getImage(item.userIdentity.getPubKeyHash(), image -> {
+                            if (item == getItem()) {
+                                imageView.setImage(image);
+                            }
+                        }));
                         label.setText(item.userIdentity.getUserName());
 
                         labelWidthListener = (observable, oldValue, newValue) -> {
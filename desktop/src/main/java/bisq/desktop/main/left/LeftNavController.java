@@ -36,7 +36,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class LeftNavController implements Controller {
@@ -161,11 +160,7 @@ public class LeftNavController implements Controller {
                     case BISQ_EASY_OFFERBOOK:
                     case BISQ_EASY_OPEN_TRADES:
                     case BISQ_EASY_PRIVATE_CHAT:
-                        Set<String> tradeIdSet = notificationsService.getNotConsumedNotificationIds().stream()
-                                .filter(id -> ChatNotificationService.getChatChannelDomain(id) == ChatChannelDomain.BISQ_EASY_OPEN_TRADES)
-                                .flatMap(id -> ChatNotificationService.findTradeId(id).stream())
-                                .collect(Collectors.toSet());
-                        if (!tradeIdSet.isEmpty()) {
+                        if (chatNotificationService.getNumNotificationsByDomain(ChatChannelDomain.BISQ_EASY_OPEN_TRADES) > 0) {
                             leftNavButton.getNumMessagesBadge().getStyleClass().add("open-trades-badge");
                         } else {
                             leftNavButton.getNumMessagesBadge().getStyleClass().remove("open-trades-badge");
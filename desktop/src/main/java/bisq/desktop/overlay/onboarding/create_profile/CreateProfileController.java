@@ -214,7 +214,8 @@ public class CreateProfileController implements Controller {
 
     private void applyIdentityData(byte[] pubKeyHash, String nym) {
         model.getNym().set(nym);
-        model.getRoboHashImage().set(RoboHash.getImage(pubKeyHash));
+        // Most of the nyms are regenerated by the user, so we do not cache them
+        model.getRoboHashImage().set(RoboHash.getImage(pubKeyHash, false));
         model.getPowProgress().set(0);
         model.getRoboHashIconVisible().set(true);
         model.getReGenerateButtonDisabled().set(false);
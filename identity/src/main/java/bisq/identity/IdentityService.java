@@ -47,6 +47,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -81,6 +82,7 @@ public class IdentityService implements PersistenceClient<IdentityStore>, Servic
         log.info("initialize");
         return CompletableFuture.supplyAsync(() -> {
             Identity defaultIdentity = getOrCreateDefaultIdentity();
+            verifyNoMultiplexedIdentitiesIfMultiplexingDisabled();
             networkService.createDefaultServiceNodes(defaultIdentity.getNetworkId(), defaultIdentity.getTorIdentity());
 
             initializeActiveIdentities();
@@ -147,8 +149,11 @@ public class IdentityService implements PersistenceClient<IdentityStore>, Servic
         keyPairService.persistKeyPair(keyId, keyPair);
         PubKey pubKey = new PubKey(keyPair.getPublic(), keyId);
 
-        TorIdentity torIdentity = findOrCreateTorIdentity(identityTag);
-        NetworkId networkId = createNetworkId(false, pubKey, torIdentity);
+        Optional<Identity> multiplexingIdentity = findMultiplexingIdentity(identityTag);
+        TorIdentity torIdentity = multiplexingIdentity.map(Identity::getTorIdentity)
+                .orElseGet(() -> findOrCreateTorIdentity(identityTag));
+        NetworkId networkId = multiplexingIdentity.map(defaultIdentity -> createMultiplexedNetworkId(defaultIdentity, pubKey))
+                .orElseGet(() -> createNetworkId(false, pubKey, torIdentity));
         Identity identity = new Identity(identityTag, networkId, torIdentity, keyPair);
 
         synchronized (lock) {
@@ -220,6 +225,37 @@ public class IdentityService implements PersistenceClient<IdentityStore>, Servic
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Identities created with identity multiplexing enabled share the tor identity and address of the default
+     * identity. Without multiplexing each of them would get its own node with the same tor identity and port as the
+     * default node. Their address is part of published data (e.g. user profiles), so we cannot migrate them
+     * silently and refuse to start instead.
+     */
+    private void verifyNoMultiplexedIdentitiesIfMultiplexingDisabled() {
+        if (networkService.isIdentityMultiplexingEnabled()) {
+            return;
+        }
+        Set<String> multiplexedIdentityTags;
+        synchronized (lock) {
+            multiplexedIdentityTags = getActiveIdentityByTag().entrySet().stream()
+                    .filter(entry -> isMultiplexed(entry.getValue(), entry.getKey()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+        }
+        if (!multiplexedIdentityTags.isEmpty()) {
+            throw new IllegalStateException("Found " + multiplexedIdentityTags.size() + " identities which were " +
+                    "created with identity multiplexing, but serviceNode.multiplexIdentities is disabled. " +
+                    "Enable serviceNode.multiplexIdentities to start with this data directory. " +
+                    "Identity tags: " + multiplexedIdentityTags);
+        }
+    }
+
+    private boolean isMultiplexed(Identity identity, String identityTag) {
+        return !identityTag.equals(DEFAULT_IDENTITY_TAG) && persistableStore.getDefaultIdentity()
+                .map(defaultIdentity -> defaultIdentity.getTorIdentity().equals(identity.getTorIdentity()))
+                .orElse(false);
+    }
+
     private void initializeActiveIdentities() {
         getActiveIdentityByTag().values().stream()
                 .filter(identity -> !identity.getTag().equals(Node.DEFAULT))
@@ -268,11 +304,35 @@ public class IdentityService implements PersistenceClient<IdentityStore>, Servic
     private Identity createIdentity(String keyId, String identityTag, KeyPair keyPair) {
         PubKey pubKey = new PubKey(keyPair.getPublic(), keyId);
         boolean isDefaultIdentity = identityTag.equals(DEFAULT_IDENTITY_TAG);
+        Optional<Identity> multiplexingIdentity = findMultiplexingIdentity(identityTag);
+        if (multiplexingIdentity.isPresent()) {
+            Identity defaultIdentity = multiplexingIdentity.get();
+            NetworkId networkId = createMultiplexedNetworkId(defaultIdentity, pubKey);
+            return new Identity(identityTag, networkId, defaultIdentity.getTorIdentity(), keyPair);
+        }
         TorIdentity torIdentity = findOrCreateTorIdentity(identityTag);
         NetworkId networkId = createNetworkId(isDefaultIdentity, pubKey, torIdentity);
         return new Identity(identityTag, networkId, torIdentity, keyPair);
     }
 
+    /**
+     * If identity multiplexing is enabled, all identities apart the default identity share the address and the
+     * tor identity of the default identity. They only differ by their pubKey, which is used for routing
+     * inbound messages.
+     */
+    private Optional<Identity> findMultiplexingIdentity(String identityTag) {
+        if (!networkService.isIdentityMultiplexingEnabled() || identityTag.equals(DEFAULT_IDENTITY_TAG)) {
+            return Optional.empty();
+        }
+        return persistableStore.getDefaultIdentity();
+    }
+
+    private NetworkId createMultiplexedNetworkId(Identity defaultIdentity, PubKey pubKey) {
+        AddressByTransportTypeMap addressByTransportTypeMap =
+                new AddressByTransportTypeMap(defaultIdentity.getNetworkId().getAddressByTransportTypeMap());
+        return new NetworkId(addressByTransportTypeMap, pubKey);
+    }
+
     private TorIdentity findOrCreateTorIdentity(String identityTag) {
         Set<TransportType> supportedTransportTypes = networkService.getSupportedTransportTypes();
         boolean isTorSupported = supportedTransportTypes.contains(TransportType.TOR);
@@ -348,6 +408,10 @@ public class IdentityService implements PersistenceClient<IdentityStore>, Servic
     }
 
     private void maybePersistTorIdentityToTorDir(Identity identity, String identityTag) {
+        if (isMultiplexed(identity, identityTag)) {
+            // Shares the onion service of the default identity
+            return;
+        }
         if (identity.getNetworkId().getAddressByTransportTypeMap().containsKey(TransportType.TOR)) {
             TorIdentity torIdentity = identity.getTorIdentity();
             String directory = getTorHiddenServiceDirectory(identityTag);
@@ -25,4 +25,12 @@ public interface TransportConfig {
     int getDefaultNodePort();
 
     int getSocketTimeout();
+
+    /**
+     * If enabled and the transport provides channel based sockets, established connections get served by the shared
+     * selector threads instead of a blocking read thread per connection.
+     */
+    default boolean isNioEnabled() {
+        return false;
+    }
 }
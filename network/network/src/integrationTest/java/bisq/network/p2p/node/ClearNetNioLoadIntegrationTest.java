@@ -0,0 +1,271 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import bisq.common.util.FileUtils;
+import bisq.common.util.NetworkUtils;
+import bisq.network.NetworkService;
+import bisq.network.common.Address;
+import bisq.network.common.AddressByTransportTypeMap;
+import bisq.network.common.TransportType;
+import bisq.network.identity.NetworkId;
+import bisq.network.identity.TorIdentity;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.node.authorization.AuthorizationService;
+import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.handshake.ConnectionHandshake;
+import bisq.network.p2p.node.network_load.NetworkLoad;
+import bisq.network.p2p.node.network_load.NetworkLoadService;
+import bisq.network.p2p.node.transport.ClearNetTransportService;
+import bisq.network.p2p.node.transport.TransportService;
+import bisq.network.p2p.services.peergroup.BanList;
+import bisq.network.p2p.services.peergroup.keepalive.Ping;
+import bisq.security.KeyGeneration;
+import bisq.security.PubKey;
+import bisq.security.pow.HashCashService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Connects 1000 local clear-net peers to one node and compares the blocking socket mode with the NIO mode.
+ * The peers are always served by the selector threads, so that only the threads used by the receiving node differ.
+ * <p>
+ * As the socket mode requires one read thread per connection from the NETWORK_IO_POOL (capped at 1000 threads),
+ * it is expected that not all peers can be served in that mode.
+ * <p>
+ * Requires a file descriptor limit of at least 5000 (ulimit -n).
+ */
+@Slf4j
+public class ClearNetNioLoadIntegrationTest {
+    private static final int NUM_PEERS = 1000;
+    private static final int NUM_SENDER_THREADS = 32;
+    private static final int SOCKET_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(120);
+    private static final long TIMEOUT_SEC = 300;
+
+    private final Path tmpDir = FileUtils.createTempDir();
+
+    public ClearNetNioLoadIntegrationTest() throws Exception {
+    }
+
+    @Test
+    void compareSocketAndNioMode() throws Exception {
+        LoadResult socketResult = runLoad(false);
+        LoadResult nioResult = runLoad(true);
+        log.info("Socket mode: {}", socketResult);
+        log.info("NIO mode:    {}", nioResult);
+
+        assertEquals(NUM_PEERS, nioResult.numMessagesReceived);
+        assertEquals(0, nioResult.numReadThreads);
+        assertTrue(nioResult.numSelectorThreads <= NetworkService.NIO_SELECTOR_GROUP.getNumSelectors());
+        assertTrue(nioResult.numThreads < socketResult.numThreads);
+    }
+
+    private LoadResult runLoad(boolean nioEnabled) throws Exception {
+        ClearNetTransportService.Config transportConfig = new ClearNetTransportService.Config(tmpDir, -1, SOCKET_TIMEOUT, nioEnabled);
+        AuthorizationService authorizationService = new AuthorizationService(new HashCashService());
+        Node.Config nodeConfig = new Node.Config(TransportType.CLEAR,
+                Set.of(TransportType.CLEAR),
+                authorizationService,
+                transportConfig,
+                SOCKET_TIMEOUT);
+        TransportService transportService = TransportService.create(TransportType.CLEAR, transportConfig);
+        transportService.initialize();
+
+        BanList banList = new BanList();
+        int serverPort = NetworkUtils.findFreeSystemPort();
+        Node node = new Node(banList,
+                nodeConfig,
+                createNetworkId(serverPort),
+                TorIdentity.generate(serverPort),
+                transportService,
+                new NetworkLoadService());
+        node.initialize();
+        Address serverAddress = Address.localHost(serverPort);
+
+        Map<Integer, Long> sentTimeByNonce = new ConcurrentHashMap<>();
+        List<Long> latencies = new CopyOnWriteArrayList<>();
+        CountDownLatch receivedLatch = new CountDownLatch(NUM_PEERS);
+        node.addListener(new Node.Listener() {
+            @Override
+            public void onMessage(EnvelopePayloadMessage envelopePayloadMessage, Connection connection, NetworkId networkId) {
+                if (envelopePayloadMessage instanceof Ping) {
+                    Long sentTime = sentTimeByNonce.get(((Ping) envelopePayloadMessage).getNonce());
+                    if (sentTime != null) {
+                        latencies.add(System.nanoTime() - sentTime);
+                    }
+                    receivedLatch.countDown();
+                }
+            }
+
+            @Override
+            public void onConnection(Connection connection) {
+            }
+
+            @Override
+            public void onDisconnect(Connection connection, CloseReason closeReason) {
+            }
+        });
+
+        ExecutorService senderPool = Executors.newFixedThreadPool(NUM_SENDER_THREADS);
+        List<Connection> peerConnections = new CopyOnWriteArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < NUM_PEERS; i++) {
+            int nonce = i;
+            futures.add(senderPool.submit(() -> {
+                try {
+                    Connection connection = connectPeer(nonce, serverAddress, banList, authorizationService);
+                    peerConnections.add(connection);
+                    Ping ping = new Ping(nonce);
+                    AuthorizationToken token = authorizationService.createToken(ping,
+                            connection.getPeersNetworkLoadService().getCurrentNetworkLoad(),
+                            serverAddress.getFullAddress(),
+                            connection.getSentMessageCounter().incrementAndGet());
+                    sentTimeByNonce.put(nonce, System.nanoTime());
+                    connection.send(ping, token);
+                } catch (Exception e) {
+                    log.warn("Peer {} failed: {}", nonce, e.toString());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(TIMEOUT_SEC, TimeUnit.SECONDS);
+        }
+        // In socket mode some peers might get rejected, so we do not require all messages to arrive
+        receivedLatch.await(nioEnabled ? TIMEOUT_SEC : 30, TimeUnit.SECONDS);
+
+        LoadResult result = new LoadResult(nioEnabled,
+                latencies.size(),
+                countThreads("Connection.read-"),
+                countThreads("NetworkService.nio-selector"),
+                Thread.activeCount(),
+                percentile(latencies, 0.5),
+                percentile(latencies, 0.99));
+
+        senderPool.shutdownNow();
+        peerConnections.forEach(connection -> connection.close(CloseReason.SHUTDOWN));
+        node.shutdown().join();
+        transportService.shutdown().join();
+        return result;
+    }
+
+    private Connection connectPeer(int index,
+                                   Address serverAddress,
+                                   BanList banList,
+                                   AuthorizationService authorizationService) throws Exception {
+        Socket socket = SocketChannel.open(new InetSocketAddress(serverAddress.getHost(), serverAddress.getPort())).socket();
+        // The peers do not run a server, we only need distinct addresses for the inbound connections at the node
+        Capability capability = new Capability(Address.localHost(20000 + index), List.of(TransportType.CLEAR));
+        ConnectionHandshake connectionHandshake = new ConnectionHandshake(socket,
+                banList,
+                SOCKET_TIMEOUT,
+                capability,
+                authorizationService,
+                null);
+        ConnectionHandshake.Result result = connectionHandshake.start(new NetworkLoad(), serverAddress);
+        return new OutboundConnection(socket,
+                serverAddress,
+                result.getCapability(),
+                new NetworkLoadService(result.getPeersNetworkLoad()),
+                result.getConnectionMetrics(),
+                new Connection.Handler() {
+                    @Override
+                    public void handleNetworkMessage(EnvelopePayloadMessage envelopePayloadMessage,
+                                                     AuthorizationToken authorizationToken,
+                                                     Connection connection) {
+                    }
+
+                    @Override
+                    public void handleConnectionClosed(Connection connection, CloseReason closeReason) {
+                    }
+                },
+                (connection, exception) -> log.warn("Peer connection exception {}", exception.toString()));
+    }
+
+    private static NetworkId createNetworkId(int port) throws GeneralSecurityException {
+        AddressByTransportTypeMap addressByTransportTypeMap = new AddressByTransportTypeMap(
+                Map.of(TransportType.CLEAR, Address.localHost(port)));
+        return new NetworkId(addressByTransportTypeMap, new PubKey(KeyGeneration.generateKeyPair().getPublic(), "node"));
+    }
+
+    private static int countThreads(String namePrefix) {
+        return (int) Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith(namePrefix))
+                .count();
+    }
+
+    private static long percentile(List<Long> values, double percentile) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(Long::compare);
+        int index = (int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1);
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(0, index)));
+    }
+
+    private static final class LoadResult {
+        private final boolean nioEnabled;
+        private final int numMessagesReceived;
+        private final int numReadThreads;
+        private final int numSelectorThreads;
+        private final int numThreads;
+        private final long p50LatencyMs;
+        private final long p99LatencyMs;
+
+        private LoadResult(boolean nioEnabled,
+                           int numMessagesReceived,
+                           int numReadThreads,
+                           int numSelectorThreads,
+                           int numThreads,
+                           long p50LatencyMs,
+                           long p99LatencyMs) {
+            this.nioEnabled = nioEnabled;
+            this.numMessagesReceived = numMessagesReceived;
+            this.numReadThreads = numReadThreads;
+            this.numSelectorThreads = numSelectorThreads;
+            this.numThreads = numThreads;
+            this.p50LatencyMs = p50LatencyMs;
+            this.p99LatencyMs = p99LatencyMs;
+        }
+
+        @Override
+        public String toString() {
+            return "nioEnabled=" + nioEnabled +
+                    ", messagesReceived=" + numMessagesReceived + "/" + NUM_PEERS +
+                    ", readThreads=" + numReadThreads +
+                    ", selectorThreads=" + numSelectorThreads +
+                    ", totalThreads=" + numThreads +
+                    ", p50Latency=" + p50LatencyMs + " ms" +
+                    ", p99Latency=" + p99LatencyMs + " ms";
+        }
+    }
+}
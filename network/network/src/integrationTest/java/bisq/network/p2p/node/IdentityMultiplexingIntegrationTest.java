@@ -0,0 +1,244 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.node;
+
+import bisq.common.util.FileUtils;
+import bisq.common.util.NetworkUtils;
+import bisq.network.common.Address;
+import bisq.network.common.AddressByTransportTypeMap;
+import bisq.network.common.TransportType;
+import bisq.network.identity.NetworkId;
+import bisq.network.identity.TorIdentity;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.node.authorization.AuthorizationService;
+import bisq.network.p2p.node.network_load.NetworkLoadService;
+import bisq.network.p2p.node.transport.ClearNetTransportService;
+import bisq.network.p2p.node.transport.TransportService;
+import bisq.network.p2p.services.confidential.ConfidentialMessage;
+import bisq.network.p2p.services.peergroup.BanList;
+import bisq.network.p2p.services.peergroup.keepalive.Ping;
+import bisq.security.ConfidentialData;
+import bisq.security.HybridEncryption;
+import bisq.security.KeyGeneration;
+import bisq.security.PubKey;
+import bisq.security.pow.HashCashService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sends a message from 20 local clear-net identities to one peer and compares the number of nodes, connections and
+ * threads required with and without identity multiplexing.
+ * <p>
+ * In multiplexing mode we also check that a confidential message sent back over the shared connection gets routed to
+ * the identity matching its receiverKeyId.
+ */
+@Slf4j
+public class IdentityMultiplexingIntegrationTest {
+    private static final int NUM_IDENTITIES = 20;
+    private static final int SOCKET_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(120);
+    private static final long TIMEOUT_SEC = 60;
+
+    private final Path tmpDir = FileUtils.createTempDir();
+
+    public IdentityMultiplexingIntegrationTest() throws Exception {
+    }
+
+    @Test
+    void compareSeparateAndMultiplexedIdentities() throws Exception {
+        Result separateResult = run(false);
+        Result multiplexedResult = run(true);
+        log.info("Separate nodes:       {}", separateResult);
+        log.info("Multiplexed identity: {}", multiplexedResult);
+
+        assertEquals(NUM_IDENTITIES, separateResult.numMessagesReceived);
+        assertEquals(NUM_IDENTITIES, multiplexedResult.numMessagesReceived);
+        assertEquals(NUM_IDENTITIES, separateResult.numNodes);
+        assertEquals(1, multiplexedResult.numNodes);
+        assertEquals(1, multiplexedResult.numPeerConnections);
+        assertTrue(multiplexedResult.numPeerConnections < separateResult.numPeerConnections);
+        assertTrue(multiplexedResult.numThreads < separateResult.numThreads);
+        assertTrue(multiplexedResult.routedToReceiver);
+    }
+
+    private Result run(boolean multiplexIdentities) throws Exception {
+        ClearNetTransportService.Config transportConfig = new ClearNetTransportService.Config(tmpDir, -1, SOCKET_TIMEOUT, false);
+        AuthorizationService authorizationService = new AuthorizationService(new HashCashService());
+        Node.Config nodeConfig = new Node.Config(TransportType.CLEAR,
+                Set.of(TransportType.CLEAR),
+                authorizationService,
+                transportConfig,
+                SOCKET_TIMEOUT);
+        TransportService transportService = TransportService.create(TransportType.CLEAR, transportConfig);
+        transportService.initialize();
+        int numThreadsAtStart = Thread.activeCount();
+
+        BanList banList = new BanList();
+        int peerPort = NetworkUtils.findFreeSystemPort();
+        Node peer = new Node(banList,
+                nodeConfig,
+                createNetworkId(peerPort, KeyGeneration.generateKeyPair(), "peer"),
+                TorIdentity.generate(peerPort),
+                transportService,
+                new NetworkLoadService());
+        peer.initialize();
+        Address peerAddress = Address.localHost(peerPort);
+
+        CountDownLatch receivedLatch = new CountDownLatch(NUM_IDENTITIES);
+        peer.addListener(new Listener() {
+            @Override
+            public void onMessage(EnvelopePayloadMessage envelopePayloadMessage, Connection connection, NetworkId networkId) {
+                if (envelopePayloadMessage instanceof Ping) {
+                    receivedLatch.countDown();
+                }
+            }
+        });
+
+        NodesById nodesById = new NodesById(banList, nodeConfig, transportService, new NetworkLoadService(), multiplexIdentities);
+        // Like at IdentityService, multiplexed identities use the address of the default identity
+        int sharedPort = NetworkUtils.findFreeSystemPort();
+        List<NetworkId> networkIds = new ArrayList<>();
+        List<KeyPair> keyPairs = new ArrayList<>();
+        for (int i = 0; i < NUM_IDENTITIES; i++) {
+            int port = multiplexIdentities ? sharedPort : NetworkUtils.findFreeSystemPort();
+            KeyPair keyPair = KeyGeneration.generateKeyPair();
+            NetworkId networkId = createNetworkId(port, keyPair, "identity" + i);
+            TorIdentity torIdentity = TorIdentity.generate(port);
+            nodesById.getInitializedNode(networkId, torIdentity);
+            nodesById.send(networkId, new Ping(i), peerAddress, torIdentity);
+            networkIds.add(networkId);
+            keyPairs.add(keyPair);
+        }
+        assertTrue(receivedLatch.await(TIMEOUT_SEC, TimeUnit.SECONDS));
+
+        boolean routedToReceiver = false;
+        if (multiplexIdentities) {
+            routedToReceiver = sendConfidentialMessageBack(peer, nodesById, networkIds.get(7), keyPairs.get(7));
+        }
+
+        Result result = new Result(multiplexIdentities,
+                NUM_IDENTITIES - (int) receivedLatch.getCount(),
+                nodesById.getAllNodes().size(),
+                peer.getNumConnections(),
+                countThreads("Connection.read-"),
+                Thread.activeCount() - numThreadsAtStart,
+                routedToReceiver);
+
+        nodesById.shutdown().join();
+        peer.shutdown().join();
+        transportService.shutdown().join();
+        return result;
+    }
+
+    private boolean sendConfidentialMessageBack(Node peer,
+                                                NodesById nodesById,
+                                                NetworkId receiverNetworkId,
+                                                KeyPair receiverKeyPair) throws Exception {
+        CompletableFuture<NetworkId> routedNetworkId = new CompletableFuture<>();
+        nodesById.addNodeListener(new Listener() {
+            @Override
+            public void onMessage(EnvelopePayloadMessage envelopePayloadMessage, Connection connection, NetworkId networkId) {
+                if (envelopePayloadMessage instanceof ConfidentialMessage) {
+                    routedNetworkId.complete(networkId);
+                }
+            }
+        });
+
+        byte[] message = new Ping(1).toProto().toByteArray();
+        ConfidentialData confidentialData = HybridEncryption.encryptAndSign(message,
+                receiverKeyPair.getPublic(),
+                KeyGeneration.generateKeyPair());
+        ConfidentialMessage confidentialMessage = ConfidentialMessage.fromProto(bisq.network.protobuf.ConfidentialMessage.newBuilder()
+                .setConfidentialData(confidentialData.toProto())
+                .setReceiverKeyId(receiverNetworkId.getPubKey().getKeyId())
+                .build());
+        Connection connection = peer.getAllConnections().findFirst().orElseThrow();
+        peer.send(confidentialMessage, connection);
+        return routedNetworkId.get(TIMEOUT_SEC, TimeUnit.SECONDS).equals(receiverNetworkId);
+    }
+
+    private static NetworkId createNetworkId(int port, KeyPair keyPair, String keyId) {
+        AddressByTransportTypeMap addressByTransportTypeMap = new AddressByTransportTypeMap(
+                Map.of(TransportType.CLEAR, Address.localHost(port)));
+        return new NetworkId(addressByTransportTypeMap, new PubKey(keyPair.getPublic(), keyId));
+    }
+
+    private static int countThreads(String namePrefix) {
+        return (int) Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith(namePrefix))
+                .count();
+    }
+
+    private interface Listener extends Node.Listener {
+        @Override
+        default void onConnection(Connection connection) {
+        }
+
+        @Override
+        default void onDisconnect(Connection connection, CloseReason closeReason) {
+        }
+    }
+
+    private static final class Result {
+        private final boolean multiplexIdentities;
+        private final int numMessagesReceived;
+        private final int numNodes;
+        private final int numPeerConnections;
+        private final int numReadThreads;
+        private final int numThreads;
+        private final boolean routedToReceiver;
+
+        private Result(boolean multiplexIdentities,
+                       int numMessagesReceived,
+                       int numNodes,
+                       int numPeerConnections,
+                       int numReadThreads,
+                       int numThreads,
+                       boolean routedToReceiver) {
+            this.multiplexIdentities = multiplexIdentities;
+            this.numMessagesReceived = numMessagesReceived;
+            this.numNodes = numNodes;
+            this.numPeerConnections = numPeerConnections;
+            this.numReadThreads = numReadThreads;
+            this.numThreads = numThreads;
+            this.routedToReceiver = routedToReceiver;
+        }
+
+        @Override
+        public String toString() {
+            return "multiplexIdentities=" + multiplexIdentities +
+                    ", messagesReceived=" + numMessagesReceived + "/" + NUM_IDENTITIES +
+                    ", nodes=" + numNodes +
+                    ", peerConnections=" + numPeerConnections +
+                    ", readThreads=" + numReadThreads +
+                    ", addedThreads=" + numThreads +
+                    ", routedToReceiver=" + routedToReceiver;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import bisq.common.observable.Observable;
 import bisq.common.observable.map.ObservableHashMap;
 import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.CompletableFutureUtils;
+import bisq.common.util.OsUtils;
 import bisq.network.common.AddressByTransportTypeMap;
 import bisq.network.common.TransportType;
 import bisq.network.http.BaseHttpClient;
@@ -33,7 +34,9 @@ import bisq.network.p2p.ServiceNode;
 import bisq.network.p2p.ServiceNodesByTransport;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.Connection;
+import bisq.network.p2p.node.InboundDispatcher;
 import bisq.network.p2p.node.Node;
+import bisq.network.p2p.node.NioSelectorGroup;
 import bisq.network.p2p.node.network_load.NetworkLoadService;
 import bisq.network.p2p.node.transport.BootstrapInfo;
 import bisq.network.p2p.services.confidential.ConfidentialMessageListener;
@@ -89,6 +92,10 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
     public static final String NETWORK_DB_PATH = "db" + File.separator + "network";
     public static final ExecutorService NETWORK_IO_POOL = ExecutorFactory.newCachedThreadPool("NetworkService.network-IO-pool");
     public static final ExecutorService DISPATCHER = ExecutorFactory.newSingleThreadExecutor("NetworkService.dispatcher");
+    // Inbound messages and connection events are handled in order per connection but in parallel across connections
+    public static final InboundDispatcher INBOUND_DISPATCHER = new InboundDispatcher("NetworkService.inbound-dispatcher");
+    public static final NioSelectorGroup NIO_SELECTOR_GROUP = new NioSelectorGroup("NetworkService.nio-selector",
+            Math.max(1, Math.min(4, OsUtils.availableProcessors() / 2)));
 
     @Getter
     private final NetworkServiceStore persistableStore = new NetworkServiceStore();
@@ -107,6 +114,9 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
     @Getter
     private final Map<TransportType, Integer> defaultNodePortByTransportType;
 
+    @Getter
+    private final boolean identityMultiplexingEnabled;
+
     private NetworkId defaultNetworkId;
     @Getter
     private TorIdentity defaultTorIdentity;
@@ -120,7 +130,7 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
         Set<ServiceNode.Service> services = config.getServiceNodeConfig().getServices();
 
         dataService = services.contains(ServiceNode.Service.DATA) ?
-                Optional.of(new DataService(new StorageService(persistenceService))) :
+                Optional.of(new DataService(new StorageService(persistenceService, config.isDataStoreLogEnabled()))) :
                 Optional.empty();
 
         messageDeliveryStatusService = services.contains(ServiceNode.Service.ACK) && services.contains(ServiceNode.Service.CONFIDENTIAL) ?
@@ -141,7 +151,9 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
                 keyPairService,
                 persistenceService,
                 proofOfWorkService,
-                networkLoadService);
+                networkLoadService,
+                config.getMessageRateLimiterConfig(),
+                config.getFeatures());
 
         monitorService = services.contains(ServiceNode.Service.DATA) &&
                 services.contains(ServiceNode.Service.PEER_GROUP) &&
@@ -155,6 +167,7 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
                 persistableStore);
 
         defaultNodePortByTransportType = config.getDefaultNodePortByTransportType();
+        identityMultiplexingEnabled = config.getServiceNodeConfig().isMultiplexIdentities();
     }
 
 
@@ -187,6 +200,7 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
         log.info("shutdown");
         messageDeliveryStatusService.ifPresent(MessageDeliveryStatusService::shutdown);
         monitorService.ifPresent(MonitorService::shutdown);
+        httpClientRepository.shutdown();
         return CompletableFutureUtils.allOf(
                         dataService.map(DataService::shutdown).orElse(completedFuture(true)),
                         serviceNodesByTransport.shutdown())
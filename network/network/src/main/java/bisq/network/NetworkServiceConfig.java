@@ -22,6 +22,8 @@ import bisq.network.common.Address;
 import bisq.network.common.TransportConfig;
 import bisq.network.common.TransportType;
 import bisq.network.p2p.ServiceNode;
+import bisq.network.p2p.node.Feature;
+import bisq.network.p2p.node.rate_limit.MessageRateLimiter;
 import bisq.network.p2p.node.transport.ClearNetTransportService;
 import bisq.network.p2p.node.transport.I2PTransportService;
 import bisq.network.p2p.services.peergroup.PeerGroupManager;
@@ -86,7 +88,15 @@ public final class NetworkServiceConfig {
 
 
         Map<TransportType, TransportConfig> configByTransportType = createConfigByTransportType(config, baseDir);
-
+        boolean dataStoreLogEnabled = config.hasPath("dataStoreLogEnabled") && config.getBoolean("dataStoreLogEnabled");
+        MessageRateLimiter.Config messageRateLimiterConfig = config.hasPath("rateLimit") ?
+                MessageRateLimiter.Config.from(config.getConfig("rateLimit")) :
+                MessageRateLimiter.Config.createDefault();
+        // Features change the serialized Capability which is covered by the handshake PoW, thus nodes which do not
+        // know the features field would reject us. Features are therefore only announced if enabled in the config.
+        Set<Feature> features = config.hasPath("features") ?
+                new HashSet<>(config.getEnumList(Feature.class, "features")) :
+                new HashSet<>();
 
         return new NetworkServiceConfig(baseDir.toAbsolutePath().toString(),
                 supportedTransportTypes,
@@ -95,7 +105,10 @@ public final class NetworkServiceConfig {
                 peerGroupServiceConfigByTransport,
                 defaultNodePortByTransportType,
                 seedAddressesByTransport,
-                Optional.empty());
+                Optional.empty(),
+                dataStoreLogEnabled,
+                messageRateLimiterConfig,
+                features);
     }
 
     private static Map<TransportType, Integer> createDefaultNodePortByTransportType(Config config) {
@@ -187,6 +200,9 @@ public final class NetworkServiceConfig {
     private final Map<TransportType, Integer> defaultNodePortByTransportType;
     private final Map<TransportType, Set<Address>> seedAddressesByTransport;
     private final Optional<String> socks5ProxyAddress;
+    private final boolean dataStoreLogEnabled;
+    private final MessageRateLimiter.Config messageRateLimiterConfig;
+    private final Set<Feature> features;
 
     public NetworkServiceConfig(String baseDir,
                                 Set<TransportType> supportedTransportTypes,
@@ -195,7 +211,10 @@ public final class NetworkServiceConfig {
                                 Map<TransportType, PeerGroupManager.Config> peerGroupServiceConfigByTransport,
                                 Map<TransportType, Integer> defaultNodePortByTransportType,
                                 Map<TransportType, Set<Address>> seedAddressesByTransport,
-                                Optional<String> socks5ProxyAddress) {
+                                Optional<String> socks5ProxyAddress,
+                                boolean dataStoreLogEnabled,
+                                MessageRateLimiter.Config messageRateLimiterConfig,
+                                Set<Feature> features) {
         this.baseDir = baseDir;
         this.supportedTransportTypes = supportedTransportTypes;
         this.configByTransportType = filterMap(supportedTransportTypes, configByTransportType);
@@ -204,6 +223,9 @@ public final class NetworkServiceConfig {
         this.defaultNodePortByTransportType = filterMap(supportedTransportTypes, defaultNodePortByTransportType);
         this.seedAddressesByTransport = filterMap(supportedTransportTypes, seedAddressesByTransport);
         this.socks5ProxyAddress = socks5ProxyAddress;
+        this.dataStoreLogEnabled = dataStoreLogEnabled;
+        this.messageRateLimiterConfig = messageRateLimiterConfig;
+        this.features = features;
     }
 
     // In case our config contains not supported transport types we remove them
@@ -20,6 +20,7 @@ package bisq.network.http;
 import bisq.common.data.Pair;
 import bisq.common.util.StringUtils;
 import bisq.network.http.utils.HttpMethod;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.BufferedReader;
@@ -27,14 +28,27 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Base class for the HTTP clients of a provider. A client can be used concurrently. It keeps connections alive
+ * for reuse and limits the number of concurrent requests to MAX_CONCURRENT_REQUESTS, additional requests wait
+ * for a free slot.
+ */
 @Slf4j
 public abstract class BaseHttpClient implements HttpClient {
+    public static final int MAX_CONCURRENT_REQUESTS = 4;
+
     public final String baseUrl;
     public final String userAgent;
     protected final String uid;
+    @Getter
+    protected final HttpClientMetrics metrics = new HttpClientMetrics();
+    protected volatile boolean shutdownStarted;
 
-    public boolean hasPendingRequest;
+    private final Semaphore requestPermits = new Semaphore(MAX_CONCURRENT_REQUESTS, true);
+    private final AtomicInteger numPendingRequests = new AtomicInteger();
 
     public BaseHttpClient(String baseUrl, String userAgent) {
         this.baseUrl = baseUrl;
@@ -45,17 +59,21 @@ public abstract class BaseHttpClient implements HttpClient {
 
     @Override
     public String get(String param, Optional<Pair<String, String>> optionalHeader) throws IOException {
-        return doRequest(param, HttpMethod.GET, optionalHeader);
+        return request(param, HttpMethod.GET, optionalHeader);
     }
 
     @Override
     public String post(String param, Optional<Pair<String, String>> optionalHeader) throws IOException {
-        return doRequest(param, HttpMethod.POST, optionalHeader);
+        return request(param, HttpMethod.POST, optionalHeader);
     }
 
     @Override
     public boolean hasPendingRequest() {
-        return hasPendingRequest;
+        return numPendingRequests.get() > 0;
+    }
+
+    public boolean isShutdownStarted() {
+        return shutdownStarted;
     }
 
     @Override
@@ -63,6 +81,30 @@ public abstract class BaseHttpClient implements HttpClient {
         return baseUrl;
     }
 
+    private String request(String param,
+                           HttpMethod httpMethod,
+                           Optional<Pair<String, String>> optionalHeader) throws IOException {
+        numPendingRequests.incrementAndGet();
+        try {
+            requestPermits.acquire();
+        } catch (InterruptedException e) {
+            numPendingRequests.decrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a free request slot at " + baseUrl, e);
+        }
+        long ts = System.currentTimeMillis();
+        boolean success = false;
+        try {
+            String response = doRequest(param, httpMethod, optionalHeader);
+            success = true;
+            return response;
+        } finally {
+            metrics.onResponse(System.currentTimeMillis() - ts, success);
+            requestPermits.release();
+            numPendingRequests.decrementAndGet();
+        }
+    }
+
     protected abstract String doRequest(String param,
                                         HttpMethod httpMethod,
                                         Optional<Pair<String, String>> optionalHeader) throws IOException;
@@ -30,16 +30,22 @@ import java.net.HttpURLConnection;
 import java.net.Proxy;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
-import static com.google.common.base.Preconditions.checkArgument;
-
+/**
+ * HTTP client for clear net and I2P (via the HTTP proxy of the I2P router). Connections are kept alive by the JDK's
+ * keep-alive cache for reuse, as long as the response has been fully read and the connection does not get
+ * disconnected.
+ */
 @Slf4j
 public class ClearNetHttpClient extends BaseHttpClient {
     private Proxy proxy;
-    private HttpURLConnection connection;
+    private final Set<HttpURLConnection> openConnections = ConcurrentHashMap.newKeySet();
 
     public ClearNetHttpClient(String baseUrl, String userAgent) {
         super(baseUrl, userAgent);
@@ -52,24 +58,17 @@ public class ClearNetHttpClient extends BaseHttpClient {
 
     @Override
     public CompletableFuture<Boolean> shutdown() {
-        log.info("shutdown");
-        if (connection == null) {
-            hasPendingRequest = false;
+        log.info("shutdown {}. {}", baseUrl, metrics);
+        shutdownStarted = true;
+        if (openConnections.isEmpty()) {
             return CompletableFuture.completedFuture(true);
         }
-        CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(() -> {
-                    try {
-                        if (connection != null) {
-                            // blocking call if connection has issues
-                            connection.getInputStream().close();
-                            connection.disconnect();
-                            return true;
-                        } else {
-                            return false;
-                        }
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
+        Set<HttpURLConnection> connections = new HashSet<>(openConnections);
+        openConnections.clear();
+        return CompletableFuture.supplyAsync(() -> {
+                    // Disconnecting aborts pending requests. Blocking call if connection has issues.
+                    connections.forEach(HttpURLConnection::disconnect);
+                    return true;
                 }, ExecutorFactory.newSingleThreadExecutor("ClearNetHttpClient-shutdown"))
                 .orTimeout(500, TimeUnit.MILLISECONDS)
                 .whenComplete((result, throwable) -> {
@@ -77,19 +76,16 @@ public class ClearNetHttpClient extends BaseHttpClient {
                         log.warn("Error at shutdown", throwable);
                     }
                 });
-        connection = null;
-        return future;
     }
 
     @Override
     protected String doRequest(String param, HttpMethod
             httpMethod, Optional<Pair<String, String>> optionalHeader) throws IOException {
-        checkArgument(!hasPendingRequest, "We got called on the same HttpClient again while a request is still open.");
-        hasPendingRequest = true;
-
         long ts = System.currentTimeMillis();
         log.debug("requestWithoutProxy: URL={}, param={}, httpMethod={}", baseUrl, param, httpMethod);
         String spec = httpMethod == HttpMethod.GET ? baseUrl + param : baseUrl;
+        HttpURLConnection connection = null;
+        boolean keepAlive = false;
         try {
             URL url = new URL(spec);
             if (proxy == null) {
@@ -99,22 +95,33 @@ public class ClearNetHttpClient extends BaseHttpClient {
                 // Translation across networks happens via an HTTP proxy exposed by the I2P router
                 connection = (HttpURLConnection) url.openConnection(proxy);
             }
+            openConnections.add(connection);
             connection.setRequestMethod(httpMethod.name());
             connection.setConnectTimeout((int) TimeUnit.SECONDS.toMillis(30));
             connection.setReadTimeout((int) TimeUnit.SECONDS.toMillis(30));
             connection.setRequestProperty("User-Agent", userAgent);
+            HttpURLConnection finalConnection = connection;
             optionalHeader.ifPresent(header -> {
-                connection.setRequestProperty(header.getFirst(), header.getSecond());
+                finalConnection.setRequestProperty(header.getFirst(), header.getSecond());
             });
 
             if (httpMethod == HttpMethod.POST) {
                 connection.setDoOutput(true);
+            }
+
+            // HttpURLConnection does not expose whether a kept alive connection got reused, so we do not track
+            // connects here. Only the request metrics are recorded for this client.
+            connection.connect();
+
+            if (httpMethod == HttpMethod.POST) {
                 connection.getOutputStream().write(param.getBytes(StandardCharsets.UTF_8));
             }
 
             int responseCode = connection.getResponseCode();
             if (isSuccess(responseCode)) {
+                // Reading the response fully and closing the stream hands the connection over to the keep-alive cache
                 String response = inputStreamToString(connection.getInputStream());
+                keepAlive = true;
                 log.debug("Response from {} with param {} took {} ms. Data size:{}, response: {}",
                         baseUrl,
                         param,
@@ -128,6 +135,7 @@ public class ClearNetHttpClient extends BaseHttpClient {
             if (errorStream != null) {
                 String error = inputStreamToString(errorStream);
                 errorStream.close();
+                keepAlive = true;
                 log.info("Received errorMsg '{}' with responseCode {} from {}. Response took: {} ms. param: {}",
                         error,
                         responseCode,
@@ -148,15 +156,12 @@ public class ClearNetHttpClient extends BaseHttpClient {
                     ". Throwable=" + t.getMessage();
             throw new IOException(message, t);
         } finally {
-            try {
-                if (connection != null) {
-                    connection.getInputStream().close();
+            if (connection != null) {
+                openConnections.remove(connection);
+                if (!keepAlive) {
                     connection.disconnect();
-                    connection = null;
                 }
-            } catch (Throwable ignore) {
             }
-            hasPendingRequest = false;
         }
     }
 }
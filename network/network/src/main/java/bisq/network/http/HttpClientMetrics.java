@@ -0,0 +1,78 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the time spent on establishing connections separately from the total request time, so that the benefit
+ * of reusing connections (over Tor a new connection requires a new circuit and a TLS handshake) becomes visible.
+ */
+public class HttpClientMetrics {
+    private final AtomicLong numConnects = new AtomicLong();
+    private final AtomicLong totalConnectTime = new AtomicLong();
+    private final AtomicLong numRequests = new AtomicLong();
+    private final AtomicLong numFailedRequests = new AtomicLong();
+    private final AtomicLong totalResponseTime = new AtomicLong();
+
+    public void onConnect(long connectTime) {
+        numConnects.incrementAndGet();
+        totalConnectTime.addAndGet(connectTime);
+    }
+
+    public void onResponse(long responseTime, boolean success) {
+        numRequests.incrementAndGet();
+        if (!success) {
+            numFailedRequests.incrementAndGet();
+        }
+        totalResponseTime.addAndGet(responseTime);
+    }
+
+    public long getNumConnects() {
+        return numConnects.get();
+    }
+
+    public long getNumRequests() {
+        return numRequests.get();
+    }
+
+    public long getNumFailedRequests() {
+        return numFailedRequests.get();
+    }
+
+    public double getAverageConnectTime() {
+        long numConnects = getNumConnects();
+        return numConnects == 0 ? 0 : totalConnectTime.get() / (double) numConnects;
+    }
+
+    /**
+     * @return Average time of a request including the connect time if a new connection was required.
+     */
+    public double getAverageResponseTime() {
+        long numRequests = getNumRequests();
+        return numRequests == 0 ? 0 : totalResponseTime.get() / (double) numRequests;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpClientMetrics{numRequests=" + getNumRequests() +
+                ", numFailedRequests=" + getNumFailedRequests() +
+                ", numConnects=" + getNumConnects() +
+                ", averageConnectTime=" + getAverageConnectTime() +
+                ", averageResponseTime=" + getAverageResponseTime() + "}";
+    }
+}
@@ -17,15 +17,29 @@
 
 package bisq.network.http;
 
+import bisq.common.util.CompletableFutureUtils;
 import bisq.network.http.utils.Socks5ProxyProvider;
 import bisq.network.common.TransportType;
 import com.runjva.sourceforge.jsocks.protocol.Socks5Proxy;
 
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+/**
+ * Provides one shared client per provider (base URL, user agent and transport), so that the connections of a
+ * provider are reused across requests and callers. The clients are owned by the repository and get shut down by
+ * {@link #shutdown()}. Callers must not shut them down, as that would close the pooled connections of all other
+ * users of the client.
+ */
 public class HttpClientRepository {
+    private final Map<String, BaseHttpClient> httpClientByKey = new ConcurrentHashMap<>();
+
     public HttpClientRepository() {
     }
 
@@ -34,6 +48,27 @@ public class HttpClientRepository {
                                         TransportType transportType,
                                         Optional<Socks5Proxy> socksProxy,
                                         Optional<String> socks5ProxyAddress) {
+        String key = transportType + "|" + url + "|" + userAgent;
+        return httpClientByKey.compute(key, (k, httpClient) ->
+                httpClient != null && !httpClient.isShutdownStarted() ?
+                        httpClient :
+                        createHttpClient(url, userAgent, transportType, socksProxy, socks5ProxyAddress));
+    }
+
+    public CompletableFuture<Boolean> shutdown() {
+        List<CompletableFuture<Boolean>> futures = httpClientByKey.values().stream()
+                .map(BaseHttpClient::shutdown)
+                .collect(Collectors.toList());
+        httpClientByKey.clear();
+        return CompletableFutureUtils.allOf(futures)
+                .thenApply(list -> list.stream().allMatch(e -> e));
+    }
+
+    private BaseHttpClient createHttpClient(String url,
+                                            String userAgent,
+                                            TransportType transportType,
+                                            Optional<Socks5Proxy> socksProxy,
+                                            Optional<String> socks5ProxyAddress) {
         switch (transportType) {
             case TOR:
                 // If we have a socks5ProxyAddress defined in options we use that as proxy
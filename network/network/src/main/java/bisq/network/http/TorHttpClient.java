@@ -38,6 +38,7 @@ import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.ssl.SSLContexts;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.InetSocketAddress;
@@ -48,12 +49,18 @@ import java.util.concurrent.TimeUnit;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-// TODO close connection if failing
+/**
+ * HTTP client routing requests over the Tor socks proxy. The underlying pooled client is created at the first
+ * request and reused for all further requests, so that connections (and with that the Tor circuit and TLS session)
+ * are kept alive between requests.
+ */
 @Slf4j
 public class TorHttpClient extends BaseHttpClient {
+    private static final long CONNECTION_IDLE_TIMEOUT_SEC = 60;
+
     private final Socks5ProxyProvider socks5ProxyProvider;
-    private CloseableHttpClient closeableHttpClient;
-    private volatile boolean shutdownStarted;
+    @Nullable
+    private volatile CloseableHttpClient closeableHttpClient;
 
     public TorHttpClient(String baseUrl, String userAgent, Socks5ProxyProvider socks5ProxyProvider) {
         super(baseUrl, userAgent);
@@ -63,20 +70,17 @@ public class TorHttpClient extends BaseHttpClient {
     @Override
     public CompletableFuture<Boolean> shutdown() {
         shutdownStarted = true;
-        if (closeableHttpClient == null) {
-            hasPendingRequest = false;
+        CloseableHttpClient client = closeableHttpClient;
+        closeableHttpClient = null;
+        if (client == null) {
             return CompletableFuture.completedFuture(true);
         }
 
-        CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(() -> {
+        log.info("Shutdown {}. {}", baseUrl, metrics);
+        return CompletableFuture.supplyAsync(() -> {
                     try {
-                        try {
-                            if (closeableHttpClient != null) {
-                                closeableHttpClient.close();
-                                closeableHttpClient = null;
-                            }
-                        } catch (IOException ignore) {
-                        }
+                        // Closing the client closes all pooled connections and aborts pending requests
+                        client.close();
                         return true;
                     } catch (Exception e) {
                         log.error("Error at shutdown", e);
@@ -84,38 +88,20 @@ public class TorHttpClient extends BaseHttpClient {
                     }
                 }, ExecutorFactory.newSingleThreadExecutor("TorHttpClient-shutdown"))
                 .orTimeout(500, TimeUnit.MILLISECONDS);
-        hasPendingRequest = false;
-        return future;
     }
 
     @Override
     protected String doRequest(String param, HttpMethod httpMethod, Optional<Pair<String, String>> optionalHeader) throws IOException {
-        checkArgument(!hasPendingRequest, "We got called on the same HttpClient again while a request is still open.");
         if (shutdownStarted) {
             return "";
         }
 
-        hasPendingRequest = true;
         Socks5Proxy socks5Proxy = socks5ProxyProvider.getSocks5Proxy();
 
         long ts = System.currentTimeMillis();
         log.debug("doRequestWithProxy: baseUrl={}, param={}, httpMethod={}", baseUrl, param, httpMethod);
-        // This code is adapted from:
-        //  http://stackoverflow.com/a/25203021/5616248
-
-        // Register our own SocketFactories to override createSocket() and connectSocket().
-        // connectSocket does NOT resolve hostname before passing it to proxy.
-        Registry<ConnectionSocketFactory> reg = RegistryBuilder.<ConnectionSocketFactory>create()
-                .register("http", new SocksConnectionSocketFactory())
-                .register("https", new SocksSSLConnectionSocketFactory(SSLContexts.createSystemDefault())).build();
-
-        // Use FakeDNSResolver if not resolving DNS locally.
-        // This prevents a local DNS lookup (which would be ignored anyway)
-        PoolingHttpClientConnectionManager cm = socks5Proxy.resolveAddrLocally() ?
-                new PoolingHttpClientConnectionManager(reg) :
-                new PoolingHttpClientConnectionManager(reg, new FakeDnsResolver());
         try {
-            closeableHttpClient = checkNotNull(HttpClients.custom().setConnectionManager(cm).build());
+            CloseableHttpClient client = getOrCreateHttpClient(socks5Proxy);
             InetSocketAddress socksAddress = new InetSocketAddress(socks5Proxy.getInetAddress(), socks5Proxy.getPort());
 
             // Use this to test with system-wide Tor proxy, or change port for another proxy.
@@ -129,7 +115,8 @@ public class TorHttpClient extends BaseHttpClient {
                 request.setHeader(header.getFirst(), header.getSecond());
             });
 
-            try (CloseableHttpResponse httpResponse = closeableHttpClient.execute(request, context)) {
+            // Closing the response after the content has been fully read returns the connection to the pool
+            try (CloseableHttpResponse httpResponse = client.execute(request, context)) {
                 String response = inputStreamToString(httpResponse.getEntity().getContent());
                 int statusCode = httpResponse.getStatusLine().getStatusCode();
                 if (isSuccess(statusCode)) {
@@ -154,15 +141,45 @@ public class TorHttpClient extends BaseHttpClient {
             String message = "Error at doRequestWithProxy with url " + baseUrl + " and param " + param +
                     ". Throwable=" + t.getMessage();
             throw new IOException(message, t);
-        } finally {
-            if (closeableHttpClient != null) {
-                closeableHttpClient.close();
-                closeableHttpClient = null;
-            }
-            hasPendingRequest = false;
         }
     }
 
+    private synchronized CloseableHttpClient getOrCreateHttpClient(Socks5Proxy socks5Proxy) {
+        checkArgument(!shutdownStarted, "TorHttpClient is shut down");
+        CloseableHttpClient client = closeableHttpClient;
+        if (client != null) {
+            return client;
+        }
+
+        // This code is adapted from:
+        //  http://stackoverflow.com/a/25203021/5616248
+
+        // Register our own SocketFactories to override createSocket() and connectSocket().
+        // connectSocket does NOT resolve hostname before passing it to proxy.
+        Registry<ConnectionSocketFactory> reg = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", new SocksConnectionSocketFactory(Optional.of(metrics)))
+                .register("https", new SocksSSLConnectionSocketFactory(SSLContexts.createSystemDefault(), Optional.of(metrics)))
+                .build();
+
+        // Use FakeDNSResolver if not resolving DNS locally.
+        // This prevents a local DNS lookup (which would be ignored anyway)
+        PoolingHttpClientConnectionManager cm = socks5Proxy.resolveAddrLocally() ?
+                new PoolingHttpClientConnectionManager(reg) :
+                new PoolingHttpClientConnectionManager(reg, new FakeDnsResolver());
+        // All requests of that client go to the same provider, thus the same route
+        cm.setMaxTotal(MAX_CONCURRENT_REQUESTS);
+        cm.setDefaultMaxPerRoute(MAX_CONCURRENT_REQUESTS);
+        // Connections closed by the peer while idle in the pool get detected before reuse
+        cm.setValidateAfterInactivity((int) TimeUnit.SECONDS.toMillis(2));
+
+        client = checkNotNull(HttpClients.custom()
+                .setConnectionManager(cm)
+                .evictIdleConnections(CONNECTION_IDLE_TIMEOUT_SEC, TimeUnit.SECONDS)
+                .build());
+        closeableHttpClient = client;
+        return client;
+    }
+
     protected HttpUriRequest getHttpUriRequest(HttpMethod httpMethod, String baseUrl, String param)
             throws UnsupportedEncodingException {
         switch (httpMethod) {
@@ -17,6 +17,7 @@
 
 package bisq.network.http.utils;
 
+import bisq.network.http.HttpClientMetrics;
 import org.apache.http.HttpHost;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.protocol.HttpContext;
@@ -25,12 +26,22 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.Socket;
+import java.util.Optional;
 
 // This class is adapted from
 //   http://stackoverflow.com/a/25203021/5616248
 //
 // This class routes connections over Socks, and avoids resolving hostnames locally.
 public class SocksConnectionSocketFactory extends PlainConnectionSocketFactory {
+    private final Optional<HttpClientMetrics> metrics;
+
+    public SocksConnectionSocketFactory() {
+        this(Optional.empty());
+    }
+
+    public SocksConnectionSocketFactory(Optional<HttpClientMetrics> metrics) {
+        this.metrics = metrics;
+    }
 
     /**
      * creates an unconnected Socks Proxy socket
@@ -51,6 +62,9 @@ public class SocksConnectionSocketFactory extends PlainConnectionSocketFactory {
         // Convert address to unresolved
         InetSocketAddress unresolvedRemote = InetSocketAddress
                 .createUnresolved(host.getHostName(), remoteAddress.getPort());
-        return super.connectSocket(connectTimeout, socket, host, unresolvedRemote, localAddress, context);
+        long ts = System.currentTimeMillis();
+        Socket connectedSocket = super.connectSocket(connectTimeout, socket, host, unresolvedRemote, localAddress, context);
+        metrics.ifPresent(httpClientMetrics -> httpClientMetrics.onConnect(System.currentTimeMillis() - ts));
+        return connectedSocket;
     }
 }
@@ -17,6 +17,7 @@
 
 package bisq.network.http.utils;
 
+import bisq.network.http.HttpClientMetrics;
 import org.apache.http.HttpHost;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
@@ -27,17 +28,25 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.Socket;
+import java.util.Optional;
 
 // This class is adapted from
 //   http://stackoverflow.com/a/25203021/5616248
 //
 // This class routes connections over Socks, and avoids resolving hostnames locally.
 public class SocksSSLConnectionSocketFactory extends SSLConnectionSocketFactory {
+    private final Optional<HttpClientMetrics> metrics;
+
     public SocksSSLConnectionSocketFactory(final SSLContext sslContext) {
+        this(sslContext, Optional.empty());
+    }
+
+    public SocksSSLConnectionSocketFactory(final SSLContext sslContext, Optional<HttpClientMetrics> metrics) {
         // Only allow connections to sites with valid certs.
         super(sslContext, new DefaultHostnameVerifier());
         // Or to allow "insecure" (eg self-signed certs)
         // super(sslContext, ALLOW_ALL_HOSTNAME_VERIFIER);
+        this.metrics = metrics;
     }
 
     /**
@@ -59,6 +68,9 @@ public class SocksSSLConnectionSocketFactory extends SSLConnectionSocketFactory
         // Convert address to unresolved
         InetSocketAddress unresolvedRemote = InetSocketAddress
                 .createUnresolved(host.getHostName(), remoteAddress.getPort());
-        return super.connectSocket(connectTimeout, socket, host, unresolvedRemote, localAddress, context);
+        long ts = System.currentTimeMillis();
+        Socket connectedSocket = super.connectSocket(connectTimeout, socket, host, unresolvedRemote, localAddress, context);
+        metrics.ifPresent(httpClientMetrics -> httpClientMetrics.onConnect(System.currentTimeMillis() - ts));
+        return connectedSocket;
     }
 }
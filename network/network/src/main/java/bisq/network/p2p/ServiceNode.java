@@ -69,13 +69,23 @@ public class ServiceNode {
     @Getter
     public static final class Config {
         public static Config from(com.typesafe.config.Config config) {
-            return new Config(new HashSet<>(config.getEnumList(Service.class, "p2pServiceNode")));
+            boolean multiplexIdentities = config.hasPath("multiplexIdentities") && config.getBoolean("multiplexIdentities");
+            return new Config(new HashSet<>(config.getEnumList(Service.class, "p2pServiceNode")), multiplexIdentities);
         }
 
         private final Set<Service> services;
+        // If true, all identities share the default node and its connections instead of running their own node.
+        // This reduces the number of connections, threads and onion services, but all identities get the same
+        // address, thus a peer can link them.
+        private final boolean multiplexIdentities;
 
         public Config(Set<Service> services) {
+            this(services, false);
+        }
+
+        public Config(Set<Service> services, boolean multiplexIdentities) {
             this.services = services;
+            this.multiplexIdentities = multiplexIdentities;
         }
     }
 
@@ -159,7 +169,7 @@ public class ServiceNode {
         this.networkLoadService = networkLoadService;
 
         transportService = TransportService.create(transportType, nodeConfig.getTransportConfig());
-        nodesById = new NodesById(banList, nodeConfig, transportService, networkLoadService);
+        nodesById = new NodesById(banList, nodeConfig, transportService, networkLoadService, config.isMultiplexIdentities());
         defaultNodePort = nodeConfig.getTransportConfig().getDefaultNodePort();
     }
 
@@ -30,9 +30,11 @@ import bisq.network.identity.NetworkId;
 import bisq.network.identity.TorIdentity;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.Connection;
+import bisq.network.p2p.node.Feature;
 import bisq.network.p2p.node.Node;
 import bisq.network.p2p.node.authorization.AuthorizationService;
 import bisq.network.p2p.node.network_load.NetworkLoadService;
+import bisq.network.p2p.node.rate_limit.MessageRateLimiter;
 import bisq.network.p2p.node.transport.BootstrapInfo;
 import bisq.network.p2p.services.confidential.ConfidentialMessageListener;
 import bisq.network.p2p.services.confidential.MessageListener;
@@ -79,7 +81,9 @@ public class ServiceNodesByTransport {
                                    KeyPairService keyPairService,
                                    PersistenceService persistenceService,
                                    ProofOfWorkService proofOfWorkService,
-                                   NetworkLoadService networkLoadService) {
+                                   NetworkLoadService networkLoadService,
+                                   MessageRateLimiter.Config messageRateLimiterConfig,
+                                   Set<Feature> features) {
         this.supportedTransportTypes = supportedTransportTypes;
 
         supportedTransportTypes.forEach(transportType -> {
@@ -89,7 +93,9 @@ public class ServiceNodesByTransport {
                     supportedTransportTypes,
                     new AuthorizationService(proofOfWorkService),
                     transportConfig,
-                    transportConfig.getSocketTimeout());
+                    transportConfig.getSocketTimeout(),
+                    features,
+                    messageRateLimiterConfig);
             Set<Address> seedAddresses = seedAddressesByTransport.get(transportType);
             checkNotNull(seedAddresses, "Seed nodes must be setup for %s", transportType);
             PeerGroupManager.Config peerGroupServiceConfig = peerGroupServiceConfigByTransport.get(transportType);
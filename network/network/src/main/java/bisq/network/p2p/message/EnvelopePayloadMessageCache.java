@@ -0,0 +1,89 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.message;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memoizes the proto and the serialized bytes of EnvelopePayloadMessages, so that a message gets encoded only once
+ * even if it is used for minting the proof of work, for the NetworkEnvelopes sent to multiple peers and for the
+ * metrics. At the receiver we store the proto the message was decoded from, so that the verification of the proof
+ * of work does not need to encode it again.
+ * <p>
+ * As EnvelopePayloadMessage is implemented by many value objects we use a cache with weak keys instead of adding
+ * fields to all implementations. Weak keys are compared by identity, so we do not call the potentially expensive
+ * equals and hashCode methods of the messages. Entries expire shortly after the last access to not keep the
+ * encodings of stored data (e.g. AddAuthenticatedDataRequests) in memory.
+ */
+public class EnvelopePayloadMessageCache {
+    private static final long MAX_CACHE_SIZE_IN_BYTES = 32 * 1024 * 1024;
+
+    private static final Cache<EnvelopePayloadMessage, Encoding> CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumWeight(MAX_CACHE_SIZE_IN_BYTES)
+            .weigher((EnvelopePayloadMessage message, Encoding encoding) -> encoding.getSize())
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .build();
+
+    public static bisq.network.protobuf.EnvelopePayloadMessage getProto(EnvelopePayloadMessage message) {
+        return getEncoding(message).getProto();
+    }
+
+    /**
+     * @return The serialized proto of the message. The returned array is shared and must not be modified.
+     */
+    public static byte[] getSerialized(EnvelopePayloadMessage message) {
+        return getEncoding(message).getSerialized();
+    }
+
+    static void put(EnvelopePayloadMessage message, bisq.network.protobuf.EnvelopePayloadMessage proto) {
+        CACHE.put(message, new Encoding(proto));
+    }
+
+    private static Encoding getEncoding(EnvelopePayloadMessage message) {
+        return CACHE.asMap().computeIfAbsent(message, e -> new Encoding(e.toProto()));
+    }
+
+    private static class Encoding {
+        private final bisq.network.protobuf.EnvelopePayloadMessage proto;
+        private final Supplier<byte[]> serialized;
+
+        private Encoding(bisq.network.protobuf.EnvelopePayloadMessage proto) {
+            this.proto = proto;
+            serialized = Suppliers.memoize(() -> proto.toByteArray());
+        }
+
+        private bisq.network.protobuf.EnvelopePayloadMessage getProto() {
+            return proto;
+        }
+
+        private byte[] getSerialized() {
+            return serialized.get();
+        }
+
+        private int getSize() {
+            // The proto memoizes its size. Proto and serialized bytes together take about twice that size.
+            return proto != null ? 2 * proto.getSerializedSize() : 0;
+        }
+    }
+}
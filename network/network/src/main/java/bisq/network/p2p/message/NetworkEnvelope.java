@@ -20,6 +20,7 @@ package bisq.network.p2p.message;
 import bisq.common.proto.Proto;
 import bisq.network.p2p.node.ConnectionException;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -38,6 +39,11 @@ public final class NetworkEnvelope implements Proto {
     private final int version;
     private final AuthorizationToken authorizationToken;
     private final EnvelopePayloadMessage envelopePayloadMessage;
+    // The proto gets used for sending and for the metrics, and at the receiver we keep the proto from the wire.
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    private transient volatile bisq.network.protobuf.NetworkEnvelope proto;
 
     public NetworkEnvelope(AuthorizationToken authorizationToken, EnvelopePayloadMessage envelopePayloadMessage) {
         this(VERSION, authorizationToken, envelopePayloadMessage);
@@ -50,17 +56,31 @@ public final class NetworkEnvelope implements Proto {
     }
 
     public bisq.network.protobuf.NetworkEnvelope toProto() {
-        return bisq.network.protobuf.NetworkEnvelope.newBuilder()
-                .setVersion(version)
-                .setAuthorizationToken(authorizationToken.toProto())
-                .setNetworkMessage(envelopePayloadMessage.toProto())
-                .build();
+        bisq.network.protobuf.NetworkEnvelope result = proto;
+        if (result == null) {
+            result = bisq.network.protobuf.NetworkEnvelope.newBuilder()
+                    .setVersion(version)
+                    .setAuthorizationToken(authorizationToken.toProto())
+                    .setNetworkMessage(EnvelopePayloadMessageCache.getProto(envelopePayloadMessage))
+                    .build();
+            proto = result;
+        }
+        return result;
     }
 
     public static NetworkEnvelope fromProto(bisq.network.protobuf.NetworkEnvelope proto) {
-        return new NetworkEnvelope(proto.getVersion(),
+        EnvelopePayloadMessage envelopePayloadMessage = EnvelopePayloadMessage.fromProto(proto.getNetworkMessage());
+        EnvelopePayloadMessageCache.put(envelopePayloadMessage, proto.getNetworkMessage());
+        NetworkEnvelope networkEnvelope = new NetworkEnvelope(proto.getVersion(),
                 AuthorizationToken.fromProto(proto.getAuthorizationToken()),
-                EnvelopePayloadMessage.fromProto(proto.getNetworkMessage()));
+                envelopePayloadMessage);
+        networkEnvelope.proto = proto;
+        return networkEnvelope;
+    }
+
+    public int getSerializedSize() {
+        // The size is memoized by the proto
+        return toProto().getSerializedSize();
     }
 
     public void verifyVersion() throws ConnectionException {
@@ -25,8 +25,12 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
+import com.google.common.base.Enums;
+
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Getter
@@ -35,12 +39,23 @@ import java.util.stream.Collectors;
 public final class Capability implements Proto {
     private final Address address;
     private final List<TransportType> supportedTransportTypes;
+    private final List<Feature> features;
 
     public Capability(Address address, List<TransportType> supportedTransportTypes) {
+        this(address, supportedTransportTypes, new ArrayList<>());
+    }
+
+    public Capability(Address address, List<TransportType> supportedTransportTypes, List<Feature> features) {
         this.address = address;
         this.supportedTransportTypes = supportedTransportTypes;
+        this.features = features;
         // We need to sort deterministically as the data is used in the proof of work check
         Collections.sort(this.supportedTransportTypes);
+        Collections.sort(this.features);
+    }
+
+    public boolean hasFeature(Feature feature) {
+        return features.contains(feature);
     }
 
     public bisq.network.protobuf.Capability toProto() {
@@ -49,6 +64,9 @@ public final class Capability implements Proto {
                 .addAllSupportedTransportTypes(supportedTransportTypes.stream()
                         .map(Enum::name)
                         .collect(Collectors.toList()))
+                .addAllFeatures(features.stream()
+                        .map(Enum::name)
+                        .collect(Collectors.toList()))
                 .build();
     }
 
@@ -56,6 +74,11 @@ public final class Capability implements Proto {
         List<TransportType> supportedTransportTypes = proto.getSupportedTransportTypesList().stream()
                 .map(e -> ProtobufUtils.enumFromProto(TransportType.class, e))
                 .collect(Collectors.toList());
-        return new Capability(Address.fromProto(proto.getAddress()), supportedTransportTypes);
+        // Features unknown to our version are ignored
+        List<Feature> features = proto.getFeaturesList().stream()
+                .map(e -> Enums.getIfPresent(Feature.class, e).orNull())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new Capability(Address.fromProto(proto.getAddress()), supportedTransportTypes, features);
     }
 }
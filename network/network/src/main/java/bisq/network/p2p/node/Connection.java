@@ -23,8 +23,11 @@ import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.message.NetworkEnvelope;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
 import bisq.network.p2p.node.envelope.NetworkEnvelopeSocket;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSocketChannel;
 import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.node.network_load.NetworkLoadService;
+import bisq.network.p2p.services.peergroup.keepalive.Ping;
+import bisq.network.p2p.services.peergroup.keepalive.Pong;
 import bisq.network.common.Address;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -33,9 +36,13 @@ import javax.annotation.Nullable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.net.Socket;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
@@ -50,6 +57,12 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 @Slf4j
 public abstract class Connection {
+    // Larger than the default buffer size of NetworkEnvelopeSocketChannel to reduce the number of read calls for
+    // typical inventory and data messages.
+    private static final int NIO_READ_BUFFER_SIZE = 16 * 1024;
+    // If that many received messages are pending at the dispatcher we stop reading until half of them got handled.
+    static final int MAX_PENDING_INBOUND_MESSAGES = 100;
+
     protected interface Handler {
         void handleNetworkMessage(EnvelopePayloadMessage envelopePayloadMessage, AuthorizationToken authorizationToken, Connection connection);
 
@@ -70,8 +83,20 @@ public abstract class Connection {
     private final NetworkLoadService peersNetworkLoadService;
     @Getter
     private final ConnectionMetrics connectionMetrics;
+    // Pending sends which are written by the queue's own writer task, so that a slow peer does not block the caller.
+    // If the writer cannot be scheduled the queue is closed, thus we close the connection as well.
+    @Getter
+    private final OutboundQueue outboundQueue = new OutboundQueue(NetworkService.NETWORK_IO_POOL,
+            exception -> close(CloseReason.EXCEPTION.exception(exception)));
 
     private NetworkEnvelopeSocket networkEnvelopeSocket;
+    // Only set if the connection is served by a selector thread
+    @Nullable
+    private NetworkEnvelopeSocketChannel networkEnvelopeSocketChannel;
+    @Nullable
+    private NioSelector nioSelector;
+    @Nullable
+    private volatile SelectionKey selectionKey;
     private final Handler handler;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     @Nullable
@@ -80,6 +105,9 @@ public abstract class Connection {
     private final Object writeLock = new Object();
     private volatile boolean isStopped;
     private volatile boolean listeningStopped;
+    private final AtomicInteger numPendingInboundMessages = new AtomicInteger();
+    private final AtomicBoolean readingPaused = new AtomicBoolean();
+    private final Object pendingInboundLock = new Object();
 
     protected Connection(Socket socket,
                          Capability peersCapability,
@@ -101,40 +129,12 @@ public abstract class Connection {
             return;
         }
 
-        inputHandlerFuture = NetworkService.NETWORK_IO_POOL.submit(() -> {
-            Thread.currentThread().setName("Connection.read-" + getThreadNameId());
-            try {
-                while (isInputStreamActive()) {
-                    var proto = networkEnvelopeSocket.receiveNextEnvelope();
-                    // parsing might need some time wo we check again if connection is still active
-                    if (isInputStreamActive()) {
-                        checkNotNull(proto, "Proto from NetworkEnvelope.parseDelimitedFrom(inputStream) must not be null");
-                        long ts = System.currentTimeMillis();
-                        NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(proto);
-                        long deserializeTime = System.currentTimeMillis() - ts;
-
-                        networkEnvelope.verifyVersion();
-                        EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
-                        log.debug("Received message: {} at: {}",
-                                StringUtils.truncate(envelopePayloadMessage.toString(), 200), this);
-                        connectionMetrics.onReceived(networkEnvelope, deserializeTime);
-                        NetworkService.DISPATCHER.submit(() -> handler.handleNetworkMessage(envelopePayloadMessage,
-                                networkEnvelope.getAuthorizationToken(),
-                                this));
-                    }
-                }
-            } catch (Exception exception) {
-                //todo StreamCorruptedException from i2p at shutdown. prob it send some text data at shut down
-                if (isInputStreamActive()) {
-                    log.debug("Call shutdown from startListen read handler {} due exception={}", this, exception.toString());
-                    close(CloseReason.EXCEPTION.exception(exception));
-                    // EOFException expected if connection got closed
-                    if (!(exception instanceof EOFException)) {
-                        errorHandler.accept(this, exception);
-                    }
-                }
-            }
-        });
+        SocketChannel socketChannel = socket.getChannel();
+        if (socketChannel != null) {
+            startNioListening(socketChannel, errorHandler);
+        } else {
+            startBlockingListening(errorHandler);
+        }
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
@@ -194,7 +194,11 @@ public abstract class Connection {
             long ts = System.currentTimeMillis();
             synchronized (writeLock) {
                 try {
-                    networkEnvelopeSocket.send(networkEnvelope);
+                    if (networkEnvelopeSocketChannel != null) {
+                        sendNonBlocking(networkEnvelope);
+                    } else {
+                        networkEnvelopeSocket.send(networkEnvelope);
+                    }
                     sent = true;
                 } catch (Throwable throwable) {
                     if (!isStopped) {
@@ -235,18 +239,27 @@ public abstract class Connection {
         }
         log.info("Close {}", this);
         isStopped = true;
+        outboundQueue.close();
         if (inputHandlerFuture != null) {
             inputHandlerFuture.cancel(true);
         }
+        SelectionKey selectionKey = this.selectionKey;
+        if (selectionKey != null) {
+            selectionKey.cancel();
+        }
         try {
             networkEnvelopeSocket.close();
         } catch (IOException ignore) {
         }
-        NetworkService.DISPATCHER.submit(() -> {
+        // Dispatched as data, so that the messages received before the close get handled first
+        NetworkService.INBOUND_DISPATCHER.dispatch(id, InboundDispatcher.Priority.DATA, () -> {
             handler.handleConnectionClosed(this, closeReason);
             listeners.forEach(listener -> listener.onConnectionClosed(closeReason));
             listeners.clear();
         });
+        synchronized (pendingInboundLock) {
+            pendingInboundLock.notifyAll();
+        }
     }
 
     void notifyListeners(EnvelopePayloadMessage envelopePayloadMessage) {
@@ -261,11 +274,181 @@ public abstract class Connection {
         return isStopped;
     }
 
+    int getNumPendingInboundMessages() {
+        return numPendingInboundMessages.get();
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+    private void startBlockingListening(BiConsumer<Connection, Exception> errorHandler) {
+        inputHandlerFuture = NetworkService.NETWORK_IO_POOL.submit(() -> {
+            Thread.currentThread().setName("Connection.read-" + getThreadNameId());
+            try {
+                while (isInputStreamActive()) {
+                    var proto = networkEnvelopeSocket.receiveNextEnvelope();
+                    // parsing might need some time wo we check again if connection is still active
+                    if (isInputStreamActive()) {
+                        checkNotNull(proto, "Proto from NetworkEnvelope.parseDelimitedFrom(inputStream) must not be null");
+                        long ts = System.currentTimeMillis();
+                        NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(proto);
+                        long deserializeTime = System.currentTimeMillis() - ts;
+
+                        networkEnvelope.verifyVersion();
+                        onNetworkEnvelope(networkEnvelope, deserializeTime);
+                        awaitInboundCapacity();
+                    }
+                }
+            } catch (Exception exception) {
+                //todo StreamCorruptedException from i2p at shutdown. prob it send some text data at shut down
+                if (isInputStreamActive()) {
+                    log.debug("Call shutdown from startListen read handler {} due exception={}", this, exception.toString());
+                    close(CloseReason.EXCEPTION.exception(exception));
+                    // EOFException expected if connection got closed
+                    if (!(exception instanceof EOFException)) {
+                        errorHandler.accept(this, exception);
+                    }
+                }
+            }
+        });
+    }
+
+    // The handshake has been done in blocking mode on the socket. From now on the channel is non-blocking and
+    // the socket streams must not be used anymore.
+    private void startNioListening(SocketChannel socketChannel, BiConsumer<Connection, Exception> errorHandler) {
+        try {
+            networkEnvelopeSocketChannel = new NetworkEnvelopeSocketChannel(socketChannel, NIO_READ_BUFFER_SIZE);
+            nioSelector = NetworkService.NIO_SELECTOR_GROUP.next();
+            selectionKey = nioSelector.register(socketChannel, new NioSelector.Handler() {
+                @Override
+                public void onReadable() throws IOException {
+                    Connection.this.onReadable();
+                }
+
+                @Override
+                public void onWritable() throws IOException {
+                    Connection.this.onWritable();
+                }
+
+                @Override
+                public void onException(Throwable throwable) {
+                    Exception exception = throwable instanceof Exception ?
+                            (Exception) throwable :
+                            new ConnectionException(throwable);
+                    if (!isStopped) {
+                        log.debug("Call shutdown from selector {} due exception={}", Connection.this, exception.toString());
+                        close(CloseReason.EXCEPTION.exception(exception));
+                        if (!(exception instanceof EOFException)) {
+                            errorHandler.accept(Connection.this, exception);
+                        }
+                    }
+                }
+            }).join();
+            if (isStopped) {
+                // We got closed while registering
+                selectionKey.cancel();
+            }
+        } catch (Exception exception) {
+            log.error("Could not register socketChannel at selector " + socketChannel, exception);
+            errorHandler.accept(this, exception);
+            close(CloseReason.EXCEPTION.exception(exception));
+        }
+    }
+
+    // Called on the selector thread
+    private void onReadable() throws IOException {
+        long ts = System.currentTimeMillis();
+        List<NetworkEnvelope> networkEnvelopes = checkNotNull(networkEnvelopeSocketChannel).receiveNetworkEnvelopes();
+        if (!networkEnvelopeSocketChannel.isOpen()) {
+            throw new EOFException("End of stream reached");
+        }
+        if (networkEnvelopes.isEmpty() || !isInputStreamActive()) {
+            return;
+        }
+        // Reading and parsing is done in one step, so we attribute the time equally to the received envelopes
+        long deserializeTime = (System.currentTimeMillis() - ts) / networkEnvelopes.size();
+        networkEnvelopes.forEach(networkEnvelope -> onNetworkEnvelope(networkEnvelope, deserializeTime));
+        if (numPendingInboundMessages.get() >= MAX_PENDING_INBOUND_MESSAGES && readingPaused.compareAndSet(false, true)) {
+            log.info("Too many pending inbound messages. We pause reading from {}", this);
+            checkNotNull(nioSelector).setReadInterest(checkNotNull(selectionKey), false);
+            // The pending messages might have been handled in the meantime
+            maybeResumeReading();
+        }
+    }
+
+    // Called on the selector thread
+    private void onWritable() throws IOException {
+        synchronized (writeLock) {
+            if (checkNotNull(networkEnvelopeSocketChannel).flush()) {
+                checkNotNull(nioSelector).setWriteInterest(checkNotNull(selectionKey), false);
+            }
+        }
+    }
+
+    // Requires to be called inside writeLock
+    private void sendNonBlocking(NetworkEnvelope networkEnvelope) throws IOException {
+        boolean isWriteCompleted = checkNotNull(networkEnvelopeSocketChannel).enqueue(networkEnvelope);
+        if (!isWriteCompleted) {
+            // The remaining data will be written by the selector thread once the socket buffer has capacity again
+            checkNotNull(nioSelector).setWriteInterest(checkNotNull(selectionKey), true);
+        }
+    }
+
+    private void onNetworkEnvelope(NetworkEnvelope networkEnvelope, long deserializeTime) {
+        EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
+        log.debug("Received message: {} at: {}",
+                StringUtils.truncate(envelopePayloadMessage.toString(), 200), this);
+        connectionMetrics.onReceived(networkEnvelope, deserializeTime);
+        InboundDispatcher.Priority priority = isControlMessage(envelopePayloadMessage) ?
+                InboundDispatcher.Priority.CONTROL :
+                InboundDispatcher.Priority.DATA;
+        numPendingInboundMessages.incrementAndGet();
+        NetworkService.INBOUND_DISPATCHER.dispatch(id, priority, () -> {
+            try {
+                handler.handleNetworkMessage(envelopePayloadMessage, networkEnvelope.getAuthorizationToken(), this);
+            } finally {
+                onInboundMessageHandled();
+            }
+        });
+    }
+
+    private static boolean isControlMessage(EnvelopePayloadMessage envelopePayloadMessage) {
+        // CloseConnectionMessage is not prioritized, as it must not overtake the data messages sent before it
+        return envelopePayloadMessage instanceof Ping ||
+                envelopePayloadMessage instanceof Pong;
+    }
+
+    private void onInboundMessageHandled() {
+        if (numPendingInboundMessages.decrementAndGet() > MAX_PENDING_INBOUND_MESSAGES / 2) {
+            return;
+        }
+        if (nioSelector != null) {
+            maybeResumeReading();
+        } else {
+            synchronized (pendingInboundLock) {
+                pendingInboundLock.notifyAll();
+            }
+        }
+    }
+
+    private void maybeResumeReading() {
+        if (numPendingInboundMessages.get() <= MAX_PENDING_INBOUND_MESSAGES / 2 && readingPaused.compareAndSet(true, false)) {
+            log.info("We resume reading from {}", this);
+            checkNotNull(nioSelector).setReadInterest(checkNotNull(selectionKey), true);
+        }
+    }
+
+    // Blocks the read thread if too many received messages are pending at the dispatcher
+    private void awaitInboundCapacity() throws InterruptedException {
+        synchronized (pendingInboundLock) {
+            while (numPendingInboundMessages.get() >= MAX_PENDING_INBOUND_MESSAGES && isInputStreamActive()) {
+                pendingInboundLock.wait(1000);
+            }
+        }
+    }
+
     private String getThreadNameId() {
         return StringUtils.truncate(getPeersCapability().getAddress().toString() + "-" + id.substring(0, 8));
     }
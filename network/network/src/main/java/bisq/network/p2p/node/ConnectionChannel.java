@@ -142,7 +142,7 @@ public abstract class ConnectionChannel {
             networkEnvelopeSocketChannel.close();
         } catch (IOException ignore) {
         }
-        NetworkService.DISPATCHER.submit(() -> {
+        NetworkService.INBOUND_DISPATCHER.dispatch(id, InboundDispatcher.Priority.DATA, () -> {
             listeners.forEach(listener -> listener.onConnectionClosed(closeReason));
             listeners.clear();
         });
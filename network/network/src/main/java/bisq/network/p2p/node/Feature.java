@@ -0,0 +1,27 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+/**
+ * Optional protocol features a node supports. Features are announced in the {@link Capability} at the handshake so
+ * that peers can select the more efficient variant of a protocol if both sides support it.
+ */
+public enum Feature {
+    // InventoryRequest carries a bloom filter of the requester's entries instead of the full list of filter entries
+    INVENTORY_BLOOM_FILTER
+}
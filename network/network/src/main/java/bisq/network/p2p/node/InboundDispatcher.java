@@ -0,0 +1,225 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the handling of inbound messages and connection events on a fixed number of lanes, each served by its own
+ * thread. All tasks of one partition key (the connection id) run on the same lane, so the messages of a peer are
+ * handled in order, while the messages of different peers are handled in parallel.
+ * Each lane serves its control queue (keep-alive messages and connection-opened events) before its data queue, so that
+ * a burst of data messages does not delay the keep-alive pongs. Close messages and close callbacks go to the data queue,
+ * so that they are handled after the messages which were received before.
+ * The queues are not bounded here. Connections apply backpressure by limiting their number of pending tasks
+ * and pause reading if they reach that limit.
+ * If a task waited longer than {@link #SLOW_WAIT_TIME_MS} in the queue, we log the queue sizes and wait times, at most
+ * once per {@link #SLOW_WAIT_LOG_INTERVAL_MS}.
+ */
+@Slf4j
+public class InboundDispatcher {
+    public enum Priority {
+        CONTROL,
+        DATA
+    }
+
+    public static final long SLOW_WAIT_TIME_MS = 2000;
+    public static final long SLOW_WAIT_LOG_INTERVAL_MS = 60_000;
+
+    private static final class Entry {
+        private final Runnable task;
+        private final long enqueueTime;
+
+        private Entry(Runnable task) {
+            this.task = task;
+            enqueueTime = System.currentTimeMillis();
+        }
+    }
+
+    private final class Lane {
+        private final Queue<Entry> controlQueue = new ConcurrentLinkedQueue<>();
+        private final Queue<Entry> dataQueue = new ConcurrentLinkedQueue<>();
+        // One permit per enqueued entry
+        private final Semaphore numEntries = new Semaphore(0);
+        private final AtomicInteger queueSize = new AtomicInteger();
+        private final Thread thread;
+
+        private Lane(String threadName) {
+            thread = new Thread(this::run, threadName);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void add(Priority priority, Entry entry) {
+            if (priority == Priority.CONTROL) {
+                controlQueue.add(entry);
+            } else {
+                dataQueue.add(entry);
+            }
+            int size = queueSize.incrementAndGet();
+            maxQueueSize.accumulateAndGet(size, Math::max);
+            numEntries.release();
+        }
+
+        private void run() {
+            while (!isStopped) {
+                try {
+                    numEntries.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                Entry entry = controlQueue.poll();
+                if (entry == null) {
+                    entry = dataQueue.poll();
+                }
+                if (entry == null) {
+                    // Only at shutdown, where we release a permit without an entry
+                    continue;
+                }
+                queueSize.decrementAndGet();
+                numStarted.incrementAndGet();
+                long waitTime = System.currentTimeMillis() - entry.enqueueTime;
+                totalWaitTime.addAndGet(waitTime);
+                maxWaitTime.accumulateAndGet(waitTime, Math::max);
+                if (waitTime > SLOW_WAIT_TIME_MS) {
+                    onSlowWaitTime(waitTime);
+                }
+                try {
+                    entry.task.run();
+                } catch (Throwable throwable) {
+                    log.error("Exception at dispatched task", throwable);
+                }
+                numCompleted.incrementAndGet();
+            }
+        }
+    }
+
+    private final Lane[] lanes;
+    private volatile boolean isStopped;
+
+    private final AtomicLong numDispatched = new AtomicLong();
+    private final AtomicLong numStarted = new AtomicLong();
+    private final AtomicLong numCompleted = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+    private final AtomicLong maxQueueSize = new AtomicLong();
+    private final AtomicLong lastSlowWaitLogTime = new AtomicLong();
+
+    public InboundDispatcher(String name) {
+        this(name, getDefaultNumLanes());
+    }
+
+    public InboundDispatcher(String name, int numLanes) {
+        lanes = new Lane[numLanes];
+        for (int i = 0; i < numLanes; i++) {
+            lanes[i] = new Lane(name + "-lane-" + i);
+        }
+    }
+
+    public static int getDefaultNumLanes() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    public void dispatch(String partitionKey, Priority priority, Runnable task) {
+        if (isStopped) {
+            return;
+        }
+        numDispatched.incrementAndGet();
+        getLane(partitionKey).add(priority, new Entry(task));
+    }
+
+    public void shutdown() {
+        isStopped = true;
+        Arrays.stream(lanes).forEach(lane -> lane.numEntries.release());
+    }
+
+    public int getNumLanes() {
+        return lanes.length;
+    }
+
+    public int getQueueSize() {
+        return Arrays.stream(lanes).mapToInt(lane -> lane.queueSize.get()).sum();
+    }
+
+    /**
+     * @return The number of pending tasks per lane.
+     */
+    public int[] getQueueSizes() {
+        return Arrays.stream(lanes).mapToInt(lane -> lane.queueSize.get()).toArray();
+    }
+
+    public long getMaxQueueSize() {
+        return maxQueueSize.get();
+    }
+
+    public long getNumDispatched() {
+        return numDispatched.get();
+    }
+
+    public long getNumCompleted() {
+        return numCompleted.get();
+    }
+
+    /**
+     * @return Average time in ms a task waited in the queue until it got started.
+     */
+    public double getAverageWaitTime() {
+        long started = numStarted.get();
+        return started == 0 ? 0 : totalWaitTime.get() / (double) started;
+    }
+
+    public long getMaxWaitTime() {
+        return maxWaitTime.get();
+    }
+
+    @VisibleForTesting
+    boolean isLaneThread(String partitionKey) {
+        return Thread.currentThread() == getLane(partitionKey).thread;
+    }
+
+    @Override
+    public String toString() {
+        return "InboundDispatcher{numLanes=" + getNumLanes() +
+                ", queueSizes=" + Arrays.toString(getQueueSizes()) +
+                ", maxQueueSize=" + getMaxQueueSize() +
+                ", numCompleted=" + getNumCompleted() +
+                ", averageWaitTime=" + getAverageWaitTime() +
+                ", maxWaitTime=" + getMaxWaitTime() + "}";
+    }
+
+    private void onSlowWaitTime(long waitTime) {
+        long now = System.currentTimeMillis();
+        long lastLogTime = lastSlowWaitLogTime.get();
+        if (now - lastLogTime > SLOW_WAIT_LOG_INTERVAL_MS && lastSlowWaitLogTime.compareAndSet(lastLogTime, now)) {
+            log.warn("Inbound task waited {} ms until it got handled. {}", waitTime, this);
+        }
+    }
+
+    private Lane getLane(String partitionKey) {
+        return lanes[Math.floorMod(partitionKey.hashCode(), lanes.length)];
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Single selector thread serving the read and write readiness events of many channels.
+ * Registrations and interest changes are queued and applied on the selector thread, as the selector would block
+ * concurrent callers while it is waiting in select().
+ */
+@Slf4j
+final class NioSelector {
+    interface Handler {
+        void onReadable() throws IOException;
+
+        void onWritable() throws IOException;
+
+        void onException(Throwable throwable);
+    }
+
+    private final Selector selector;
+    @Getter
+    private final Thread thread;
+    private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean isStopped;
+
+    NioSelector(String threadName) throws IOException {
+        selector = Selector.open();
+        thread = new Thread(this::selectLoop, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    CompletableFuture<SelectionKey> register(SocketChannel socketChannel, Handler handler) {
+        CompletableFuture<SelectionKey> future = new CompletableFuture<>();
+        execute(() -> {
+            try {
+                socketChannel.configureBlocking(false);
+                future.complete(socketChannel.register(selector, SelectionKey.OP_READ, handler));
+            } catch (IOException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    void setWriteInterest(SelectionKey selectionKey, boolean writeInterest) {
+        setInterest(selectionKey, SelectionKey.OP_WRITE, writeInterest);
+    }
+
+    /**
+     * Used for backpressure: A channel without read interest is not read until the interest is set again.
+     */
+    void setReadInterest(SelectionKey selectionKey, boolean readInterest) {
+        setInterest(selectionKey, SelectionKey.OP_READ, readInterest);
+    }
+
+    void shutdown() {
+        isStopped = true;
+        selector.wakeup();
+    }
+
+    boolean isSelectorThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    int getNumChannels() {
+        return selector.keys().size();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void setInterest(SelectionKey selectionKey, int operation, boolean interest) {
+        execute(() -> {
+            try {
+                if (selectionKey.isValid()) {
+                    int interestOps = interest ?
+                            selectionKey.interestOps() | operation :
+                            selectionKey.interestOps() & ~operation;
+                    selectionKey.interestOps(interestOps);
+                }
+            } catch (CancelledKeyException ignore) {
+            }
+        });
+    }
+
+    private void execute(Runnable task) {
+        if (isSelectorThread()) {
+            task.run();
+        } else {
+            pendingTasks.add(task);
+            selector.wakeup();
+        }
+    }
+
+    private void selectLoop() {
+        while (!isStopped) {
+            try {
+                selector.select();
+                runPendingTasks();
+
+                Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey selectionKey = iterator.next();
+                    iterator.remove();
+                    handleSelectionKey(selectionKey);
+                }
+            } catch (Throwable throwable) {
+                // The selector thread is shared by many connections, so we must not let it terminate
+                log.error("Unexpected exception at selector loop", throwable);
+            }
+        }
+        try {
+            selector.keys().forEach(SelectionKey::cancel);
+            selector.close();
+        } catch (IOException ignore) {
+        }
+    }
+
+    private void runPendingTasks() {
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                log.error("Exception at running selector task", throwable);
+            }
+        }
+    }
+
+    private void handleSelectionKey(SelectionKey selectionKey) {
+        Handler handler = (Handler) selectionKey.attachment();
+        try {
+            if (selectionKey.isValid() && selectionKey.isReadable()) {
+                handler.onReadable();
+            }
+            if (selectionKey.isValid() && selectionKey.isWritable()) {
+                handler.onWritable();
+            }
+        } catch (CancelledKeyException ignore) {
+        } catch (Throwable throwable) {
+            // Any failure, including errors like an OutOfMemoryError, only closes the affected connection
+            selectionKey.cancel();
+            try {
+                handler.onException(throwable);
+            } catch (Throwable t) {
+                log.error("Exception at handling exception of selection key", t);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Fixed group of selector threads shared by all connections using the non-blocking transport mode.
+ * Connections get assigned round-robin to the selectors. The selector threads are started at first use, so that
+ * nodes not using that mode do not pay for idle threads.
+ */
+@Slf4j
+public final class NioSelectorGroup {
+    private final String name;
+    @Getter
+    private final int numSelectors;
+    private final List<NioSelector> selectors = new ArrayList<>();
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    public NioSelectorGroup(String name, int numSelectors) {
+        checkArgument(numSelectors > 0, "numSelectors must be > 0");
+        this.name = name;
+        this.numSelectors = numSelectors;
+    }
+
+    public int getNumChannels() {
+        synchronized (selectors) {
+            return selectors.stream().mapToInt(NioSelector::getNumChannels).sum();
+        }
+    }
+
+    public void shutdown() {
+        synchronized (selectors) {
+            selectors.forEach(NioSelector::shutdown);
+            selectors.clear();
+        }
+    }
+
+    NioSelector next() throws IOException {
+        synchronized (selectors) {
+            if (selectors.isEmpty()) {
+                for (int i = 0; i < numSelectors; i++) {
+                    selectors.add(new NioSelector(name + "-" + i));
+                }
+                log.info("Started {} selector threads for {}", numSelectors, name);
+            }
+            return selectors.get(Math.floorMod(nextIndex.getAndIncrement(), numSelectors));
+        }
+    }
+}
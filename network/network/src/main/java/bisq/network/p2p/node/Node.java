@@ -32,6 +32,7 @@ import bisq.network.p2p.node.authorization.AuthorizationService;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
 import bisq.network.p2p.node.handshake.ConnectionHandshake;
 import bisq.network.p2p.node.network_load.NetworkLoadService;
+import bisq.network.p2p.node.rate_limit.MessageRateLimiter;
 import bisq.network.p2p.node.transport.ServerSocketResult;
 import bisq.network.p2p.node.transport.TransportService;
 import bisq.network.p2p.services.peergroup.BanList;
@@ -42,6 +43,7 @@ import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.net.Socket;
@@ -50,6 +52,7 @@ import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -59,7 +62,7 @@ import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
-import static bisq.network.NetworkService.DISPATCHER;
+import static bisq.network.NetworkService.INBOUND_DISPATCHER;
 import static bisq.network.p2p.node.Node.State.*;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.concurrent.CompletableFuture.runAsync;
@@ -110,23 +113,58 @@ public class Node implements Connection.Handler {
         private final AuthorizationService authorizationService;
         private final TransportConfig transportConfig;
         private final int socketTimeout;
+        private final Set<Feature> features;
+        private final MessageRateLimiter.Config messageRateLimiterConfig;
 
         public Config(TransportType transportType,
                       Set<TransportType> supportedTransportTypes,
                       AuthorizationService authorizationService,
                       TransportConfig transportConfig,
                       int socketTimeout) {
+            this(transportType,
+                    supportedTransportTypes,
+                    authorizationService,
+                    transportConfig,
+                    socketTimeout,
+                    EnumSet.noneOf(Feature.class));
+        }
+
+        public Config(TransportType transportType,
+                      Set<TransportType> supportedTransportTypes,
+                      AuthorizationService authorizationService,
+                      TransportConfig transportConfig,
+                      int socketTimeout,
+                      Set<Feature> features) {
+            this(transportType,
+                    supportedTransportTypes,
+                    authorizationService,
+                    transportConfig,
+                    socketTimeout,
+                    features,
+                    MessageRateLimiter.Config.createDefault());
+        }
+
+        public Config(TransportType transportType,
+                      Set<TransportType> supportedTransportTypes,
+                      AuthorizationService authorizationService,
+                      TransportConfig transportConfig,
+                      int socketTimeout,
+                      Set<Feature> features,
+                      MessageRateLimiter.Config messageRateLimiterConfig) {
             this.transportType = transportType;
             this.supportedTransportTypes = supportedTransportTypes;
             this.authorizationService = authorizationService;
             this.transportConfig = transportConfig;
             this.socketTimeout = socketTimeout;
+            this.features = features;
+            this.messageRateLimiterConfig = messageRateLimiterConfig;
         }
     }
 
     private final BanList banList;
     private final TransportService transportService;
     private final AuthorizationService authorizationService;
+    private final MessageRateLimiter messageRateLimiter;
     private final Config config;
     @Getter
     private final NetworkId networkId;
@@ -155,6 +193,7 @@ public class Node implements Connection.Handler {
         this.transportService = transportService;
         transportType = config.getTransportType();
         authorizationService = config.getAuthorizationService();
+        messageRateLimiter = new MessageRateLimiter(config.getMessageRateLimiterConfig());
         this.config = config;
         this.networkId = networkId;
         this.torIdentity = torIdentity;
@@ -213,7 +252,9 @@ public class Node implements Connection.Handler {
 
     private void createServerAndListen() {
         ServerSocketResult serverSocketResult = transportService.getServerSocket(networkId, torIdentity);
-        myCapability = Optional.of(new Capability(serverSocketResult.getAddress(), new ArrayList<>(config.getSupportedTransportTypes())));
+        myCapability = Optional.of(new Capability(serverSocketResult.getAddress(),
+                new ArrayList<>(config.getSupportedTransportTypes()),
+                new ArrayList<>(config.getFeatures())));
         server = Optional.of(new Server(serverSocketResult,
                 socket -> onClientSocket(socket, serverSocketResult, myCapability.get()),
                 exception -> {
@@ -256,7 +297,8 @@ public class Node implements Connection.Handler {
                     this,
                     this::handleException);
             inboundConnectionsByAddress.put(connection.getPeerAddress(), connection);
-            DISPATCHER.submit(() -> listeners.forEach(listener -> listener.onConnection(connection)));
+            INBOUND_DISPATCHER.dispatch(connection.getId(), InboundDispatcher.Priority.CONTROL,
+                    () -> listeners.forEach(listener -> listener.onConnection(connection)));
         } catch (Throwable throwable) {
             connectionHandshake.shutdown();
             connectionHandshakes.remove(connectionHandshake.getId());
@@ -313,6 +355,20 @@ public class Node implements Connection.Handler {
     }
 
 
+    /**
+     * Enqueues the message at the connection's outbound queue. The authorization token is created and the message
+     * is sent by the queue's writer, thus this method does not block.
+     *
+     * @return True if the message got enqueued, false if the connection is closed or the queue is full.
+     */
+    public boolean enqueue(EnvelopePayloadMessage envelopePayloadMessage, Connection connection) {
+        if (connection.isStopped()) {
+            return false;
+        }
+        return connection.getOutboundQueue().offer(() -> send(envelopePayloadMessage, connection));
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // Connection
     ///////////////////////////////////////////////////////////////////////////////////////////////////
@@ -403,7 +459,8 @@ public class Node implements Connection.Handler {
                     this,
                     this::handleException);
             outboundConnectionsByAddress.put(address, connection);
-            DISPATCHER.submit(() -> listeners.forEach(listener -> listener.onConnection(connection)));
+            INBOUND_DISPATCHER.dispatch(connection.getId(), InboundDispatcher.Priority.CONTROL,
+                    () -> listeners.forEach(listener -> listener.onConnection(connection)));
             return connection;
         } catch (Throwable throwable) {
             connectionHandshake.shutdown();
@@ -432,26 +489,60 @@ public class Node implements Connection.Handler {
         if (isShutdown()) {
             return;
         }
-        String myAddress = findMyAddress().orElseThrow().getFullAddress();
-        boolean isAuthorized = authorizationService.isAuthorized(envelopePayloadMessage,
-                authorizationToken,
-                networkLoadService.getCurrentNetworkLoad(),
-                networkLoadService.getPreviousNetworkLoad(),
-                connection.getId(),
-                myAddress);
-        if (isAuthorized) {
-            if (envelopePayloadMessage instanceof CloseConnectionMessage) {
-                CloseConnectionMessage closeConnectionMessage = (CloseConnectionMessage) envelopePayloadMessage;
-                log.debug("Node {} received CloseConnectionMessage from {} with reason: {}", this, connection.getPeerAddress(), closeConnectionMessage.getCloseReason());
-                closeConnection(connection, CloseReason.CLOSE_MSG_RECEIVED.details(closeConnectionMessage.getCloseReason().name()));
+        Address verifiedPeerAddress = connection.isPeerAddressVerified() ? connection.getPeerAddress() : null;
+        if (!isWithinRateLimit(envelopePayloadMessage, connection, verifiedPeerAddress)) {
+            return;
+        }
+
+        long ts = System.nanoTime();
+        try {
+            String myAddress = findMyAddress().orElseThrow().getFullAddress();
+            boolean isAuthorized = authorizationService.isAuthorized(envelopePayloadMessage,
+                    authorizationToken,
+                    networkLoadService.getCurrentNetworkLoad(),
+                    networkLoadService.getPreviousNetworkLoad(),
+                    connection.getId(),
+                    myAddress);
+            if (isAuthorized) {
+                if (envelopePayloadMessage instanceof CloseConnectionMessage) {
+                    CloseConnectionMessage closeConnectionMessage = (CloseConnectionMessage) envelopePayloadMessage;
+                    log.debug("Node {} received CloseConnectionMessage from {} with reason: {}", this, connection.getPeerAddress(), closeConnectionMessage.getCloseReason());
+                    closeConnection(connection, CloseReason.CLOSE_MSG_RECEIVED.details(closeConnectionMessage.getCloseReason().name()));
+                } else {
+                    // We got called from Connection on the dispatcher lane of that connection, so no mapping needed here.
+                    connection.notifyListeners(envelopePayloadMessage);
+                    listeners.forEach(listener -> listener.onMessage(envelopePayloadMessage, connection, networkId));
+                }
             } else {
-                // We got called from Connection on the dispatcher thread, so no mapping needed here.
-                connection.notifyListeners(envelopePayloadMessage);
-                listeners.forEach(listener -> listener.onMessage(envelopePayloadMessage, connection, networkId));
+                //todo handle
+                log.warn("Message authorization failed. authorizedMessage={}", StringUtils.truncate(envelopePayloadMessage.toString()));
             }
-        } else {
-            //todo handle
-            log.warn("Message authorization failed. authorizedMessage={}", StringUtils.truncate(envelopePayloadMessage.toString()));
+        } finally {
+            messageRateLimiter.onMessageHandled(connection.getId(), verifiedPeerAddress, System.nanoTime() - ts);
+        }
+    }
+
+    private boolean isWithinRateLimit(EnvelopePayloadMessage envelopePayloadMessage,
+                                      Connection connection,
+                                      @Nullable Address verifiedPeerAddress) {
+        MessageRateLimiter.Result result = messageRateLimiter.tryAcquire(connection.getId(), verifiedPeerAddress, envelopePayloadMessage);
+        switch (result) {
+            case ACCEPTED:
+                return true;
+            case DROPPED:
+                log.debug("Node {} dropped {} from {} as the rate limit was exceeded",
+                        this, envelopePayloadMessage.getClass().getSimpleName(), connection.getPeerAddress());
+                return false;
+            case MAX_DROPPED_MESSAGES_EXCEEDED:
+            default:
+                long banDuration = messageRateLimiter.getConfig().getBanDuration();
+                log.warn("Node {} dropped too many messages from {} as the rate limit was exceeded. We close the connection{}.",
+                        this, connection.getPeerAddress(), verifiedPeerAddress != null && banDuration > 0 ? " and ban the peer" : "");
+                if (verifiedPeerAddress != null && banDuration > 0) {
+                    banList.add(verifiedPeerAddress, BanList.Reason.RATE_LIMIT_EXCEEDED, banDuration);
+                }
+                closeConnection(connection, CloseReason.RATE_LIMIT_EXCEEDED);
+                return false;
         }
     }
 
@@ -472,7 +563,7 @@ public class Node implements Connection.Handler {
                 log.debug("Node {} received CloseConnectionMessage from {} with reason: {}", this, connection.getPeerAddress(), closeConnectionMessage.getCloseReason());
                 // closeConnection(connection, CloseReason.CLOSE_MSG_RECEIVED.details(closeConnectionMessage.getCloseReason().name()));
             } else {
-                // We got called from Connection on the dispatcher thread, so no mapping needed here.
+                // We got called from the connections manager on the selector thread of that channel.
                 connection.notifyListeners(envelopePayloadMessage);
                 // listeners.forEach(listener -> listener.onMessage(networkMessage, connection, nodeId));
             }
@@ -487,6 +578,8 @@ public class Node implements Connection.Handler {
     public void handleConnectionClosed(Connection connection, CloseReason closeReason) {
         Address peerAddress = connection.getPeerAddress();
         log.debug("Node {} got called onConnectionClosed. connection={}, peerAddress={}", this, connection, peerAddress);
+        authorizationService.onConnectionClosed(connection.getId());
+        messageRateLimiter.onConnectionClosed(connection.getId());
         boolean wasRemoved = false;
         if (connection instanceof InboundConnection) {
             wasRemoved = inboundConnectionsByAddress.remove(peerAddress) != null;
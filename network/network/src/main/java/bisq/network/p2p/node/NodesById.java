@@ -25,9 +25,12 @@ import bisq.network.identity.TorIdentity;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.network_load.NetworkLoadService;
 import bisq.network.p2p.node.transport.TransportService;
+import bisq.network.p2p.services.confidential.ConfidentialMessage;
 import bisq.network.p2p.services.peergroup.BanList;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -41,8 +44,13 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 /**
  * Maintains a map with nodes by nodeId.
- * Provides delegate methods to node with given nodeId
+ * Provides delegate methods to node with given nodeId.
+ * <p>
+ * If multiplexIdentities is enabled, only the first created node (the default node) is a real node. All further
+ * networkIds are registered as aliases of that node, thus they share its server socket and its connections.
+ * Inbound messages are then routed to the networkId matching the receiverKeyId of a ConfidentialMessage.
  */
+@Slf4j
 public class NodesById implements Node.Listener {
     public interface Listener {
         void onNodeAdded(Node node);
@@ -56,23 +64,47 @@ public class NodesById implements Node.Listener {
     private final Node.Config nodeConfig;
     private final TransportService transportService;
     private final NetworkLoadService networkLoadService;
+    private final boolean multiplexIdentities;
+    private final Map<String, NetworkId> networkIdByKeyId = new ConcurrentHashMap<>();
+    private volatile Optional<Node> sharedNode = Optional.empty();
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     private final Set<Node.Listener> nodeListeners = new CopyOnWriteArraySet<>();
 
     public NodesById(BanList banList, Node.Config nodeConfig, TransportService transportService, NetworkLoadService networkLoadService) {
+        this(banList, nodeConfig, transportService, networkLoadService, false);
+    }
+
+    public NodesById(BanList banList,
+                     Node.Config nodeConfig,
+                     TransportService transportService,
+                     NetworkLoadService networkLoadService,
+                     boolean multiplexIdentities) {
         this.banList = banList;
         this.nodeConfig = nodeConfig;
         this.transportService = transportService;
         this.networkLoadService = networkLoadService;
+        this.multiplexIdentities = multiplexIdentities;
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // API
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
-    public Node createAndConfigNode(NetworkId networkId, TorIdentity torIdentity) {
+    public synchronized Node createAndConfigNode(NetworkId networkId, TorIdentity torIdentity) {
+        networkIdByKeyId.put(networkId.getPubKey().getKeyId(), networkId);
+        if (multiplexIdentities && sharedNode.isPresent()) {
+            Node node = sharedNode.get();
+            log.info("Identity multiplexing is enabled. We use the node of {} for {}",
+                    node.getNetworkId().getInfo(), networkId.getInfo());
+            map.put(networkId, node);
+            return node;
+        }
+
         Node node = new Node(banList, nodeConfig, networkId, torIdentity, transportService, networkLoadService);
         map.put(networkId, node);
+        if (multiplexIdentities) {
+            sharedNode = Optional.of(node);
+        }
         node.addListener(this);
         listeners.forEach(listener -> listener.onNodeAdded(node));
         return node;
@@ -97,11 +129,13 @@ public class NodesById implements Node.Listener {
     }
 
     public CompletableFuture<Boolean> shutdown() {
-        Stream<CompletableFuture<Boolean>> futures = map.values().stream().map(Node::shutdown);
+        Stream<CompletableFuture<Boolean>> futures = getAllNodes().stream().map(Node::shutdown);
         return CompletableFutureUtils.allOf(futures)
                 .orTimeout(10, TimeUnit.SECONDS)
                 .handle((list, throwable) -> {
                     map.clear();
+                    networkIdByKeyId.clear();
+                    sharedNode = Optional.empty();
                     listeners.clear();
                     nodeListeners.clear();
                     return throwable == null && list.stream().allMatch(e -> e);
@@ -123,7 +157,8 @@ public class NodesById implements Node.Listener {
     }
 
     public Collection<Node> getAllNodes() {
-        return map.values();
+        // In multiplexing mode several networkIds map to the same node
+        return new HashSet<>(map.values());
     }
 
     public void addNodeListener(Node.Listener listener) {
@@ -149,7 +184,8 @@ public class NodesById implements Node.Listener {
 
     @Override
     public void onMessage(EnvelopePayloadMessage envelopePayloadMessage, Connection connection, NetworkId networkId) {
-        nodeListeners.forEach(listener -> listener.onMessage(envelopePayloadMessage, connection, networkId));
+        NetworkId receiverNetworkId = multiplexIdentities ? resolveReceiverNetworkId(envelopePayloadMessage, networkId) : networkId;
+        nodeListeners.forEach(listener -> listener.onMessage(envelopePayloadMessage, connection, receiverNetworkId));
     }
 
     @Override
@@ -162,7 +198,11 @@ public class NodesById implements Node.Listener {
 
     @Override
     public void onShutdown(Node node) {
-        map.remove(node.getNetworkId());
+        map.entrySet().removeIf(entry -> entry.getValue() == node);
+        networkIdByKeyId.values().removeIf(networkId -> !map.containsKey(networkId));
+        if (sharedNode.isPresent() && sharedNode.get() == node) {
+            sharedNode = Optional.empty();
+        }
         node.removeListener(this);
         listeners.forEach(listener -> listener.onNodeRemoved(node));
     }
@@ -176,4 +216,15 @@ public class NodesById implements Node.Listener {
         return findNode(networkId)
                 .orElseGet(() -> createAndConfigNode(networkId, torIdentity));
     }
+
+    private NetworkId resolveReceiverNetworkId(EnvelopePayloadMessage envelopePayloadMessage, NetworkId nodeNetworkId) {
+        if (envelopePayloadMessage instanceof ConfidentialMessage) {
+            String receiverKeyId = ((ConfidentialMessage) envelopePayloadMessage).getReceiverKeyId();
+            NetworkId receiverNetworkId = networkIdByKeyId.get(receiverKeyId);
+            if (receiverNetworkId != null) {
+                return receiverNetworkId;
+            }
+        }
+        return nodeNetworkId;
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.node;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue of pending send tasks for a single connection.
+ * At most one writer task per queue is active on the executor, so messages to one peer are sent in order, while a
+ * slow peer only delays its own queue and not the sends to other peers.
+ * If the queue is full or closed, new tasks are dropped and counted.
+ * If the executor rejects the writer, the queue gets closed and the rejection handler is called, so that the owner can
+ * close the connection instead of keeping a connection which silently drops all further messages.
+ */
+@Slf4j
+public class OutboundQueue {
+    public static final int DEFAULT_CAPACITY = 200;
+
+    private static final class Entry {
+        private final Runnable sendTask;
+        private final long enqueueTime;
+
+        private Entry(Runnable sendTask) {
+            this.sendTask = sendTask;
+            enqueueTime = System.currentTimeMillis();
+        }
+    }
+
+    private final Executor executor;
+    private final Consumer<RejectedExecutionException> rejectionHandler;
+    private final BlockingQueue<Entry> queue;
+    private final AtomicBoolean writerActive = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private final AtomicLong numEnqueued = new AtomicLong();
+    private final AtomicLong numSent = new AtomicLong();
+    private final AtomicLong numFailed = new AtomicLong();
+    private final AtomicLong numDropped = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+    private final AtomicLong maxQueueSize = new AtomicLong();
+
+    public OutboundQueue(Executor executor) {
+        this(executor, DEFAULT_CAPACITY);
+    }
+
+    public OutboundQueue(Executor executor, int capacity) {
+        this(executor, capacity, exception -> {
+        });
+    }
+
+    public OutboundQueue(Executor executor, Consumer<RejectedExecutionException> rejectionHandler) {
+        this(executor, DEFAULT_CAPACITY, rejectionHandler);
+    }
+
+    public OutboundQueue(Executor executor, int capacity, Consumer<RejectedExecutionException> rejectionHandler) {
+        this.executor = executor;
+        this.rejectionHandler = rejectionHandler;
+        queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @param sendTask Blocking task which sends the message. It is expected to throw if sending failed.
+     * @return True if the task got enqueued, false if it was dropped because the queue is full or closed.
+     */
+    public boolean offer(Runnable sendTask) {
+        if (closed || !queue.offer(new Entry(sendTask))) {
+            numDropped.incrementAndGet();
+            return false;
+        }
+        numEnqueued.incrementAndGet();
+        maxQueueSize.accumulateAndGet(queue.size(), Math::max);
+        startWriter();
+        return true;
+    }
+
+    public void close() {
+        closed = true;
+        int numPending = queue.size();
+        queue.clear();
+        if (numPending > 0) {
+            numDropped.addAndGet(numPending);
+            log.info("Dropped {} pending messages at closing the outbound queue", numPending);
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getMaxQueueSize() {
+        return maxQueueSize.get();
+    }
+
+    public long getNumEnqueued() {
+        return numEnqueued.get();
+    }
+
+    public long getNumSent() {
+        return numSent.get();
+    }
+
+    public long getNumFailed() {
+        return numFailed.get();
+    }
+
+    public long getNumDropped() {
+        return numDropped.get();
+    }
+
+    /**
+     * @return Average time in ms from enqueuing a message until it was sent or failed.
+     */
+    public double getAverageLatency() {
+        long numCompleted = numSent.get() + numFailed.get();
+        return numCompleted == 0 ? 0 : totalLatency.get() / (double) numCompleted;
+    }
+
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    @Override
+    public String toString() {
+        return "OutboundQueue{queueSize=" + getQueueSize() +
+                ", maxQueueSize=" + getMaxQueueSize() +
+                ", numSent=" + getNumSent() +
+                ", numFailed=" + getNumFailed() +
+                ", numDropped=" + getNumDropped() +
+                ", averageLatency=" + getAverageLatency() +
+                ", maxLatency=" + getMaxLatency() + "}";
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void startWriter() {
+        if (!writerActive.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            writerActive.set(false);
+            log.warn("Executor rejected outbound queue writer. We close the queue.");
+            close();
+            rejectionHandler.accept(e);
+        }
+    }
+
+    private void drain() {
+        try {
+            Entry entry;
+            while (!closed && (entry = queue.poll()) != null) {
+                try {
+                    entry.sendTask.run();
+                    numSent.incrementAndGet();
+                } catch (Throwable throwable) {
+                    numFailed.incrementAndGet();
+                    log.debug("Send task of outbound queue failed. {}", throwable.toString());
+                }
+                long latency = System.currentTimeMillis() - entry.enqueueTime;
+                totalLatency.addAndGet(latency);
+                maxLatency.accumulateAndGet(latency, Math::max);
+            }
+        } finally {
+            writerActive.set(false);
+            // A task might have been enqueued after our last poll but before we released the writer flag.
+            if (!closed && !queue.isEmpty()) {
+                startWriter();
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import bisq.common.application.DevMode;
 import bisq.common.util.ByteArrayUtils;
 import bisq.common.util.MathUtils;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.EnvelopePayloadMessageCache;
 import bisq.network.p2p.node.network_load.NetworkLoad;
 import bisq.security.DigestUtil;
 import bisq.security.pow.ProofOfWork;
@@ -31,9 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 import javax.annotation.Nullable;
 import java.math.BigInteger;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
@@ -44,7 +43,7 @@ public class AuthorizationService {
 
     private final ProofOfWorkService proofOfWorkService;
     // Keep track of message counter per connection to avoid reuse of pow
-    private final Map<String, Set<Integer>> receivedMessageCountersByConnectionId = new ConcurrentHashMap<>();
+    private final Map<String, MessageCounterWindow> messageCounterWindowByConnectionId = new ConcurrentHashMap<>();
 
     public AuthorizationService(ProofOfWorkService proofOfWorkService) {
         this.proofOfWorkService = proofOfWorkService;
@@ -66,12 +65,14 @@ public class AuthorizationService {
         return token;
     }
 
+    /**
+     * Used at the connection handshake. As there is no connection yet we cannot check for a reused message counter.
+     */
     public boolean isAuthorized(EnvelopePayloadMessage message,
                                 AuthorizationToken authorizationToken,
                                 NetworkLoad currentNetworkLoad,
-                                String connectionId,
                                 String myAddress) {
-        return isAuthorized(message, authorizationToken, currentNetworkLoad, null, connectionId, myAddress);
+        return isProofOfWorkValid(message, authorizationToken, currentNetworkLoad, null, myAddress);
     }
 
     public boolean isAuthorized(EnvelopePayloadMessage message,
@@ -80,22 +81,30 @@ public class AuthorizationService {
                                 @Nullable NetworkLoad previousNetworkLoad,
                                 String connectionId,
                                 String myAddress) {
-        ProofOfWork proofOfWork = authorizationToken.getProofOfWork();
-        int messageCounter = authorizationToken.getMessageCounter();
-
         // Verify that pow is not reused
-        Set<Integer> receivedMessageCounters;
-        if (receivedMessageCountersByConnectionId.containsKey(connectionId)) {
-            receivedMessageCounters = receivedMessageCountersByConnectionId.get(connectionId);
-            if (receivedMessageCounters.contains(messageCounter)) {
-                log.warn("Invalid receivedMessageCounters. We received the proofOfWork for that message already.");
-                return false;
-            }
-        } else {
-            receivedMessageCounters = new HashSet<>();
-            receivedMessageCountersByConnectionId.put(connectionId, receivedMessageCounters);
+        int messageCounter = authorizationToken.getMessageCounter();
+        MessageCounterWindow messageCounterWindow = messageCounterWindowByConnectionId.computeIfAbsent(connectionId,
+                key -> new MessageCounterWindow());
+        if (!messageCounterWindow.tryAccept(messageCounter)) {
+            log.warn("Invalid messageCounter. We received the proofOfWork for that message already or the messageCounter " +
+                    "is outside the accepted window. messageCounter={}", messageCounter);
+            return false;
         }
-        receivedMessageCounters.add(messageCounter);
+
+        return isProofOfWorkValid(message, authorizationToken, currentNetworkLoad, previousNetworkLoad, myAddress);
+    }
+
+    public void onConnectionClosed(String connectionId) {
+        messageCounterWindowByConnectionId.remove(connectionId);
+    }
+
+    private boolean isProofOfWorkValid(EnvelopePayloadMessage message,
+                                       AuthorizationToken authorizationToken,
+                                       NetworkLoad currentNetworkLoad,
+                                       @Nullable NetworkLoad previousNetworkLoad,
+                                       String myAddress) {
+        ProofOfWork proofOfWork = authorizationToken.getProofOfWork();
+        int messageCounter = authorizationToken.getMessageCounter();
 
         // Verify payload
         byte[] payload = getPayload(message);
@@ -201,7 +210,7 @@ public class AuthorizationService {
     }
 
     private byte[] getPayload(EnvelopePayloadMessage message) {
-        return message.toProto().toByteArray();
+        return EnvelopePayloadMessageCache.getSerialized(message);
     }
 
     private byte[] getChallenge(String peerAddress, int messageCounter) {
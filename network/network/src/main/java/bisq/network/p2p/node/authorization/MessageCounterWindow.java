@@ -0,0 +1,83 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.authorization;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window over the message counters received on a connection, used to detect the reuse of a proof of work.
+ * The sender increments the counter with each message, but as messages get minted and sent concurrently they can
+ * arrive slightly out of order. We accept a counter if it is higher than the highest counter seen so far, or if it is
+ * inside the window below it and was not seen before. Counters which fell out of the window are rejected.
+ * <p>
+ * Unlike a set of all received counters the memory is fixed to WINDOW_SIZE bits per connection.
+ */
+class MessageCounterWindow {
+    static final int WINDOW_SIZE = 4096;
+
+    private final long[] bits = new long[WINDOW_SIZE / Long.SIZE];
+    private long highest = Long.MIN_VALUE;
+
+    synchronized boolean tryAccept(int messageCounter) {
+        long counter = messageCounter;
+        if (highest == Long.MIN_VALUE) {
+            highest = counter;
+            set(counter);
+            return true;
+        }
+
+        if (counter > highest) {
+            if (counter - highest >= WINDOW_SIZE) {
+                Arrays.fill(bits, 0);
+            } else {
+                // Clear the slots of the counters which move out of the window
+                for (long i = highest + 1; i <= counter; i++) {
+                    clear(i);
+                }
+            }
+            highest = counter;
+            set(counter);
+            return true;
+        }
+
+        if (highest - counter >= WINDOW_SIZE || isSet(counter)) {
+            return false;
+        }
+        set(counter);
+        return true;
+    }
+
+    private boolean isSet(long counter) {
+        int index = slot(counter);
+        return (bits[index / Long.SIZE] & (1L << (index % Long.SIZE))) != 0;
+    }
+
+    private void set(long counter) {
+        int index = slot(counter);
+        bits[index / Long.SIZE] |= 1L << (index % Long.SIZE);
+    }
+
+    private void clear(long counter) {
+        int index = slot(counter);
+        bits[index / Long.SIZE] &= ~(1L << (index % Long.SIZE));
+    }
+
+    private static int slot(long counter) {
+        return (int) Math.floorMod(counter, (long) WINDOW_SIZE);
+    }
+}
@@ -17,6 +17,7 @@
 
 package bisq.network.p2p.node.envelope;
 
+import bisq.network.p2p.node.ConnectionException;
 import bisq.network.protobuf.NetworkEnvelope;
 import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +27,9 @@ import java.util.*;
 
 @Slf4j
 public class NetworkEnvelopeDeserializer {
+    // The byte array for a message gets allocated with the length announced by the peer, thus we need to limit it.
+    // Inventory responses are the largest messages, and their budget at the rate limiter is the same.
+    public static final int MAX_MESSAGE_LENGTH = 50 * 1024 * 1024;
 
     private final ByteBuffer byteBuffer;
     private final ProtoBufMessageLengthParser messageLengthParser;
@@ -64,6 +68,10 @@ public class NetworkEnvelopeDeserializer {
     private void parseMessageLength() {
         long messageLength = messageLengthParser.parseMessageLength();
         if (isMessageLengthParsed(messageLength)) {
+            if (messageLength < 0 || messageLength > MAX_MESSAGE_LENGTH) {
+                throw new ConnectionException("Message length " + messageLength + " exceeds the limit of " +
+                        MAX_MESSAGE_LENGTH + " bytes");
+            }
             currentMessageLength = messageLength;
             parsedMessageLength = 0;
             parsingMessage = true;
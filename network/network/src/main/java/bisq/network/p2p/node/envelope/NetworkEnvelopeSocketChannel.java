@@ -27,12 +27,17 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 @Slf4j
 public class NetworkEnvelopeSocketChannel implements Closeable {
     public static final int BYTE_BUFFER_SIZE = 1024;
+    // If the peer does not read fast enough we do not buffer more than that and close the connection.
+    // A single message which is larger than the limit is accepted if nothing else is pending.
+    public static final long MAX_PENDING_WRITE_BYTES = 16 * 1024 * 1024;
 
     private static final int END_OF_STREAM = -1;
 
@@ -40,7 +45,10 @@ public class NetworkEnvelopeSocketChannel implements Closeable {
     private final SocketChannel socketChannel;
     private final ByteBuffer byteBuffer;
     private final NetworkEnvelopeDeserializer networkEnvelopeDeserializer;
-
+    // Only used in non-blocking mode. Buffers which could not be written completely are kept until the channel
+    // becomes writable again.
+    private final Queue<ByteBuffer> pendingWrites = new ConcurrentLinkedQueue<>();
+    private volatile long numPendingWriteBytes;
 
     public NetworkEnvelopeSocketChannel(SocketChannel socketChannel) {
         this(socketChannel, BYTE_BUFFER_SIZE);
@@ -53,18 +61,48 @@ public class NetworkEnvelopeSocketChannel implements Closeable {
     }
 
     public void send(NetworkEnvelope networkEnvelope) throws IOException {
-        bisq.network.protobuf.NetworkEnvelope proto = checkNotNull(networkEnvelope.toProto(),
-                "networkEnvelope.toProto() must not be null");
-        byte[] protoInBytes = proto.toByteArray();
-        int messageLength = protoInBytes.length;
+        ByteBuffer byteBuffer = serialize(networkEnvelope);
+        while (byteBuffer.hasRemaining()) {
+            socketChannel.write(byteBuffer);
+        }
+    }
 
-        ByteBuffer byteBuffer1 = ByteBuffer.allocate(messageLength + 10);
-        ProtoBufMessageLengthWriter.writeToBuffer(messageLength, byteBuffer1);
+    /**
+     * Adds the envelope to the pending writes and writes as much as the channel accepts without blocking.
+     * Requires that the caller synchronizes calls to enqueue and flush.
+     *
+     * @return True if all pending data has been written.
+     * @throws IOException If the pending data would exceed MAX_PENDING_WRITE_BYTES.
+     */
+    public boolean enqueue(NetworkEnvelope networkEnvelope) throws IOException {
+        ByteBuffer byteBuffer = serialize(networkEnvelope);
+        if (numPendingWriteBytes > 0 && numPendingWriteBytes + byteBuffer.remaining() > MAX_PENDING_WRITE_BYTES) {
+            throw new IOException("Pending writes of " + numPendingWriteBytes + " bytes exceed the limit of " +
+                    MAX_PENDING_WRITE_BYTES + " bytes. The peer does not read fast enough.");
+        }
+        pendingWrites.add(byteBuffer);
+        numPendingWriteBytes += byteBuffer.remaining();
+        return flush();
+    }
 
-        byteBuffer1.put(protoInBytes);
-        byteBuffer1.flip();
+    /**
+     * @return True if all pending data has been written. Otherwise, flush need to be called again once the channel
+     * is writable.
+     */
+    public boolean flush() throws IOException {
+        ByteBuffer byteBuffer;
+        while ((byteBuffer = pendingWrites.peek()) != null) {
+            numPendingWriteBytes -= socketChannel.write(byteBuffer);
+            if (byteBuffer.hasRemaining()) {
+                return false;
+            }
+            pendingWrites.poll();
+        }
+        return true;
+    }
 
-        socketChannel.write(byteBuffer1);
+    public boolean hasPendingWrites() {
+        return !pendingWrites.isEmpty();
     }
 
     public List<NetworkEnvelope> receiveNetworkEnvelopes() throws IOException {
@@ -86,8 +124,29 @@ public class NetworkEnvelopeSocketChannel implements Closeable {
         return allNetworkEnvelopes;
     }
 
+    public boolean isOpen() {
+        return socketChannel.isOpen();
+    }
+
     @Override
     public void close() throws IOException {
+        pendingWrites.clear();
+        numPendingWriteBytes = 0;
         socketChannel.close();
     }
+
+    private ByteBuffer serialize(NetworkEnvelope networkEnvelope) {
+        bisq.network.protobuf.NetworkEnvelope proto = checkNotNull(networkEnvelope.toProto(),
+                "networkEnvelope.toProto() must not be null");
+        byte[] protoInBytes = proto.toByteArray();
+        int messageLength = protoInBytes.length;
+
+        // A varint encoded int uses max. 5 bytes
+        ByteBuffer byteBuffer = ByteBuffer.allocate(messageLength + 5);
+        ProtoBufMessageLengthWriter.writeToBuffer(messageLength, byteBuffer);
+
+        byteBuffer.put(protoInBytes);
+        byteBuffer.flip();
+        return byteBuffer;
+    }
 }
@@ -17,10 +17,14 @@
 
 package bisq.network.p2p.node.envelope;
 
+import bisq.network.p2p.node.ConnectionException;
+
 import java.nio.ByteBuffer;
 
 public class ProtoBufMessageLengthParser {
     public static final int STILL_PARSING_MESSAGE_LENGTH = -1;
+    // A varint encoded int uses max. 5 bytes
+    private static final int MAX_LENGTH_BYTES = 5;
     private final ByteBuffer byteBuffer;
 
     private int readLengthBytes = 0;
@@ -42,6 +46,9 @@ public class ProtoBufMessageLengthParser {
         boolean needToReadMore = isContinuationBitSet(readByte);
         if (needToReadMore) {
             readLengthBytes++;
+            if (readLengthBytes >= MAX_LENGTH_BYTES) {
+                throw new ConnectionException("Message length uses more than " + MAX_LENGTH_BYTES + " bytes");
+            }
             return STILL_PARSING_MESSAGE_LENGTH;
 
         } else {
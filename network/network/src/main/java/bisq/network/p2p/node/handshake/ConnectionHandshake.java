@@ -213,7 +213,6 @@ public final class ConnectionHandshake {
             boolean isAuthorized = authorizationService.isAuthorized(response,
                     responseNetworkEnvelope.getAuthorizationToken(),
                     myNetworkLoad,
-                    StringUtils.createUid(),
                     myAddress.getFullAddress());
 
             if (!isAuthorized) {
@@ -270,7 +269,6 @@ public final class ConnectionHandshake {
             boolean isAuthorized = authorizationService.isAuthorized(request,
                     requestNetworkEnvelope.getAuthorizationToken(),
                     NetworkLoad.INITIAL_LOAD,
-                    StringUtils.createUid(),
                     myAddress);
             if (isAuthorized) {
                 log.info("Peer {} proofed ownership of its onion address successfully.", peerAddress.getFullAddress());
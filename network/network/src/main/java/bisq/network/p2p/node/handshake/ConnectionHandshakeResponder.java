@@ -18,7 +18,6 @@
 package bisq.network.p2p.node.handshake;
 
 import bisq.common.data.Pair;
-import bisq.common.util.StringUtils;
 import bisq.network.p2p.message.NetworkEnvelope;
 import bisq.network.p2p.node.Capability;
 import bisq.network.p2p.node.ConnectionException;
@@ -90,7 +89,6 @@ public class ConnectionHandshakeResponder {
                 request,
                 requestNetworkEnvelope.getAuthorizationToken(),
                 NetworkLoad.INITIAL_LOAD,
-                StringUtils.createUid(),
                 myAddress
         );
 
@@ -19,34 +19,41 @@ package bisq.network.p2p.node.network_load;
 
 import bisq.network.p2p.message.NetworkEnvelope;
 import lombok.Getter;
-import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
-import java.util.TreeMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
+/**
+ * Keeps the per-minute metrics of the last hour in fixed size ring buffers, so the memory used per connection
+ * does not grow with the connection age. Totals since creation are kept separately.
+ */
 @Slf4j
-@Getter
-@ToString
 public class ConnectionMetrics {
+    private static final int NUM_MINUTES = 60;
+
+    private final LongSupplier clock;
+    @Getter
     private final long created;
+    @Getter
     private final AtomicLong lastUpdate = new AtomicLong();
-    private final TreeMap<Integer, AtomicLong> numMessagesSentPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> sentBytesPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> spentSendMessageTimePerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> deserializeTimePerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> numMessagesReceivedPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> receivedBytesPerMinute = new TreeMap<>();
-
-    private final AtomicLong numMessagesReceived = new AtomicLong();
-    private final List<Long> rrtList = new CopyOnWriteArrayList<>();
+    private final MinuteRingBuffer numMessagesSentPerMinute = new MinuteRingBuffer(NUM_MINUTES);
+    private final MinuteRingBuffer sentBytesPerMinute = new MinuteRingBuffer(NUM_MINUTES);
+    private final MinuteRingBuffer spentSendMessageTimePerMinute = new MinuteRingBuffer(NUM_MINUTES);
+    private final MinuteRingBuffer deserializeTimePerMinute = new MinuteRingBuffer(NUM_MINUTES);
+    private final MinuteRingBuffer numMessagesReceivedPerMinute = new MinuteRingBuffer(NUM_MINUTES);
+    private final MinuteRingBuffer receivedBytesPerMinute = new MinuteRingBuffer(NUM_MINUTES);
+    private final RttHistogram rttHistogram = new RttHistogram();
 
     public ConnectionMetrics() {
-        created = new Date().getTime();
+        this(System::currentTimeMillis);
+    }
+
+    ConnectionMetrics(LongSupplier clock) {
+        this.clock = clock;
+        created = clock.getAsLong();
     }
 
     public Date getCreationDate() {
@@ -54,131 +61,135 @@ public class ConnectionMetrics {
     }
 
     public long getAge() {
-        return System.currentTimeMillis() - created;
+        return clock.getAsLong() - created;
     }
 
     public void onSent(NetworkEnvelope networkEnvelope, long spentTime) {
-        long now = System.currentTimeMillis();
+        long now = clock.getAsLong();
         lastUpdate.set(now);
 
-        int ageInMinutes = getAgeInMinutes(now);
-        sentBytesPerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        sentBytesPerMinute.get(ageInMinutes).getAndAdd(networkEnvelope.toProto().getSerializedSize());
-
-        numMessagesSentPerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        numMessagesSentPerMinute.get(ageInMinutes).incrementAndGet();
-
-        spentSendMessageTimePerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        spentSendMessageTimePerMinute.get(ageInMinutes).getAndAdd(spentTime);
+        long minute = getAgeInMinutes(now);
+        sentBytesPerMinute.add(minute, networkEnvelope.getSerializedSize());
+        numMessagesSentPerMinute.add(minute, 1);
+        spentSendMessageTimePerMinute.add(minute, spentTime);
     }
 
     public void onReceived(NetworkEnvelope networkEnvelope, long deserializeTime) {
-        long now = System.currentTimeMillis();
+        long now = clock.getAsLong();
         lastUpdate.set(now);
 
-        int ageInMinutes = getAgeInMinutes(now);
-        receivedBytesPerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        receivedBytesPerMinute.get(ageInMinutes).getAndAdd(networkEnvelope.toProto().getSerializedSize());
-
-        numMessagesReceivedPerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        numMessagesReceivedPerMinute.get(ageInMinutes).incrementAndGet();
-
-        deserializeTimePerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        deserializeTimePerMinute.get(ageInMinutes).getAndAdd(deserializeTime);
+        long minute = getAgeInMinutes(now);
+        receivedBytesPerMinute.add(minute, networkEnvelope.getSerializedSize());
+        numMessagesReceivedPerMinute.add(minute, 1);
+        deserializeTimePerMinute.add(minute, deserializeTime);
     }
 
     public void addRtt(long value) {
-        this.rrtList.add(value);
+        rttHistogram.add(value);
     }
 
     public double getAverageRtt() {
-        return rrtList.stream().mapToLong(e -> e).average().orElse(0d);
+        return rttHistogram.getAverage();
+    }
+
+    /**
+     * @param percentile Value between 0 and 1
+     */
+    public long getRttPercentile(double percentile) {
+        return rttHistogram.getPercentile(percentile);
     }
 
     public long getSentBytes() {
-        return sumOf(sentBytesPerMinute);
+        return sentBytesPerMinute.getTotal();
     }
 
     public long getNumMessagesSent() {
-        return sumOf(numMessagesSentPerMinute);
+        return numMessagesSentPerMinute.getTotal();
     }
 
     public long getSpentSendMessageTimePerMinute() {
-        return sumOf(spentSendMessageTimePerMinute);
+        return spentSendMessageTimePerMinute.getTotal();
     }
 
     public long getReceivedBytes() {
-        return sumOf(receivedBytesPerMinute);
+        return receivedBytesPerMinute.getTotal();
     }
 
     public long getNumMessagesReceived() {
-        return sumOf(numMessagesReceivedPerMinute);
+        return numMessagesReceivedPerMinute.getTotal();
     }
 
     public long getDeserializeTimePerMinute() {
-        return sumOf(deserializeTimePerMinute);
+        return deserializeTimePerMinute.getTotal();
     }
 
     public long getNumMessagesSentOfLastHour() {
-        return getNumMessagesSentOfLastMinutes(60);
+        return getNumMessagesSentOfLastMinutes(NUM_MINUTES);
     }
 
     public long getSentBytesOfLastHour() {
-        return getSentBytesOfLastMinutes(60);
+        return getSentBytesOfLastMinutes(NUM_MINUTES);
     }
 
     public long getSpentSendMessageTimeOfLastHour() {
-        return getSpentSendMessageTimeOfLastMinutes(60);
+        return getSpentSendMessageTimeOfLastMinutes(NUM_MINUTES);
     }
 
     public long getReceivedBytesOfLastHour() {
-        return getReceivedBytesOfLastMinutes(60);
+        return getReceivedBytesOfLastMinutes(NUM_MINUTES);
     }
 
     public long getDeserializeTimeOfLastHour() {
-        return getDeserializeTimeOfLastMinutes(60);
+        return getDeserializeTimeOfLastMinutes(NUM_MINUTES);
     }
 
     public long getNumMessagesReceivedOfLastHour() {
-        return getNumMessagesReceivedOfLastMinutes(60);
+        return getNumMessagesReceivedOfLastMinutes(NUM_MINUTES);
     }
 
+    // lastMinutes is capped at 60 as we do not keep older data
     public long getNumMessagesSentOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(numMessagesSentPerMinute, lastMinutes);
+        return sumOfLastMinutes(numMessagesSentPerMinute, lastMinutes);
     }
 
     public long getSentBytesOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(sentBytesPerMinute, lastMinutes);
+        return sumOfLastMinutes(sentBytesPerMinute, lastMinutes);
     }
 
     public long getSpentSendMessageTimeOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(spentSendMessageTimePerMinute, lastMinutes);
+        return sumOfLastMinutes(spentSendMessageTimePerMinute, lastMinutes);
     }
 
     public long getNumMessagesReceivedOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(numMessagesReceivedPerMinute, lastMinutes);
+        return sumOfLastMinutes(numMessagesReceivedPerMinute, lastMinutes);
     }
 
     public long getReceivedBytesOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(receivedBytesPerMinute, lastMinutes);
+        return sumOfLastMinutes(receivedBytesPerMinute, lastMinutes);
     }
 
     public long getDeserializeTimeOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(deserializeTimePerMinute, lastMinutes);
+        return sumOfLastMinutes(deserializeTimePerMinute, lastMinutes);
     }
 
-    private long sumOf(TreeMap<Integer, AtomicLong> treeMap) {
-        return treeMap.values().stream().mapToLong(AtomicLong::get).sum();
+    @Override
+    public String toString() {
+        return "ConnectionMetrics(" +
+                "created=" + created +
+                ", lastUpdate=" + lastUpdate.get() +
+                ", numMessagesSent=" + getNumMessagesSent() +
+                ", sentBytes=" + getSentBytes() +
+                ", numMessagesReceived=" + getNumMessagesReceived() +
+                ", receivedBytes=" + getReceivedBytes() +
+                ", averageRtt=" + getAverageRtt() +
+                ")";
     }
 
-    private long sumOfLastMinute(TreeMap<Integer, AtomicLong> treeMap, int lastMinutes) {
-        // The Treemap returns the values in ascending order of the corresponding keys.
-        int from = Math.max(0, treeMap.size() - lastMinutes);
-        List<AtomicLong> list = new ArrayList<>(treeMap.values()).subList(from, treeMap.size());
-        return list.stream().mapToLong(AtomicLong::get).sum();
+    private long sumOfLastMinutes(MinuteRingBuffer ringBuffer, int lastMinutes) {
+        return ringBuffer.sumOfLastMinutes(getAgeInMinutes(clock.getAsLong()), lastMinutes);
     }
 
-    private int getAgeInMinutes(long now) {
-        return (int) (now - created) / 60000;
+    private long getAgeInMinutes(long now) {
+        return TimeUnit.MILLISECONDS.toMinutes(now - created);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed size ring buffer of per-minute counters. Each bucket remembers the minute it belongs to, so outdated buckets
+ * are ignored at queries and get reset when their slot is reused. The memory is therefore constant regardless of how
+ * long the buffer is in use.
+ * <p>
+ * Updates are lock-free. At the first update of a new minute a concurrent update to the same bucket might get lost,
+ * which is acceptable for the use case of load statistics.
+ */
+class MinuteRingBuffer {
+    private final int numBuckets;
+    private final AtomicLongArray minuteOfBucket;
+    private final LongAdder[] buckets;
+    private final LongAdder total = new LongAdder();
+
+    MinuteRingBuffer(int numBuckets) {
+        this.numBuckets = numBuckets;
+        minuteOfBucket = new AtomicLongArray(numBuckets);
+        buckets = new LongAdder[numBuckets];
+        for (int i = 0; i < numBuckets; i++) {
+            minuteOfBucket.set(i, -1);
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void add(long minute, long value) {
+        int index = indexOf(minute);
+        long bucketMinute = minuteOfBucket.get(index);
+        if (bucketMinute != minute && minuteOfBucket.compareAndSet(index, bucketMinute, minute)) {
+            buckets[index].reset();
+        }
+        buckets[index].add(value);
+        total.add(value);
+    }
+
+    /**
+     * @return The sum of the last minutes including the current minute. At most numBuckets minutes are covered.
+     */
+    long sumOfLastMinutes(long currentMinute, int lastMinutes) {
+        long fromMinute = currentMinute - Math.min(lastMinutes, numBuckets) + 1;
+        long sum = 0;
+        for (int i = 0; i < numBuckets; i++) {
+            long bucketMinute = minuteOfBucket.get(i);
+            if (bucketMinute >= fromMinute && bucketMinute <= currentMinute) {
+                sum += buckets[i].sum();
+            }
+        }
+        return sum;
+    }
+
+    long getTotal() {
+        return total.sum();
+    }
+
+    private int indexOf(long minute) {
+        return (int) (minute % numBuckets);
+    }
+}
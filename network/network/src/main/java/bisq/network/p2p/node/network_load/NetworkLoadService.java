@@ -19,7 +19,7 @@ package bisq.network.p2p.node.network_load;
 
 import bisq.common.util.ByteUnit;
 import bisq.common.util.MathUtils;
-import bisq.network.p2p.services.data.inventory.Inventory;
+import bisq.network.p2p.services.data.storage.StoreMetrics;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -55,8 +55,8 @@ public final class NetworkLoadService {
         }
     }
 
-    public void updateMyLoad(List<ConnectionMetrics> allConnectionMetrics, Inventory inventory) {
-        double load = calculateLoad(allConnectionMetrics, inventory);
+    public void updateMyLoad(List<ConnectionMetrics> allConnectionMetrics, List<StoreMetrics> allStoreMetrics) {
+        double load = calculateLoad(allConnectionMetrics, allStoreMetrics);
         NetworkLoad networkLoad = new NetworkLoad(load);
         synchronized (this) {
             lastUpdated = System.currentTimeMillis();
@@ -65,7 +65,10 @@ public final class NetworkLoadService {
         }
     }
 
-    private double calculateLoad(List<ConnectionMetrics> allConnectionMetrics, Inventory inventory) {
+    private double calculateLoad(List<ConnectionMetrics> allConnectionMetrics, List<StoreMetrics> allStoreMetrics) {
+        long networkDatabaseSize = allStoreMetrics.stream()
+                .mapToLong(StoreMetrics::getNumBytes)
+                .sum();
         long numConnections = allConnectionMetrics.size();
         long sentBytesOfLastHour = allConnectionMetrics.stream()
                 .map(ConnectionMetrics::getSentBytesOfLastHour)
@@ -91,7 +94,6 @@ public final class NetworkLoadService {
                 .map(ConnectionMetrics::getNumMessagesReceivedOfLastHour)
                 .mapToLong(e -> e)
                 .sum();
-        long networkDatabaseSize = inventory.getEntries().stream().mapToLong(e -> e.toProto().getSerializedSize()).sum();
 
         StringBuilder sb = new StringBuilder("\n##########################################################################################");
         sb.append("\nNetwork statistics:")
@@ -102,8 +104,13 @@ public final class NetworkLoadService {
                 .append("\nData sent in last hour:").append(sentBytesOfLastHour).append(" bytes")
                 .append("\nData received in last hour:").append(receivedBytesOfLastHour).append(" bytes")
                 .append("\nTime for message sending in last hour:").append(spentSendMessageTimeOfLastHour).append(" ms")
-                .append("\nTime for message deserializing in last hour=").append(deserializeTimeOfLastHour).append(" ms")
-                .append("\n##########################################################################################");
+                .append("\nTime for message deserializing in last hour=").append(deserializeTimeOfLastHour).append(" ms");
+        for (StoreMetrics storeMetrics : allStoreMetrics) {
+            sb.append("\nStore ").append(storeMetrics.getStoreName()).append("/").append(storeMetrics.getStoreKey())
+                    .append(": ").append(storeMetrics.getNumEntries()).append(" entries; ")
+                    .append(storeMetrics.getNumBytes()).append(" bytes");
+        }
+        sb.append("\n##########################################################################################");
         log.info(sb.toString());
 
         double MAX_NUM_CON = 30;
@@ -0,0 +1,289 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.rate_limit;
+
+import bisq.network.common.Address;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.EnvelopePayloadMessageCache;
+import bisq.network.p2p.node.CloseConnectionMessage;
+import bisq.network.p2p.services.data.DataRequest;
+import bisq.network.p2p.services.data.inventory.InventoryRequest;
+import bisq.network.p2p.services.data.inventory.InventoryResponse;
+import bisq.network.p2p.services.peergroup.keepalive.Ping;
+import bisq.network.p2p.services.peergroup.keepalive.Pong;
+import com.google.common.annotations.VisibleForTesting;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Limits the rate of inbound messages with token buckets per connection and per verified peer address. Each message
+ * class has its own budget for the number of messages and the number of bytes, so that a peer flooding us with data
+ * does not use up the budget of its keep-alive messages. In addition, the time spent for handling the messages of a
+ * peer is accounted, as the proof of work verification and the handlers of some messages are expensive.
+ * <p>
+ * Messages exceeding a budget get dropped. Once a connection has dropped maxDroppedMessages, the peer is considered
+ * misbehaving and the caller closes the connection.
+ * <p>
+ * The budgets per peer address are the connection budgets multiplied by peerAddressBudgetFactor, as we might have an
+ * inbound and an outbound connection to the same peer. We only use the address if it got verified, as otherwise a
+ * peer could use up the budget of another peer by claiming its address.
+ */
+@Slf4j
+public class MessageRateLimiter {
+    // After that time all buckets are refilled with any sensible configuration, so we do not need to keep the entry
+    private static final long PEER_ADDRESS_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+
+    public enum MessageClass {
+        CONTROL,
+        INVENTORY,
+        DATA,
+        OTHER;
+
+        public static MessageClass from(EnvelopePayloadMessage message) {
+            if (message instanceof Ping || message instanceof Pong || message instanceof CloseConnectionMessage) {
+                return CONTROL;
+            } else if (message instanceof InventoryRequest || message instanceof InventoryResponse) {
+                return INVENTORY;
+            } else if (message instanceof DataRequest) {
+                return DATA;
+            } else {
+                return OTHER;
+            }
+        }
+    }
+
+    public enum Result {
+        ACCEPTED,
+        DROPPED,
+        MAX_DROPPED_MESSAGES_EXCEEDED
+    }
+
+    @Getter
+    @ToString
+    public static final class Budget {
+        private final double messagesPerSecond;
+        private final int maxBurstMessages;
+        private final double bytesPerSecond;
+        private final long maxBurstBytes;
+
+        public Budget(double messagesPerSecond, int maxBurstMessages, double bytesPerSecond, long maxBurstBytes) {
+            this.messagesPerSecond = messagesPerSecond;
+            this.maxBurstMessages = maxBurstMessages;
+            this.bytesPerSecond = bytesPerSecond;
+            this.maxBurstBytes = maxBurstBytes;
+        }
+
+        public static Budget from(com.typesafe.config.Config typesafeConfig) {
+            return new Budget(typesafeConfig.getDouble("messagesPerSecond"),
+                    typesafeConfig.getInt("maxBurstMessages"),
+                    typesafeConfig.getBytes("bytesPerSecond"),
+                    typesafeConfig.getBytes("maxBurstBytes"));
+        }
+    }
+
+    @Getter
+    @ToString
+    public static final class Config {
+        private final boolean enabled;
+        private final Map<MessageClass, Budget> budgetByMessageClass;
+        private final double peerAddressBudgetFactor;
+        private final long handlingTimeInMsPerSecond;
+        private final long maxBurstHandlingTimeInMs;
+        private final int maxDroppedMessages;
+        private final long banDuration;
+
+        public Config(boolean enabled,
+                      Map<MessageClass, Budget> budgetByMessageClass,
+                      double peerAddressBudgetFactor,
+                      long handlingTimeInMsPerSecond,
+                      long maxBurstHandlingTimeInMs,
+                      int maxDroppedMessages,
+                      long banDuration) {
+            this.enabled = enabled;
+            this.budgetByMessageClass = budgetByMessageClass;
+            this.peerAddressBudgetFactor = peerAddressBudgetFactor;
+            this.handlingTimeInMsPerSecond = handlingTimeInMsPerSecond;
+            this.maxBurstHandlingTimeInMs = maxBurstHandlingTimeInMs;
+            this.maxDroppedMessages = maxDroppedMessages;
+            this.banDuration = banDuration;
+        }
+
+        public static Config from(com.typesafe.config.Config typesafeConfig) {
+            com.typesafe.config.Config budgets = typesafeConfig.getConfig("budgetByMessageClass");
+            Map<MessageClass, Budget> budgetByMessageClass = new EnumMap<>(MessageClass.class);
+            for (MessageClass messageClass : MessageClass.values()) {
+                budgetByMessageClass.put(messageClass, Budget.from(budgets.getConfig(messageClass.name().toLowerCase())));
+            }
+            return new Config(typesafeConfig.getBoolean("enabled"),
+                    budgetByMessageClass,
+                    typesafeConfig.getDouble("peerAddressBudgetFactor"),
+                    typesafeConfig.getLong("handlingTimeInMsPerSecond"),
+                    typesafeConfig.getLong("maxBurstHandlingTimeInMs"),
+                    typesafeConfig.getInt("maxDroppedMessages"),
+                    SECONDS.toMillis(typesafeConfig.getLong("banDurationInSeconds")));
+        }
+
+        /**
+         * Generous defaults which should never be reached by a well-behaving peer, even at the initial inventory sync.
+         */
+        public static Config createDefault() {
+            Map<MessageClass, Budget> budgetByMessageClass = new EnumMap<>(MessageClass.class);
+            budgetByMessageClass.put(MessageClass.CONTROL, new Budget(10, 100, 64 * 1024, 256 * 1024));
+            budgetByMessageClass.put(MessageClass.INVENTORY, new Budget(1, 20, 2 * 1024 * 1024, 50 * 1024 * 1024));
+            budgetByMessageClass.put(MessageClass.DATA, new Budget(200, 5000, 2 * 1024 * 1024, 20 * 1024 * 1024));
+            budgetByMessageClass.put(MessageClass.OTHER, new Budget(50, 500, 1024 * 1024, 10 * 1024 * 1024));
+            return new Config(true, budgetByMessageClass, 2, 500, 60_000, 100, SECONDS.toMillis(600));
+        }
+    }
+
+    private class Budgets {
+        private final Map<MessageClass, TokenBucket> messageBuckets = new EnumMap<>(MessageClass.class);
+        private final Map<MessageClass, TokenBucket> byteBuckets = new EnumMap<>(MessageClass.class);
+        private final TokenBucket handlingTimeBucket;
+        private int numDroppedMessages;
+        private long lastAccess;
+
+        private Budgets(double factor, long now) {
+            config.getBudgetByMessageClass().forEach((messageClass, budget) -> {
+                messageBuckets.put(messageClass, new TokenBucket(budget.getMaxBurstMessages() * factor,
+                        budget.getMessagesPerSecond() * factor, now));
+                byteBuckets.put(messageClass, new TokenBucket(budget.getMaxBurstBytes() * factor,
+                        budget.getBytesPerSecond() * factor, now));
+            });
+            handlingTimeBucket = new TokenBucket(config.getMaxBurstHandlingTimeInMs() * factor,
+                    config.getHandlingTimeInMsPerSecond() * factor, now);
+            lastAccess = now;
+        }
+
+        private synchronized boolean tryConsume(MessageClass messageClass, int numBytes, long now) {
+            lastAccess = now;
+            if (!handlingTimeBucket.hasTokens(now)) {
+                return false;
+            }
+            TokenBucket messageBucket = messageBuckets.get(messageClass);
+            if (!messageBucket.tryConsume(1, now)) {
+                return false;
+            }
+            if (!byteBuckets.get(messageClass).tryConsume(numBytes, now)) {
+                // A dropped message should not use up the budget, so we give back the message token
+                messageBucket.consume(-1, now);
+                return false;
+            }
+            return true;
+        }
+
+        private synchronized void consumeHandlingTime(double handlingTimeInMs, long now) {
+            handlingTimeBucket.consume(handlingTimeInMs, now);
+        }
+
+        private synchronized int incrementNumDroppedMessages() {
+            return ++numDroppedMessages;
+        }
+
+        private synchronized boolean isIdle(long now) {
+            return now - lastAccess > PEER_ADDRESS_IDLE_TIMEOUT;
+        }
+    }
+
+    @Getter
+    private final Config config;
+    private final LongSupplier clock;
+    private final Map<String, Budgets> budgetsByConnectionId = new ConcurrentHashMap<>();
+    private final Map<Address, Budgets> budgetsByPeerAddress = new ConcurrentHashMap<>();
+    @Getter
+    private final AtomicLong numDroppedMessages = new AtomicLong();
+
+    public MessageRateLimiter(Config config) {
+        this(config, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    MessageRateLimiter(Config config, LongSupplier clock) {
+        this.config = config;
+        this.clock = clock;
+    }
+
+    public Result tryAcquire(String connectionId, @Nullable Address verifiedPeerAddress, EnvelopePayloadMessage message) {
+        if (!config.isEnabled()) {
+            return Result.ACCEPTED;
+        }
+        // The proto of a received message is cached, and it memoizes its size
+        int numBytes = EnvelopePayloadMessageCache.getProto(message).getSerializedSize();
+        return tryAcquire(connectionId, verifiedPeerAddress, MessageClass.from(message), numBytes);
+    }
+
+    @VisibleForTesting
+    Result tryAcquire(String connectionId, @Nullable Address verifiedPeerAddress, MessageClass messageClass, int numBytes) {
+        long now = clock.getAsLong();
+        Budgets connectionBudgets = budgetsByConnectionId.computeIfAbsent(connectionId, key -> new Budgets(1, now));
+        boolean accepted = connectionBudgets.tryConsume(messageClass, numBytes, now);
+        if (accepted && verifiedPeerAddress != null) {
+            Budgets peerAddressBudgets = budgetsByPeerAddress.computeIfAbsent(verifiedPeerAddress,
+                    key -> new Budgets(config.getPeerAddressBudgetFactor(), now));
+            accepted = peerAddressBudgets.tryConsume(messageClass, numBytes, now);
+        }
+        if (accepted) {
+            return Result.ACCEPTED;
+        }
+
+        numDroppedMessages.incrementAndGet();
+        return connectionBudgets.incrementNumDroppedMessages() >= config.getMaxDroppedMessages() ?
+                Result.MAX_DROPPED_MESSAGES_EXCEEDED :
+                Result.DROPPED;
+    }
+
+    public void onMessageHandled(String connectionId, @Nullable Address verifiedPeerAddress, long handlingTimeInNanos) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        double handlingTimeInMs = handlingTimeInNanos / 1_000_000d;
+        Budgets connectionBudgets = budgetsByConnectionId.get(connectionId);
+        if (connectionBudgets != null) {
+            connectionBudgets.consumeHandlingTime(handlingTimeInMs, now);
+        }
+        if (verifiedPeerAddress != null) {
+            Budgets peerAddressBudgets = budgetsByPeerAddress.get(verifiedPeerAddress);
+            if (peerAddressBudgets != null) {
+                peerAddressBudgets.consumeHandlingTime(handlingTimeInMs, now);
+            }
+        }
+    }
+
+    public void onConnectionClosed(String connectionId) {
+        budgetsByConnectionId.remove(connectionId);
+        long now = clock.getAsLong();
+        budgetsByPeerAddress.values().removeIf(budgets -> budgets.isIdle(now));
+    }
+
+    @VisibleForTesting
+    int getNumPeerAddressBudgets() {
+        return budgetsByPeerAddress.size();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.rate_limit;
+
+/**
+ * Token bucket which holds up to capacity tokens and gets refilled at a constant rate. Tokens are refilled lazily at
+ * access, so idle buckets do not cost anything. Not thread safe.
+ */
+class TokenBucket {
+    private final double capacity;
+    private final double refillPerMs;
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(double capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.refillPerMs = refillPerSecond / 1000;
+        tokens = capacity;
+        lastRefill = now;
+    }
+
+    /**
+     * An amount larger than the capacity is accepted if the bucket is full. The tokens become negative in that case,
+     * so that large messages are possible but further ones have to wait until the debt is refilled.
+     */
+    boolean tryConsume(double amount, long now) {
+        refill(now);
+        if (tokens < Math.min(amount, capacity)) {
+            return false;
+        }
+        tokens -= amount;
+        return true;
+    }
+
+    /**
+     * Used for costs which are only known after the work was done, like the time spent for handling a message.
+     */
+    void consume(double amount, long now) {
+        refill(now);
+        tokens -= amount;
+    }
+
+    boolean hasTokens(long now) {
+        refill(now);
+        return tokens > 0;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * refillPerMs);
+            lastRefill = now;
+        }
+    }
+}
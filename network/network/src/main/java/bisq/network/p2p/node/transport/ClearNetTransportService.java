@@ -12,8 +12,11 @@ import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -32,17 +35,24 @@ public class ClearNetTransportService implements TransportService {
 
             return new Config(dataDir,
                     config.hasPath("defaultNodePort") ? config.getInt("defaultNodePort") : -1,
-                    (int) TimeUnit.SECONDS.toMillis(config.getInt("socketTimeout")));
+                    (int) TimeUnit.SECONDS.toMillis(config.getInt("socketTimeout")),
+                    config.hasPath("nioEnabled") && config.getBoolean("nioEnabled"));
         }
 
         private final int defaultNodePort;
         private final int socketTimeout;
         private final Path dataDir;
+        private final boolean nioEnabled;
 
         public Config(Path dataDir, int defaultNodePort, int socketTimeout) {
+            this(dataDir, defaultNodePort, socketTimeout, false);
+        }
+
+        public Config(Path dataDir, int defaultNodePort, int socketTimeout, boolean nioEnabled) {
             this.dataDir = dataDir;
             this.defaultNodePort = defaultNodePort;
             this.socketTimeout = socketTimeout;
+            this.nioEnabled = nioEnabled;
         }
     }
 
@@ -51,8 +61,10 @@ public class ClearNetTransportService implements TransportService {
     private final BootstrapInfo bootstrapInfo = new BootstrapInfo();
     private boolean initializeCalled;
     private Scheduler startBootstrapProgressUpdater;
+    private final boolean nioEnabled;
 
     public ClearNetTransportService(TransportConfig config) {
+        nioEnabled = config.isNioEnabled();
     }
 
     @Override
@@ -90,7 +102,16 @@ public class ClearNetTransportService implements TransportService {
         bootstrapInfo.getBootstrapDetails().set("Start creating server");
 
         try {
-            ServerSocket serverSocket = new ServerSocket(port);
+            ServerSocket serverSocket;
+            if (nioEnabled) {
+                // The socket adaptor of a channel behaves like a blocking socket, but the accepted sockets provide
+                // their channel, so that the connections can be handed over to the selector threads after the handshake.
+                ServerSocketChannel serverSocketChannel = ServerSocketChannel.open();
+                serverSocketChannel.bind(new InetSocketAddress(port));
+                serverSocket = serverSocketChannel.socket();
+            } else {
+                serverSocket = new ServerSocket(port);
+            }
             Address address = Address.localHost(port);
             log.debug("ServerSocket created at port {}", port);
 
@@ -108,7 +129,9 @@ public class ClearNetTransportService implements TransportService {
     @Override
     public Socket getSocket(Address address) throws IOException {
         log.debug("Create new Socket to {}", address);
-        Socket socket = new Socket(address.getHost(), address.getPort());
+        Socket socket = nioEnabled ?
+                SocketChannel.open(new InetSocketAddress(address.getHost(), address.getPort())).socket() :
+                new Socket(address.getHost(), address.getPort());
         numSocketsCreated++;
 
         bootstrapInfo.getBootstrapState().set(BootstrapState.CONNECTED_TO_PEERS);
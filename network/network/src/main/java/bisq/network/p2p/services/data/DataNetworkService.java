@@ -32,7 +32,7 @@ import bisq.network.p2p.services.peergroup.PeerGroupManager;
 import bisq.network.p2p.services.peergroup.PeerGroupService;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -122,7 +122,7 @@ public class DataNetworkService implements PeerGroupManager.Listener, Node.Liste
         return broadcaster.reBroadcast(broadcastMessage);
     }
 
-    List<CompletableFuture<Inventory>> requestInventory(DataFilter dataFilter) {
+    Map<Connection, CompletableFuture<Inventory>> requestInventory(DataFilter dataFilter) {
         return inventoryService.request(dataFilter);
     }
 
@@ -18,6 +18,8 @@
 package bisq.network.p2p.services.data;
 
 import bisq.common.timer.Scheduler;
+import bisq.common.util.ExceptionUtil;
+import bisq.network.NetworkService;
 import bisq.network.common.TransportType;
 import bisq.network.identity.NetworkId;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
@@ -44,6 +46,7 @@ import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.PublicKey;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -170,9 +173,14 @@ public class DataService implements DataNetworkService.Listener {
     }
 
     public Stream<AuthorizedData> getAuthorizedData() {
-        return getAuthenticatedData()
-                .filter(authenticatedData -> authenticatedData instanceof AuthorizedData)
-                .map(authenticatedData -> (AuthorizedData) authenticatedData);
+        return storageService.getAuthorizedData();
+    }
+
+    /**
+     * @param storeName The class name of the AuthorizedDistributedData
+     */
+    public Stream<AuthorizedData> getAuthorizedDataByStoreName(String storeName) {
+        return storageService.getAuthorizedData(storeName);
     }
 
     public Stream<AuthenticatedData> getAuthenticatedPayloadStreamByStoreName(String storeName) {
@@ -325,16 +333,41 @@ public class DataService implements DataNetworkService.Listener {
     }
 
     public void requestInventory(DataFilter dataFilter, DataNetworkService dataNetworkService) {
-        dataNetworkService.requestInventory(dataFilter).forEach(future -> {
-            future.whenComplete(((inventory, throwable) -> {
-                inventory.getEntries().forEach(dataRequest -> {
-                    if (dataRequest instanceof AddDataRequest) {
-                        processAddDataRequest((AddDataRequest) dataRequest, false);
-                    } else if (dataRequest instanceof RemoveDataRequest) {
-                        processRemoveDataRequest((RemoveDataRequest) dataRequest, false);
-                    }
-                });
-            }));
+        dataNetworkService.requestInventory(dataFilter).forEach((connection, future) -> {
+            future.thenCompose(inventory -> {
+                        // We verify the signatures of all AddAuthenticatedDataRequests in parallel before we process
+                        // the requests in the original order. The verification result is cached in the request.
+                        List<AddAuthenticatedDataRequest> addAuthenticatedDataRequests = inventory.getEntries().stream()
+                                .filter(dataRequest -> dataRequest instanceof AddAuthenticatedDataRequest)
+                                .map(dataRequest -> (AddAuthenticatedDataRequest) dataRequest)
+                                .collect(Collectors.toList());
+                        // If the verification stage fails we still process the inventory, as the signatures get
+                        // verified when the requests are added to the store.
+                        return storageService.verifySignatures(addAuthenticatedDataRequests)
+                                .handle((nil, throwable) -> {
+                                    if (throwable != null) {
+                                        log.warn("Verifying the signatures of the inventory from {} failed. " +
+                                                        "We verify them when adding the data. Reason: {}",
+                                                connection.getPeerAddress(), ExceptionUtil.print(throwable));
+                                    }
+                                    return inventory;
+                                });
+                    })
+                    .thenAcceptAsync(inventory -> {
+                        inventory.getEntries().forEach(dataRequest -> {
+                            if (dataRequest instanceof AddDataRequest) {
+                                processAddDataRequest((AddDataRequest) dataRequest, false);
+                            } else if (dataRequest instanceof RemoveDataRequest) {
+                                processRemoveDataRequest((RemoveDataRequest) dataRequest, false);
+                            }
+                        });
+                    }, NetworkService.DISPATCHER)
+                    .whenComplete((nil, throwable) -> {
+                        if (throwable != null) {
+                            log.warn("Inventory from {} got dropped. Reason: {}",
+                                    connection.getPeerAddress(), ExceptionUtil.print(throwable));
+                        }
+                    });
         });
     }
 
@@ -18,7 +18,7 @@
 package bisq.network.p2p.services.data.broadcast;
 
 import bisq.common.util.CollectionUtil;
-import bisq.network.NetworkService;
+import bisq.network.p2p.message.EnvelopePayloadMessageCache;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
 import bisq.network.p2p.services.peergroup.PeerGroupService;
@@ -32,12 +32,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class Broadcaster {
-    private static final long BROADCAST_TIMEOUT = 90;
     private static final long RE_BROADCAST_DELAY_MS = 100;
 
     private final Node node;
@@ -79,35 +77,35 @@ public class Broadcaster {
         }
 
         long ts = System.currentTimeMillis();
-        CompletableFuture<BroadcastResult> future = new CompletableFuture<BroadcastResult>()
-                .orTimeout(BROADCAST_TIMEOUT, TimeUnit.SECONDS);
-        AtomicInteger numSuccess = new AtomicInteger(0);
-        AtomicInteger numFaults = new AtomicInteger(0);
-        long numConnections = peerGroupService.getAllConnections().count();
-        long numBroadcasts = Math.min(numConnections, Math.round(numConnections * distributionFactor));
+        // We take the count from the collected list, as connections might get added or closed in the meantime
+        List<Connection> allConnections = peerGroupService.getAllConnections().collect(Collectors.toList());
+        int numConnections = allConnections.size();
+        int numBroadcasts = (int) Math.min(numConnections, Math.round(numConnections * distributionFactor));
         log.debug("Broadcast {} to {} out of {} peers. distributionFactor={}",
                 broadcastMessage.getClass().getSimpleName(), numBroadcasts, numConnections, distributionFactor);
-        List<Connection> allConnections = peerGroupService.getAllConnections().collect(Collectors.toList());
         Collections.shuffle(allConnections);
-        NetworkService.NETWORK_IO_POOL.submit(() -> {
-            allConnections.stream()
-                    .limit(numBroadcasts)
-                    .forEach(connection -> {
-                        log.debug("Node {} broadcast to {}", node, connection.getPeerAddress());
-                        try {
-                            node.send(broadcastMessage, connection);
-                            numSuccess.incrementAndGet();
-                        } catch (Throwable throwable) {
-                            numFaults.incrementAndGet();
-                        }
-                        if (numSuccess.get() + numFaults.get() == numBroadcasts) {
-                            future.complete(new BroadcastResult(numSuccess.get(),
-                                    numFaults.get(),
-                                    System.currentTimeMillis() - ts));
-                        }
-                    });
-        });
-        return future;
+
+        // We serialize the message once up front. The per-peer writers create their authorization tokens from the
+        // cached encoding instead of serializing the message again for each peer.
+        EnvelopePayloadMessageCache.getSerialized(broadcastMessage);
+
+        // Each peer has its own outbound queue and writer, so a slow peer does not delay the others. The result
+        // reflects whether the message got accepted by the peer's queue, not whether it has been sent already.
+        int numSuccess = 0;
+        int numFaults = 0;
+        for (Connection connection : allConnections.subList(0, numBroadcasts)) {
+            log.debug("Node {} broadcast to {}", node, connection.getPeerAddress());
+            if (node.enqueue(broadcastMessage, connection)) {
+                numSuccess++;
+            } else {
+                numFaults++;
+                log.info("Broadcast message got dropped for {}. {}",
+                        connection.getPeerAddress(), connection.getOutboundQueue());
+            }
+        }
+        return CompletableFuture.completedFuture(new BroadcastResult(numSuccess,
+                numFaults,
+                System.currentTimeMillis() - ts));
     }
 
     public Address getPeerAddressesForInventoryRequest() {
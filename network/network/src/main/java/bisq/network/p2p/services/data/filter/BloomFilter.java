@@ -0,0 +1,131 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.filter;
+
+import bisq.common.proto.Proto;
+import com.google.protobuf.ByteString;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Compact representation of the filter entries a peer already has. The key of an entry is its hash and sequence
+ * number, so an entry with a newer sequence number is not matched by an older one.
+ * <p>
+ * As the data hash is already a cryptographic hash we derive the bit positions directly from it (double hashing as
+ * described by Kirsch and Mitzenmacher) instead of hashing again. The tweak is chosen randomly per request, so a false
+ * positive (an entry the peer does not have but which we do not deliver) does not repeat at the next request.
+ */
+@Getter
+@ToString(of = {"numHashFunctions", "tweak"})
+@EqualsAndHashCode
+public final class BloomFilter implements Proto {
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+    public static final int MAX_NUM_BYTES = 2 * 1024 * 1024;
+    public static final int MAX_NUM_HASH_FUNCTIONS = 32;
+
+    private final byte[] bits;
+    private final int numHashFunctions;
+    private final int tweak;
+
+    public static BloomFilter from(Collection<FilterEntry> filterEntries, double falsePositiveRate, int tweak) {
+        int numEntries = Math.max(1, filterEntries.size());
+        double ln2 = Math.log(2);
+        long numBits = (long) Math.ceil(-numEntries * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int numBytes = (int) Math.min(MAX_NUM_BYTES, Math.max(1, (numBits + 7) / 8));
+        int numHashFunctions = (int) Math.max(1, Math.min(MAX_NUM_HASH_FUNCTIONS, Math.round((double) numBytes * 8 / numEntries * ln2)));
+        BloomFilter bloomFilter = new BloomFilter(new byte[numBytes], numHashFunctions, tweak);
+        filterEntries.forEach(bloomFilter::put);
+        return bloomFilter;
+    }
+
+    public BloomFilter(byte[] bits, int numHashFunctions, int tweak) {
+        this.bits = bits;
+        this.numHashFunctions = numHashFunctions;
+        this.tweak = tweak;
+
+        checkArgument(bits.length > 0 && bits.length <= MAX_NUM_BYTES, "Invalid bloom filter size");
+        checkArgument(numHashFunctions > 0 && numHashFunctions <= MAX_NUM_HASH_FUNCTIONS, "Invalid numHashFunctions");
+    }
+
+    public bisq.network.protobuf.BloomFilter toProto() {
+        return bisq.network.protobuf.BloomFilter.newBuilder()
+                .setBits(ByteString.copyFrom(bits))
+                .setNumHashFunctions(numHashFunctions)
+                .setTweak(tweak)
+                .build();
+    }
+
+    public static BloomFilter fromProto(bisq.network.protobuf.BloomFilter proto) {
+        return new BloomFilter(proto.getBits().toByteArray(), proto.getNumHashFunctions(), proto.getTweak());
+    }
+
+    public boolean mightContain(FilterEntry filterEntry) {
+        long numBits = (long) bits.length * 8;
+        long hash1 = getHash1(filterEntry);
+        long hash2 = getHash2(filterEntry);
+        for (int i = 0; i < numHashFunctions; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, numBits);
+            if ((bits[(int) (index >>> 3)] & (1 << (index & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(FilterEntry filterEntry) {
+        long numBits = (long) bits.length * 8;
+        long hash1 = getHash1(filterEntry);
+        long hash2 = getHash2(filterEntry);
+        for (int i = 0; i < numHashFunctions; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, numBits);
+            bits[(int) (index >>> 3)] |= (byte) (1 << (index & 7));
+        }
+    }
+
+    private long getHash1(FilterEntry filterEntry) {
+        return mix(readLong(filterEntry.getHash(), 0) ^ filterEntry.getSequenceNumber() ^ ((long) tweak << 32));
+    }
+
+    private long getHash2(FilterEntry filterEntry) {
+        // Must be odd to not collapse to a subset of positions
+        return mix(readLong(filterEntry.getHash(), 8) + filterEntry.getSequenceNumber() + tweak) | 1;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long result = 0;
+        for (int i = offset; i < offset + 8 && i < bytes.length; i++) {
+            result = (result << 8) | (bytes[i] & 0xFF);
+        }
+        return result;
+    }
+
+    // Finalizer of MurmurHash3 (64 bit) to spread the sequence number and tweak over all bits
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
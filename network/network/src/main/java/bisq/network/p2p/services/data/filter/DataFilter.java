@@ -23,33 +23,68 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Getter
 @ToString
 @EqualsAndHashCode
 public final class DataFilter implements Proto {
+    // Below that size the list of filter entries is small enough and has no false positives
+    public static final int MIN_NUM_ENTRIES_FOR_BLOOM_FILTER = 1000;
+
     private final List<FilterEntry> filterEntries;
+    private final Optional<BloomFilter> bloomFilter;
 
     public DataFilter(List<FilterEntry> filterEntries) {
+        this(filterEntries, Optional.empty());
+    }
+
+    public DataFilter(List<FilterEntry> filterEntries, Optional<BloomFilter> bloomFilter) {
         this.filterEntries = filterEntries;
+        this.bloomFilter = bloomFilter;
         // We need to sort deterministically as the data is used in the proof of work check
         Collections.sort(this.filterEntries);
     }
 
     public bisq.network.protobuf.DataFilter toProto() {
-        return bisq.network.protobuf.DataFilter.newBuilder()
+        bisq.network.protobuf.DataFilter.Builder builder = bisq.network.protobuf.DataFilter.newBuilder()
                 .addAllFilterEntries(filterEntries.stream()
                         .map(FilterEntry::toProto)
-                        .collect(Collectors.toList()))
-                .build();
+                        .collect(Collectors.toList()));
+        bloomFilter.ifPresent(e -> builder.setBloomFilter(e.toProto()));
+        return builder.build();
     }
 
     public static DataFilter fromProto(bisq.network.protobuf.DataFilter proto) {
         return new DataFilter(proto.getFilterEntriesList().stream()
                 .map(FilterEntry::fromProto)
-                .collect(Collectors.toList()));
+                .collect(Collectors.toList()),
+                proto.hasBloomFilter() ? Optional.of(BloomFilter.fromProto(proto.getBloomFilter())) : Optional.empty());
+    }
+
+    /**
+     * @return A DataFilter where the filter entries are replaced by a bloom filter, or this instance if the number of
+     * entries is too small to benefit from it.
+     */
+    public DataFilter toBloomFilterVariant() {
+        if (bloomFilter.isPresent() || filterEntries.size() < MIN_NUM_ENTRIES_FOR_BLOOM_FILTER) {
+            return this;
+        }
+        BloomFilter bloomFilter = BloomFilter.from(filterEntries, BloomFilter.DEFAULT_FALSE_POSITIVE_RATE, new Random().nextInt());
+        return new DataFilter(new ArrayList<>(), Optional.of(bloomFilter));
+    }
+
+    /**
+     * @return A predicate for the responder to test if the requester already has a filter entry. Filter entries are
+     * indexed in a HashSet so that the lookup is O(1) instead of scanning the list for each stored entry.
+     */
+    public Predicate<FilterEntry> createContainsPredicate() {
+        Set<FilterEntry> filterEntrySet = new HashSet<>(filterEntries);
+        return bloomFilter
+                .map(bloomFilter -> (Predicate<FilterEntry>) filterEntry ->
+                        filterEntrySet.contains(filterEntry) || bloomFilter.mightContain(filterEntry))
+                .orElse(filterEntrySet::contains);
     }
 }
\ No newline at end of file
@@ -22,17 +22,23 @@ import bisq.network.identity.NetworkId;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.CloseReason;
 import bisq.network.p2p.node.Connection;
+import bisq.network.p2p.node.Feature;
 import bisq.network.p2p.node.Node;
+import bisq.network.p2p.services.data.filter.BloomFilter;
 import bisq.network.p2p.services.data.filter.DataFilter;
 import bisq.network.p2p.services.peergroup.PeerGroupService;
+import com.google.common.base.Suppliers;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -54,20 +60,39 @@ public class InventoryService implements Node.Listener {
     public void initialize() {
     }
 
-    public List<CompletableFuture<Inventory>> request(DataFilter dataFilter) {
+    public Map<Connection, CompletableFuture<Inventory>> request(DataFilter dataFilter) {
         int maxRequests = 400;
+        // We create the bloom filter variants only once and only if any peer supports it.
+        // Peers get alternately one of two bloom filters with different tweaks. An entry which one filter reports as
+        // false positive (thus the peer does not send it) is back-filled by the peers which got the other filter.
+        List<Supplier<DataFilter>> bloomFilterVariants = List.of(createBloomFilterVariant(dataFilter),
+                createBloomFilterVariant(dataFilter));
+        AtomicInteger numBloomFilterRequests = new AtomicInteger();
         return peerGroupService.getAllConnections()
                 .filter(connection -> !requestHandlerMap.containsKey(connection.getId()))
                 .limit(maxRequests)
-                .map(connection -> {
+                .collect(Collectors.toMap(connection -> connection, connection -> {
                     String key = connection.getId();
                     InventoryHandler handler = new InventoryHandler(node, connection);
                     requestHandlerMap.put(key, handler);
-                    return handler.request(dataFilter)
+                    DataFilter filter = connection.getPeersCapability().hasFeature(Feature.INVENTORY_BLOOM_FILTER)
+                            ? bloomFilterVariants.get(numBloomFilterRequests.getAndIncrement() % bloomFilterVariants.size()).get()
+                            : dataFilter;
+                    return handler.request(filter)
                             .orTimeout(TIMEOUT, TimeUnit.SECONDS)
                             .whenComplete((__, throwable) -> requestHandlerMap.remove(key));
-                })
-                .collect(Collectors.toList());
+                }, (first, second) -> first, LinkedHashMap::new));
+    }
+
+    private static Supplier<DataFilter> createBloomFilterVariant(DataFilter dataFilter) {
+        return Suppliers.memoize(() -> {
+            DataFilter bloomFilterVariant = dataFilter.toBloomFilterVariant();
+            bloomFilterVariant.getBloomFilter().ifPresent(bloomFilter ->
+                    log.info("Created bloom filter for {} filter entries. Each entry we do not have is skipped by a " +
+                                    "peer with a probability of {}% and is back-filled by peers using the other bloom filter.",
+                            dataFilter.getFilterEntries().size(), BloomFilter.DEFAULT_FALSE_POSITIVE_RATE * 100));
+            return bloomFilterVariant;
+        });
     }
 
     public void shutdown() {
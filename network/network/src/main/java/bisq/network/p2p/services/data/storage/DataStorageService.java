@@ -18,43 +18,200 @@
 package bisq.network.p2p.services.data.storage;
 
 import bisq.common.data.ByteArray;
+import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.StringUtils;
 import bisq.network.NetworkService;
 import bisq.network.p2p.services.data.DataRequest;
 import bisq.persistence.Persistence;
 import bisq.persistence.PersistenceService;
 import bisq.persistence.RateLimitedPersistenceClient;
+import bisq.persistence.SegmentLog;
+import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Slf4j
 public abstract class DataStorageService<T extends DataRequest> extends RateLimitedPersistenceClient<DataStore<T>> {
     public static final String STORE_POST_FIX = "Store";
+    public static final String LOG_POST_FIX = "_log";
+    private static final long MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final int MIN_RECORDS_FOR_COMPACTION = 1000;
+    // All log writes are done on one thread, so records are appended in the order of the map changes
+    private static final ExecutorService LOG_EXECUTOR = ExecutorFactory.newSingleThreadExecutor("DataStorageService.log");
 
     @Getter
     protected final Persistence<DataStore<T>> persistence;
     @Getter
     public final DataStore<T> persistableStore = new DataStore<>();
     @Getter
+    private final String storeName;
+    @Getter
     private final String storeKey;
     @Getter
     protected final String subDirectory;
     protected Optional<Integer> maxMapSize = Optional.empty();
+    // If present, changes are appended to a segment log instead of writing a full snapshot of the store.
+    // The snapshot file is only read for migration if no log exists yet.
+    private final Optional<SegmentLog> segmentLog;
+    // Running totals of the entries in our map, so that metrics do not require to iterate or serialize the map.
+    private final AtomicLong numEntries = new AtomicLong();
+    private final AtomicLong numBytes = new AtomicLong();
 
     public DataStorageService(PersistenceService persistenceService, String storeName, String storeKey) {
+        this(persistenceService, storeName, storeKey, false);
+    }
+
+    public DataStorageService(PersistenceService persistenceService,
+                              String storeName,
+                              String storeKey,
+                              boolean logEnabled) {
         super();
+        this.storeName = storeName;
         this.storeKey = storeKey;
         String storageFileName = StringUtils.camelCaseToSnakeCase(storeKey + STORE_POST_FIX);
         subDirectory = NetworkService.NETWORK_DB_PATH + File.separator + storeName;
         persistence = persistenceService.getOrCreatePersistence(this, subDirectory, storageFileName, persistableStore);
+        segmentLog = logEnabled
+                ? Optional.of(new SegmentLog(Path.of(persistenceService.getBaseDir(), subDirectory, storageFileName + LOG_POST_FIX), MAX_SEGMENT_SIZE))
+                : Optional.empty();
     }
 
     public void shutdown() {
+        segmentLog.ifPresent(storeLog -> CompletableFuture.runAsync(() -> {
+            try {
+                storeLog.close();
+            } catch (IOException e) {
+                log.error("Could not close segment log {}", storeLog.getDirectory(), e);
+            }
+        }, LOG_EXECUTOR).join());
+    }
+
+    @Override
+    public CompletableFuture<Optional<DataStore<T>>> readPersisted() {
+        if (segmentLog.isEmpty()) {
+            return super.readPersisted();
+        }
+        SegmentLog storeLog = segmentLog.get();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Optional<DataStore<T>> persisted;
+                if (storeLog.exists()) {
+                    persisted = Optional.of(new DataStore<>(decode(storeLog.replay())));
+                } else {
+                    // Migration from the snapshot file
+                    persisted = persistence.readAsync().join();
+                }
+                persisted.ifPresent(store -> {
+                    DataStore<T> pruned = prunePersisted(store);
+                    persistableStore.applyPersisted(pruned);
+                    onPersistedApplied(pruned);
+                });
+                // We start with a compacted log containing only the pruned entries
+                storeLog.compact(encode(persistableStore.getMap()));
+                return persisted;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, LOG_EXECUTOR);
+    }
+
+    @Override
+    public void onPersistedApplied(DataStore<T> persisted) {
+        resetTotals(persistableStore.getNumEntries(), persistableStore.calculateNumBytes());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> persist() {
+        if (segmentLog.isPresent()) {
+            // Changes are already appended to the log at put and remove
+            return CompletableFuture.completedFuture(true);
+        }
+        return super.persist();
+    }
+
+    /**
+     * Puts the entry into the map and appends it to the log if enabled. Callers which need a consistent order for the
+     * same key must call it while holding their map access lock.
+     */
+    protected void put(ByteArray key, T value) {
+        T previous = persistableStore.getMap().put(key, value);
+        if (previous == null) {
+            numEntries.incrementAndGet();
+        } else {
+            numBytes.addAndGet(-DataStore.getSerializedSize(previous));
+        }
+        numBytes.addAndGet(DataStore.getSerializedSize(value));
+        segmentLog.ifPresent(storeLog -> appendToLog(storeLog, SegmentLog.RecordType.PUT, key, Optional.of(value)));
+    }
+
+    protected void remove(ByteArray key) {
+        T previous = persistableStore.getMap().remove(key);
+        if (previous != null) {
+            numEntries.decrementAndGet();
+            numBytes.addAndGet(-DataStore.getSerializedSize(previous));
+        }
+        segmentLog.ifPresent(storeLog -> appendToLog(storeLog, SegmentLog.RecordType.REMOVE, key, Optional.empty()));
+    }
+
+    private void appendToLog(SegmentLog storeLog, SegmentLog.RecordType type, ByteArray key, Optional<T> value) {
+        LOG_EXECUTOR.submit(() -> {
+            try {
+                byte[] bytes = value.map(this::encode).orElse(new byte[0]);
+                storeLog.append(type, key.getBytes(), bytes);
+                if (storeLog.getNumRecordsSinceCompaction() > Math.max(MIN_RECORDS_FOR_COMPACTION, 2L * persistableStore.getMap().size())) {
+                    storeLog.compact(encode(persistableStore.getMap()));
+                }
+            } catch (Exception e) {
+                log.error("Could not append to segment log {}", storeLog.getDirectory(), e);
+            }
+        });
+    }
+
+    private byte[] encode(T value) {
+        return value.toProto().getDataRequest().toByteArray();
+    }
+
+    private Map<ByteArray, byte[]> encode(Map<ByteArray, T> map) {
+        Map<ByteArray, byte[]> result = new HashMap<>();
+        map.forEach((key, value) -> result.put(key, encode(value)));
+        return result;
+    }
+
+    private Map<ByteArray, T> decode(Map<ByteArray, byte[]> map) throws InvalidProtocolBufferException {
+        Map<ByteArray, T> result = new HashMap<>();
+        for (Map.Entry<ByteArray, byte[]> entry : map.entrySet()) {
+            //noinspection unchecked
+            T value = (T) DataRequest.fromProto(bisq.network.protobuf.DataRequest.parseFrom(entry.getValue()));
+            result.put(entry.getKey(), value);
+        }
+        return result;
+    }
+
+    public long getNumEntries() {
+        return numEntries.get();
+    }
+
+    /**
+     * @return The sum of the serialized sizes of all entries in our map.
+     */
+    public long getNumBytes() {
+        return numBytes.get();
+    }
+
+    private void resetTotals(long numEntries, long numBytes) {
+        this.numEntries.set(numEntries);
+        this.numBytes.set(numBytes);
     }
 
     @Override
@@ -64,21 +221,42 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
 
     @Override
     public DataStore<T> prunePersisted(DataStore<T> persisted) {
+        if (!persisted.isDecoded()) {
+            // We do not force decoding at startup but prune once the entries get decoded
+            persisted.setDecodedEntriesFilter(entries -> {
+                Map<ByteArray, T> pruned = prune(entries);
+                // Decoding happens before any change of our map, so the pruned entries are the content of our map
+                resetTotals(pruned.size(), pruned.values().stream().mapToLong(DataStore::getSerializedSize).sum());
+                return pruned;
+            });
+            return persisted;
+        }
+
         Map<ByteArray, T> map = persisted.getMap();
         if (map.isEmpty()) {
             return persisted;
         }
 
-        Map<ByteArray, T> pruned = map.entrySet().stream()
-                .filter(entry -> !entry.getValue().isExpired())
-                .sorted((o1, o2) -> Long.compare(o2.getValue().getCreated(), o1.getValue().getCreated()))
-                .limit(getMaxMapSize())
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Map<ByteArray, T> pruned = prune(map);
         map.clear();
         map.putAll(pruned);
         return persisted;
     }
 
+    private Map<ByteArray, T> prune(Map<ByteArray, T> map) {
+        // If called from decoding our map is still empty, thus we take the limit from the entries we prune.
+        Optional<Integer> maxMapSizeOfEntries = map.values().stream().map(DataRequest::getMaxMapSize).findFirst();
+        if (maxMapSize.isEmpty()) {
+            maxMapSize = maxMapSizeOfEntries;
+        }
+        int limit = maxMapSizeOfEntries.orElse(MetaData.MAX_MAP_SIZE_10_000);
+        return map.entrySet().stream()
+                .filter(entry -> !entry.getValue().isExpired())
+                .sorted((o1, o2) -> Long.compare(o2.getValue().getCreated(), o1.getValue().getCreated()))
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
     protected int getMaxMapSize() {
         if (maxMapSize.isPresent()) {
             return maxMapSize.get();
@@ -23,20 +23,34 @@ import bisq.common.proto.UnresolvableProtobufMessageException;
 import bisq.network.p2p.services.data.DataRequest;
 import bisq.persistence.PersistableStore;
 import com.google.protobuf.InvalidProtocolBufferException;
-import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Slf4j
 @ToString
 public final class DataStore<T extends DataRequest> implements PersistableStore<DataStore<T>> {
-    @Getter
+    // Stores with more entries are decoded at first access of the map instead of at reading from disk, as decoding
+    // (mainly creating the public keys) is the dominant cost at startup.
+    public static final int MIN_NUM_ENTRIES_FOR_LAZY_DECODING = 1000;
+
     private final Map<ByteArray, T> map = new ConcurrentHashMap<>();
+    // Null if all entries are decoded
+    @Nullable
+    @ToString.Exclude
+    private volatile List<bisq.network.protobuf.DataStore.MapEntry> undecodedEntries;
+    @ToString.Exclude
+    private UnaryOperator<Map<ByteArray, T>> decodedEntriesFilter = UnaryOperator.identity();
+    private boolean decodingInProgress;
 
     public DataStore() {
     }
@@ -45,10 +59,72 @@ public final class DataStore<T extends DataRequest> implements PersistableStore<
         this.map.putAll(map);
     }
 
+    private DataStore(List<bisq.network.protobuf.DataStore.MapEntry> undecodedEntries) {
+        this.undecodedEntries = undecodedEntries;
+    }
+
+    public Map<ByteArray, T> getMap() {
+        if (undecodedEntries != null) {
+            decode();
+        }
+        return map;
+    }
+
+    /**
+     * @return Read-only view of the values. Iteration is weakly consistent: it never throws at concurrent changes and
+     * might not reflect changes made after the iteration started. Use it instead of getClone if no snapshot is required.
+     */
+    public Collection<T> getValues() {
+        return Collections.unmodifiableCollection(getMap().values());
+    }
+
+    /**
+     * @return Read-only view of the entries with the same consistency as {@link #getValues()}.
+     */
+    public Set<Map.Entry<ByteArray, T>> getEntries() {
+        return Collections.unmodifiableMap(getMap()).entrySet();
+    }
+
+    public boolean isDecoded() {
+        return undecodedEntries == null;
+    }
+
+    /**
+     * @return The number of entries without triggering the decoding.
+     */
+    public int getNumEntries() {
+        List<bisq.network.protobuf.DataStore.MapEntry> entries = undecodedEntries;
+        return entries != null ? entries.size() : map.size();
+    }
+
+    /**
+     * @return The sum of the serialized sizes of all entries. Undecoded entries are measured at their protobuf
+     * representation, thus it does not trigger the decoding. Iterates all entries, so it should be only used at load.
+     */
+    public long calculateNumBytes() {
+        List<bisq.network.protobuf.DataStore.MapEntry> entries = undecodedEntries;
+        if (entries != null) {
+            return entries.stream().mapToLong(e -> e.getValue().getSerializedSize()).sum();
+        }
+        return map.values().stream().mapToLong(DataStore::getSerializedSize).sum();
+    }
+
+    public static long getSerializedSize(DataRequest dataRequest) {
+        return dataRequest.toProto().getDataRequest().getSerializedSize();
+    }
+
+    /**
+     * Sets a filter which is applied to the entries once they got decoded. Used for pruning persisted data without
+     * forcing the decoding at startup.
+     */
+    public void setDecodedEntriesFilter(UnaryOperator<Map<ByteArray, T>> decodedEntriesFilter) {
+        this.decodedEntriesFilter = decodedEntriesFilter;
+    }
+
     @Override
     public bisq.network.protobuf.DataStore toProto() {
         // Protobuf map do not support bytes as key
-        List<bisq.network.protobuf.DataStore.MapEntry> mapEntries = map.entrySet().stream()
+        List<bisq.network.protobuf.DataStore.MapEntry> mapEntries = getMap().entrySet().stream()
                 .map(e -> bisq.network.protobuf.DataStore.MapEntry.newBuilder()
                         .setKey(e.getKey().toProto())
                         .setValue(e.getValue().toProto().getDataRequest())
@@ -60,8 +136,16 @@ public final class DataStore<T extends DataRequest> implements PersistableStore<
     }
 
     public static PersistableStore<?> fromProto(bisq.network.protobuf.DataStore proto) {
-        return new DataStore<>(proto.getMapEntriesList().stream()
-                .collect(Collectors.toMap(e -> ByteArray.fromProto(e.getKey()), e -> DataRequest.fromProto(e.getValue()))));
+        if (proto.getMapEntriesCount() >= MIN_NUM_ENTRIES_FOR_LAZY_DECODING) {
+            return new DataStore<>(proto.getMapEntriesList());
+        }
+        return new DataStore<>(decode(proto.getMapEntriesList()));
+    }
+
+    private static <T extends DataRequest> Map<ByteArray, T> decode(List<bisq.network.protobuf.DataStore.MapEntry> entries) {
+        //noinspection unchecked
+        return entries.stream()
+                .collect(Collectors.toMap(e -> ByteArray.fromProto(e.getKey()), e -> (T) DataRequest.fromProto(e.getValue())));
     }
 
     @Override
@@ -76,13 +160,37 @@ public final class DataStore<T extends DataRequest> implements PersistableStore<
     }
 
     @Override
-    public void applyPersisted(DataStore<T> persisted) {
+    public synchronized void applyPersisted(DataStore<T> persisted) {
         map.clear();
-        map.putAll(persisted.getMap());
+        if (persisted.isDecoded()) {
+            undecodedEntries = null;
+            map.putAll(persisted.getMap());
+        } else {
+            // We take over the undecoded entries, so decoding happens at first access of our map
+            decodedEntriesFilter = persisted.decodedEntriesFilter;
+            undecodedEntries = persisted.undecodedEntries;
+        }
     }
 
     @Override
     public DataStore<T> getClone() {
-        return new DataStore<>(map);
+        return new DataStore<>(getMap());
+    }
+
+    private synchronized void decode() {
+        List<bisq.network.protobuf.DataStore.MapEntry> entries = undecodedEntries;
+        // The filter might access our map again, in which case it sees the map without the entries to be decoded
+        if (entries == null || decodingInProgress) {
+            return;
+        }
+        decodingInProgress = true;
+        try {
+            long ts = System.currentTimeMillis();
+            map.putAll(decodedEntriesFilter.apply(decode(entries)));
+            undecodedEntries = null;
+            log.info("Decoded {} entries in {} ms", entries.size(), System.currentTimeMillis() - ts);
+        } finally {
+            decodingInProgress = false;
+        }
     }
 }
\ No newline at end of file
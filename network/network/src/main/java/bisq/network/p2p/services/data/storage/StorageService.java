@@ -35,6 +35,8 @@ import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
 import bisq.network.p2p.services.data.storage.auth.AuthenticatedData;
 import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataStorageService;
 import bisq.network.p2p.services.data.storage.auth.RemoveAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.SignatureVerifier;
+import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
 import bisq.network.p2p.services.data.storage.mailbox.AddMailboxRequest;
 import bisq.network.p2p.services.data.storage.mailbox.MailboxData;
 import bisq.network.p2p.services.data.storage.mailbox.MailboxDataStorageService;
@@ -50,6 +52,7 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -81,10 +84,17 @@ public class StorageService {
     final Map<String, MailboxDataStorageService> mailboxStores = new ConcurrentHashMap<>();
     final Map<String, AppendOnlyDataStorageService> appendOnlyDataStores = new ConcurrentHashMap<>();
     private final PersistenceService persistenceService;
+    private final boolean logEnabled;
     private final Set<StorageService.Listener> listeners = new CopyOnWriteArraySet<>();
+    private final SignatureVerifier signatureVerifier = new SignatureVerifier();
 
     public StorageService(PersistenceService persistenceService) {
+        this(persistenceService, false);
+    }
+
+    public StorageService(PersistenceService persistenceService, boolean logEnabled) {
         this.persistenceService = persistenceService;
+        this.logEnabled = logEnabled;
 
         // We create all stores for those files we have already persisted.
         // Persisted data is read at the very early stages of the application start.
@@ -95,7 +105,7 @@ public class StorageService {
             if (new File(directory).exists()) {
                 getExistingStoreKeys(directory)
                         .forEach(storeKey -> {
-                            AuthenticatedDataStorageService dataStore = new AuthenticatedDataStorageService(persistenceService, authStoreName, storeKey);
+                            AuthenticatedDataStorageService dataStore = new AuthenticatedDataStorageService(persistenceService, authStoreName, storeKey, logEnabled);
                             dataStore.addListener(new AuthenticatedDataStorageService.Listener() {
                                 @Override
                                 public void onAdded(AuthenticatedData authenticatedData) {
@@ -115,7 +125,7 @@ public class StorageService {
             if (new File(directory).exists()) {
                 getExistingStoreKeys(directory)
                         .forEach(storeKey -> {
-                            MailboxDataStorageService dataStore = new MailboxDataStorageService(persistenceService, mailboxStoreName, storeKey);
+                            MailboxDataStorageService dataStore = new MailboxDataStorageService(persistenceService, mailboxStoreName, storeKey, logEnabled);
                             dataStore.addListener(new MailboxDataStorageService.Listener() {
                                 @Override
                                 public void onAdded(MailboxData mailboxData) {
@@ -136,7 +146,7 @@ public class StorageService {
             if (new File(directory).exists()) {
                 getExistingStoreKeys(directory)
                         .forEach(storeKey -> {
-                            AppendOnlyDataStorageService dataStore = new AppendOnlyDataStorageService(persistenceService, appendStoreName, storeKey);
+                            AppendOnlyDataStorageService dataStore = new AppendOnlyDataStorageService(persistenceService, appendStoreName, storeKey, logEnabled);
                             dataStore.addListener(appendOnlyData -> listeners.forEach(listener -> listener.onAdded(appendOnlyData)));
                             appendOnlyDataStores.put(storeKey, dataStore);
                         });
@@ -150,6 +160,7 @@ public class StorageService {
         authenticatedDataStores.values().forEach(DataStorageService::shutdown);
         mailboxStores.values().forEach(DataStorageService::shutdown);
         appendOnlyDataStores.values().forEach(DataStorageService::shutdown);
+        signatureVerifier.shutdown();
     }
 
     public void addListener(StorageService.Listener listener) {
@@ -178,17 +189,44 @@ public class StorageService {
     }
 
     private Stream<AuthenticatedData> getAuthenticatedData(DataStorageService<? extends DataRequest> store) {
-        return store.getPersistableStore().getClone().getMap().values().stream()
+        // We stream the live values as a copy of the map would be thrown away once the stream is consumed
+        return store.getPersistableStore().getValues().stream()
                 .filter(e -> e instanceof AddAuthenticatedDataRequest)
                 .map(e -> (AddAuthenticatedDataRequest) e)
                 .map(e -> e.getAuthenticatedSequentialData().getAuthenticatedData());
     }
 
+    public Stream<AuthorizedData> getAuthorizedData() {
+        return toAuthorizedData(getAuthenticatedData());
+    }
+
+    public Stream<AuthorizedData> getAuthorizedData(String storeKey) {
+        return toAuthorizedData(getAuthenticatedData(storeKey));
+    }
+
+    private static Stream<AuthorizedData> toAuthorizedData(Stream<AuthenticatedData> authenticatedData) {
+        return authenticatedData
+                .filter(e -> e instanceof AuthorizedData)
+                .map(e -> (AuthorizedData) e);
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // Add data
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Verifies the signatures of the given requests in parallel before they get added one by one.
+     * Requests which would be rejected by the store because we have them already get skipped.
+     */
+    public CompletableFuture<Void> verifySignatures(Collection<AddAuthenticatedDataRequest> requests) {
+        return signatureVerifier.verify(requests, (hash, request) -> {
+            String storeKey = request.getAuthenticatedSequentialData().getAuthenticatedData().getClassName();
+            AuthenticatedDataStorageService store = authenticatedDataStores.get(storeKey);
+            return store == null || store.requiresVerification(hash, request);
+        });
+    }
+
     public CompletableFuture<Optional<StorageData>> onAddDataRequest(AddDataRequest addDataRequest) {
         if (addDataRequest instanceof AddMailboxRequest) {
             return onAddMailboxRequest((AddMailboxRequest) addDataRequest);
@@ -304,21 +342,43 @@ public class StorageService {
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
     public Inventory getInventoryOfAllStores(DataFilter dataFilter) {
-        return getInventory(dataFilter, getAllStores()
-                .flatMap(store -> store.getPersistableStore().getClone().getMap().entrySet().stream()).collect(Collectors.toSet()));
+        return getInventory(dataFilter, getAllStores());
     }
 
     public Inventory getInventoryFromStore(DataFilter dataFilter, DataStorageService<? extends DataRequest> store) {
-        return getInventory(dataFilter, store.getPersistableStore().getClone().getMap().entrySet());
+        return getInventory(dataFilter, Stream.of(store));
     }
 
-    private Inventory getInventory(DataFilter dataFilter,
-                                   Set<? extends Map.Entry<ByteArray, ? extends DataRequest>> entrySet) {
-        Set<? extends DataRequest> result = entrySet.stream()
-                .filter(mapEntry -> !dataFilter.getFilterEntries().contains(getFilterEntry(mapEntry)))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
-        return new Inventory(result, entrySet.size());
+    // We iterate the read-only views of the stores instead of cloning them. Entries added or removed while we iterate
+    // might be missed or included, which is fine as the requester gets them by the regular broadcast anyway.
+    private Inventory getInventory(DataFilter dataFilter, Stream<DataStorageService<? extends DataRequest>> stores) {
+        Predicate<FilterEntry> isKnownByRequester = dataFilter.createContainsPredicate();
+        Set<DataRequest> result = new HashSet<>();
+        int numEntries = 0;
+        for (DataStorageService<? extends DataRequest> store : stores.collect(Collectors.toList())) {
+            for (Map.Entry<ByteArray, ? extends DataRequest> mapEntry : store.getPersistableStore().getEntries()) {
+                numEntries++;
+                if (!isKnownByRequester.test(getFilterEntry(mapEntry))) {
+                    result.add(mapEntry.getValue());
+                }
+            }
+        }
+        return new Inventory(result, numEntries);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Metrics
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The number of entries and the sum of the serialized sizes of the entries of each store. Based on the
+     * running totals of the stores, thus it does not iterate the entries.
+     */
+    public List<StoreMetrics> getStoreMetrics() {
+        return getAllStores()
+                .map(store -> new StoreMetrics(store.getStoreName(), store.getStoreKey(), store.getNumEntries(), store.getNumBytes()))
+                .collect(Collectors.toList());
     }
 
 
@@ -335,7 +395,7 @@ public class StorageService {
     }
 
     private Set<FilterEntry> getFilterEntries(Stream<DataStorageService<? extends DataRequest>> stores) {
-        return stores.flatMap(store -> new HashMap<>(store.getPersistableStore().getMap()).entrySet().stream())
+        return stores.flatMap(store -> store.getPersistableStore().getEntries().stream())
                 .map(this::getFilterEntry)
                 .collect(Collectors.toSet());
     }
@@ -366,7 +426,8 @@ public class StorageService {
         if (!authenticatedDataStores.containsKey(storeKey)) {
             AuthenticatedDataStorageService dataStore = new AuthenticatedDataStorageService(persistenceService,
                     AUTHENTICATED_DATA_STORE.getStoreName(),
-                    storeKey);
+                    storeKey,
+                    logEnabled);
             dataStore.addListener(new AuthenticatedDataStorageService.Listener() {
                 @Override
                 public void onAdded(AuthenticatedData authenticatedData) {
@@ -389,7 +450,8 @@ public class StorageService {
         if (!mailboxStores.containsKey(storeKey)) {
             MailboxDataStorageService dataStore = new MailboxDataStorageService(persistenceService,
                     MAILBOX_DATA_STORE.getStoreName(),
-                    storeKey);
+                    storeKey,
+                    logEnabled);
             dataStore.addListener(new MailboxDataStorageService.Listener() {
                 @Override
                 public void onAdded(MailboxData mailboxData) {
@@ -412,7 +474,8 @@ public class StorageService {
         if (!appendOnlyDataStores.containsKey(storeKey)) {
             AppendOnlyDataStorageService dataStore = new AppendOnlyDataStorageService(persistenceService,
                     APPEND_ONLY_DATA_STORE.getStoreName(),
-                    storeKey);
+                    storeKey,
+                    logEnabled);
             appendOnlyDataStores.put(storeKey, dataStore);
             return dataStore.readPersisted().thenApply(nil -> dataStore);
         } else {
@@ -452,16 +515,20 @@ public class StorageService {
         return dataStorageServiceStream.stream();
     }
 
+    // The store maps are our index by class name, so we look up the store instead of filtering all stores
     private Stream<DataStorageService<? extends DataRequest>> getStoreByFileName(String storeKey) {
-        return getAllStores()
-                .filter(store -> storeKey.equals(store.getStoreKey()));
+        return Stream.<DataStorageService<? extends DataRequest>>of(authenticatedDataStores.get(storeKey),
+                        mailboxStores.get(storeKey),
+                        appendOnlyDataStores.get(storeKey))
+                .filter(Objects::nonNull);
     }
 
     private Set<String> getExistingStoreKeys(String directory) {
         return NetworkStorageWhiteList.getClassNames().stream()
                 .filter(storeKey -> {
-                    String storageFileName = StringUtils.camelCaseToSnakeCase(storeKey + DataStorageService.STORE_POST_FIX) + Persistence.EXTENSION;
-                    return Path.of(directory, storageFileName).toFile().exists();
+                    String storageFileName = StringUtils.camelCaseToSnakeCase(storeKey + DataStorageService.STORE_POST_FIX);
+                    return Path.of(directory, storageFileName + Persistence.EXTENSION).toFile().exists() ||
+                            Path.of(directory, storageFileName + DataStorageService.LOG_POST_FIX).toFile().exists();
                 })
                 .collect(Collectors.toSet());
     }
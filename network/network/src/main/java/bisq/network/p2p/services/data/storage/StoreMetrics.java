@@ -0,0 +1,42 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the running totals of a store.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class StoreMetrics {
+    private final String storeName;
+    private final String storeKey;
+    private final long numEntries;
+    private final long numBytes;
+
+    public StoreMetrics(String storeName, String storeKey, long numEntries, long numBytes) {
+        this.storeName = storeName;
+        this.storeKey = storeKey;
+        this.numEntries = numEntries;
+        this.numBytes = numBytes;
+    }
+}
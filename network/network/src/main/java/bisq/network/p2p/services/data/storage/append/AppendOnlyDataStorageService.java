@@ -42,8 +42,11 @@ public class AppendOnlyDataStorageService extends DataStorageService<AddAppendOn
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     private final Object mapAccessLock = new Object();
 
-    public AppendOnlyDataStorageService(PersistenceService persistenceService, String storeName, String storeKey) {
-        super(persistenceService, storeName, storeKey);
+    public AppendOnlyDataStorageService(PersistenceService persistenceService,
+                                        String storeName,
+                                        String storeKey,
+                                        boolean logEnabled) {
+        super(persistenceService, storeName, storeKey, logEnabled);
     }
 
     @Override
@@ -71,7 +74,7 @@ public class AppendOnlyDataStorageService extends DataStorageService<AddAppendOn
                 return new DataStorageResult(false).payloadAlreadyStored();
             }
 
-            map.put(byteArray, addAppendOnlyDataRequest);
+            put(byteArray, addAppendOnlyDataRequest);
         }
         persist();
         listeners.forEach(listener -> listener.onAppended(appendOnlyData));
@@ -70,6 +70,9 @@ public final class AddAuthenticatedDataRequest implements AuthenticatedDataReque
     @Getter
     private final byte[] ownerPublicKeyBytes;
     private transient final PublicKey ownerPublicKey;
+    // The request is immutable, so we can cache the result of the signature verification. This allows verifying
+    // signatures in a parallel stage before the request gets added to the store.
+    private transient volatile Boolean signatureInvalid;
 
     public AddAuthenticatedDataRequest(AuthenticatedSequentialData authenticatedSequentialData, byte[] signature, PublicKey ownerPublicKey) {
         this(authenticatedSequentialData,
@@ -127,11 +130,20 @@ public final class AddAuthenticatedDataRequest implements AuthenticatedDataReque
     }
 
     public boolean isSignatureInvalid() {
+        Boolean result = signatureInvalid;
+        if (result == null) {
+            result = !verifySignature();
+            signatureInvalid = result;
+        }
+        return result;
+    }
+
+    private boolean verifySignature() {
         try {
-            return !SignatureUtil.verify(authenticatedSequentialData.serialize(), signature, getOwnerPublicKey());
+            return SignatureUtil.verify(authenticatedSequentialData.serialize(), signature, getOwnerPublicKey());
         } catch (Exception e) {
             log.warn(e.toString(), e);
-            return true;
+            return false;
         }
     }
 
@@ -28,6 +28,7 @@ import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
@@ -50,8 +51,11 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
     private final Object mapAccessLock = new Object();
     private final Scheduler scheduler;
 
-    public AuthenticatedDataStorageService(PersistenceService persistenceService, String storeName, String storeKey) {
-        super(persistenceService, storeName, storeKey);
+    public AuthenticatedDataStorageService(PersistenceService persistenceService,
+                                          String storeName,
+                                          String storeKey,
+                                          boolean logEnabled) {
+        super(persistenceService, storeName, storeKey, logEnabled);
         scheduler = Scheduler.run(this::pruneExpired).periodically(60, TimeUnit.SECONDS);
     }
 
@@ -66,51 +70,51 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         AuthenticatedData authenticatedData = authenticatedSequentialData.getAuthenticatedData();
         byte[] hash = DigestUtil.hash(authenticatedData.serialize());
         ByteArray byteArray = new ByteArray(hash);
-        AuthenticatedDataRequest requestFromMap;
         Map<ByteArray, AuthenticatedDataRequest> map = persistableStore.getMap();
-        synchronized (mapAccessLock) {
-            if (map.size() > getMaxMapSize()) {
-                return new DataStorageResult(false).maxMapSizeReached();
-            }
-            requestFromMap = map.get(byteArray);
-            if (request.equals(requestFromMap)) {
-                return new DataStorageResult(false).requestAlreadyReceived();
-            }
 
-            if (requestFromMap != null && authenticatedSequentialData.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
-                return new DataStorageResult(false).sequenceNrInvalid();
-            }
+        // We do the cheap checks before any crypto, so that we do not verify signatures of requests we would reject
+        // anyway. The map might change until we hold the lock, thus we repeat those checks before the insert.
+        Optional<DataStorageResult> preCheckResult = checkMapState(request, byteArray, map);
+        if (preCheckResult.isPresent()) {
+            return preCheckResult.get();
+        }
 
-            if (authenticatedSequentialData.isExpired()) {
-                log.info("Data is expired at add. request object={}",
-                        request.getAuthenticatedSequentialData().getAuthenticatedData().distributedData.getClass().getSimpleName());
-                log.debug("Data is expired at add. request={}", request);
-                return new DataStorageResult(false).expired();
-            }
+        if (authenticatedSequentialData.isExpired()) {
+            log.info("Data is expired at add. request object={}",
+                    request.getAuthenticatedSequentialData().getAuthenticatedData().distributedData.getClass().getSimpleName());
+            log.debug("Data is expired at add. request={}", request);
+            return new DataStorageResult(false).expired();
+        }
 
-            if (authenticatedData.isDataInvalid(authenticatedSequentialData.getPubKeyHash())) {
-                log.warn("AuthenticatedData is invalid at add. request={}", request);
-                return new DataStorageResult(false).dataInvalid();
-            }
+        if (authenticatedData.isDataInvalid(authenticatedSequentialData.getPubKeyHash())) {
+            log.warn("AuthenticatedData is invalid at add. request={}", request);
+            return new DataStorageResult(false).dataInvalid();
+        }
 
-            if (authenticatedData instanceof AuthorizedData) {
-                AuthorizedData authorizedData = (AuthorizedData) authenticatedData;
-                if (authorizedData.isNotAuthorized()) {
-                    log.warn("AuthorizedData is not authorized. request={}", request);
-                    return new DataStorageResult(false).isNotAuthorized();
-                }
+        if (authenticatedData instanceof AuthorizedData) {
+            AuthorizedData authorizedData = (AuthorizedData) authenticatedData;
+            if (authorizedData.isNotAuthorized()) {
+                log.warn("AuthorizedData is not authorized. request={}", request);
+                return new DataStorageResult(false).isNotAuthorized();
             }
+        }
 
-            if (request.isPublicKeyInvalid()) {
-                log.warn("PublicKey is invalid at add. request={}", request);
-                return new DataStorageResult(false).publicKeyHashInvalid();
-            }
+        if (request.isPublicKeyInvalid()) {
+            log.warn("PublicKey is invalid at add. request={}", request);
+            return new DataStorageResult(false).publicKeyHashInvalid();
+        }
 
-            if (request.isSignatureInvalid()) {
-                log.warn("Signature is invalid at add. request={}", request);
-                return new DataStorageResult(false).signatureInvalid();
+        if (request.isSignatureInvalid()) {
+            log.warn("Signature is invalid at add. request={}", request);
+            return new DataStorageResult(false).signatureInvalid();
+        }
+
+        synchronized (mapAccessLock) {
+            Optional<DataStorageResult> checkResult = checkMapState(request, byteArray, map);
+            if (checkResult.isPresent()) {
+                return checkResult.get();
             }
-            map.put(byteArray, request);
+            put(byteArray, request);
         }
 
         persist();
@@ -135,7 +139,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 log.debug("No entry at remove. hash={}", byteArray);
                 // We don't have any entry, but it might be that we would receive later an add request, so we need to keep
                 // track of the sequence number
-                map.put(byteArray, request);
+                put(byteArray, request);
                 persist();
                 return new DataStorageResult(false).noEntry();
             }
@@ -145,7 +149,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 // We have had the entry already removed.
                 if (!request.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
                     // We update the map with the new request with the fresh sequence number.
-                    map.put(byteArray, request);
+                    put(byteArray, request);
                     persist();
                 }
                 return new DataStorageResult(false).alreadyRemoved();
@@ -182,7 +186,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 log.warn("Signature is invalid at remove. request={}", request);
                 return new DataStorageResult(false).signatureInvalid();
             }
-            map.put(byteArray, request);
+            put(byteArray, request);
         }
         persist();
         listeners.forEach(listener -> listener.onRemoved(authenticatedDataFromMap));
@@ -232,13 +236,21 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                     addRequestFromMap.getSignature(),
                     addRequestFromMap.getOwnerPublicKey());
 
-            map.put(byteArray, updatedRequest);
+            put(byteArray, updatedRequest);
         }
         persist();
         listeners.forEach(listener -> listener.onRefreshed(updatedRequest.getAuthenticatedSequentialData().getAuthenticatedData()));
         return new DataStorageResult(true);
     }
 
+    /**
+     * @return True if the request would pass the checks against the current map state, thus its signature needs to
+     * be verified. Used to skip the crypto for requests we have already received.
+     */
+    public boolean requiresVerification(ByteArray byteArray, AddAuthenticatedDataRequest request) {
+        return checkMapState(request, byteArray, persistableStore.getMap()).isEmpty();
+    }
+
     public void addListener(Listener listener) {
         listeners.add(listener);
     }
@@ -260,6 +272,22 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         return sequenceNumber;
     }
 
+    private Optional<DataStorageResult> checkMapState(AddAuthenticatedDataRequest request,
+                                                      ByteArray byteArray,
+                                                      Map<ByteArray, AuthenticatedDataRequest> map) {
+        if (map.size() > getMaxMapSize()) {
+            return Optional.of(new DataStorageResult(false).maxMapSizeReached());
+        }
+        AuthenticatedDataRequest requestFromMap = map.get(byteArray);
+        if (request.equals(requestFromMap)) {
+            return Optional.of(new DataStorageResult(false).requestAlreadyReceived());
+        }
+        if (requestFromMap != null && request.getAuthenticatedSequentialData().isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
+            return Optional.of(new DataStorageResult(false).sequenceNrInvalid());
+        }
+        return Optional.empty();
+    }
+
     private void pruneExpired() {
         Set<Map.Entry<ByteArray, AuthenticatedDataRequest>> expiredEntries = persistableStore.getMap().entrySet().stream()
                 .filter(entry -> entry.getValue().isExpired())
@@ -267,7 +295,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         if (!expiredEntries.isEmpty()) {
             log.info("We remove {} expired entries from our map", expiredEntries.size());
             expiredEntries.forEach(entry -> {
-                persistableStore.getMap().remove(entry.getKey());
+                remove(entry.getKey());
                 if (entry.getValue() instanceof AddAuthenticatedDataRequest) {
                     AuthenticatedData data = ((AddAuthenticatedDataRequest) entry.getValue()).getAuthenticatedSequentialData().getAuthenticatedData();
                     listeners.forEach(listener -> listener.onRemoved(data));
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage.auth;
+
+import bisq.common.data.ByteArray;
+import bisq.common.threading.ExecutorFactory;
+import bisq.common.util.OsUtils;
+import bisq.security.DigestUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the signatures of AddAuthenticatedDataRequests in parallel on a bounded worker pool.
+ * Requests are deduplicated by the hash of their AuthenticatedData before any crypto is done. Only the request with
+ * the highest sequence number per hash gets verified, as the others would be rejected by the store anyway.
+ * The verification result is cached in the request, so that adding it to the store does not verify it again.
+ */
+@Slf4j
+public class SignatureVerifier {
+    private static final int BATCH_SIZE = 32;
+
+    public static int getDefaultNumThreads() {
+        return Math.max(1, Math.min(4, OsUtils.availableProcessors() - 1));
+    }
+
+    private final ExecutorService executor;
+
+    public SignatureVerifier() {
+        this(getDefaultNumThreads());
+    }
+
+    public SignatureVerifier(int numThreads) {
+        executor = ExecutorFactory.newFixedThreadPool("SignatureVerifier", numThreads);
+    }
+
+    public void shutdown() {
+        ExecutorFactory.shutdownAndAwaitTermination(executor);
+    }
+
+    public CompletableFuture<Void> verify(Collection<AddAuthenticatedDataRequest> requests) {
+        return verify(requests, (hash, request) -> true);
+    }
+
+    /**
+     * @param requests             The requests to verify.
+     * @param requiresVerification Predicate applied to the deduplicated requests with the hash of their
+     *                             AuthenticatedData. Allows to skip requests which would not be accepted by the store.
+     * @return A future which completes when all signatures have been verified.
+     */
+    public CompletableFuture<Void> verify(Collection<AddAuthenticatedDataRequest> requests,
+                                         BiPredicate<ByteArray, AddAuthenticatedDataRequest> requiresVerification) {
+        List<AddAuthenticatedDataRequest> candidates = deduplicate(requests).entrySet().stream()
+                .filter(entry -> requiresVerification.test(entry.getKey(), entry.getValue()))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long ts = System.currentTimeMillis();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i += BATCH_SIZE) {
+            List<AddAuthenticatedDataRequest> batch = candidates.subList(i, Math.min(i + BATCH_SIZE, candidates.size()));
+            futures.add(CompletableFuture.runAsync(() -> batch.forEach(SignatureVerifier::verify), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .whenComplete((nil, throwable) -> {
+                    if (throwable != null) {
+                        log.warn("Signature verification failed", throwable);
+                    }
+                    log.info("Verified {} signatures of {} requests in {} ms",
+                            candidates.size(), requests.size(), System.currentTimeMillis() - ts);
+                });
+    }
+
+    static Map<ByteArray, AddAuthenticatedDataRequest> deduplicate(Collection<AddAuthenticatedDataRequest> requests) {
+        Map<ByteArray, AddAuthenticatedDataRequest> requestByHash = new HashMap<>();
+        requests.forEach(request -> {
+            AuthenticatedData authenticatedData = request.getAuthenticatedSequentialData().getAuthenticatedData();
+            ByteArray hash = new ByteArray(DigestUtil.hash(authenticatedData.serialize()));
+            requestByHash.merge(hash, request,
+                    (existing, candidate) -> candidate.getSequenceNumber() > existing.getSequenceNumber() ? candidate : existing);
+        });
+        return requestByHash;
+    }
+
+    private static void verify(AddAuthenticatedDataRequest request) {
+        // Result is cached in the request. Invalid requests get logged and rejected when they are added to the store.
+        if (!request.isPublicKeyInvalid()) {
+            request.isSignatureInvalid();
+        }
+    }
+}
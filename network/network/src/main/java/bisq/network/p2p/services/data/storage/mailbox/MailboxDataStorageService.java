@@ -43,8 +43,11 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
     private final Object mapAccessLock = new Object();
     private final Scheduler scheduler;
 
-    public MailboxDataStorageService(PersistenceService persistenceService, String storeName, String storeKey) {
-        super(persistenceService, storeName, storeKey);
+    public MailboxDataStorageService(PersistenceService persistenceService,
+                                     String storeName,
+                                     String storeKey,
+                                     boolean logEnabled) {
+        super(persistenceService, storeName, storeKey, logEnabled);
         scheduler = Scheduler.run(this::pruneExpired).periodically(60, TimeUnit.SECONDS);
     }
 
@@ -91,7 +94,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
             if (request.isSignatureInvalid()) {
                 return new DataStorageResult(false).signatureInvalid();
             }
-            map.put(byteArray, request);
+            put(byteArray, request);
         }
         persist();
 
@@ -114,7 +117,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
             if (requestFromMap == null) {
                 // We don't have any entry, but it might be that we would receive later an add request, so we need to keep
                 // track of the sequence number
-                map.put(byteArray, request);
+                put(byteArray, request);
                 persist();
                 return new DataStorageResult(false).noEntry();
             }
@@ -123,7 +126,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 // We have had the entry already removed.
                 if (!request.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
                     // We update the request, so we have the latest sequence number.
-                    map.put(byteArray, request);
+                    put(byteArray, request);
                     persist();
                 }
                 return new DataStorageResult(false).alreadyRemoved();
@@ -147,7 +150,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 return new DataStorageResult(false).signatureInvalid();
             }
 
-            map.put(byteArray, request);
+            put(byteArray, request);
             listeners.forEach(listener -> listener.onRemoved(sequentialDataFromMap.getMailboxData()));
         }
 
@@ -198,7 +201,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 .collect(Collectors.toSet());
         if (!expiredEntries.isEmpty()) {
             log.info("We remove {} expired entries from our map", expiredEntries.size());
-            expiredEntries.forEach(entry -> persistableStore.getMap().remove(entry.getKey()));
+            expiredEntries.forEach(entry -> remove(entry.getKey()));
         }
     }
 }
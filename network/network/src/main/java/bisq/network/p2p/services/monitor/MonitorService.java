@@ -24,10 +24,8 @@ import bisq.network.p2p.node.Node;
 import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.node.network_load.NetworkLoadService;
 import bisq.network.p2p.services.data.DataService;
-import bisq.network.p2p.services.data.filter.DataFilter;
-import bisq.network.p2p.services.data.inventory.Inventory;
+import bisq.network.p2p.services.data.storage.StoreMetrics;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -67,12 +65,8 @@ public class MonitorService {
         List<ConnectionMetrics> allConnectionMetrics = getAllConnections()
                 .map(Connection::getConnectionMetrics)
                 .collect(Collectors.toList());
-
-        // Provide an empty filter so that we get all persisted network data
-        DataFilter emptyFilter = new DataFilter(new ArrayList<>());
-        Inventory inventory = dataService.getStorageService().getInventoryOfAllStores(emptyFilter);
-
-        networkLoadService.updateMyLoad(allConnectionMetrics, inventory);
+        List<StoreMetrics> allStoreMetrics = dataService.getStorageService().getStoreMetrics();
+        networkLoadService.updateMyLoad(allConnectionMetrics, allStoreMetrics);
     }
 
     // All connections of all nodes on all transports
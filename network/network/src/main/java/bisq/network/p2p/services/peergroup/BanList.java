@@ -29,7 +29,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class BanList {
     public enum Reason {
         ADDRESS_VALIDATION_FAILED,
-        ADDRESS_VALIDATION_REQUEST_ON_OUTBOUND_CON
+        ADDRESS_VALIDATION_REQUEST_ON_OUTBOUND_CON,
+        RATE_LIMIT_EXCEEDED
     }
 
     @Getter
@@ -38,10 +39,20 @@ public class BanList {
     public static final class Entry {
         private final Reason reason;
         private final long eventDate;
+        private final long expirationDate;
 
         public Entry(Reason reason, long eventDate) {
+            this(reason, eventDate, Long.MAX_VALUE);
+        }
+
+        public Entry(Reason reason, long eventDate, long expirationDate) {
             this.reason = reason;
             this.eventDate = eventDate;
+            this.expirationDate = expirationDate;
+        }
+
+        public boolean isExpired(long now) {
+            return now >= expirationDate;
         }
     }
 
@@ -54,8 +65,22 @@ public class BanList {
         entryMap.put(address, new Entry(reason, System.currentTimeMillis()));
     }
 
+    // Temporary bans are used for misbehaviour like exceeding the rate limit, where the peer might recover
+    public void add(Address address, Reason reason, long banDurationInMs) {
+        long now = System.currentTimeMillis();
+        entryMap.put(address, new Entry(reason, now, now + banDurationInMs));
+    }
+
     public boolean isBanned(Address address) {
-        return entryMap.containsKey(address);
+        Entry entry = entryMap.get(address);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entryMap.remove(address, entry);
+            return false;
+        }
+        return true;
     }
 
     public boolean isNotBanned(Address address) {
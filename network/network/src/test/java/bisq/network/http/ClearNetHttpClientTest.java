@@ -0,0 +1,143 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.http;
+
+import bisq.network.http.utils.HttpException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClearNetHttpClientTest {
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger numConcurrentRequests = new AtomicInteger();
+    private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/echo/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            respond(exchange, 200, path.substring("/echo/".length()));
+        });
+        server.createContext("/post", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            respond(exchange, 200, body);
+        });
+        server.createContext("/slow", exchange -> {
+            int numConcurrent = numConcurrentRequests.incrementAndGet();
+            maxConcurrentRequests.accumulateAndGet(numConcurrent, Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignore) {
+            }
+            numConcurrentRequests.decrementAndGet();
+            respond(exchange, 200, "slow");
+        });
+        server.createContext("/error", exchange -> respond(exchange, 500, "error"));
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void reusesConnection() throws IOException {
+        ClearNetHttpClient httpClient = new ClearNetHttpClient(baseUrl, "test");
+        for (int i = 0; i < 5; i++) {
+            assertEquals("request" + i, httpClient.get("echo/request" + i, Optional.empty()));
+        }
+        assertEquals(1, clientPorts.size());
+        assertEquals(5, httpClient.getMetrics().getNumRequests());
+        assertEquals(0, httpClient.getMetrics().getNumFailedRequests());
+        httpClient.shutdown().join();
+    }
+
+    @Test
+    public void post() throws IOException {
+        ClearNetHttpClient httpClient = new ClearNetHttpClient(baseUrl + "post", "test");
+        assertEquals("payload", httpClient.post("payload", Optional.empty()));
+        httpClient.shutdown().join();
+    }
+
+    @Test
+    public void concurrentRequestsAreBounded() throws Exception {
+        ClearNetHttpClient httpClient = new ClearNetHttpClient(baseUrl, "test");
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            futures.add(executor.submit(() -> httpClient.get("slow", Optional.empty())));
+        }
+        for (Future<String> future : futures) {
+            assertEquals("slow", future.get(10, TimeUnit.SECONDS));
+        }
+        assertTrue(maxConcurrentRequests.get() <= BaseHttpClient.MAX_CONCURRENT_REQUESTS);
+        assertTrue(clientPorts.size() <= BaseHttpClient.MAX_CONCURRENT_REQUESTS);
+        assertEquals(12, httpClient.getMetrics().getNumRequests());
+        executor.shutdownNow();
+        httpClient.shutdown().join();
+    }
+
+    @Test
+    public void errorResponse() {
+        ClearNetHttpClient httpClient = new ClearNetHttpClient(baseUrl, "test");
+        IOException exception = assertThrows(IOException.class, () -> httpClient.get("error", Optional.empty()));
+        assertInstanceOf(HttpException.class, exception.getCause());
+        assertEquals(1, httpClient.getMetrics().getNumFailedRequests());
+        httpClient.shutdown().join();
+    }
+
+    private void respond(HttpExchange exchange, int statusCode, String response) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+}
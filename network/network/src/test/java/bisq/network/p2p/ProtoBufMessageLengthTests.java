@@ -22,8 +22,10 @@ import bisq.network.common.Address;
 import bisq.network.common.TransportType;
 import bisq.network.p2p.message.NetworkEnvelope;
 import bisq.network.p2p.node.Capability;
+import bisq.network.p2p.node.ConnectionException;
 import bisq.network.p2p.node.authorization.AuthorizationService;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeDeserializer;
 import bisq.network.p2p.node.envelope.ProtoBufMessageLengthParser;
 import bisq.network.p2p.node.envelope.ProtoBufMessageLengthWriter;
 import bisq.network.p2p.node.handshake.ConnectionHandshake;
@@ -40,6 +42,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class ProtoBufMessageLengthTests {
 
@@ -70,6 +73,29 @@ public class ProtoBufMessageLengthTests {
         assertThat(parsedLength).isEqualTo(envelopeInBytes.length);
     }
 
+    @Test
+    void messageLengthAboveLimitIsRejected() {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(1024);
+        ProtoBufMessageLengthWriter.writeToBuffer(NetworkEnvelopeDeserializer.MAX_MESSAGE_LENGTH + 1, byteBuffer);
+        byteBuffer.flip();
+
+        NetworkEnvelopeDeserializer deserializer = new NetworkEnvelopeDeserializer(byteBuffer);
+        assertThatThrownBy(deserializer::readFromByteBuffer).isInstanceOf(ConnectionException.class);
+    }
+
+    @Test
+    void messageLengthWithTooManyBytesIsRejected() {
+        // Continuation bit set in all bytes, which would overflow an int
+        ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[]{(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x01});
+
+        ProtoBufMessageLengthParser messageLengthParser = new ProtoBufMessageLengthParser(byteBuffer);
+        assertThatThrownBy(() -> {
+            while (byteBuffer.hasRemaining()) {
+                messageLengthParser.parseMessageLength();
+            }
+        }).isInstanceOf(ConnectionException.class);
+    }
+
     private AuthorizationService createAuthorizationService() {
         String baseDir = tmpDir.toAbsolutePath().toString();
         PersistenceService persistenceService = new PersistenceService(baseDir);
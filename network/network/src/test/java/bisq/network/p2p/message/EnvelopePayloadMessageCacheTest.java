@@ -0,0 +1,114 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.message;
+
+import bisq.network.p2p.services.peergroup.keepalive.Ping;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EnvelopePayloadMessageCacheTest {
+
+    @Test
+    void cacheHit() {
+        CountingMessage message = new CountingMessage(1);
+
+        bisq.network.protobuf.EnvelopePayloadMessage proto = EnvelopePayloadMessageCache.getProto(message);
+        assertThat(EnvelopePayloadMessageCache.getProto(message)).isSameAs(proto);
+        assertThat(message.getNumToProtoCalls()).isEqualTo(1);
+
+        byte[] serialized = EnvelopePayloadMessageCache.getSerialized(message);
+        assertThat(serialized).isEqualTo(proto.toByteArray());
+        assertThat(EnvelopePayloadMessageCache.getSerialized(message)).isSameAs(serialized);
+        assertThat(message.getNumToProtoCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void cacheMiss() {
+        // Keys are compared by identity, so an equal message is a cache miss and gets encoded again
+        CountingMessage message = new CountingMessage(2);
+        CountingMessage equalMessage = new CountingMessage(2);
+
+        bisq.network.protobuf.EnvelopePayloadMessage proto = EnvelopePayloadMessageCache.getProto(message);
+        bisq.network.protobuf.EnvelopePayloadMessage equalMessageProto = EnvelopePayloadMessageCache.getProto(equalMessage);
+
+        assertThat(equalMessageProto).isNotSameAs(proto).isEqualTo(proto);
+        assertThat(message.getNumToProtoCalls()).isEqualTo(1);
+        assertThat(equalMessage.getNumToProtoCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void protoReuse() {
+        CountingMessage message = new CountingMessage(3);
+        bisq.network.protobuf.EnvelopePayloadMessage proto = new Ping(3).toProto();
+
+        EnvelopePayloadMessageCache.put(message, proto);
+
+        assertThat(EnvelopePayloadMessageCache.getProto(message)).isSameAs(proto);
+        assertThat(message.getNumToProtoCalls()).isZero();
+    }
+
+    @Test
+    void protoReuseOfReceivedNetworkEnvelope() {
+        bisq.network.protobuf.NetworkEnvelope envelopeProto = bisq.network.protobuf.NetworkEnvelope.newBuilder()
+                .setVersion(NetworkEnvelope.VERSION)
+                .setAuthorizationToken(bisq.network.protobuf.AuthorizationToken.newBuilder()
+                        .setProofOfWork(bisq.security.protobuf.ProofOfWork.newBuilder()
+                                .setPayload(ByteString.copyFrom(new byte[]{1, 2, 3}))
+                                .setSolution(ByteString.copyFrom(new byte[]{4, 5, 6})))
+                        .setMessageCounter(1))
+                .setNetworkMessage(new Ping(4).toProto())
+                .build();
+
+        NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(envelopeProto);
+        EnvelopePayloadMessage message = networkEnvelope.getEnvelopePayloadMessage();
+
+        // The proto from the wire is used instead of encoding the decoded message again
+        assertThat(EnvelopePayloadMessageCache.getProto(message)).isSameAs(envelopeProto.getNetworkMessage());
+        assertThat(networkEnvelope.toProto()).isSameAs(envelopeProto);
+    }
+
+    private static class CountingMessage implements EnvelopePayloadMessage {
+        private final int nonce;
+        private final AtomicInteger numToProtoCalls = new AtomicInteger();
+
+        private CountingMessage(int nonce) {
+            this.nonce = nonce;
+        }
+
+        @Override
+        public bisq.network.protobuf.EnvelopePayloadMessage toProto() {
+            numToProtoCalls.incrementAndGet();
+            return getNetworkMessageBuilder().setPing(
+                            bisq.network.protobuf.Ping.newBuilder().setNonce(nonce))
+                    .build();
+        }
+
+        @Override
+        public double getCostFactor() {
+            return 0;
+        }
+
+        private int getNumToProtoCalls() {
+            return numToProtoCalls.get();
+        }
+    }
+}
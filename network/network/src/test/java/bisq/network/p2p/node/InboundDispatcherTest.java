@@ -0,0 +1,122 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InboundDispatcherTest {
+    // With 2 lanes "a" and "b" are mapped to different lanes
+    private static final String PEER_A = "a";
+    private static final String PEER_B = "b";
+
+    @Test
+    public void handlesTasksOfOnePartitionInOrder() throws InterruptedException {
+        InboundDispatcher dispatcher = new InboundDispatcher("test", 2);
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            int index = i;
+            dispatcher.dispatch(PEER_A, InboundDispatcher.Priority.DATA, () -> {
+                assertTrue(dispatcher.isLaneThread(PEER_A));
+                handled.add(index);
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, handled.get(i));
+        }
+        assertEquals(100, dispatcher.getNumDispatched());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void controlTasksOvertakeDataTasks() throws InterruptedException {
+        InboundDispatcher dispatcher = new InboundDispatcher("test", 2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch(PEER_A, InboundDispatcher.Priority.DATA, () -> {
+            blocked.countDown();
+            awaitUninterruptibly(release);
+        });
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+        List<String> handled = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        dispatcher.dispatch(PEER_A, InboundDispatcher.Priority.DATA, () -> {
+            handled.add("data");
+            latch.countDown();
+        });
+        dispatcher.dispatch(PEER_A, InboundDispatcher.Priority.DATA, () -> {
+            handled.add("data");
+            latch.countDown();
+        });
+        dispatcher.dispatch(PEER_A, InboundDispatcher.Priority.CONTROL, () -> {
+            handled.add("control");
+            latch.countDown();
+        });
+        assertEquals(3, dispatcher.getQueueSize());
+
+        release.countDown();
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("control", "data", "data"), handled);
+        assertEquals(0, dispatcher.getQueueSize());
+        assertEquals(3, dispatcher.getMaxQueueSize());
+        assertTrue(dispatcher.getMaxWaitTime() >= 0);
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void slowPeerDoesNotBlockOtherLanes() throws InterruptedException {
+        InboundDispatcher dispatcher = new InboundDispatcher("test", 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch handled = new CountDownLatch(1);
+        dispatcher.dispatch(PEER_A, InboundDispatcher.Priority.DATA, () -> awaitUninterruptibly(release));
+        dispatcher.dispatch(PEER_B, InboundDispatcher.Priority.DATA, handled::countDown);
+        assertTrue(handled.await(10, TimeUnit.SECONDS));
+        release.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void exceptionDoesNotStopLane() throws InterruptedException {
+        InboundDispatcher dispatcher = new InboundDispatcher("test", 2);
+        CountDownLatch latch = new CountDownLatch(1);
+        dispatcher.dispatch(PEER_A, InboundDispatcher.Priority.DATA, () -> {
+            throw new RuntimeException("test");
+        });
+        dispatcher.dispatch(PEER_A, InboundDispatcher.Priority.DATA, latch::countDown);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ignore) {
+        }
+    }
+}
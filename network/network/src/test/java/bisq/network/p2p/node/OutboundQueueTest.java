@@ -0,0 +1,131 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.node;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OutboundQueueTest {
+    @Test
+    public void sendsInOrder() throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        OutboundQueue queue = new OutboundQueue(executor);
+        List<Integer> sent = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            int index = i;
+            assertTrue(queue.offer(() -> {
+                sent.add(index);
+                latch.countDown();
+            }));
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, sent.get(i));
+        }
+        assertEquals(0, queue.getNumDropped());
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void dropsWhenFullOrClosed() throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        OutboundQueue queue = new OutboundQueue(executor, 2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.offer(() -> {
+            blocked.countDown();
+            awaitUninterruptibly(release);
+        });
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+        assertTrue(queue.offer(() -> {
+        }));
+        assertTrue(queue.offer(() -> {
+        }));
+        assertFalse(queue.offer(() -> {
+        }));
+        assertEquals(1, queue.getNumDropped());
+
+        queue.close();
+        assertEquals(3, queue.getNumDropped());
+        assertFalse(queue.offer(() -> {
+        }));
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void slowPeerDoesNotBlockOtherQueues() throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        OutboundQueue slowQueue = new OutboundQueue(executor);
+        OutboundQueue fastQueue = new OutboundQueue(executor);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastSent = new CountDownLatch(1);
+        slowQueue.offer(() -> awaitUninterruptibly(release));
+        fastQueue.offer(fastSent::countDown);
+        assertTrue(fastSent.await(10, TimeUnit.SECONDS));
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void failedSendsAreCounted() throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        OutboundQueue queue = new OutboundQueue(executor);
+        CountDownLatch latch = new CountDownLatch(1);
+        queue.offer(() -> {
+            throw new ConnectionException("test");
+        });
+        queue.offer(latch::countDown);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(1, queue.getNumFailed());
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void rejectedWriterClosesQueue() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        executor.shutdown();
+        AtomicBoolean rejected = new AtomicBoolean();
+        OutboundQueue queue = new OutboundQueue(executor, exception -> rejected.set(true));
+        assertTrue(queue.offer(() -> {
+        }));
+        assertTrue(rejected.get());
+        assertEquals(1, queue.getNumDropped());
+        assertFalse(queue.offer(() -> {
+        }));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ignore) {
+        }
+    }
+}
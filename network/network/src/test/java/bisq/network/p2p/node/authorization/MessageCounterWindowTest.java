@@ -0,0 +1,65 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.authorization;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MessageCounterWindowTest {
+    @Test
+    public void rejectsReusedCounter() {
+        MessageCounterWindow window = new MessageCounterWindow();
+        assertTrue(window.tryAccept(1));
+        assertTrue(window.tryAccept(2));
+        assertFalse(window.tryAccept(1));
+        assertFalse(window.tryAccept(2));
+    }
+
+    @Test
+    public void acceptsOutOfOrderCountersInsideWindow() {
+        MessageCounterWindow window = new MessageCounterWindow();
+        assertTrue(window.tryAccept(10));
+        assertTrue(window.tryAccept(8));
+        assertTrue(window.tryAccept(9));
+        assertTrue(window.tryAccept(1));
+        assertFalse(window.tryAccept(8));
+    }
+
+    @Test
+    public void rejectsCountersOlderThanWindow() {
+        MessageCounterWindow window = new MessageCounterWindow();
+        assertTrue(window.tryAccept(1));
+        assertTrue(window.tryAccept(2 + MessageCounterWindow.WINDOW_SIZE));
+        assertFalse(window.tryAccept(2));
+        assertTrue(window.tryAccept(3));
+    }
+
+    @Test
+    public void slotsGetReusedWhenWindowMoves() {
+        MessageCounterWindow window = new MessageCounterWindow();
+        for (int counter = 1; counter <= 3 * MessageCounterWindow.WINDOW_SIZE; counter++) {
+            assertTrue(window.tryAccept(counter));
+        }
+        int highest = 3 * MessageCounterWindow.WINDOW_SIZE;
+        assertFalse(window.tryAccept(highest));
+        assertFalse(window.tryAccept(highest - MessageCounterWindow.WINDOW_SIZE + 1));
+        assertFalse(window.tryAccept(highest - MessageCounterWindow.WINDOW_SIZE));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.node.network_load;
+
+import bisq.network.common.Address;
+import bisq.network.p2p.message.NetworkEnvelope;
+import bisq.network.p2p.node.authorization.AuthorizationService;
+import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.services.peergroup.keepalive.Ping;
+import bisq.security.pow.HashCashService;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConnectionMetricsTest {
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Test
+    void lastHourOnlyContainsRecentMinutes() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        ConnectionMetrics metrics = new ConnectionMetrics(now::get);
+        NetworkEnvelope networkEnvelope = createNetworkEnvelope();
+        int size = networkEnvelope.getSerializedSize();
+
+        // One message per minute over 3 hours
+        for (int minute = 0; minute < 180; minute++) {
+            metrics.onSent(networkEnvelope, 2);
+            metrics.onReceived(networkEnvelope, 3);
+            now.addAndGet(MINUTE);
+        }
+        now.addAndGet(-MINUTE);
+
+        assertEquals(180, metrics.getNumMessagesSent());
+        assertEquals(180L * size, metrics.getSentBytes());
+        assertEquals(180, metrics.getNumMessagesReceived());
+        assertEquals(60, metrics.getNumMessagesSentOfLastHour());
+        assertEquals(60L * size, metrics.getSentBytesOfLastHour());
+        assertEquals(120, metrics.getSpentSendMessageTimeOfLastHour());
+        assertEquals(60, metrics.getNumMessagesReceivedOfLastHour());
+        assertEquals(180, metrics.getDeserializeTimeOfLastHour());
+        assertEquals(10, metrics.getNumMessagesSentOfLastMinutes(10));
+        assertEquals(60, metrics.getNumMessagesSentOfLastMinutes(1000));
+
+        // After 30 idle minutes only half of the last hour is covered
+        now.addAndGet(30 * MINUTE);
+        assertEquals(30, metrics.getNumMessagesSentOfLastHour());
+        assertEquals(0, metrics.getNumMessagesSentOfLastMinutes(30));
+
+        // After 2 idle hours nothing is left
+        now.addAndGet(120 * MINUTE);
+        assertEquals(0, metrics.getNumMessagesReceivedOfLastHour());
+        assertEquals(180, metrics.getNumMessagesReceived());
+    }
+
+    @Test
+    void rttHistogram() {
+        ConnectionMetrics metrics = new ConnectionMetrics();
+        assertEquals(0, metrics.getAverageRtt());
+        assertEquals(0, metrics.getRttPercentile(0.5));
+
+        for (int i = 1; i <= 100; i++) {
+            metrics.addRtt(i);
+        }
+        assertEquals(50.5, metrics.getAverageRtt(), 0.001);
+        long median = metrics.getRttPercentile(0.5);
+        assertTrue(median >= 50 && median <= 57, "median=" + median);
+        long p99 = metrics.getRttPercentile(0.99);
+        assertTrue(p99 >= 99 && p99 <= 112, "p99=" + p99);
+
+        for (long value = 0; value < 1_000_000; value = value * 2 + 1) {
+            long upperBound = RttHistogram.upperBoundOf(RttHistogram.indexOf(value));
+            assertTrue(upperBound >= value && upperBound <= value * 1.125 + 1, "value=" + value);
+        }
+        assertEquals(RttHistogram.MAX_VALUE, RttHistogram.upperBoundOf(RttHistogram.indexOf(RttHistogram.MAX_VALUE)));
+    }
+
+    private static NetworkEnvelope createNetworkEnvelope() {
+        Ping ping = new Ping(1);
+        AuthorizationService authorizationService = new AuthorizationService(new HashCashService());
+        AuthorizationToken token = authorizationService.createToken(ping,
+                new NetworkLoad(),
+                Address.localHost(1234).getFullAddress(),
+                0);
+        return new NetworkEnvelope(token, ping);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import bisq.common.util.ByteUnit;
+import bisq.network.p2p.services.data.storage.StoreMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class NetworkLoadServiceTest {
+    @Test
+    void networkDatabaseSizeIsSumOfStoreMetrics() {
+        NetworkLoadService networkLoadService = new NetworkLoadService();
+        long numBytes = (long) ByteUnit.MB.toBytes(25);
+        networkLoadService.updateMyLoad(List.of(), List.of(
+                new StoreMetrics("authenticated", "A", 100, numBytes),
+                new StoreMetrics("mailbox", "B", 200, numBytes)));
+
+        // 50 MB of the 100 MB max. DB size with a weight of 0.3
+        assertEquals(0.15, networkLoadService.getCurrentNetworkLoad().getValue(), 1e-9);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.rate_limit;
+
+import bisq.network.common.Address;
+import bisq.network.p2p.node.rate_limit.MessageRateLimiter.MessageClass;
+import bisq.network.p2p.node.rate_limit.MessageRateLimiter.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MessageRateLimiterTest {
+    private static final String CONNECTION_ID = "connection";
+    private static final Address PEER_ADDRESS = new Address("127.0.0.1", 8000);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    public void dropsMessagesExceedingBurstAndRefills() {
+        MessageRateLimiter limiter = createLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Result.ACCEPTED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+        }
+        assertEquals(Result.DROPPED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+
+        // 10 messages per second
+        now.addAndGet(100);
+        assertEquals(Result.ACCEPTED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+        assertEquals(Result.DROPPED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+    }
+
+    @Test
+    public void messageClassesHaveSeparateBudgets() {
+        MessageRateLimiter limiter = createLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100);
+        }
+        assertEquals(Result.DROPPED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+        assertEquals(Result.ACCEPTED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.CONTROL, 100));
+    }
+
+    @Test
+    public void largeMessageIsAcceptedOnlyWithFullByteBucket() {
+        MessageRateLimiter limiter = createLimiter(10);
+        // The burst is 10 kB, refilled with 10 kB per second
+        assertEquals(Result.ACCEPTED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 20_000));
+        assertEquals(Result.DROPPED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+
+        now.addAndGet(1000);
+        assertEquals(Result.DROPPED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+        now.addAndGet(1100);
+        assertEquals(Result.ACCEPTED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+    }
+
+    @Test
+    public void peerAddressBudgetIsSharedByConnections() {
+        MessageRateLimiter limiter = createLimiter(10);
+        // The peer address budget is twice the connection budget
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Result.ACCEPTED, limiter.tryAcquire("connection1", PEER_ADDRESS, MessageClass.DATA, 100));
+            assertEquals(Result.ACCEPTED, limiter.tryAcquire("connection2", PEER_ADDRESS, MessageClass.DATA, 100));
+        }
+        assertEquals(Result.DROPPED, limiter.tryAcquire("connection3", PEER_ADDRESS, MessageClass.DATA, 100));
+        assertEquals(Result.ACCEPTED, limiter.tryAcquire("connection3", null, MessageClass.DATA, 100));
+    }
+
+    @Test
+    public void handlingTimeIsAccounted() {
+        MessageRateLimiter limiter = createLimiter(10);
+        assertEquals(Result.ACCEPTED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.OTHER, 100));
+        // Burst of handling time is 1 sec
+        limiter.onMessageHandled(CONNECTION_ID, null, TimeUnit.MILLISECONDS.toNanos(1500));
+        assertEquals(Result.DROPPED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.OTHER, 100));
+
+        // 100 ms per second
+        now.addAndGet(5001);
+        assertEquals(Result.ACCEPTED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.OTHER, 100));
+    }
+
+    @Test
+    public void reportsWhenMaxDroppedMessagesIsExceeded() {
+        MessageRateLimiter limiter = createLimiter(3);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100);
+        }
+        assertEquals(Result.DROPPED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+        assertEquals(Result.DROPPED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+        assertEquals(Result.MAX_DROPPED_MESSAGES_EXCEEDED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+        assertEquals(3, limiter.getNumDroppedMessages().get());
+    }
+
+    @Test
+    public void removesStateOfClosedConnectionsAndIdlePeers() {
+        MessageRateLimiter limiter = createLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(CONNECTION_ID, PEER_ADDRESS, MessageClass.DATA, 100);
+        }
+        assertEquals(Result.DROPPED, limiter.tryAcquire(CONNECTION_ID, PEER_ADDRESS, MessageClass.DATA, 100));
+
+        limiter.onConnectionClosed(CONNECTION_ID);
+        assertEquals(1, limiter.getNumPeerAddressBudgets());
+        assertEquals(Result.ACCEPTED, limiter.tryAcquire(CONNECTION_ID, null, MessageClass.DATA, 100));
+
+        now.addAndGet(TimeUnit.MINUTES.toMillis(11));
+        limiter.onConnectionClosed(CONNECTION_ID);
+        assertEquals(0, limiter.getNumPeerAddressBudgets());
+    }
+
+    private MessageRateLimiter createLimiter(int maxDroppedMessages) {
+        Map<MessageClass, MessageRateLimiter.Budget> budgetByMessageClass = new EnumMap<>(MessageClass.class);
+        for (MessageClass messageClass : MessageClass.values()) {
+            budgetByMessageClass.put(messageClass, new MessageRateLimiter.Budget(10, 10, 10_000, 10_000));
+        }
+        MessageRateLimiter.Config config = new MessageRateLimiter.Config(true,
+                budgetByMessageClass,
+                2,
+                100,
+                1000,
+                maxDroppedMessages,
+                0);
+        return new MessageRateLimiter(config, now::get);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataFilterTest {
+    @Test
+    void hashedAndBloomLookupReportMissingEntries() {
+        Random random = new Random(42);
+        List<FilterEntry> storedEntries = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            byte[] hash = new byte[20];
+            random.nextBytes(hash);
+            storedEntries.add(new FilterEntry(hash, random.nextInt(10)));
+        }
+
+        List<FilterEntry> requesterEntries = new ArrayList<>();
+        int numExpectedMissing = 0;
+        for (int i = 0; i < storedEntries.size(); i++) {
+            FilterEntry storedEntry = storedEntries.get(i);
+            if (i % 100 == 0) {
+                numExpectedMissing++;
+            } else if (i % 100 == 1) {
+                requesterEntries.add(new FilterEntry(storedEntry.getHash(), storedEntry.getSequenceNumber() - 1));
+                numExpectedMissing++;
+            } else {
+                requesterEntries.add(storedEntry);
+            }
+        }
+
+        DataFilter listFilter = new DataFilter(requesterEntries);
+        Predicate<FilterEntry> hashedContains = listFilter.createContainsPredicate();
+        List<FilterEntry> hashedResult = storedEntries.stream().filter(e -> !hashedContains.test(e)).collect(Collectors.toList());
+        assertThat(hashedResult).hasSize(numExpectedMissing);
+        assertThat(hashedResult).isEqualTo(storedEntries.stream()
+                .filter(e -> !listFilter.getFilterEntries().contains(e))
+                .collect(Collectors.toList()));
+
+        DataFilter bloomFilter = listFilter.toBloomFilterVariant();
+        assertThat(bloomFilter.getBloomFilter()).isPresent();
+        assertThat(bloomFilter.toProto().getSerializedSize()).isLessThan(listFilter.toProto().getSerializedSize() / 10);
+
+        Predicate<FilterEntry> bloomContains = DataFilter.fromProto(bloomFilter.toProto()).createContainsPredicate();
+        List<FilterEntry> bloomResult = storedEntries.stream().filter(e -> !bloomContains.test(e)).collect(Collectors.toList());
+        // A bloom filter never has false negatives, so all entries it reports as missing are really missing
+        assertThat(hashedResult).containsAll(bloomResult);
+        assertThat(hashedResult.size() - bloomResult.size()).isLessThan(numExpectedMissing / 10 + 1);
+    }
+
+    @Test
+    void smallFilterIsNotConverted() {
+        List<FilterEntry> entries = new ArrayList<>();
+        entries.add(new FilterEntry(new byte[20], 1));
+        DataFilter dataFilter = new DataFilter(entries);
+        assertThat(dataFilter.toBloomFilterVariant()).isSameAs(dataFilter);
+        assertThat(dataFilter.getBloomFilter()).isEqualTo(Optional.empty());
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage.auth;
+
+import bisq.network.p2p.services.data.storage.DataStore;
+import bisq.network.p2p.services.data.storage.DistributedData;
+import bisq.network.p2p.services.data.storage.MetaData;
+import bisq.network.p2p.services.data.storage.StorageService;
+import bisq.network.p2p.services.data.storage.StoreMetrics;
+import bisq.persistence.PersistenceService;
+import bisq.security.KeyGeneration;
+import com.google.protobuf.StringValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuthenticatedDataStorageServiceMetricsTest {
+    @TempDir
+    Path tempDir;
+    private AuthenticatedDataStorageService store;
+
+    @BeforeEach
+    void setUp() {
+        PersistenceService persistenceService = new PersistenceService(tempDir.toString());
+        store = new AuthenticatedDataStorageService(persistenceService, "authenticated", "MockDistributedData", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void totalsFollowAddRefreshAndRemove() throws GeneralSecurityException {
+        KeyPair keyPair = KeyGeneration.generateKeyPair();
+        List<AuthenticatedData> dataList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            AuthenticatedData authenticatedData = new DefaultAuthenticatedData(new MockDistributedData("data-" + i));
+            dataList.add(authenticatedData);
+            assertThat(store.add(AddAuthenticatedDataRequest.from(store, authenticatedData, keyPair)).isSuccess()).isTrue();
+        }
+        assertThat(store.getNumEntries()).isEqualTo(10);
+        assertThat(store.getNumBytes()).isPositive().isEqualTo(calculateNumBytes());
+
+        // A refresh replaces the entry
+        AuthenticatedData refreshed = dataList.get(0);
+        assertThat(store.refresh(RefreshAuthenticatedDataRequest.from(store, refreshed, keyPair)).isSuccess()).isTrue();
+        assertThat(store.getNumEntries()).isEqualTo(10);
+        assertThat(store.getNumBytes()).isEqualTo(calculateNumBytes());
+
+        // A remove replaces the entry with the remove request
+        long numBytesBeforeRemove = store.getNumBytes();
+        AuthenticatedData removed = dataList.get(1);
+        assertThat(store.remove(RemoveAuthenticatedDataRequest.from(store, removed, keyPair)).isSuccess()).isTrue();
+        assertThat(store.getNumEntries()).isEqualTo(10);
+        assertThat(store.getNumBytes()).isNotEqualTo(numBytesBeforeRemove).isEqualTo(calculateNumBytes());
+    }
+
+    @Test
+    void storageServiceReportsMetricsOfEachStore() throws GeneralSecurityException {
+        StorageService storageService = new StorageService(new PersistenceService(tempDir.resolve("storage").toString()));
+        try {
+            AuthenticatedDataStorageService authenticatedStore = storageService.getOrCreateAuthenticatedDataStore("MockDistributedData").join();
+            KeyPair keyPair = KeyGeneration.generateKeyPair();
+            for (int i = 0; i < 5; i++) {
+                AuthenticatedData authenticatedData = new DefaultAuthenticatedData(new MockDistributedData("data-" + i));
+                assertThat(authenticatedStore.add(AddAuthenticatedDataRequest.from(authenticatedStore, authenticatedData, keyPair)).isSuccess()).isTrue();
+            }
+            long numBytes = authenticatedStore.getPersistableStore().getMap().values().stream()
+                    .mapToLong(DataStore::getSerializedSize)
+                    .sum();
+
+            assertThat(storageService.getStoreMetrics()).containsExactly(new StoreMetrics(authenticatedStore.getStoreName(),
+                    "MockDistributedData",
+                    5,
+                    numBytes));
+        } finally {
+            storageService.shutdown();
+        }
+    }
+
+    private long calculateNumBytes() {
+        return store.getPersistableStore().getMap().values().stream()
+                .mapToLong(DataStore::getSerializedSize)
+                .sum();
+    }
+
+    private static class MockDistributedData implements DistributedData {
+        private final String text;
+
+        private MockDistributedData(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public StringValue toProto() {
+            return StringValue.of(text);
+        }
+
+        @Override
+        public MetaData getMetaData() {
+            return new MetaData(MetaData.TTL_10_DAYS, getClass().getSimpleName(), MetaData.MAX_MAP_SIZE_10_000);
+        }
+
+        @Override
+        public boolean isDataInvalid(byte[] pubKeyHash) {
+            return false;
+        }
+
+        @Override
+        public double getCostFactor() {
+            return 0;
+        }
+    }
+}
@@ -62,6 +62,7 @@ public class OracleNodeService implements Service {
         private final String profileId;
         private final String signatureBase64;
         private final com.typesafe.config.Config bisq1Bridge;
+        private final com.typesafe.config.Config timestamp;
         private final boolean staticPublicKeysProvided;
 
         public Config(String privateKey,
@@ -71,7 +72,8 @@ public class OracleNodeService implements Service {
                       String profileId,
                       String signatureBase64,
                       boolean staticPublicKeysProvided,
-                      com.typesafe.config.Config bisq1Bridge) {
+                      com.typesafe.config.Config bisq1Bridge,
+                      com.typesafe.config.Config timestamp) {
             this.privateKey = privateKey;
             this.publicKey = publicKey;
             this.ignoreSecurityManager = ignoreSecurityManager;
@@ -80,6 +82,7 @@ public class OracleNodeService implements Service {
             this.signatureBase64 = signatureBase64;
             this.staticPublicKeysProvided = staticPublicKeysProvided;
             this.bisq1Bridge = bisq1Bridge;
+            this.timestamp = timestamp;
         }
 
         public static OracleNodeService.Config from(com.typesafe.config.Config config) {
@@ -90,7 +93,8 @@ public class OracleNodeService implements Service {
                     config.getString("profileId"),
                     config.getString("signatureBase64"),
                     config.getBoolean("staticPublicKeysProvided"),
-                    config.getConfig("bisq1Bridge"));
+                    config.getConfig("bisq1Bridge"),
+                    config.getConfig("timestamp"));
         }
     }
 
@@ -152,7 +156,9 @@ public class OracleNodeService implements Service {
                 ignoreSecurityManager,
                 staticPublicKeysProvided);
 
-        timestampService = new TimestampService(persistenceService,
+        TimestampService.Config timestampConfig = TimestampService.Config.from(config.getTimestamp());
+        timestampService = new TimestampService(timestampConfig,
+                persistenceService,
                 networkService,
                 authorizedPrivateKey,
                 authorizedPublicKey,
@@ -96,7 +96,7 @@ public class Bisq1BridgeHttpService implements Service {
 
     public CompletableFuture<Boolean> shutdown() {
         log.info("shutdown");
-        httpClient.shutdown();
+        // The http client is shared and owned by the HttpClientRepository, which shuts it down
         executorService.shutdownNow();
         return CompletableFuture.completedFuture(true);
     }
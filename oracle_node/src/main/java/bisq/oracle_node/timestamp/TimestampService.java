@@ -18,6 +18,7 @@
 package bisq.oracle_node.timestamp;
 
 import bisq.common.application.Service;
+import bisq.common.timer.Scheduler;
 import bisq.identity.Identity;
 import bisq.network.NetworkService;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
@@ -28,19 +29,48 @@ import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedDistribu
 import bisq.persistence.Persistence;
 import bisq.persistence.PersistenceClient;
 import bisq.persistence.PersistenceService;
+import bisq.user.reputation.data.AuthorizedTimestampBatchData;
 import bisq.user.reputation.data.AuthorizedTimestampData;
 import bisq.user.reputation.requests.AuthorizeTimestampRequest;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class TimestampService implements Service, PersistenceClient<TimestampStore>, MessageListener, DataService.Listener {
+    @Getter
+    public static class Config {
+        // If enabled, requests are collected and published as AuthorizedTimestampBatchData every batchIntervalInSeconds
+        // instead of publishing one signed AuthorizedTimestampData per request.
+        private final boolean batchMode;
+        private final long batchIntervalInSeconds;
+
+        public Config(boolean batchMode, long batchIntervalInSeconds) {
+            this.batchMode = batchMode;
+            this.batchIntervalInSeconds = batchIntervalInSeconds;
+        }
+
+        public static TimestampService.Config from(com.typesafe.config.Config config) {
+            return new TimestampService.Config(config.getBoolean("batchMode"),
+                    config.getLong("batchIntervalInSeconds"));
+        }
+    }
+
     @Getter
     private final TimestampStore persistableStore = new TimestampStore();
     @Getter
@@ -49,10 +79,18 @@ public class TimestampService implements Service, PersistenceClient<TimestampSto
     private final NetworkService networkService;
     private final PrivateKey authorizedPrivateKey;
     private final PublicKey authorizedPublicKey;
+    private final boolean batchMode;
+    private final long batchIntervalInSeconds;
+    private final Set<String> pendingProfileIds = ConcurrentHashMap.newKeySet();
+    // The batches as published by us in this session, by their index
+    private final List<AuthorizedTimestampBatchData> publishedBatches = new ArrayList<>();
     @Setter
     private Identity identity;
+    @Nullable
+    private Scheduler batchScheduler;
 
-    public TimestampService(PersistenceService persistenceService,
+    public TimestampService(Config config,
+                            PersistenceService persistenceService,
                             NetworkService networkService,
                             PrivateKey authorizedPrivateKey,
                             PublicKey authorizedPublicKey,
@@ -61,6 +99,8 @@ public class TimestampService implements Service, PersistenceClient<TimestampSto
         this.authorizedPrivateKey = authorizedPrivateKey;
         this.authorizedPublicKey = authorizedPublicKey;
         this.staticPublicKeysProvided = staticPublicKeysProvided;
+        batchMode = config.isBatchMode();
+        batchIntervalInSeconds = config.getBatchIntervalInSeconds();
 
         persistence = persistenceService.getOrCreatePersistence(this, persistableStore);
     }
@@ -77,13 +117,24 @@ public class TimestampService implements Service, PersistenceClient<TimestampSto
         networkService.addDataServiceListener(this);
         networkService.getDataService().ifPresent(service -> service.getAuthorizedData().forEach(this::onAuthorizedDataAdded));
 
-        persistableStore.getTimestampsByProfileId().forEach((key, value) -> publishAuthorizedData(new AuthorizedTimestampData(key, value, staticPublicKeysProvided)));
+        if (batchMode) {
+            // Batches are stable, so republishing them refreshes the existing data items
+            publishBatches(batch -> true);
+            batchScheduler = Scheduler.run(this::publishPendingTimestamps)
+                    .periodically(batchIntervalInSeconds, TimeUnit.SECONDS);
+        } else {
+            persistableStore.getTimestampsByProfileId().forEach((key, value) -> publishAuthorizedData(new AuthorizedTimestampData(key, value, staticPublicKeysProvided)));
+        }
 
         return CompletableFuture.completedFuture(true);
     }
 
     @Override
     public CompletableFuture<Boolean> shutdown() {
+        if (batchScheduler != null) {
+            batchScheduler.stop();
+            batchScheduler = null;
+        }
         networkService.removeMessageListener(this);
         networkService.removeDataServiceListener(this);
         return CompletableFuture.completedFuture(true);
@@ -111,9 +162,16 @@ public class TimestampService implements Service, PersistenceClient<TimestampSto
         if (authorizedData.getAuthorizedDistributedData() instanceof AuthorizedTimestampData) {
             AuthorizedTimestampData authorizedTimestampData = (AuthorizedTimestampData) authorizedData.getAuthorizedDistributedData();
             // We might get data published from other oracle nodes and put it into our local store.
-            String profileId = authorizedTimestampData.getProfileId();
-            if (!persistableStore.getTimestampsByProfileId().containsKey(profileId)) {
-                persistableStore.getTimestampsByProfileId().put(profileId, authorizedTimestampData.getDate());
+            if (addToStore(authorizedTimestampData)) {
+                persist();
+            }
+        } else if (authorizedData.getAuthorizedDistributedData() instanceof AuthorizedTimestampBatchData) {
+            AuthorizedTimestampBatchData batchData = (AuthorizedTimestampBatchData) authorizedData.getAuthorizedDistributedData();
+            boolean anyAdded = false;
+            for (AuthorizedTimestampData authorizedTimestampData : batchData.getAuthorizedTimestampData()) {
+                anyAdded |= addToStore(authorizedTimestampData);
+            }
+            if (anyAdded) {
                 persist();
             }
         }
@@ -132,6 +190,13 @@ public class TimestampService implements Service, PersistenceClient<TimestampSto
                 .thenApply(broadCastDataResult -> true);
     }
 
+    private CompletableFuture<Boolean> removeAuthorizedData(AuthorizedDistributedData data) {
+        return networkService.removeAuthorizedData(data,
+                        identity.getNodeIdAndKeyPair().getKeyPair(),
+                        authorizedPublicKey)
+                .thenApply(broadCastDataResult -> true);
+    }
+
     private void processAuthorizeTimestampRequest(AuthorizeTimestampRequest request) {
         String profileId = request.getProfileId();
         long date;
@@ -144,6 +209,65 @@ public class TimestampService implements Service, PersistenceClient<TimestampSto
             // to republish it.
             date = persistableStore.getTimestampsByProfileId().get(profileId);
         }
-        publishAuthorizedData(new AuthorizedTimestampData(profileId, date, staticPublicKeysProvided));
+        if (batchMode) {
+            pendingProfileIds.add(profileId);
+        } else {
+            publishAuthorizedData(new AuthorizedTimestampData(profileId, date, staticPublicKeysProvided));
+        }
+    }
+
+    private boolean addToStore(AuthorizedTimestampData authorizedTimestampData) {
+        return persistableStore.getTimestampsByProfileId().putIfAbsent(authorizedTimestampData.getProfileId(),
+                authorizedTimestampData.getDate()) == null;
+    }
+
+    private void publishPendingTimestamps() {
+        Set<String> profileIds = new HashSet<>(pendingProfileIds);
+        pendingProfileIds.removeAll(profileIds);
+        if (profileIds.isEmpty()) {
+            return;
+        }
+        // We republish the batches containing a requested profile, as the user might request again because the TTL
+        // is running out.
+        publishBatches(batch -> batch.getAuthorizedTimestampData().stream()
+                .anyMatch(data -> profileIds.contains(data.getProfileId())));
+    }
+
+    // Publishes the batches which have changed since our last publishing or which match the republish predicate.
+    // The previous version of a changed batch gets removed.
+    private synchronized void publishBatches(Predicate<AuthorizedTimestampBatchData> republish) {
+        List<AuthorizedTimestampBatchData> batches = createBatches();
+        int numPublished = 0;
+        for (int index = 0; index < batches.size(); index++) {
+            AuthorizedTimestampBatchData batch = batches.get(index);
+            AuthorizedTimestampBatchData previous = index < publishedBatches.size() ? publishedBatches.get(index) : null;
+            boolean hasChanged = !batch.equals(previous);
+            if (hasChanged || republish.test(batch)) {
+                publishAuthorizedData(batch);
+                numPublished++;
+            }
+            if (hasChanged && previous != null) {
+                removeAuthorizedData(previous);
+            }
+        }
+        publishedBatches.clear();
+        publishedBatches.addAll(batches);
+        log.info("Published {} of {} timestamp batches", numPublished, batches.size());
+    }
+
+    // All timestamps sorted by date and profileId, split into batches of MAX_BATCH_SIZE. New timestamps have the most
+    // recent date, so they are added to the last batch and the boundaries of the other batches stay the same.
+    private List<AuthorizedTimestampBatchData> createBatches() {
+        List<AuthorizedTimestampData> timestamps = persistableStore.getTimestampsByProfileId().entrySet().stream()
+                .map(entry -> new AuthorizedTimestampData(entry.getKey(), entry.getValue(), staticPublicKeysProvided))
+                .sorted(AuthorizedTimestampBatchData.COMPARATOR)
+                .collect(Collectors.toList());
+        int batchSize = AuthorizedTimestampBatchData.MAX_BATCH_SIZE;
+        List<AuthorizedTimestampBatchData> batches = new ArrayList<>();
+        for (int from = 0; from < timestamps.size(); from += batchSize) {
+            List<AuthorizedTimestampData> batch = new ArrayList<>(timestamps.subList(from, Math.min(from + batchSize, timestamps.size())));
+            batches.add(new AuthorizedTimestampBatchData(batch, staticPublicKeysProvided));
+        }
+        return batches;
     }
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
@@ -38,12 +39,22 @@ public class Persistence<T extends PersistableStore<T>> {
     private final Path storePath;
 
     private final PersistableStoreReaderWriter<T> persistableStoreReaderWriter;
+    // Reads can run in parallel for different stores. Writes stay on the single executorService.
+    private final Executor readExecutor;
+    // Time for reading and deserializing the file (without applying the data to the client)
+    @Getter
+    private volatile long readDurationMs;
 
     public Persistence(String directory, String fileName) {
+        this(directory, fileName, executorService);
+    }
+
+    public Persistence(String directory, String fileName, Executor readExecutor) {
         String storageFileName = StringUtils.camelCaseToSnakeCase(fileName);
         storePath = Path.of(directory, storageFileName + EXTENSION);
         var storeFileManager = new PersistableStoreFileManager(storePath);
         persistableStoreReaderWriter = new PersistableStoreReaderWriter<>(storeFileManager);
+        this.readExecutor = readExecutor;
     }
 
     public CompletableFuture<Optional<T>> readAsync(Consumer<T> consumer) {
@@ -51,7 +62,12 @@ public class Persistence<T extends PersistableStore<T>> {
     }
 
     public CompletableFuture<Optional<T>> readAsync() {
-        return CompletableFuture.supplyAsync(persistableStoreReaderWriter::read, executorService);
+        return CompletableFuture.supplyAsync(() -> {
+            long ts = System.currentTimeMillis();
+            Optional<T> result = persistableStoreReaderWriter.read();
+            readDurationMs = System.currentTimeMillis() - ts;
+            return result;
+        }, readExecutor);
     }
 
     public CompletableFuture<Void> persistAsync(T serializable) {
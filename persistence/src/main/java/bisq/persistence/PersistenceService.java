@@ -18,14 +18,21 @@
 package bisq.persistence;
 
 import bisq.common.proto.Proto;
+import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.CompletableFutureUtils;
+import bisq.common.util.OsUtils;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class PersistenceService {
@@ -34,9 +41,25 @@ public class PersistenceService {
     @Getter
     protected final List<PersistenceClient<? extends Proto>> clients = new CopyOnWriteArrayList<>();
     protected final List<Persistence<? extends Proto>> persistenceInstances = new CopyOnWriteArrayList<>();
+    @Getter
+    private final int readParallelism;
+    private final ExecutorService readExecutor;
+    // Time from the start of readAllPersisted until the store was read and applied, by store path
+    @Getter
+    private final Map<String, Long> readDurationByStorePath = new ConcurrentHashMap<>();
 
     public PersistenceService(String baseDir) {
+        this(baseDir, getDefaultReadParallelism());
+    }
+
+    public PersistenceService(String baseDir, int readParallelism) {
         this.baseDir = baseDir;
+        this.readParallelism = Math.max(1, readParallelism);
+        readExecutor = ExecutorFactory.newFixedThreadPool("Persistence-read-pool", this.readParallelism);
+    }
+
+    public static int getDefaultReadParallelism() {
+        return Math.min(4, OsUtils.availableProcessors());
     }
 
     public <T extends PersistableStore<T>> Persistence<T> getOrCreatePersistence(PersistenceClient<T> client,
@@ -56,17 +79,19 @@ public class PersistenceService {
                                                                                  PersistableStore<T> persistableStore) {
         PersistableStoreResolver.addResolver(persistableStore.getResolver());
         clients.add(client);
-        Persistence<T> persistence = new Persistence<>(baseDir + File.separator + subDir, fileName);
+        Persistence<T> persistence = new Persistence<>(baseDir + File.separator + subDir, fileName, readExecutor);
         persistenceInstances.add(persistence);
         return persistence;
     }
 
     public CompletableFuture<Boolean> readAllPersisted() {
+        long ts = System.currentTimeMillis();
         return CompletableFutureUtils.allOf(clients.stream()
                         .map(persistenceClient -> persistenceClient.readPersisted()
                                 .whenComplete((optionalResult, throwable) -> {
                                     String storagePath = persistenceClient.getPersistence().getStorePath()
                                             .toAbsolutePath().toString();
+                                    readDurationByStorePath.put(storagePath, System.currentTimeMillis() - ts);
                                     if (throwable == null) {
                                         if (optionalResult.isPresent()) {
                                             log.info("Read persisted data from {}", storagePath);
@@ -78,7 +103,10 @@ public class PersistenceService {
                                         throwable.printStackTrace();
                                     }
                                 })))
-                .thenApply(list -> true);
+                .thenApply(list -> {
+                    logStartupReport(System.currentTimeMillis() - ts);
+                    return true;
+                });
     }
 
     public CompletableFuture<Boolean> persistAllClients() {
@@ -93,4 +121,21 @@ public class PersistenceService {
                                 })))
                 .thenApply(list -> true);
     }
-}
\ No newline at end of file
+
+    private void logStartupReport(long totalDurationMs) {
+        Map<String, Long> readDurationByPath = persistenceInstances.stream()
+                .collect(Collectors.toMap(persistence -> persistence.getStorePath().toAbsolutePath().toString(),
+                        Persistence::getReadDurationMs,
+                        (a, b) -> a));
+        String slowest = readDurationByStorePath.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(10)
+                .map(entry -> "  " + entry.getValue() + " ms (read " +
+                        readDurationByPath.getOrDefault(entry.getKey(), 0L) + " ms): " + entry.getKey())
+                .collect(Collectors.joining("\n"));
+        log.info("\n##########################################################################################\n" +
+                "Read {} persisted stores in {} ms with a read parallelism of {}. Slowest stores:\n{}" +
+                "\n##########################################################################################",
+                clients.size(), totalDurationMs, readParallelism, slowest);
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import bisq.common.data.ByteArray;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of put and remove records for a key-value store, split into segment files. Instead of writing the
+ * whole store at each change only the changed entry is appended. Compaction writes the live entries into a new
+ * segment which starts with a clear record and deletes the older segments.
+ * <p>
+ * Record layout: [int payloadLength][int crc32(payload)][payload], with payload: [byte type][int keyLength][key][value].
+ * At replay a torn or corrupted record at the end of the last segment (e.g. after a crash) is truncated.
+ * <p>
+ * Not thread safe. Callers are expected to access it from a single thread.
+ */
+@Slf4j
+public class SegmentLog {
+    public static final String SEGMENT_PREFIX = "segment_";
+    public static final String SEGMENT_EXTENSION = ".log";
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 10 * 1024 * 1024;
+
+    public enum RecordType {
+        PUT((byte) 1),
+        REMOVE((byte) 2),
+        // Marks the start of a compacted segment. All state of previous segments is discarded.
+        CLEAR((byte) 3);
+
+        private final byte value;
+
+        RecordType(byte value) {
+            this.value = value;
+        }
+
+        private static Optional<RecordType> fromValue(byte value) {
+            return Arrays.stream(values()).filter(e -> e.value == value).findAny();
+        }
+    }
+
+    @Getter
+    private final Path directory;
+    private final long maxSegmentSize;
+    private FileChannel activeSegment;
+    private long activeSegmentIndex = -1;
+    @Getter
+    private long numRecordsSinceCompaction;
+    @Getter
+    private long numBytesWritten;
+
+    public SegmentLog(Path directory, long maxSegmentSize) {
+        this.directory = directory;
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    public boolean exists() {
+        return !getSegmentIndices().isEmpty();
+    }
+
+    /**
+     * Replays all segments and returns the resulting key-value state.
+     */
+    public Map<ByteArray, byte[]> replay() throws IOException {
+        Map<ByteArray, byte[]> state = new HashMap<>();
+        List<Long> indices = getSegmentIndices();
+        numRecordsSinceCompaction = 0;
+        for (int i = 0; i < indices.size(); i++) {
+            Path segmentPath = getSegmentPath(indices.get(i));
+            long validLength = replaySegment(segmentPath, state);
+            long fileLength = Files.size(segmentPath);
+            if (validLength < fileLength) {
+                boolean isLastSegment = i == indices.size() - 1;
+                if (isLastSegment) {
+                    log.warn("Truncating corrupted or incomplete tail of {} at {} of {} bytes",
+                            segmentPath, validLength, fileLength);
+                    try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.WRITE)) {
+                        channel.truncate(validLength);
+                    }
+                } else {
+                    log.error("Segment {} is corrupted at {} of {} bytes. Skipping the rest of that segment",
+                            segmentPath, validLength, fileLength);
+                }
+            }
+        }
+        return state;
+    }
+
+    public void append(RecordType type, byte[] key, byte[] value) throws IOException {
+        FileChannel channel = getActiveSegment();
+        write(channel, serialize(type, key, value));
+        numRecordsSinceCompaction++;
+        if (channel.size() >= maxSegmentSize) {
+            rollSegment();
+        }
+    }
+
+    /**
+     * Writes the live entries into a new segment and deletes all previous segments. The new segment is written to a
+     * temp file first, so a crash during compaction leaves the previous segments untouched.
+     */
+    public void compact(Map<ByteArray, byte[]> liveEntries) throws IOException {
+        Files.createDirectories(directory);
+        closeActiveSegment();
+        List<Long> previousIndices = getSegmentIndices();
+        long index = previousIndices.isEmpty() ? 0 : previousIndices.get(previousIndices.size() - 1) + 1;
+        Path segmentPath = getSegmentPath(index);
+        Path tempPath = segmentPath.resolveSibling(segmentPath.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(channel, serialize(RecordType.CLEAR, new byte[0], new byte[0]));
+            for (Map.Entry<ByteArray, byte[]> entry : liveEntries.entrySet()) {
+                write(channel, serialize(RecordType.PUT, entry.getKey().getBytes(), entry.getValue()));
+            }
+            channel.force(true);
+        }
+        Files.move(tempPath, segmentPath, StandardCopyOption.ATOMIC_MOVE);
+        for (long previousIndex : previousIndices) {
+            Files.deleteIfExists(getSegmentPath(previousIndex));
+        }
+        numRecordsSinceCompaction = 0;
+    }
+
+    public void force() throws IOException {
+        if (activeSegment != null) {
+            activeSegment.force(false);
+        }
+    }
+
+    public void close() throws IOException {
+        closeActiveSegment();
+    }
+
+    public long getSize() {
+        return getSegmentIndices().stream()
+                .map(this::getSegmentPath)
+                .mapToLong(path -> path.toFile().length())
+                .sum();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private long replaySegment(Path segmentPath, Map<ByteArray, byte[]> state) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segmentPath));
+        CRC32 crc32 = new CRC32();
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int position = buffer.position();
+            int payloadLength = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (payloadLength < 5 || payloadLength > MAX_RECORD_SIZE || payloadLength > buffer.remaining()) {
+                return position;
+            }
+            byte[] payload = new byte[payloadLength];
+            buffer.get(payload);
+            crc32.reset();
+            crc32.update(payload);
+            if ((int) crc32.getValue() != checksum) {
+                return position;
+            }
+
+            ByteBuffer payloadBuffer = ByteBuffer.wrap(payload);
+            Optional<RecordType> type = RecordType.fromValue(payloadBuffer.get());
+            int keyLength = payloadBuffer.getInt();
+            if (type.isEmpty() || keyLength < 0 || keyLength > payloadBuffer.remaining()) {
+                return position;
+            }
+            byte[] key = new byte[keyLength];
+            payloadBuffer.get(key);
+            byte[] value = new byte[payloadBuffer.remaining()];
+            payloadBuffer.get(value);
+
+            switch (type.get()) {
+                case PUT:
+                    state.put(new ByteArray(key), value);
+                    break;
+                case REMOVE:
+                    state.remove(new ByteArray(key));
+                    break;
+                case CLEAR:
+                    state.clear();
+                    numRecordsSinceCompaction = 0;
+                    break;
+            }
+            numRecordsSinceCompaction++;
+        }
+        return buffer.position();
+    }
+
+    private ByteBuffer serialize(RecordType type, byte[] key, byte[] value) {
+        int payloadLength = 1 + 4 + key.length + value.length;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadLength);
+        buffer.position(HEADER_SIZE);
+        buffer.put(type.value);
+        buffer.putInt(key.length);
+        buffer.put(key);
+        buffer.put(value);
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(buffer.array(), HEADER_SIZE, payloadLength);
+        buffer.putInt(0, payloadLength);
+        buffer.putInt(4, (int) crc32.getValue());
+        buffer.flip();
+        numBytesWritten += buffer.remaining();
+        return buffer;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private FileChannel getActiveSegment() throws IOException {
+        if (activeSegment == null) {
+            Files.createDirectories(directory);
+            List<Long> indices = getSegmentIndices();
+            activeSegmentIndex = indices.isEmpty() ? 0 : indices.get(indices.size() - 1);
+            activeSegment = FileChannel.open(getSegmentPath(activeSegmentIndex),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return activeSegment;
+    }
+
+    private void rollSegment() throws IOException {
+        long nextIndex = activeSegmentIndex + 1;
+        closeActiveSegment();
+        activeSegmentIndex = nextIndex;
+        activeSegment = FileChannel.open(getSegmentPath(activeSegmentIndex),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void closeActiveSegment() throws IOException {
+        if (activeSegment != null) {
+            activeSegment.force(false);
+            activeSegment.close();
+            activeSegment = null;
+        }
+    }
+
+    private Path getSegmentPath(long index) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_EXTENSION));
+    }
+
+    private List<Long> getSegmentIndices() {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_EXTENSION))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_EXTENSION.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("Could not list segments in {}", directory, e);
+            return new ArrayList<>();
+        }
+    }
+}
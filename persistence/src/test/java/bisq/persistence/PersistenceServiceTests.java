@@ -0,0 +1,65 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistenceServiceTests {
+    private static class TimestampClient implements PersistenceClient<TimestampStore> {
+        @Getter
+        private final TimestampStore persistableStore = new TimestampStore();
+        @Getter
+        private final Persistence<TimestampStore> persistence;
+
+        TimestampClient(PersistenceService persistenceService, String fileName) {
+            persistence = persistenceService.getOrCreatePersistence(this, "db", fileName, persistableStore);
+        }
+    }
+
+    @Test
+    void readAllPersistedInParallel(@TempDir Path tempDir) {
+        int numStores = 8;
+        PersistenceService writer = new PersistenceService(tempDir.toString(), 1);
+        for (int i = 0; i < numStores; i++) {
+            TimestampClient client = new TimestampClient(writer, "Store" + i);
+            client.getPersistableStore().getTimestampsByProfileId().put("profile" + i, (long) i);
+            client.getPersistence().persist(client.getPersistableStore());
+        }
+
+        PersistenceService persistenceService = new PersistenceService(tempDir.toString(), 4);
+        List<TimestampClient> clients = new ArrayList<>();
+        for (int i = 0; i < numStores; i++) {
+            clients.add(new TimestampClient(persistenceService, "Store" + i));
+        }
+        assertThat(persistenceService.readAllPersisted().join()).isTrue();
+
+        for (int i = 0; i < numStores; i++) {
+            assertThat(clients.get(i).getPersistableStore().getTimestampsByProfileId()).containsEntry("profile" + i, (long) i);
+        }
+        assertThat(persistenceService.getReadParallelism()).isEqualTo(4);
+        assertThat(persistenceService.getReadDurationByStorePath()).hasSize(numStores);
+    }
+}
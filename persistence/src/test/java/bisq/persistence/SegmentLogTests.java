@@ -0,0 +1,163 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import bisq.common.data.ByteArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SegmentLogTests {
+
+    @Test
+    void appendAndReplay(@TempDir Path tempDir) throws IOException {
+        SegmentLog segmentLog = new SegmentLog(tempDir, 1024 * 1024);
+        assertThat(segmentLog.exists()).isFalse();
+
+        segmentLog.append(SegmentLog.RecordType.PUT, key(1), value("A"));
+        segmentLog.append(SegmentLog.RecordType.PUT, key(2), value("B"));
+        segmentLog.append(SegmentLog.RecordType.PUT, key(1), value("A2"));
+        segmentLog.append(SegmentLog.RecordType.REMOVE, key(2), new byte[0]);
+        segmentLog.close();
+
+        Map<ByteArray, byte[]> state = new SegmentLog(tempDir, 1024 * 1024).replay();
+        assertThat(state).hasSize(1);
+        assertThat(state.get(new ByteArray(key(1)))).isEqualTo(value("A2"));
+    }
+
+    @Test
+    void rollSegments(@TempDir Path tempDir) throws IOException {
+        SegmentLog segmentLog = new SegmentLog(tempDir, 100);
+        for (int i = 0; i < 20; i++) {
+            segmentLog.append(SegmentLog.RecordType.PUT, key(i), value("value" + i));
+        }
+        segmentLog.close();
+
+        assertThat(numSegments(tempDir)).isGreaterThan(1);
+        assertThat(new SegmentLog(tempDir, 100).replay()).hasSize(20);
+    }
+
+    @Test
+    void truncateTornTail(@TempDir Path tempDir) throws IOException {
+        SegmentLog segmentLog = new SegmentLog(tempDir, 1024 * 1024);
+        segmentLog.append(SegmentLog.RecordType.PUT, key(1), value("A"));
+        segmentLog.append(SegmentLog.RecordType.PUT, key(2), value("B"));
+        segmentLog.close();
+
+        // Simulate a crash in the middle of writing the last record
+        Path segment = getSegments(tempDir)[0];
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        SegmentLog recovered = new SegmentLog(tempDir, 1024 * 1024);
+        Map<ByteArray, byte[]> state = recovered.replay();
+        assertThat(state).containsOnlyKeys(new ByteArray(key(1)));
+
+        // Appending after recovery must produce a readable log
+        recovered.append(SegmentLog.RecordType.PUT, key(3), value("C"));
+        recovered.close();
+        assertThat(new SegmentLog(tempDir, 1024 * 1024).replay()).hasSize(2);
+    }
+
+    @Test
+    void detectCorruptedRecord(@TempDir Path tempDir) throws IOException {
+        SegmentLog segmentLog = new SegmentLog(tempDir, 1024 * 1024);
+        segmentLog.append(SegmentLog.RecordType.PUT, key(1), value("A"));
+        segmentLog.append(SegmentLog.RecordType.PUT, key(2), value("B"));
+        segmentLog.close();
+
+        Path segment = getSegments(tempDir)[0];
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(segment, bytes);
+
+        assertThat(new SegmentLog(tempDir, 1024 * 1024).replay()).containsOnlyKeys(new ByteArray(key(1)));
+    }
+
+    @Test
+    void compact(@TempDir Path tempDir) throws IOException {
+        SegmentLog segmentLog = new SegmentLog(tempDir, 100);
+        for (int i = 0; i < 20; i++) {
+            segmentLog.append(SegmentLog.RecordType.PUT, key(i), value("value" + i));
+        }
+        for (int i = 0; i < 15; i++) {
+            segmentLog.append(SegmentLog.RecordType.REMOVE, key(i), new byte[0]);
+        }
+        Map<ByteArray, byte[]> live = segmentLog.replay();
+        assertThat(live).hasSize(5);
+
+        segmentLog.compact(live);
+        assertThat(numSegments(tempDir)).isEqualTo(1);
+        assertThat(segmentLog.getNumRecordsSinceCompaction()).isEqualTo(0);
+
+        segmentLog.append(SegmentLog.RecordType.PUT, key(100), value("new"));
+        segmentLog.close();
+        Map<ByteArray, byte[]> state = new SegmentLog(tempDir, 100).replay();
+        assertThat(state).hasSize(6);
+        assertThat(state.get(new ByteArray(key(19)))).isEqualTo(value("value19"));
+    }
+
+    @Test
+    void compactedSegmentOverridesLeftOverSegments(@TempDir Path tempDir) throws IOException {
+        SegmentLog segmentLog = new SegmentLog(tempDir, 1024 * 1024);
+        segmentLog.append(SegmentLog.RecordType.PUT, key(1), value("A"));
+        segmentLog.close();
+        Path oldSegment = getSegments(tempDir)[0];
+        byte[] oldSegmentBytes = Files.readAllBytes(oldSegment);
+
+        Map<ByteArray, byte[]> live = new HashMap<>();
+        live.put(new ByteArray(key(2)), value("B"));
+        segmentLog.compact(live);
+
+        // Simulate a crash after the compacted segment was written but before the old one was deleted
+        Files.write(oldSegment, oldSegmentBytes);
+        assertThat(new SegmentLog(tempDir, 1024 * 1024).replay()).containsOnlyKeys(new ByteArray(key(2)));
+    }
+
+    private static byte[] key(int i) {
+        byte[] key = new byte[20];
+        key[0] = (byte) i;
+        return key;
+    }
+
+    private static byte[] value(String value) {
+        return value.getBytes();
+    }
+
+    private static long numSegments(Path dir) throws IOException {
+        return getSegments(dir).length;
+    }
+
+    private static Path[] getSegments(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.list(dir)) {
+            return paths.filter(path -> path.toString().endsWith(SegmentLog.SEGMENT_EXTENSION)).sorted().toArray(Path[]::new);
+        }
+    }
+}
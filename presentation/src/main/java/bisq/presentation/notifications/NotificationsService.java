@@ -30,10 +30,10 @@ import bisq.presentation.notifications.osx.OsxNotifications;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -50,7 +50,8 @@ public class NotificationsService implements PersistenceClient<NotificationsStor
     @Getter
     private final Persistence<NotificationsStore> persistence;
     private NotificationsDelegate delegate;
-    private final Set<Subscriber> subscribers = new HashSet<>();
+    // Subscribers get notified in the order they have subscribed
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
 
     // We do not persist the state of a closed notification panel as we prefer to show the panel again at restart.
     // If any new notification gets added the panel will also be shown again.
@@ -138,6 +139,11 @@ public class NotificationsService implements PersistenceClient<NotificationsStor
         }
     }
 
+    public boolean isNotConsumed(String notificationId) {
+        DateAndConsumedFlag dateAndConsumedFlag = getNotificationIdMap().get(notificationId);
+        return dateAndConsumedFlag != null && !dateAndConsumedFlag.isConsumed();
+    }
+
     public Set<String> getNotConsumedNotificationIds() {
         return getNotificationIdMap().entrySet().stream()
                 .filter(entry -> !entry.getValue().isConsumed())
@@ -34,8 +34,12 @@ public class SecurityService implements Service {
     private final ProofOfWorkService proofOfWorkService;
 
     public SecurityService(PersistenceService persistenceService) {
+        this(persistenceService, HashCashService.getDefaultNumMintingThreads());
+    }
+
+    public SecurityService(PersistenceService persistenceService, int numMintingThreads) {
         keyPairService = new KeyPairService(persistenceService);
-        proofOfWorkService = new HashCashService();
+        proofOfWorkService = new HashCashService(numMintingThreads);
     }
 
     public CompletableFuture<Boolean> initialize() {
@@ -19,16 +19,17 @@ package bisq.security.pow;
 
 import bisq.common.util.ByteArrayUtils;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ListMultimap;
-import com.google.common.collect.MultimapBuilder;
 import com.google.common.primitives.*;
 import lombok.ToString;
 import org.bouncycastle.crypto.digests.Blake2bDigest;
 
+import java.lang.ref.SoftReference;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -61,7 +62,10 @@ import static java.math.BigInteger.ONE;
  * the paper, the hash function BLAKE2b is used to supply 256 bits, which is shortened and
  * split into <i>k+1</i> 32-bit blocks. The blocks are masked to provide <i>n/(k+1)</i>
  * bits each and <i>n</i> bits in total. This allows working with 32-bit integers
- * throughout, for efficiency.
+ * throughout, for efficiency.<br><p>
+ * <br>
+ * The tables are kept in flat int arrays, which are reused for all collision rounds and
+ * nonces solved on the same thread.
  *
  * Author: <a href="https://github.com/stejbac">stejbac</a>
  */
@@ -73,6 +77,10 @@ public class Equihash {
      * Mean solution count per nonce for Equihash puzzles with unit difficulty.
      */
     private static final double MEAN_SOLUTION_COUNT_PER_NONCE = 2.0;
+    /**
+     * Tables of an Equihash-90-5 puzzle need about 10 MB, so we let the GC reclaim the buffers of idle threads.
+     */
+    private static final ThreadLocal<SoftReference<Buffers>> BUFFERS = new ThreadLocal<>();
 
     private final int k, N;
     private final int tableCapacity;
@@ -201,13 +209,40 @@ public class Equihash {
 
         public Solution findSolution() {
             Optional<int[]> inputs;
-            for (int nonce = 0; ; nonce++) {
+            for (long nonce = 0; ; nonce++) {
                 if ((inputs = withHashPrefix(seed, nonce).findInputs()).isPresent()) {
                     return new Solution(nonce, inputs.get());
                 }
             }
         }
 
+        /**
+         * Tries numWorkers nonces at a time on the executor. The solution of the lowest nonce of a round is taken, so
+         * the result is the same as with findSolution(). A puzzle of low difficulty is usually solved with the first
+         * nonce, so we only try nonces in parallel if that failed.
+         */
+        public Solution findSolution(Executor executor, int numWorkers) {
+            Optional<int[]> inputs = withHashPrefix(seed, 0).findInputs();
+            if (inputs.isPresent()) {
+                return new Solution(0, inputs.get());
+            }
+            for (long firstNonce = 1; ; firstNonce += numWorkers) {
+                List<CompletableFuture<Optional<int[]>>> futures = new ArrayList<>(numWorkers);
+                for (long nonce = firstNonce; nonce < firstNonce + numWorkers; nonce++) {
+                    WithHashPrefix withHashPrefix = withHashPrefix(seed, nonce);
+                    futures.add(CompletableFuture.supplyAsync(withHashPrefix::findInputs, executor));
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    inputs = futures.get(i).join();
+                    if (inputs.isPresent()) {
+                        // Tasks of higher nonces which have not started yet are not needed anymore
+                        futures.forEach(future -> future.cancel(false));
+                        return new Solution(firstNonce + i, inputs.get());
+                    }
+                }
+            }
+        }
+
         @VisibleForTesting
         int countAllSolutionsForNonce(long nonce) {
             return (int) withHashPrefix(seed, nonce).streamInputsHits()
@@ -238,15 +273,28 @@ public class Equihash {
             return ByteArrayUtils.bytesToIntegersBE(outputBytes);
         }
 
+        // Same as hashInputs(input), but writes the hash bytes into buffers.hashBytes
+        private void hashInput(int input, Buffers buffers) {
+            Blake2bDigest digest = buffers.digest;
+            digest.update(prefixBytes, 0, prefixBytes.length);
+            digest.update((byte) (input >> 24));
+            digest.update((byte) (input >> 16));
+            digest.update((byte) (input >> 8));
+            digest.update((byte) input);
+            digest.doFinal(buffers.hashBytes, 0);
+        }
+
         Stream<int[]> streamInputsHits() {
-            var table = computeAllHashes();
+            Buffers buffers = getBuffers();
+            var table = computeAllHashes(buffers);
             for (int i = 0; i < k; i++) {
-                table = findCollisions(table, i + 1 < k);
+                table = findCollisions(table, i + 1 < k, buffers, (i + 1) % 2);
             }
-            return IntStream.range(0, table.numRows)
-                    .mapToObj(table::getRow)
-                    .filter(row -> row.stream().distinct().count() == inputNum)
-                    .map(row -> sortInputs(row.toArray()))
+            var finalTable = table;
+            return IntStream.range(0, finalTable.numRows)
+                    .mapToObj(finalTable::getIndexTuple)
+                    .filter(Equihash::isDistinct)
+                    .map(Equihash::sortInputs)
                     .filter(this::testDifficultyCondition);
         }
 
@@ -254,12 +302,19 @@ public class Equihash {
             return streamInputsHits().findFirst();
         }
 
-        private XorTable computeAllHashes() {
-            var tableValues = IntStream.range(0, N).flatMap(i -> {
-                int[] hash = hashInputs(i);
-                return IntStream.range(0, k + 2).map(j -> j <= k ? hash[j] & (N / 2 - 1) : i);
-            });
-            return new XorTable(k + 1, 1, ImmutableIntArray.copyOf(tableValues.parallel()));
+        private XorTable computeAllHashes(Buffers buffers) {
+            int rowWidth = k + 2;
+            int[] values = buffers.getTable(0, N * rowWidth);
+            int mask = N / 2 - 1;
+            byte[] hashBytes = buffers.hashBytes;
+            for (int i = 0, offset = 0; i < N; i++, offset += rowWidth) {
+                hashInput(i, buffers);
+                for (int j = 0; j <= k; j++) {
+                    values[offset + j] = Ints.fromBytes(hashBytes[4 * j], hashBytes[4 * j + 1], hashBytes[4 * j + 2], hashBytes[4 * j + 3]) & mask;
+                }
+                values[offset + k + 1] = i;
+            }
+            return new XorTable(k + 1, 1, values, N);
         }
 
         private boolean testDifficultyCondition(int[] inputs) {
@@ -268,11 +323,13 @@ public class Equihash {
         }
 
         boolean verify(int[] inputs) {
-            if (inputs.length != inputNum || Arrays.stream(inputs).distinct().count() < inputNum) {
+            if (inputs.length != inputNum || !isDistinct(inputs)) {
                 return false;
             }
-            if (Arrays.stream(inputs).anyMatch(i -> i < 0 || i >= N)) {
-                return false;
+            for (int input : inputs) {
+                if (input < 0 || input >= N) {
+                    return false;
+                }
             }
             if (!Arrays.equals(inputs, sortInputs(inputs))) {
                 return false;
@@ -280,11 +337,13 @@ public class Equihash {
             if (!testDifficultyCondition(inputs)) {
                 return false;
             }
+            Buffers buffers = getBuffers();
+            byte[] hashBytes = buffers.hashBytes;
             int[] hashBlockSums = new int[k + 1];
             for (int i = 0; i < inputs.length; i++) {
-                int[] hash = hashInputs(inputs[i]);
+                hashInput(inputs[i], buffers);
                 for (int j = 0; j <= k; j++) {
-                    hashBlockSums[j] ^= hash[j] & (N / 2 - 1);
+                    hashBlockSums[j] ^= Ints.fromBytes(hashBytes[4 * j], hashBytes[4 * j + 1], hashBytes[4 * j + 2], hashBytes[4 * j + 3]) & (N / 2 - 1);
                 }
                 for (int ii = i + 1 + inputNum, j = 0; (ii & 1) == 0; ii /= 2, j++) {
                     if (hashBlockSums[j] != 0) {
@@ -298,96 +357,128 @@ public class Equihash {
 
     private static class XorTable {
         private final int hashWidth, indexTupleWidth, rowWidth, numRows;
-        private final ImmutableIntArray values;
+        private final int[] values;
 
-        XorTable(int hashWidth, int indexTupleWidth, ImmutableIntArray values) {
+        XorTable(int hashWidth, int indexTupleWidth, int[] values, int numRows) {
             this.hashWidth = hashWidth;
             this.indexTupleWidth = indexTupleWidth;
             this.values = values;
+            this.numRows = numRows;
             rowWidth = hashWidth + indexTupleWidth;
-            numRows = (values.length() + rowWidth - 1) / rowWidth;
         }
 
-        ImmutableIntArray getRow(int index) {
-            return values.subArray(index * rowWidth, index * rowWidth + hashWidth + indexTupleWidth);
+        int[] getIndexTuple(int index) {
+            int from = index * rowWidth + hashWidth;
+            return Arrays.copyOfRange(values, from, from + indexTupleWidth);
         }
     }
 
-    private static class IntListMultimap {
-        final int[] shortLists;
-        final ListMultimap<Integer, Integer> overspillMultimap;
-
-        IntListMultimap(int keyUpperBound) {
-            shortLists = new int[keyUpperBound * 4];
-            overspillMultimap = MultimapBuilder.hashKeys().arrayListValues().build();
+    /**
+     * Per thread scratch space of the solver. The two tables are used alternately as input and output of the
+     * collision rounds. The rows with the same first hash block are chained in insertion order by the head, tail and
+     * next arrays, which replaces a multimap from the hash block to the row indices.
+     */
+    private static class Buffers {
+        private final int[][] tables = {new int[0], new int[0]};
+        private int[] head = new int[0];
+        private int[] tail = new int[0];
+        private int[] next = new int[0];
+        private final Blake2bDigest digest = new Blake2bDigest(HASH_BIT_LENGTH);
+        private final byte[] hashBytes = new byte[HASH_BIT_LENGTH / 8];
+
+        int[] getTable(int index, int minLength) {
+            if (tables[index].length < minLength) {
+                tables[index] = new int[minLength];
+            }
+            return tables[index];
         }
 
-        PrimitiveIterator.OfInt get(int key) {
-            return new PrimitiveIterator.OfInt() {
-                int i;
-                Iterator<Integer> overspillIterator;
+        void resetChains(int numKeys, int numRows) {
+            if (head.length < numKeys) {
+                head = new int[numKeys];
+                tail = new int[numKeys];
+            }
+            if (next.length < numRows) {
+                next = new int[numRows];
+            }
+            Arrays.fill(head, 0, numKeys, -1);
+        }
+    }
 
-                private Iterator<Integer> overspillIterator() {
-                    if (overspillIterator == null) {
-                        overspillIterator = overspillMultimap.get(key).iterator();
-                    }
-                    return overspillIterator;
-                }
+    private static Buffers getBuffers() {
+        SoftReference<Buffers> reference = BUFFERS.get();
+        Buffers buffers = reference != null ? reference.get() : null;
+        if (buffers == null) {
+            buffers = new Buffers();
+            BUFFERS.set(new SoftReference<>(buffers));
+        }
+        return buffers;
+    }
 
-                @Override
-                public int nextInt() {
-                    if (!hasNext()) {
-                        throw new NoSuchElementException();
-                    }
-                    return i < 4 ? ~shortLists[key * 4 + i++] : overspillIterator().next();
+    // Apply a single iteration of Wagner's Algorithm. Rows are written in the same order as with the former
+    // multimap based implementation, so that the same solution is found.
+    private XorTable findCollisions(XorTable table, boolean isPartial, Buffers buffers, int outputTableIndex) {
+        int hashWidth = table.hashWidth;
+        int indexTupleWidth = table.indexTupleWidth;
+        int rowWidth = table.rowWidth;
+        int newHashWidth = isPartial ? hashWidth - 1 : 0;
+        int newIndexTupleWidth = indexTupleWidth * 2;
+        int newRowWidth = newHashWidth + newIndexTupleWidth;
+        int[] values = table.values;
+        int[] newValues = isPartial ?
+                buffers.getTable(outputTableIndex, newRowWidth * tableCapacity) :
+                new int[newRowWidth * 10];
+
+        buffers.resetChains(N / 2, table.numRows);
+        int[] head = buffers.head;
+        int[] tail = buffers.tail;
+        int[] next = buffers.next;
+        int size = 0;
+        for (int i = 0, rowOffset = 0; i < table.numRows; i++, rowOffset += rowWidth) {
+            int key = values[rowOffset];
+            for (int j = head[key]; j >= 0; j = next[j]) {
+                int collidingRowOffset = j * rowWidth;
+                if (!isPartial && !Arrays.equals(values, collidingRowOffset + 1, collidingRowOffset + hashWidth,
+                        values, rowOffset + 1, rowOffset + hashWidth)) {
+                    continue;
                 }
-
-                @Override
-                public boolean hasNext() {
-                    return i < 4 && shortLists[key * 4 + i] < 0 || i == 4 && overspillIterator().hasNext();
+                if (size + newRowWidth > newValues.length) {
+                    newValues = Arrays.copyOf(newValues, Math.max(size + newRowWidth, newValues.length * 3 / 2));
                 }
-            };
-        }
-
-        // assumes non-negative values only:
-        void put(int key, int value) {
-            for (int i = 0; i < 4; i++) {
-                if (shortLists[key * 4 + i] == 0) {
-                    shortLists[key * 4 + i] = ~value;
-                    return;
+                if (isPartial) {
+                    for (int h = 1; h < hashWidth; h++) {
+                        newValues[size++] = values[collidingRowOffset + h] ^ values[rowOffset + h];
+                    }
                 }
+                System.arraycopy(values, collidingRowOffset + hashWidth, newValues, size, indexTupleWidth);
+                size += indexTupleWidth;
+                System.arraycopy(values, rowOffset + hashWidth, newValues, size, indexTupleWidth);
+                size += indexTupleWidth;
+            }
+            next[i] = -1;
+            if (head[key] < 0) {
+                head[key] = i;
+            } else {
+                next[tail[key]] = i;
             }
-            overspillMultimap.put(key, value);
+            tail[key] = i;
         }
+        if (isPartial) {
+            // Keep a grown table for the next round
+            buffers.tables[outputTableIndex] = newValues;
+        }
+        return new XorTable(newHashWidth, newIndexTupleWidth, newValues, size / newRowWidth);
     }
 
-    // Apply a single iteration of Wagner's Algorithm.
-    private XorTable findCollisions(XorTable table, boolean isPartial) {
-        int newHashWidth = isPartial ? table.hashWidth - 1 : 0;
-        int newIndexTupleWidth = table.indexTupleWidth * 2;
-        int newRowWidth = newHashWidth + newIndexTupleWidth;
-        var newTableValues = ImmutableIntArray.builder(
-                newRowWidth * (isPartial ? tableCapacity : 10));
-
-        var indexMultimap = new IntListMultimap(N / 2);
-        for (int i = 0; i < table.numRows; i++) {
-            var row = table.getRow(i);
-            var collisionIndices = indexMultimap.get(row.get(0));
-            while (collisionIndices.hasNext()) {
-                var collidingRow = table.getRow(collisionIndices.nextInt());
-                if (isPartial) {
-                    for (int j = 1; j < table.hashWidth; j++) {
-                        newTableValues.add(collidingRow.get(j) ^ row.get(j));
-                    }
-                } else if (!collidingRow.subArray(1, table.hashWidth).equals(row.subArray(1, table.hashWidth))) {
-                    continue;
+    private static boolean isDistinct(int[] inputs) {
+        for (int i = 1; i < inputs.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (inputs[i] == inputs[j]) {
+                    return false;
                 }
-                newTableValues.addAll(collidingRow.subArray(table.hashWidth, collidingRow.length()));
-                newTableValues.addAll(row.subArray(table.hashWidth, row.length()));
             }
-            indexMultimap.put(row.get(0), i);
         }
-        return new XorTable(newHashWidth, newIndexTupleWidth, newTableValues.build());
+        return true;
     }
 
     private static int[] sortInputs(int[] inputs) {
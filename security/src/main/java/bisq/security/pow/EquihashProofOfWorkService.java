@@ -17,6 +17,8 @@
 
 package bisq.security.pow;
 
+import bisq.common.threading.ExecutorFactory;
+import bisq.common.util.OsUtils;
 import bisq.security.DigestUtil;
 import com.google.common.base.Charsets;
 import com.google.common.primitives.Bytes;
@@ -26,6 +28,9 @@ import lombok.extern.slf4j.Slf4j;
 import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 // TODO the scaling of the difficulty does not provide the expected results
 // Borrowed from: https://github.com/bisq-network/bisq
@@ -35,9 +40,19 @@ public class EquihashProofOfWorkService extends ProofOfWorkService {
      * Rough cost of two Hashcash iterations compared to solving an Equihash-90-5 puzzle of unit difficulty.
      */
     private static final double DIFFICULTY_SCALE_FACTOR = 3.0e-5;
+    // Shared by all instances. Each round of nonces submits one task per worker.
+    private static final ExecutorService EXECUTOR = ExecutorFactory.newFixedThreadPool("Equihash-mint",
+            OsUtils.availableProcessors());
+
+    private final int numMintingThreads;
 
     public EquihashProofOfWorkService() {
-        super();
+        this(HashCashService.getDefaultNumMintingThreads());
+    }
+
+    public EquihashProofOfWorkService(int numMintingThreads) {
+        checkArgument(numMintingThreads > 0, "numMintingThreads must be positive");
+        this.numMintingThreads = numMintingThreads;
     }
 
     @Override
@@ -48,7 +63,10 @@ public class EquihashProofOfWorkService extends ProofOfWorkService {
         return CompletableFuture.supplyAsync(() -> {
             long ts = System.currentTimeMillis();
             byte[] seed = getSeed(payload, challenge);
-            byte[] solution = new Equihash(90, 5, scaledDifficulty).puzzle(seed).findSolution().serialize();
+            int numWorkers = Math.min(numMintingThreads, OsUtils.availableProcessors());
+            byte[] solution = new Equihash(90, 5, scaledDifficulty).puzzle(seed)
+                    .findSolution(EXECUTOR, numWorkers)
+                    .serialize();
             long counter = Longs.fromByteArray(Arrays.copyOf(solution, 8));
             long duration = System.currentTimeMillis() - ts;
             var proofOfWork = new ProofOfWork(payload, counter, challenge, difficulty, solution, duration);
@@ -17,13 +17,21 @@
 
 package bisq.security.pow;
 
+import bisq.common.threading.ExecutorFactory;
+import bisq.common.util.OsUtils;
 import bisq.security.DigestUtil;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.primitives.Longs;
 import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.util.Pack;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 /**
  * HashCash implementation for proof of work
@@ -33,28 +41,64 @@ import java.util.concurrent.CompletableFuture;
  */
 @Slf4j
 public class HashCashService extends ProofOfWorkService {
+    // Below that difficulty the minting takes less than a millisecond and the coordination of multiple workers would
+    // cost more than it saves.
+    private static final double MIN_DIFFICULTY_FOR_PARALLEL_MINTING = 4096;
+    // Number of hashes a worker calculates before it checks if another worker has found a solution
+    private static final int CANCELLATION_CHECK_INTERVAL = 256;
+    // Shared by all instances. Each mint call submits one task per worker.
+    private static final ExecutorService EXECUTOR = ExecutorFactory.newFixedThreadPool("HashCash-mint",
+            OsUtils.availableProcessors());
+
+    public static int getDefaultNumMintingThreads() {
+        return Math.max(1, Math.min(4, OsUtils.availableProcessors() / 2));
+    }
+
+    private final int numMintingThreads;
+
     public HashCashService() {
+        this(getDefaultNumMintingThreads());
+    }
+
+    public HashCashService(int numMintingThreads) {
+        checkArgument(numMintingThreads > 0, "numMintingThreads must be positive");
+        this.numMintingThreads = numMintingThreads;
     }
 
+    /**
+     * The counter space is split across the workers by striding: worker i tests the counters i+1, i+1+n, i+1+2n,...
+     * where n is the number of workers. All workers stop as soon as one has found a solution or the returned future
+     * got completed otherwise (e.g. cancelled).
+     */
     @Override
     public CompletableFuture<ProofOfWork> mint(byte[] payload,
                                                byte[] challenge,
                                                double difficulty) {
-        return CompletableFuture.supplyAsync(() -> {
-            long ts = System.currentTimeMillis();
-            int log2Difficulty = toNumLeadingZeros(difficulty);
-            byte[] hash;
-            long counter = 0;
-            do {
-                hash = toSha256Hash(payload, challenge, ++counter);
-            }
-            while (numberOfLeadingZeros(hash) <= log2Difficulty);
-            byte[] solution = Longs.toByteArray(counter);
-            ProofOfWork proofOfWork = new ProofOfWork(payload, counter, challenge, difficulty, solution,
-                    System.currentTimeMillis() - ts);
-            log.debug("Completed minting proofOfWork: {}", proofOfWork);
-            return proofOfWork;
-        });
+        long ts = System.currentTimeMillis();
+        int log2Difficulty = toNumLeadingZeros(difficulty);
+        int numWorkers = difficulty < MIN_DIFFICULTY_FOR_PARALLEL_MINTING
+                ? 1
+                : Math.min(numMintingThreads, OsUtils.availableProcessors());
+        CompletableFuture<ProofOfWork> future = new CompletableFuture<>();
+        for (int i = 0; i < numWorkers; i++) {
+            long startCounter = i + 1;
+            EXECUTOR.execute(() -> {
+                try {
+                    findCounter(payload, challenge, log2Difficulty, startCounter, numWorkers, future)
+                            .ifPresent(counter -> {
+                                byte[] solution = Longs.toByteArray(counter);
+                                ProofOfWork proofOfWork = new ProofOfWork(payload, counter, challenge, difficulty,
+                                        solution, System.currentTimeMillis() - ts);
+                                if (future.complete(proofOfWork)) {
+                                    log.debug("Completed minting proofOfWork: {}", proofOfWork);
+                                }
+                            });
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            });
+        }
+        return future;
     }
 
     @Override
@@ -91,6 +135,46 @@ public class HashCashService extends ProofOfWorkService {
         return numberOfLeadingZeros;
     }
 
+    /**
+     * Reuses the digest state of the payload and challenge prefix, so that for each counter only the last 8 bytes
+     * get hashed. Results in the same hash as toSha256Hash.
+     */
+    private static Optional<Long> findCounter(byte[] payload,
+                                              byte[] challenge,
+                                              int log2Difficulty,
+                                              long startCounter,
+                                              int step,
+                                              CompletableFuture<?> resultFuture) {
+        SHA256Digest prefixDigest = new SHA256Digest();
+        if (payload != null) {
+            prefixDigest.update(payload, 0, payload.length);
+        }
+        if (challenge != null) {
+            prefixDigest.update(challenge, 0, challenge.length);
+        }
+        SHA256Digest digest = new SHA256Digest();
+        byte[] counterBytes = new byte[Long.BYTES];
+        byte[] hash = new byte[digest.getDigestSize()];
+        long counter = startCounter;
+        int iterations = 0;
+        while (true) {
+            if (++iterations == CANCELLATION_CHECK_INTERVAL) {
+                if (resultFuture.isDone()) {
+                    return Optional.empty();
+                }
+                iterations = 0;
+            }
+            digest.reset(prefixDigest);
+            Pack.longToBigEndian(counter, counterBytes, 0);
+            digest.update(counterBytes, 0, counterBytes.length);
+            digest.doFinal(hash, 0);
+            if (numberOfLeadingZeros(hash) > log2Difficulty) {
+                return Optional.of(counter);
+            }
+            counter += step;
+        }
+    }
+
     private static byte[] toSha256Hash(byte[] payload, byte[] challenge, long counter) {
         byte[] preImage = org.bouncycastle.util.Arrays.concatenate(payload,
                 challenge,
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security.pow;
+
+import bisq.common.encoding.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EquihashTest {
+    // Solutions found by the former implementation based on ImmutableIntArray tables and a ListMultimap
+    private static final String SOLUTION_DIFFICULTY_1_SEED_0 = "0000000000000001005bdef707975e9a4064fc4d67e5b79b21a4431a7f0da1de3b5fee01b576fa782685303c4a2a9fb42a77305a705dda45331ab0109557e3de4a15c3694ae3a450";
+    private static final String SOLUTION_DIFFICULTY_1_SEED_2 = "0000000000000000046cab242e7bb9c51282547c6b7dfc555fd967269797f7286eac9694a76bd6f01c70352c38717d5e721bddf490c2cee22e8b669e4af1f3bf4d8ba1e6a0d9da57";
+    private static final String SOLUTION_DIFFICULTY_50_SEED_0 = "000000000000001e10658bb0225553881696859f8e0ff23011ee4d153bddb21b4b00eaa2670fbe911abbf4e63536f6eb9c64e203c99fd49e1c78b0f1c7cbfb63293aa81aa574fd77";
+
+    @Test
+    public void testFindSolution() {
+        assertEquals(SOLUTION_DIFFICULTY_1_SEED_0, Hex.encode(puzzle(1, 0).findSolution().serialize()));
+        assertEquals(SOLUTION_DIFFICULTY_1_SEED_2, Hex.encode(puzzle(1, 2).findSolution().serialize()));
+        assertEquals(SOLUTION_DIFFICULTY_50_SEED_0, Hex.encode(puzzle(50, 0).findSolution().serialize()));
+    }
+
+    @Test
+    public void testFindSolutionWithWorkers() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int numWorkers = 1; numWorkers <= 4; numWorkers++) {
+                assertEquals(SOLUTION_DIFFICULTY_1_SEED_0, Hex.encode(puzzle(1, 0).findSolution(executor, numWorkers).serialize()));
+                assertEquals(SOLUTION_DIFFICULTY_50_SEED_0, Hex.encode(puzzle(50, 0).findSolution(executor, numWorkers).serialize()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testVerify() {
+        Equihash.Puzzle puzzle = puzzle(50, 0);
+        byte[] solution = Hex.decode(SOLUTION_DIFFICULTY_50_SEED_0);
+        assertTrue(puzzle.deserializeSolution(solution).verify());
+
+        byte[] otherNonce = Arrays.copyOf(solution, solution.length);
+        otherNonce[7]++;
+        assertFalse(puzzle.deserializeSolution(otherNonce).verify());
+
+        byte[] otherInput = Arrays.copyOf(solution, solution.length);
+        otherInput[20] ^= 1;
+        assertFalse(puzzle.deserializeSolution(otherInput).verify());
+
+        assertFalse(puzzle(1, 1).deserializeSolution(solution).verify());
+    }
+
+    @Test
+    public void testMintAndVerify() {
+        byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        byte[] challenge = "challenge".getBytes(StandardCharsets.UTF_8);
+        for (int numThreads = 1; numThreads <= 2; numThreads++) {
+            EquihashProofOfWorkService service = new EquihashProofOfWorkService(numThreads);
+            for (double difficulty : new double[]{1, 100_000}) {
+                ProofOfWork proofOfWork = service.mint(payload, challenge, difficulty).join();
+                assertTrue(service.verify(proofOfWork));
+            }
+        }
+    }
+
+    private static Equihash.Puzzle puzzle(double difficulty, int seedByte) {
+        byte[] seed = new byte[32];
+        Arrays.fill(seed, (byte) seedByte);
+        return new Equihash(90, 5, difficulty).puzzle(seed);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security.pow;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HashCashServiceTest {
+    @Test
+    public void testMintAndVerify() {
+        byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        byte[] challenge = "challenge".getBytes(StandardCharsets.UTF_8);
+        for (int numThreads = 1; numThreads <= 4; numThreads++) {
+            HashCashService service = new HashCashService(numThreads);
+            for (double difficulty : new double[]{1, 128, 4096, 65536}) {
+                ProofOfWork proofOfWork = service.mint(payload, challenge, difficulty).join();
+                assertTrue(service.verify(proofOfWork));
+                assertEquals(difficulty, proofOfWork.getDifficulty());
+            }
+        }
+    }
+
+    @Test
+    public void testMintWithoutChallenge() {
+        HashCashService service = new HashCashService(2);
+        ProofOfWork proofOfWork = service.mintNymProofOfWork(new byte[20], 65536).join();
+        assertTrue(service.verify(proofOfWork));
+    }
+
+    @Test
+    public void testVerifyFailsWithOtherPayload() {
+        HashCashService service = new HashCashService(2);
+        byte[] challenge = "challenge".getBytes(StandardCharsets.UTF_8);
+        ProofOfWork proofOfWork = service.mint(new byte[]{1, 2, 3}, challenge, 65536).join();
+        ProofOfWork tampered = new ProofOfWork(new byte[]{1, 2, 4},
+                proofOfWork.getCounter(),
+                challenge,
+                proofOfWork.getDifficulty(),
+                proofOfWork.getSolution(),
+                proofOfWork.getDuration());
+        // Probability to pass with another payload is 2^-17
+        assertFalse(service.verify(tampered));
+    }
+
+    @Test
+    public void testNumberOfLeadingZeros() {
+        assertEquals(8, HashCashService.numberOfLeadingZeros((byte) 0));
+        assertEquals(0, HashCashService.numberOfLeadingZeros((byte) -1));
+        assertEquals(7, HashCashService.numberOfLeadingZeros((byte) 1));
+        assertEquals(12, HashCashService.numberOfLeadingZeros(new byte[]{0, 8, 0}));
+        assertEquals(24, HashCashService.numberOfLeadingZeros(new byte[]{0, 0, 0}));
+    }
+}
@@ -23,6 +23,7 @@ import bisq.identity.IdentityService;
 import bisq.network.NetworkService;
 import bisq.network.NetworkServiceConfig;
 import bisq.security.SecurityService;
+import bisq.security.pow.HashCashService;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -51,7 +52,10 @@ public class SeedNodeApplicationService extends ApplicationService {
     public SeedNodeApplicationService(String[] args) {
         super("seed_node", args);
 
-        securityService = new SecurityService(persistenceService);
+        int numMintingThreads = hasConfig("security.numMintingThreads")
+                ? getConfig("security").getInt("numMintingThreads")
+                : HashCashService.getDefaultNumMintingThreads();
+        securityService = new SecurityService(persistenceService, numMintingThreads);
 
         NetworkServiceConfig networkServiceConfig = NetworkServiceConfig.from(config.getBaseDir(),
                 getConfig("network"));
@@ -53,7 +53,8 @@ public class BannedUserService implements PersistenceClient<BannedUserStore>, Se
 
     @Override
     public CompletableFuture<Boolean> initialize() {
-        networkService.getDataService().ifPresent(service -> service.getAuthorizedData().forEach(this::onAuthorizedDataAdded));
+        networkService.getDataService().ifPresent(service -> service.getAuthorizedDataByStoreName(BannedUserProfileData.class.getSimpleName())
+                .forEach(this::onAuthorizedDataAdded));
         networkService.addDataServiceListener(this);
         return CompletableFuture.completedFuture(true);
     }
@@ -30,6 +30,7 @@ import bisq.user.banned.BannedUserService;
 import bisq.user.identity.UserIdentityService;
 import bisq.user.profile.UserProfile;
 import bisq.user.profile.UserProfileService;
+import bisq.user.reputation.data.AuthorizedTimestampBatchData;
 import bisq.user.reputation.data.AuthorizedTimestampData;
 import bisq.user.reputation.requests.AuthorizeTimestampRequest;
 import lombok.Getter;
@@ -42,6 +43,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * We do not apply a score for profile age as otherwise all users would have such a score after 1 day.
@@ -82,18 +84,36 @@ public class ProfileAgeService extends SourceReputationService<AuthorizedTimesta
         return CompletableFuture.completedFuture(true);
     }
 
+    @Override
+    public void onAuthorizedDataAdded(AuthorizedData authorizedData) {
+        if (authorizedData.getAuthorizedDistributedData() instanceof AuthorizedTimestampBatchData) {
+            AuthorizedTimestampBatchData batchData = (AuthorizedTimestampBatchData) authorizedData.getAuthorizedDistributedData();
+            // Lookup by profileId instead of iterating all user profiles for each timestamp
+            batchData.getAuthorizedTimestampData().forEach(timestampData ->
+                    userProfileService.findUserProfile(timestampData.getProfileId())
+                            .ifPresent(userProfile -> applyData(userProfile, timestampData)));
+        } else {
+            super.onAuthorizedDataAdded(authorizedData);
+        }
+    }
+
     @Override
     public void onAuthorizedDataRemoved(AuthorizedData authorizedData) {
         if (authorizedData.getAuthorizedDistributedData() instanceof AuthorizedTimestampData) {
             AuthorizedTimestampData timestampData = (AuthorizedTimestampData) authorizedData.getAuthorizedDistributedData();
-            String userProfileId = timestampData.getProfileId();
-            userProfileService.findUserProfile(userProfileId)
-                    .map(this::getUserProfileKey)
-                    .ifPresent(dataSetByHash::remove);
-            if (scoreByUserProfileId.containsKey(userProfileId)) {
-                scoreByUserProfileId.remove(userProfileId);
-                userProfileIdOfUpdatedScore.set(userProfileId);
-            }
+            removeTimestamp(timestampData.getProfileId());
+        } else if (authorizedData.getAuthorizedDistributedData() instanceof AuthorizedTimestampBatchData) {
+            AuthorizedTimestampBatchData batchData = (AuthorizedTimestampBatchData) authorizedData.getAuthorizedDistributedData();
+            Set<String> profileIds = batchData.getAuthorizedTimestampData().stream()
+                    .map(AuthorizedTimestampData::getProfileId)
+                    .collect(Collectors.toSet());
+            profileIds.forEach(this::removeTimestamp);
+
+            // If the oracle node re-batched the timestamps, they might still be present in another batch
+            getTimestampData()
+                    .filter(timestampData -> profileIds.contains(timestampData.getProfileId()))
+                    .forEach(timestampData -> userProfileService.findUserProfile(timestampData.getProfileId())
+                            .ifPresent(userProfile -> applyData(userProfile, timestampData)));
         }
     }
 
@@ -155,19 +175,38 @@ public class ProfileAgeService extends SourceReputationService<AuthorizedTimesta
         if (!didRequestForAllProfileIds) {
             // We check if we have some userProfiles which have not been timestamped yet.
             // If so, we request timestamping of the missing one.
-            var timeStamped = networkService.getDataService()
-                    .map(service -> service.getAuthorizedData()
-                            .filter(authorizedData -> authorizedData.getAuthorizedDistributedData() instanceof AuthorizedTimestampData)
-                            .map(authorizedData -> (AuthorizedTimestampData) authorizedData.getAuthorizedDistributedData())
-                            .map(AuthorizedTimestampData::getProfileId)
-                            .collect(Collectors.toSet()));
+            Set<String> timeStamped = getTimestampData()
+                    .map(AuthorizedTimestampData::getProfileId)
+                    .collect(Collectors.toSet());
             userIdentityService.getUserIdentities().stream()
                     .map(userIdentity -> userIdentity.getUserProfile().getId())
-                    .filter(profileId -> timeStamped.isEmpty() || !timeStamped.get().contains(profileId))
+                    .filter(profileId -> !timeStamped.contains(profileId))
                     .forEach(this::requestTimestamp);
         }
     }
 
+    private void removeTimestamp(String userProfileId) {
+        userProfileService.findUserProfile(userProfileId)
+                .map(this::getUserProfileKey)
+                .ifPresent(dataSetByHash::remove);
+        if (scoreByUserProfileId.containsKey(userProfileId)) {
+            scoreByUserProfileId.remove(userProfileId);
+            userProfileIdOfUpdatedScore.set(userProfileId);
+        }
+    }
+
+    // Timestamps published individually and as part of a batch
+    private Stream<AuthorizedTimestampData> getTimestampData() {
+        return networkService.getDataService()
+                .map(service -> Stream.concat(
+                        service.getAuthorizedDataByStoreName(AuthorizedTimestampData.class.getSimpleName())
+                                .map(authorizedData -> (AuthorizedTimestampData) authorizedData.getAuthorizedDistributedData()),
+                        service.getAuthorizedDataByStoreName(AuthorizedTimestampBatchData.class.getSimpleName())
+                                .map(authorizedData -> (AuthorizedTimestampBatchData) authorizedData.getAuthorizedDistributedData())
+                                .flatMap(batchData -> batchData.getAuthorizedTimestampData().stream())))
+                .orElse(Stream.empty());
+    }
+
     private boolean requestForAllProfileIdsBeforeExpired() {
         // Before timeout gets triggered we request 
         long now = System.currentTimeMillis();
@@ -0,0 +1,211 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.user.reputation;
+
+import java.util.Random;
+
+/**
+ * Keeps the reputation scores of all user profiles ordered, so that the index of a score among all scores and the
+ * best score can be looked up in O(log n) instead of sorting all scores at each lookup.
+ * Implemented as a treap (randomized balanced binary search tree) with one node per distinct score. Each node holds
+ * the number of profiles with that score and the number of profiles in its subtree.
+ * All methods are synchronized. Callers who need a consistent view over several calls need to synchronize on the
+ * index instance.
+ */
+public class ReputationScoreIndex {
+    private static final class Node {
+        private final long score;
+        private final int priority;
+        private int count;
+        private int size;
+        private Node left;
+        private Node right;
+
+        private Node(long score, int priority) {
+            this.score = score;
+            this.priority = priority;
+            count = 1;
+            size = 1;
+        }
+    }
+
+    private final Random random = new Random();
+    private Node root;
+
+    public synchronized void add(long score) {
+        root = insert(root, score);
+    }
+
+    public synchronized void remove(long score) {
+        root = delete(root, score);
+    }
+
+    /**
+     * Replaces previousScore with score. If previousScore is null, score is added.
+     */
+    public synchronized void update(Long previousScore, long score) {
+        if (previousScore != null) {
+            if (previousScore == score) {
+                return;
+            }
+            remove(previousScore);
+        }
+        add(score);
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    public synchronized boolean contains(long score) {
+        Node node = root;
+        while (node != null) {
+            if (score == node.score) {
+                return true;
+            }
+            node = score < node.score ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * @return The index of the first occurrence of score in the ascending sorted list of all scores, or -1 if the
+     * score is not contained.
+     */
+    public synchronized int getIndex(long score) {
+        int numLowerScores = 0;
+        Node node = root;
+        while (node != null) {
+            if (score == node.score) {
+                return numLowerScores + size(node.left);
+            } else if (score < node.score) {
+                node = node.left;
+            } else {
+                numLowerScores += size(node.left) + node.count;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The highest score or 0 if the index is empty.
+     */
+    public synchronized long getBestScore() {
+        Node node = root;
+        if (node == null) {
+            return 0;
+        }
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.score;
+    }
+
+    public synchronized double getRelativeScore(long candidateScore) {
+        long bestScore = getBestScore();
+        return bestScore > 0 ? candidateScore / (double) bestScore : 0;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private Node insert(Node node, long score) {
+        if (node == null) {
+            return new Node(score, random.nextInt());
+        }
+        if (score == node.score) {
+            node.count++;
+        } else if (score < node.score) {
+            node.left = insert(node.left, score);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, score);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        updateSize(node);
+        return node;
+    }
+
+    private Node delete(Node node, long score) {
+        if (node == null) {
+            return null;
+        }
+        if (score < node.score) {
+            node.left = delete(node.left, score);
+        } else if (score > node.score) {
+            node.right = delete(node.right, score);
+        } else if (node.count > 1) {
+            node.count--;
+        } else {
+            return merge(node.left, node.right);
+        }
+        updateSize(node);
+        return node;
+    }
+
+    // All scores in left are lower than all scores in right
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            updateSize(left);
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            updateSize(right);
+            return right;
+        }
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        updateSize(node);
+        updateSize(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        updateSize(node);
+        updateSize(right);
+        return right;
+    }
+
+    private static void updateSize(Node node) {
+        node.size = size(node.left) + node.count + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -43,6 +43,8 @@ public class ReputationService implements Service {
     private final SignedWitnessService signedWitnessService;
     private final Observable<String> changedUserProfileScore = new Observable<>();
     private final Map<String, Long> scoreByUserProfileId = new ConcurrentHashMap<>();
+    // Ordered view on the values of scoreByUserProfileId. Both are updated while holding the scoreIndex lock.
+    private final ReputationScoreIndex scoreIndex = new ReputationScoreIndex();
     private final ProfileAgeService profileAgeService;
 
     public ReputationService(PersistenceService persistenceService,
@@ -124,15 +126,18 @@ public class ReputationService implements Service {
     }
 
     public Optional<ReputationScore> findReputationScore(String userProfileId) {
-        if (!scoreByUserProfileId.containsKey(userProfileId)) {
-            return Optional.empty();
+        synchronized (scoreIndex) {
+            Long score = scoreByUserProfileId.get(userProfileId);
+            if (score == null) {
+                return Optional.empty();
+            }
+            double relativeScore = scoreIndex.getRelativeScore(score);
+            int index = scoreIndex.getIndex(score);
+            int numScores = scoreIndex.size();
+            int rank = numScores - index;
+            double relativeRanking = (index + 1) / (double) numScores;
+            return Optional.of(new ReputationScore(score, relativeScore, rank, relativeRanking));
         }
-        long score = scoreByUserProfileId.get(userProfileId);
-        double relativeScore = getRelativeScore(score, scoreByUserProfileId.values());
-        int index = getIndex(score, scoreByUserProfileId.values());
-        int rank = scoreByUserProfileId.size() - index;
-        double relativeRanking = (index + 1) / (double) scoreByUserProfileId.size();
-        return Optional.of(new ReputationScore(score, relativeScore, rank, relativeRanking));
     }
 
     private void onUserProfileScoreChanged(String userProfileId) {
@@ -144,7 +149,10 @@ public class ReputationService implements Service {
                 accountAgeService.getScore(userProfileId) +
                 signedWitnessService.getScore(userProfileId) +
                 profileAgeService.getScore(userProfileId);
-        scoreByUserProfileId.put(userProfileId, score);
+        synchronized (scoreIndex) {
+            Long previousScore = scoreByUserProfileId.put(userProfileId, score);
+            scoreIndex.update(previousScore, score);
+        }
         changedUserProfileScore.set(userProfileId);
     }
 
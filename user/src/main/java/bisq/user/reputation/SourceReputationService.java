@@ -97,18 +97,20 @@ public abstract class SourceReputationService<T extends AuthorizedDistributedDat
                     ByteArray providedHash = getDataKey(data);
                     userProfileService.getUserProfileById().values().stream()
                             .filter(userProfile -> getUserProfileKey(userProfile).equals(providedHash))
-                            .forEach(userProfile -> {
-                                ByteArray hash = getUserProfileKey(userProfile);
-                                if (!dataSetByHash.containsKey(hash)) {
-                                    dataSetByHash.put(hash, new HashSet<>());
-                                }
-                                Set<T> dataSet = dataSetByHash.get(hash);
-                                addToDataSet(dataSet, data);
-                                putScore(userProfile.getId(), dataSet);
-                            });
+                            .forEach(userProfile -> applyData(userProfile, data));
                 });
     }
 
+    protected void applyData(UserProfile userProfile, T data) {
+        ByteArray hash = getUserProfileKey(userProfile);
+        if (!dataSetByHash.containsKey(hash)) {
+            dataSetByHash.put(hash, new HashSet<>());
+        }
+        Set<T> dataSet = dataSetByHash.get(hash);
+        addToDataSet(dataSet, data);
+        putScore(userProfile.getId(), dataSet);
+    }
+
     protected abstract Optional<T> findRelevantData(AuthorizedDistributedData authorizedDistributedData);
 
     // Some services don't support multiple entries and will override that method
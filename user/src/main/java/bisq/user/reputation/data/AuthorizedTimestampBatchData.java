@@ -0,0 +1,135 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.reputation.data;
+
+import bisq.bonded_roles.AuthorizedPubKeys;
+import bisq.common.application.DevMode;
+import bisq.common.proto.ProtoResolver;
+import bisq.common.proto.UnresolvableProtobufMessageException;
+import bisq.network.p2p.services.data.storage.DistributedData;
+import bisq.network.p2p.services.data.storage.MetaData;
+import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedDistributedData;
+import com.google.protobuf.InvalidProtocolBufferException;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static bisq.network.p2p.services.data.storage.MetaData.TTL_30_DAYS;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Batch of timestamps signed once by the oracle node instead of publishing one signed AuthorizedTimestampData per
+ * profile. The timestamps are sorted by date and profileId, so that the oracle node creates the same batches for the
+ * same timestamps and a republished batch refreshes the existing data item instead of adding a new one.
+ */
+@Slf4j
+@EqualsAndHashCode
+@Getter
+public final class AuthorizedTimestampBatchData implements AuthorizedDistributedData {
+    public static final long TTL = TTL_30_DAYS;
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final Comparator<AuthorizedTimestampData> COMPARATOR = Comparator.comparingLong(AuthorizedTimestampData::getDate)
+            .thenComparing(AuthorizedTimestampData::getProfileId);
+
+    private final MetaData metaData = new MetaData(TTL, getClass().getSimpleName());
+    private final List<AuthorizedTimestampData> authorizedTimestampData;
+    private final boolean staticPublicKeysProvided;
+
+    public static AuthorizedTimestampBatchData from(List<AuthorizedTimestampData> authorizedTimestampData,
+                                                    boolean staticPublicKeysProvided) {
+        List<AuthorizedTimestampData> sorted = authorizedTimestampData.stream()
+                .sorted(COMPARATOR)
+                .collect(Collectors.toList());
+        return new AuthorizedTimestampBatchData(sorted, staticPublicKeysProvided);
+    }
+
+    public AuthorizedTimestampBatchData(List<AuthorizedTimestampData> authorizedTimestampData,
+                                        boolean staticPublicKeysProvided) {
+        this.authorizedTimestampData = authorizedTimestampData;
+        this.staticPublicKeysProvided = staticPublicKeysProvided;
+
+        checkArgument(!authorizedTimestampData.isEmpty(), "authorizedTimestampData must not be empty");
+        checkArgument(authorizedTimestampData.size() <= MAX_BATCH_SIZE,
+                "authorizedTimestampData size must not be > " + MAX_BATCH_SIZE + ". size=" + authorizedTimestampData.size());
+    }
+
+    @Override
+    public bisq.user.protobuf.AuthorizedTimestampBatchData toProto() {
+        return bisq.user.protobuf.AuthorizedTimestampBatchData.newBuilder()
+                .addAllAuthorizedTimestampData(authorizedTimestampData.stream()
+                        .map(AuthorizedTimestampData::toProto)
+                        .collect(Collectors.toList()))
+                .setStaticPublicKeysProvided(staticPublicKeysProvided)
+                .build();
+    }
+
+    public static AuthorizedTimestampBatchData fromProto(bisq.user.protobuf.AuthorizedTimestampBatchData proto) {
+        return new AuthorizedTimestampBatchData(proto.getAuthorizedTimestampDataList().stream()
+                .map(AuthorizedTimestampData::fromProto)
+                .collect(Collectors.toList()),
+                proto.getStaticPublicKeysProvided());
+    }
+
+    public static ProtoResolver<DistributedData> getResolver() {
+        return any -> {
+            try {
+                return fromProto(any.unpack(bisq.user.protobuf.AuthorizedTimestampBatchData.class));
+            } catch (InvalidProtocolBufferException e) {
+                throw new UnresolvableProtobufMessageException(e);
+            }
+        };
+    }
+
+    @Override
+    public double getCostFactor() {
+        return 0.5;
+    }
+
+    @Override
+    public boolean isDataInvalid(byte[] pubKeyHash) {
+        return false;
+    }
+
+    @Override
+    public Set<String> getAuthorizedPublicKeys() {
+        if (DevMode.isDevMode()) {
+            return DevMode.AUTHORIZED_DEV_PUBLIC_KEYS;
+        } else {
+            return AuthorizedPubKeys.KEYS;
+        }
+    }
+
+    @Override
+    public boolean staticPublicKeysProvided() {
+        return staticPublicKeysProvided;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthorizedTimestampBatchData{" +
+                ",\r\n                    authorizedTimestampData.size=" + authorizedTimestampData.size() +
+                ",\r\n                    staticPublicKeysProvided=" + staticPublicKeysProvided +
+                ",\r\n                    authorizedPublicKeys=" + getAuthorizedPublicKeys() +
+                "\r\n}";
+    }
+}
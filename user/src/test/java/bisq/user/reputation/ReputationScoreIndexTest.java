@@ -0,0 +1,84 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.user.reputation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReputationScoreIndexTest {
+
+    @Test
+    void testGetIndex() {
+        ReputationScoreIndex index = new ReputationScoreIndex();
+        assertEquals(-1, index.getIndex(1));
+        assertEquals(0, index.getBestScore());
+        assertEquals(0, index.getRelativeScore(1));
+
+        List.of(5L, 2L, 4L, 1L, 2L).forEach(index::add);
+        assertEquals(5, index.size());
+        assertEquals(0, index.getIndex(1));
+        assertEquals(1, index.getIndex(2));
+        assertEquals(3, index.getIndex(4));
+        assertEquals(4, index.getIndex(5));
+        assertEquals(-1, index.getIndex(3));
+        assertEquals(5, index.getBestScore());
+        assertEquals(2 / 5d, index.getRelativeScore(2));
+
+        index.update(5L, 3L);
+        assertFalse(index.contains(5));
+        assertTrue(index.contains(3));
+        assertEquals(4, index.getBestScore());
+        assertEquals(4, index.getIndex(4));
+
+        index.remove(2);
+        assertEquals(4, index.size());
+        assertEquals(1, index.getIndex(2));
+        index.remove(2);
+        assertEquals(-1, index.getIndex(2));
+        assertEquals(1, index.getIndex(3));
+    }
+
+    @Test
+    void testMatchesSortedList() {
+        Random random = new Random(42);
+        ReputationScoreIndex index = new ReputationScoreIndex();
+        Map<Integer, Long> scoreByProfile = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            int profile = random.nextInt(500);
+            long score = random.nextInt(200);
+            index.update(scoreByProfile.put(profile, score), score);
+
+            if (i % 100 == 0) {
+                List<Long> scores = new ArrayList<>(scoreByProfile.values());
+                assertEquals(scores.size(), index.size());
+                for (long candidate = 0; candidate < 200; candidate++) {
+                    assertEquals(ReputationService.getIndex(candidate, scores), index.getIndex(candidate));
+                    assertEquals(ReputationService.getRelativeScore(candidate, scores), index.getRelativeScore(candidate));
+                }
+            }
+        }
+    }
+}
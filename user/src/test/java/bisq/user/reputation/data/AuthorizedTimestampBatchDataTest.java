@@ -0,0 +1,80 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.reputation.data;
+
+import bisq.common.encoding.Hex;
+import bisq.security.DigestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AuthorizedTimestampBatchDataTest {
+
+    @Test
+    void testProtoRoundTrip() {
+        AuthorizedTimestampBatchData batchData = AuthorizedTimestampBatchData.from(createTimestamps(10), false);
+        AuthorizedTimestampBatchData received = AuthorizedTimestampBatchData.fromProto(batchData.toProto());
+        assertEquals(batchData, received);
+        assertArrayEquals(batchData.serialize(), received.serialize());
+    }
+
+    @Test
+    void testBatchIsIndependentOfInputOrder() {
+        List<AuthorizedTimestampData> timestamps = createTimestamps(13);
+        List<AuthorizedTimestampData> shuffled = new ArrayList<>(timestamps);
+        Collections.shuffle(shuffled);
+        AuthorizedTimestampBatchData batchData = AuthorizedTimestampBatchData.from(timestamps, false);
+        AuthorizedTimestampBatchData fromShuffled = AuthorizedTimestampBatchData.from(shuffled, false);
+
+        // Same serialized data results in the same map entry, so republishing a batch does not add a new one
+        assertArrayEquals(batchData.serialize(), fromShuffled.serialize());
+
+        // Sorted by date
+        List<AuthorizedTimestampData> sorted = batchData.getAuthorizedTimestampData();
+        for (int i = 1; i < sorted.size(); i++) {
+            assertEquals(-1, Long.compare(sorted.get(i - 1).getDate(), sorted.get(i).getDate()));
+        }
+    }
+
+    @Test
+    void testBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> AuthorizedTimestampBatchData.from(new ArrayList<>(), false));
+        assertThrows(IllegalArgumentException.class, () ->
+                AuthorizedTimestampBatchData.from(createTimestamps(AuthorizedTimestampBatchData.MAX_BATCH_SIZE + 1), false));
+    }
+
+    private static List<AuthorizedTimestampData> createTimestamps(int numTimestamps) {
+        long now = System.currentTimeMillis();
+        List<AuthorizedTimestampData> timestamps = new ArrayList<>();
+        for (int i = 0; i < numTimestamps; i++) {
+            timestamps.add(new AuthorizedTimestampData(createProfileId(i), now - i, false));
+        }
+        return timestamps;
+    }
+
+    private static String createProfileId(int i) {
+        return Hex.encode(DigestUtil.hash(ByteBuffer.allocate(4).putInt(i).array()));
+    }
+}
@@ -19,11 +19,13 @@ package bisq.wallets.bitcoind;
 
 import bisq.common.monetary.Coin;
 import bisq.common.observable.Observable;
+import bisq.common.observable.collection.CollectionObserver;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.persistence.PersistableStore;
 import bisq.persistence.PersistenceClient;
 import bisq.wallets.bitcoind.rpc.BitcoindDaemon;
 import bisq.wallets.bitcoind.zmq.ZmqConnection;
+import bisq.wallets.bitcoind.zmq.ZmqTxFilter;
 import bisq.wallets.bitcoind.zmq.ZmqWallet;
 import bisq.wallets.core.Wallet;
 import bisq.wallets.core.WalletService;
@@ -214,6 +216,28 @@ public abstract class AbstractBitcoindWalletService<T extends Wallet & ZmqWallet
     }
 
     protected void initializeZmqListeners(ZmqConnection zmqConnection, Set<String> walletAddresses) {
+        // Only transactions touching our addresses or UTXOs are passed to the listeners.
+        // The observer gets called with the already present addresses as well.
+        ZmqTxFilter txFilter = zmqConnection.getListeners().getTxFilter();
+        this.walletAddresses.addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(String address) {
+                txFilter.addAddress(address);
+            }
+
+            @Override
+            public void remove(Object address) {
+                if (address instanceof String) {
+                    txFilter.removeAddress((String) address);
+                }
+            }
+
+            @Override
+            public void clear() {
+                txFilter.clearAddresses();
+            }
+        });
+
         // Update balance when new block gets mined
         zmqConnection.getListeners().registerNewBlockMinedListener(unused -> updateBalance());
 
@@ -272,6 +296,7 @@ public abstract class AbstractBitcoindWalletService<T extends Wallet & ZmqWallet
                     utxos.stream()
                             .map(Utxo::getTxId)
                             .forEach(utxoTxIds::add);
+                    zmqConnection.ifPresent(connection -> connection.getListeners().getTxFilter().setWatchedTxIds(utxoTxIds));
                 });
             }
         });
@@ -0,0 +1,212 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.wallets.bitcoind.zmq;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Converts bitcoin addresses to their output script (scriptPubKey), so that we can match output scripts of raw
+ * transactions against the wallet addresses without asking bitcoind.
+ * <p>
+ * Supports P2PKH and P2SH (Base58Check) as well as all segwit addresses (Bech32 and Bech32m, BIP 173 and BIP 350).
+ * The network is not checked, as the script does not depend on it.
+ */
+public class BitcoinAddressDecoder {
+    private static final String BASE58_ALPHABET = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+    private static final String BECH32_CHARSET = "qpzry9x8gf2tvdw0s3jn54khce6mua7l";
+    private static final int BECH32_CONST = 1;
+    private static final int BECH32M_CONST = 0x2bc830a3;
+
+    private static final byte OP_0 = 0x00;
+    private static final byte OP_1 = 0x51;
+    private static final byte OP_DUP = 0x76;
+    private static final byte OP_HASH160 = (byte) 0xa9;
+    private static final byte OP_EQUAL = (byte) 0x87;
+    private static final byte OP_EQUALVERIFY = (byte) 0x88;
+    private static final byte OP_CHECKSIG = (byte) 0xac;
+
+    /**
+     * @throws IllegalArgumentException if the address is not a valid or a not supported address
+     */
+    public static byte[] toScriptPubKey(String address) {
+        String lowerCase = address.toLowerCase(Locale.ROOT);
+        if (lowerCase.startsWith("bc1") || lowerCase.startsWith("tb1") || lowerCase.startsWith("bcrt1")) {
+            return segwitToScriptPubKey(address);
+        }
+        return base58ToScriptPubKey(address);
+    }
+
+    private static byte[] base58ToScriptPubKey(String address) {
+        byte[] decoded = decodeBase58(address);
+        if (decoded.length != 25) {
+            throw new IllegalArgumentException("Invalid Base58 address length: " + address);
+        }
+        byte[] payload = Arrays.copyOfRange(decoded, 0, 21);
+        byte[] checksum = Arrays.copyOfRange(sha256(sha256(payload)), 0, 4);
+        if (!Arrays.equals(checksum, Arrays.copyOfRange(decoded, 21, 25))) {
+            throw new IllegalArgumentException("Invalid Base58 checksum: " + address);
+        }
+
+        byte[] hash = Arrays.copyOfRange(payload, 1, 21);
+        int version = Byte.toUnsignedInt(payload[0]);
+        ByteArrayOutputStream script = new ByteArrayOutputStream();
+        switch (version) {
+            case 0x00: // Mainnet P2PKH
+            case 0x6f: // Testnet, signet and regtest P2PKH
+                script.write(OP_DUP);
+                script.write(OP_HASH160);
+                script.write(hash.length);
+                script.writeBytes(hash);
+                script.write(OP_EQUALVERIFY);
+                script.write(OP_CHECKSIG);
+                return script.toByteArray();
+            case 0x05: // Mainnet P2SH
+            case 0xc4: // Testnet, signet and regtest P2SH
+                script.write(OP_HASH160);
+                script.write(hash.length);
+                script.writeBytes(hash);
+                script.write(OP_EQUAL);
+                return script.toByteArray();
+            default:
+                throw new IllegalArgumentException("Unsupported Base58 address version " + version + ": " + address);
+        }
+    }
+
+    private static byte[] decodeBase58(String input) {
+        BigInteger value = BigInteger.ZERO;
+        BigInteger base = BigInteger.valueOf(58);
+        for (char c : input.toCharArray()) {
+            int digit = BASE58_ALPHABET.indexOf(c);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid Base58 character " + c);
+            }
+            value = value.multiply(base).add(BigInteger.valueOf(digit));
+        }
+
+        byte[] bytes = value.toByteArray();
+        // Remove sign byte of BigInteger
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        // Leading '1' characters represent leading zero bytes
+        int numLeadingZeros = 0;
+        while (numLeadingZeros < input.length() && input.charAt(numLeadingZeros) == '1') {
+            numLeadingZeros++;
+        }
+        if (value.signum() == 0) {
+            return new byte[numLeadingZeros];
+        }
+        byte[] result = new byte[numLeadingZeros + bytes.length];
+        System.arraycopy(bytes, 0, result, numLeadingZeros, bytes.length);
+        return result;
+    }
+
+    private static byte[] segwitToScriptPubKey(String address) {
+        if (!address.equals(address.toLowerCase(Locale.ROOT)) && !address.equals(address.toUpperCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Mixed case Bech32 address: " + address);
+        }
+        String bech32 = address.toLowerCase(Locale.ROOT);
+        int separatorIndex = bech32.lastIndexOf('1');
+        if (separatorIndex < 1 || separatorIndex + 7 > bech32.length() || bech32.length() > 90) {
+            throw new IllegalArgumentException("Invalid Bech32 address: " + address);
+        }
+
+        String hrp = bech32.substring(0, separatorIndex);
+        byte[] data = new byte[bech32.length() - separatorIndex - 1];
+        for (int i = 0; i < data.length; i++) {
+            int value = BECH32_CHARSET.indexOf(bech32.charAt(separatorIndex + 1 + i));
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid Bech32 character in address: " + address);
+            }
+            data[i] = (byte) value;
+        }
+
+        int checksumConst = bech32Polymod(hrp, data);
+        int witnessVersion = data[0];
+        int expectedConst = witnessVersion == 0 ? BECH32_CONST : BECH32M_CONST;
+        if (checksumConst != expectedConst) {
+            throw new IllegalArgumentException("Invalid Bech32 checksum: " + address);
+        }
+
+        byte[] program = convertBits(Arrays.copyOfRange(data, 1, data.length - 6));
+        if (witnessVersion > 16 || program.length < 2 || program.length > 40 ||
+                (witnessVersion == 0 && program.length != 20 && program.length != 32)) {
+            throw new IllegalArgumentException("Invalid witness program: " + address);
+        }
+
+        ByteArrayOutputStream script = new ByteArrayOutputStream();
+        script.write(witnessVersion == 0 ? OP_0 : OP_1 + witnessVersion - 1);
+        script.write(program.length);
+        script.writeBytes(program);
+        return script.toByteArray();
+    }
+
+    private static int bech32Polymod(String hrp, byte[] data) {
+        int[] generator = {0x3b6a57b2, 0x26508e6d, 0x1ea119fa, 0x3d4233dd, 0x2a1462b3};
+        int checksum = 1;
+        byte[] expandedHrp = new byte[hrp.length() * 2 + 1];
+        for (int i = 0; i < hrp.length(); i++) {
+            expandedHrp[i] = (byte) (hrp.charAt(i) >> 5);
+            expandedHrp[i + hrp.length() + 1] = (byte) (hrp.charAt(i) & 31);
+        }
+        byte[] values = new byte[expandedHrp.length + data.length];
+        System.arraycopy(expandedHrp, 0, values, 0, expandedHrp.length);
+        System.arraycopy(data, 0, values, expandedHrp.length, data.length);
+        for (byte value : values) {
+            int top = checksum >>> 25;
+            checksum = ((checksum & 0x1ffffff) << 5) ^ value;
+            for (int i = 0; i < 5; i++) {
+                if (((top >>> i) & 1) == 1) {
+                    checksum ^= generator[i];
+                }
+            }
+        }
+        return checksum;
+    }
+
+    // Converts 5 bit groups to bytes without padding
+    private static byte[] convertBits(byte[] data) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        int accumulator = 0;
+        int bits = 0;
+        for (byte value : data) {
+            accumulator = ((accumulator << 5) | value) & 0x1fff;
+            bits += 5;
+            if (bits >= 8) {
+                bits -= 8;
+                result.write((accumulator >>> bits) & 0xff);
+            }
+        }
+        if (bits >= 5 || (accumulator & ((1 << bits) - 1)) != 0) {
+            throw new IllegalArgumentException("Invalid padding of witness program");
+        }
+        return result.toByteArray();
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
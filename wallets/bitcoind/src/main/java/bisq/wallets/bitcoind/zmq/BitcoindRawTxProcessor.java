@@ -14,13 +14,23 @@
  * You should have received a copy of the GNU Affero General Public License
  * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
  */
-
 package bisq.wallets.bitcoind.zmq;
 
 import bisq.common.encoding.Hex;
 import bisq.wallets.bitcoind.rpc.BitcoindDaemon;
 import bisq.wallets.bitcoind.rpc.responses.BitcoindDecodeRawTransactionResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+/**
+ * If the txFilter of the listeners is active, we parse the raw transaction locally and only notify the listeners
+ * about the watched addresses and txIds found in the transaction. Irrelevant transactions are dropped without any
+ * RPC call. Otherwise, we let bitcoind decode the transaction and pass all addresses and txIds to the listeners.
+ */
+@Slf4j
 public class BitcoindRawTxProcessor implements ZmqRawTxProcessor {
 
     private final BitcoindDaemon daemon;
@@ -33,9 +43,33 @@ public class BitcoindRawTxProcessor implements ZmqRawTxProcessor {
 
     @Override
     public void processRawTx(byte[] serializedTx, byte[] sequenceNumber) {
+        ZmqTxFilter txFilter = listeners.getTxFilter();
+        if (txFilter.isActive()) {
+            try {
+                processFiltered(RawTransaction.parse(serializedTx), txFilter);
+                return;
+            } catch (IllegalArgumentException e) {
+                log.warn("Could not parse raw transaction. We let bitcoind decode it. {}", e.getMessage());
+            }
+        }
+
         String txInHex = Hex.encode(serializedTx);
         BitcoindDecodeRawTransactionResponse.Result rawTransaction = daemon.decodeRawTransaction(txInHex).getResult();
         listeners.fireTxOutputAddressesListeners(rawTransaction);
         listeners.fireTxIdInputListeners(rawTransaction);
     }
+
+    private void processFiltered(RawTransaction rawTransaction, ZmqTxFilter txFilter) {
+        Set<String> watchedAddressesInOutput = rawTransaction.getOutputScripts().stream()
+                .map(txFilter::findWatchedAddress)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toSet());
+        if (!watchedAddressesInOutput.isEmpty()) {
+            listeners.fireTxOutputAddressesListeners(watchedAddressesInOutput);
+        }
+
+        rawTransaction.getInputTxIds().stream()
+                .filter(txFilter::isWatchedTxId)
+                .forEach(listeners::fireTxIdInputListeners);
+    }
 }
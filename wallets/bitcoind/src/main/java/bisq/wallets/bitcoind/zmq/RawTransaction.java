@@ -0,0 +1,133 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.wallets.bitcoind.zmq;
+
+import bisq.common.encoding.Hex;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Minimal parser of a serialized bitcoin transaction as published by bitcoind at the rawtx ZMQ topic.
+ * We only read the txIds of the spent outpoints and the output scripts. Witness data and the lock time are not
+ * needed and therefore not parsed.
+ */
+@Getter
+public final class RawTransaction {
+    private static final int TX_ID_LENGTH = 32;
+    private static final long COINBASE_OUTPUT_INDEX = 0xFFFFFFFFL;
+
+    // TxIds in the byte order used by bitcoind RPC calls. Coinbase inputs are not included.
+    private final List<String> inputTxIds;
+    private final List<byte[]> outputScripts;
+
+    private RawTransaction(List<String> inputTxIds, List<byte[]> outputScripts) {
+        this.inputTxIds = Collections.unmodifiableList(inputTxIds);
+        this.outputScripts = Collections.unmodifiableList(outputScripts);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the data is not a valid serialized transaction
+     */
+    public static RawTransaction parse(byte[] serializedTx) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(serializedTx).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.getInt(); // version
+
+            // Segwit transactions have a zero byte as marker followed by a non-zero flag byte (BIP 144)
+            if (buffer.remaining() >= 2 && buffer.get(buffer.position()) == 0 && buffer.get(buffer.position() + 1) != 0) {
+                buffer.position(buffer.position() + 2);
+            }
+
+            int numInputs = readCount(buffer);
+            List<String> inputTxIds = new ArrayList<>(numInputs);
+            for (int i = 0; i < numInputs; i++) {
+                byte[] txId = new byte[TX_ID_LENGTH];
+                buffer.get(txId);
+                long outputIndex = Integer.toUnsignedLong(buffer.getInt());
+                skip(buffer, readCount(buffer)); // scriptSig
+                buffer.getInt(); // sequence
+                if (!isCoinbaseInput(txId, outputIndex)) {
+                    inputTxIds.add(Hex.encode(reverse(txId)));
+                }
+            }
+
+            int numOutputs = readCount(buffer);
+            List<byte[]> outputScripts = new ArrayList<>(numOutputs);
+            for (int i = 0; i < numOutputs; i++) {
+                buffer.getLong(); // value
+                byte[] script = new byte[readCount(buffer)];
+                buffer.get(script);
+                outputScripts.add(script);
+            }
+            return new RawTransaction(inputTxIds, outputScripts);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid serialized transaction", e);
+        }
+    }
+
+    private static int readCount(ByteBuffer buffer) {
+        long value = readVarInt(buffer);
+        // A count can never exceed the remaining bytes, so this protects us from allocating huge arrays
+        if (value < 0 || value > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid count " + value);
+        }
+        return (int) value;
+    }
+
+    private static long readVarInt(ByteBuffer buffer) {
+        int first = Byte.toUnsignedInt(buffer.get());
+        switch (first) {
+            case 0xFD:
+                return Short.toUnsignedInt(buffer.getShort());
+            case 0xFE:
+                return Integer.toUnsignedLong(buffer.getInt());
+            case 0xFF:
+                return buffer.getLong();
+            default:
+                return first;
+        }
+    }
+
+    private static void skip(ByteBuffer buffer, int numBytes) {
+        buffer.position(buffer.position() + numBytes);
+    }
+
+    private static boolean isCoinbaseInput(byte[] txId, long outputIndex) {
+        if (outputIndex != COINBASE_OUTPUT_INDEX) {
+            return false;
+        }
+        for (byte b : txId) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] reverse(byte[] bytes) {
+        byte[] result = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            result[i] = bytes[bytes.length - 1 - i];
+        }
+        return result;
+    }
+}
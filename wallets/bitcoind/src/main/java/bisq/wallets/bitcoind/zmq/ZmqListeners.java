@@ -35,12 +35,18 @@ public class ZmqListeners {
     private final List<TransactionOutputAddressesListener> txOutputAddressesListeners = new CopyOnWriteArrayList<>();
     @Getter
     private final List<TxIdInInputListener> txIdInInputListeners = new CopyOnWriteArrayList<>();
+    @Getter
+    private final ZmqTxFilter txFilter = new ZmqTxFilter();
 
     public <T extends AbstractDecodeRawTransactionResponse<?, ?>> void fireTxOutputAddressesListeners(T rawTransaction) {
         Set<String> addressesInOutput = rawTransaction.getVout()
                 .stream()
                 .flatMap(vout -> vout.getAddresses().stream())
                 .collect(Collectors.toSet());
+        fireTxOutputAddressesListeners(addressesInOutput);
+    }
+
+    public void fireTxOutputAddressesListeners(Set<String> addressesInOutput) {
         txOutputAddressesListeners.forEach(listener -> listener.onNewTransaction(addressesInOutput));
     }
 
@@ -48,11 +54,15 @@ public class ZmqListeners {
         rawTransaction.getVin().forEach(vin -> {
             String txId = vin.getTxId();
             if (txId != null) {
-                txIdInInputListeners.forEach(listener -> listener.onTxIdInInput(txId));
+                fireTxIdInputListeners(txId);
             }
         });
     }
 
+    public void fireTxIdInputListeners(String txId) {
+        txIdInInputListeners.forEach(listener -> listener.onTxIdInInput(txId));
+    }
+
     public void clearAll() {
         newBlockMinedListeners.clear();
         txOutputAddressesListeners.clear();
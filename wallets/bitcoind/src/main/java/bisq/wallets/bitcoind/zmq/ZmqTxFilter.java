@@ -0,0 +1,82 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.wallets.bitcoind.zmq;
+
+import bisq.common.encoding.Hex;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the output scripts of the watched addresses and the watched txIds of our outpoints.
+ * Raw transactions received via ZMQ are matched against it, so that only relevant transactions reach the listeners.
+ * <p>
+ * The filter becomes active with the first watched address or txId. As long as it is not active, all transactions
+ * are passed to the listeners.
+ */
+@Slf4j
+public class ZmqTxFilter {
+    private final Map<String, String> addressByScriptPubKey = new ConcurrentHashMap<>();
+    private final Set<String> watchedTxIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean active;
+
+    public void addAddresses(Collection<String> addresses) {
+        addresses.forEach(this::addAddress);
+    }
+
+    public void addAddress(String address) {
+        try {
+            addressByScriptPubKey.put(Hex.encode(BitcoinAddressDecoder.toScriptPubKey(address)), address);
+            active = true;
+        } catch (IllegalArgumentException e) {
+            log.debug("Cannot watch address {}. {}", address, e.getMessage());
+        }
+    }
+
+    public void removeAddress(String address) {
+        addressByScriptPubKey.values().remove(address);
+    }
+
+    public void clearAddresses() {
+        addressByScriptPubKey.clear();
+    }
+
+    public void setWatchedTxIds(Collection<String> txIds) {
+        watchedTxIds.retainAll(txIds);
+        watchedTxIds.addAll(txIds);
+        active = true;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public Optional<String> findWatchedAddress(byte[] scriptPubKey) {
+        if (addressByScriptPubKey.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(addressByScriptPubKey.get(Hex.encode(scriptPubKey)));
+    }
+
+    public boolean isWatchedTxId(String txId) {
+        return watchedTxIds.contains(txId);
+    }
+}
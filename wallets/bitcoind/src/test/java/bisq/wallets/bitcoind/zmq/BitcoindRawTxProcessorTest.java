@@ -0,0 +1,198 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.wallets.bitcoind.zmq;
+
+import bisq.common.encoding.Hex;
+import bisq.wallets.bitcoind.rpc.BitcoindDaemon;
+import bisq.wallets.bitcoind.rpc.responses.BitcoindDecodeRawTransactionResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+public class BitcoindRawTxProcessorTest {
+    // Test vectors from BIP 173 and BIP 350, and the address of the genesis block coinbase output
+    private static final String P2WPKH_ADDRESS = "BC1QW508D6QEJXTDG4Y5R3ZARVARY0C5XW7KV8F3T4";
+    private static final String P2WPKH_SCRIPT = "0014751e76e8199196d454941c45d1b3a323f1433bd6";
+    private static final String P2TR_ADDRESS = "bc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vqzk5jj0";
+    private static final String P2TR_SCRIPT = "512079be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798";
+    private static final String P2PKH_ADDRESS = "1A1zP1eP5QGefi2DMPTfTL5SLmv7DivfNa";
+    private static final String P2PKH_SCRIPT = "76a91462e907b15cbf27d5425399ebf6f0fb50ebb88f1888ac";
+
+    private static final String GENESIS_COINBASE_TX = "01000000010000000000000000000000000000000000000000000000000000000000000000ffffffff4d04ffff001d0104455468652054696d65732030332f4a616e2f32303039204368616e63656c6c6f72206f6e206272696e6b206f66207365636f6e64206261696c6f757420666f722062616e6b73ffffffff0100f2052a01000000434104678afdb0fe5548271967f1a67130b7105cd6a828e03909a67962e0ea1f61deb649f6bc3f4cef38c4f35504e51ec112de5c384df7ba0b8d578a4c702b6bf11d5fac00000000";
+
+    private static final int NUM_TXS = 20_000;
+
+    @Test
+    void decodeAddresses() {
+        assertThat(Hex.encode(BitcoinAddressDecoder.toScriptPubKey(P2WPKH_ADDRESS))).isEqualTo(P2WPKH_SCRIPT);
+        assertThat(Hex.encode(BitcoinAddressDecoder.toScriptPubKey(P2TR_ADDRESS))).isEqualTo(P2TR_SCRIPT);
+        assertThat(Hex.encode(BitcoinAddressDecoder.toScriptPubKey(P2PKH_ADDRESS))).isEqualTo(P2PKH_SCRIPT);
+
+        // Wrong checksums
+        assertThatThrownBy(() -> BitcoinAddressDecoder.toScriptPubKey("bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t5"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BitcoinAddressDecoder.toScriptPubKey("1A1zP1eP5QGefi2DMPTfTL5SLmv7DivfNb"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parseLegacyAndSegwitTransactions() {
+        byte[] prevTxId = new byte[32];
+        prevTxId[0] = 1;
+        byte[] script = Hex.decode(P2WPKH_SCRIPT);
+
+        for (boolean segwit : new boolean[]{false, true}) {
+            RawTransaction rawTransaction = RawTransaction.parse(createRawTx(List.of(prevTxId), List.of(script), segwit));
+            // TxIds are displayed in reversed byte order
+            assertThat(rawTransaction.getInputTxIds()).containsExactly("00".repeat(31) + "01");
+            assertThat(rawTransaction.getOutputScripts()).hasSize(1);
+            assertThat(Hex.encode(rawTransaction.getOutputScripts().get(0))).isEqualTo(P2WPKH_SCRIPT);
+        }
+
+        // Coinbase inputs have no txId
+        RawTransaction coinbase = RawTransaction.parse(createRawTx(List.of(new byte[32]), List.of(script), false));
+        assertThat(coinbase.getInputTxIds()).isEmpty();
+
+        RawTransaction genesisCoinbase = RawTransaction.parse(Hex.decode(GENESIS_COINBASE_TX));
+        assertThat(genesisCoinbase.getInputTxIds()).isEmpty();
+        assertThat(genesisCoinbase.getOutputScripts()).hasSize(1);
+        assertThat(genesisCoinbase.getOutputScripts().get(0)).hasSize(67); // P2PK
+
+        assertThatThrownBy(() -> RawTransaction.parse(new byte[]{1, 0, 0, 0, 5}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void replayTransactionsWithoutRpcCalls() {
+        AtomicInteger numRpcCalls = new AtomicInteger();
+        BitcoindDaemon stubDaemon = new BitcoindDaemon(null) {
+            @Override
+            public BitcoindDecodeRawTransactionResponse decodeRawTransaction(String txInHex) {
+                numRpcCalls.incrementAndGet();
+                throw new IllegalStateException("decodeRawTransaction must not be called");
+            }
+        };
+        ZmqListeners listeners = new ZmqListeners();
+        List<Set<String>> receivedAddresses = new CopyOnWriteArrayList<>();
+        List<String> receivedTxIds = new CopyOnWriteArrayList<>();
+        listeners.registerTxOutputAddressesListener(receivedAddresses::add);
+        listeners.registerTransactionIdInInputListener(receivedTxIds::add);
+        BitcoindRawTxProcessor processor = new BitcoindRawTxProcessor(stubDaemon, listeners);
+
+        // Simulates captured mempool traffic: 1% pays to our address, 1% spends one of our UTXOs
+        Random random = new Random(42);
+        byte[] watchedTxId = randomBytes(random, 32);
+        String watchedTxIdAsHex = RawTransaction.parse(createRawTx(List.of(watchedTxId), List.of(), false)).getInputTxIds().get(0);
+        listeners.getTxFilter().addAddresses(List.of(P2WPKH_ADDRESS, P2PKH_ADDRESS));
+        listeners.getTxFilter().setWatchedTxIds(List.of(watchedTxIdAsHex));
+
+        List<byte[]> rawTxs = new ArrayList<>(NUM_TXS);
+        int numPayingTxs = 0;
+        int numSpendingTxs = 0;
+        for (int i = 0; i < NUM_TXS; i++) {
+            List<byte[]> inputs = new ArrayList<>();
+            List<byte[]> outputs = new ArrayList<>();
+            for (int j = 0; j < 1 + random.nextInt(3); j++) {
+                inputs.add(randomBytes(random, 32));
+            }
+            for (int j = 0; j < 1 + random.nextInt(3); j++) {
+                byte[] script = new byte[22];
+                script[1] = 20;
+                System.arraycopy(randomBytes(random, 20), 0, script, 2, 20);
+                outputs.add(script);
+            }
+            if (i % 100 == 0) {
+                outputs.add(Hex.decode(P2WPKH_SCRIPT));
+                numPayingTxs++;
+            } else if (i % 100 == 50) {
+                inputs.add(watchedTxId);
+                numSpendingTxs++;
+            }
+            rawTxs.add(createRawTx(inputs, outputs, random.nextBoolean()));
+        }
+
+        long ts = System.nanoTime();
+        rawTxs.forEach(rawTx -> processor.processRawTx(rawTx, new byte[4]));
+        long durationMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ts));
+        log.info("Processed {} raw transactions in {} ms ({} tx/s)", NUM_TXS, durationMs, NUM_TXS * 1000L / durationMs);
+
+        assertThat(numRpcCalls.get()).isZero();
+        assertThat(receivedAddresses).hasSize(numPayingTxs).allMatch(addresses -> addresses.equals(Set.of(P2WPKH_ADDRESS)));
+        assertThat(receivedTxIds).hasSize(numSpendingTxs).containsOnly(watchedTxIdAsHex);
+    }
+
+    private static byte[] createRawTx(List<byte[]> prevTxIds, List<byte[]> outputScripts, boolean segwit) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(littleEndian(2, 4)); // version
+        if (segwit) {
+            out.write(0); // marker
+            out.write(1); // flag
+        }
+        out.write(prevTxIds.size());
+        for (byte[] prevTxId : prevTxIds) {
+            out.writeBytes(prevTxId);
+            boolean isCoinbase = prevTxId.length == 32 && Hex.encode(prevTxId).equals("00".repeat(32));
+            out.writeBytes(isCoinbase ? new byte[]{-1, -1, -1, -1} : littleEndian(0, 4));
+            out.write(0); // empty scriptSig
+            out.writeBytes(new byte[]{-1, -1, -1, -1}); // sequence
+        }
+        out.write(outputScripts.size());
+        for (byte[] script : outputScripts) {
+            out.writeBytes(littleEndian(10_000, 8));
+            out.write(script.length);
+            out.writeBytes(script);
+        }
+        if (segwit) {
+            for (int i = 0; i < prevTxIds.size(); i++) {
+                out.write(2); // number of witness items
+                out.write(71);
+                out.writeBytes(new byte[71]);
+                out.write(33);
+                out.writeBytes(new byte[33]);
+            }
+        }
+        out.writeBytes(littleEndian(0, 4)); // lock time
+        return out.toByteArray();
+    }
+
+    private static byte[] littleEndian(long value, int numBytes) {
+        ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(value);
+        byte[] result = new byte[numBytes];
+        System.arraycopy(buffer.array(), 0, result, 0, numBytes);
+        return result;
+    }
+
+    private static byte[] randomBytes(Random random, int numBytes) {
+        byte[] bytes = new byte[numBytes];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
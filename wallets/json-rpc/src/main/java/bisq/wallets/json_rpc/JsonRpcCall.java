@@ -18,9 +18,11 @@
 package bisq.wallets.json_rpc;
 
 import bisq.common.util.StringUtils;
+import lombok.Getter;
 
 public class JsonRpcCall {
     private final String jsonrpc = "2.0";
+    @Getter
     private final String id;
     private final String method;
     private final Object params;
@@ -19,14 +19,22 @@ package bisq.wallets.json_rpc;
 
 import bisq.wallets.json_rpc.exceptions.InvalidRpcCredentialsException;
 import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonDataException;
+import com.squareup.moshi.JsonReader;
 import com.squareup.moshi.Moshi;
+import com.squareup.moshi.Types;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 import okhttp3.logging.HttpLoggingInterceptor;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class JsonRpcClient {
@@ -41,12 +49,15 @@ public class JsonRpcClient {
 
     private final Moshi moshi = new Moshi.Builder().build();
     private final JsonAdapter<JsonRpcCall> jsonRpcCallJsonAdapter = moshi.adapter(JsonRpcCall.class);
+    private final JsonAdapter<List<JsonRpcCall>> jsonRpcCallListJsonAdapter =
+            moshi.adapter(Types.newParameterizedType(List.class, JsonRpcCall.class));
 
     public JsonRpcClient(JsonRpcEndpointSpec rpcEndpointSpec) {
         this.rpcEndpointSpec = rpcEndpointSpec;
 
-        var loggingInterceptor = new HttpLoggingInterceptor(log::info);
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+        // Logging the bodies requires buffering the whole request and response, so we only do it at debug level
+        var loggingInterceptor = new HttpLoggingInterceptor(log::debug);
+        loggingInterceptor.setLevel(log.isDebugEnabled() ? HttpLoggingInterceptor.Level.BODY : HttpLoggingInterceptor.Level.NONE);
         loggingInterceptor.redactHeader(AUTHORIZATION_HEADER_NAME);
 
         this.client = new OkHttpClient.Builder()
@@ -73,15 +84,7 @@ public class JsonRpcClient {
 
             JsonAdapter<R> jsonAdapter = rpcCall.getJsonAdapter();
             R parsedJsonResponse = jsonAdapter.fromJson(responseBody.source());
-
-            if (!rpcCall.isResponseValid(parsedJsonResponse)) {
-                String message = "RPC Call to '" + rpcCall.getRpcMethodName() + "' failed. ";
-                if (parsedJsonResponse != null && parsedJsonResponse.getError() != null) {
-                    message += parsedJsonResponse.getError().toString();
-                }
-                throw new RpcCallFailureException(message);
-            }
-
+            validateResponse(rpcCall, parsedJsonResponse);
             return parsedJsonResponse;
 
         } catch (IOException e) {
@@ -92,6 +95,71 @@ public class JsonRpcClient {
         }
     }
 
+    /**
+     * Sends all calls in one JSON-RPC 2.0 batch request and returns the responses in the order of the calls.
+     * The responses are parsed one by one from the response stream and matched to the calls by their id, as the
+     * server might respond in a different order.
+     * If any of the calls failed, a RpcCallFailureException is thrown.
+     */
+    public <T, R extends JsonRpcResponse<?>> List<R> callBatch(List<? extends RpcCall<T, R>> rpcCalls) {
+        if (rpcCalls.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<JsonRpcCall> jsonRpcCalls = rpcCalls.stream()
+                .map(rpcCall -> new JsonRpcCall(rpcCall.getRpcMethodName(), rpcCall.request))
+                .collect(Collectors.toList());
+        String jsonRequest = jsonRpcCallListJsonAdapter.toJson(jsonRpcCalls);
+        Request request = buildRequest(jsonRequest);
+        String batchDescription = "Batch RPC Call to '" + rpcCalls.get(0).getRpcMethodName() + "' (" + rpcCalls.size() + " calls) failed. ";
+
+        try (Response response = client.newCall(request).execute()) {
+            if (response.code() == HTTP_CODE_UNAUTHORIZED) {
+                throw new InvalidRpcCredentialsException();
+            }
+
+            ResponseBody responseBody = response.body();
+            Objects.requireNonNull(responseBody);
+
+            JsonAdapter<R> jsonAdapter = rpcCalls.get(0).getJsonAdapter();
+            Map<String, R> responseById = new HashMap<>();
+            try (JsonReader reader = JsonReader.of(responseBody.source())) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    R parsedJsonResponse = jsonAdapter.fromJson(reader);
+                    if (parsedJsonResponse != null && parsedJsonResponse.getId() != null) {
+                        responseById.put(parsedJsonResponse.getId(), parsedJsonResponse);
+                    }
+                }
+                reader.endArray();
+            }
+
+            List<R> results = new ArrayList<>(rpcCalls.size());
+            for (int i = 0; i < rpcCalls.size(); i++) {
+                R parsedJsonResponse = responseById.get(jsonRpcCalls.get(i).getId());
+                if (parsedJsonResponse == null) {
+                    throw new RpcCallFailureException(batchDescription + "Missing response for call " + i);
+                }
+                validateResponse(rpcCalls.get(i), parsedJsonResponse);
+                results.add(parsedJsonResponse);
+            }
+            return results;
+
+        } catch (IOException | JsonDataException e) {
+            throw new RpcCallFailureException(batchDescription, e);
+        }
+    }
+
+    private <T, R extends JsonRpcResponse<?>> void validateResponse(RpcCall<T, R> rpcCall, R parsedJsonResponse) {
+        if (!rpcCall.isResponseValid(parsedJsonResponse)) {
+            String message = "RPC Call to '" + rpcCall.getRpcMethodName() + "' failed. ";
+            if (parsedJsonResponse != null && parsedJsonResponse.getError() != null) {
+                message += parsedJsonResponse.getError().toString();
+            }
+            throw new RpcCallFailureException(message);
+        }
+    }
+
     private Request buildRequest(String body) {
         return new Request.Builder()
                 .url(rpcEndpointSpec.getUrl())
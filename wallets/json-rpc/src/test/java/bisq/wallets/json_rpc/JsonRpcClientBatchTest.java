@@ -0,0 +1,140 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.wallets.json_rpc;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonRpcClientBatchTest {
+    private final MockWebServer server = new MockWebServer();
+    private final Moshi moshi = new Moshi.Builder().build();
+    private final JsonAdapter<Object> jsonAdapter = moshi.adapter(Object.class);
+    private JsonRpcClient jsonRpcClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server.setDispatcher(new EchoDaemonDispatcher());
+        server.start();
+        HttpUrl baseUrl = server.url("/");
+        jsonRpcClient = new JsonRpcClient(new JsonRpcEndpointSpec(baseUrl, "bisq", "bisq"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void batchResponsesAreMatchedById() {
+        List<EchoRpcCall> rpcCalls = createCalls(10);
+        List<EchoResponse> responses = jsonRpcClient.callBatch(rpcCalls);
+
+        // The stub responds in reversed order
+        assertThat(responses).extracting(JsonRpcResponse::getResult)
+                .containsExactlyElementsOf(IntStream.range(0, 10).mapToObj(String::valueOf).collect(Collectors.toList()));
+        assertThat(server.getRequestCount()).isEqualTo(1);
+        assertThat(jsonRpcClient.callBatch(new ArrayList<EchoRpcCall>())).isEmpty();
+    }
+
+    @Test
+    void failedCallInBatchThrows() {
+        List<EchoRpcCall> rpcCalls = createCalls(3);
+        rpcCalls.add(new EchoRpcCall("fail"));
+        assertThatThrownBy(() -> jsonRpcClient.callBatch(rpcCalls))
+                .isInstanceOf(RpcCallFailureException.class)
+                .hasMessageContaining("echo");
+    }
+
+    private static List<EchoRpcCall> createCalls(int numCalls) {
+        return IntStream.range(0, numCalls)
+                .mapToObj(i -> new EchoRpcCall(String.valueOf(i)))
+                .collect(Collectors.toList());
+    }
+
+    private class EchoDaemonDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest recordedRequest) {
+            try {
+                Object request = jsonAdapter.fromJson(recordedRequest.getBody().readUtf8());
+                Object response;
+                if (request instanceof List) {
+                    List<Object> responses = ((List<?>) request).stream()
+                            .map(call -> createResponse((Map<?, ?>) call))
+                            .collect(Collectors.toList());
+                    Collections.reverse(responses);
+                    response = responses;
+                } else {
+                    response = createResponse((Map<?, ?>) request);
+                }
+                return new MockResponse().setBody(jsonAdapter.toJson(response));
+            } catch (IOException e) {
+                return new MockResponse().setResponseCode(500);
+            }
+        }
+
+        private Object createResponse(Map<?, ?> call) {
+            String value = (String) ((Map<?, ?>) call.get("params")).get("value");
+            if (value.equals("fail")) {
+                return Map.of("id", call.get("id"), "error", Map.of("code", -1, "message", "Failure"));
+            }
+            return Map.of("id", call.get("id"), "result", value);
+        }
+    }
+
+    public static class EchoResponse extends JsonRpcResponse<String> {
+    }
+
+    private static class EchoRpcCall extends RpcCall<Map<String, String>, EchoResponse> {
+        private EchoRpcCall(String value) {
+            super(Map.of("value", value));
+        }
+
+        @Override
+        public String getRpcMethodName() {
+            return "echo";
+        }
+
+        @Override
+        public boolean isResponseValid(EchoResponse response) {
+            return response.getError() == null;
+        }
+
+        @Override
+        public Class<EchoResponse> getRpcResponseClass() {
+            return EchoResponse.class;
+        }
+    }
+}